@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks.json;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.json.stream.CopyingStreamWindow;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures finding the row boundaries of a query response, comparing Jackson's tokenizer against the structural
+ * scanner. The rows are not decoded, so that only the cost of splitting the response is measured.
+ * <p>
+ * Long string values show the benefit of skipping strings eight bytes at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonStreamParserBenchmark {
+
+  /**
+   * The size of the network buffers the response arrives in.
+   */
+  private static final int CHUNK_SIZE = 8192;
+
+  private static final int NUM_ROWS = 1000;
+
+  /**
+   * The number of fields of each row, half of them strings and half of them nested objects.
+   */
+  @Param({"4", "64"})
+  public int rowFields;
+
+  /**
+   * The length of the string fields.
+   */
+  @Param({"16", "1024"})
+  public int valueLength;
+
+  private final JsonStreamParser.Builder jackson = JsonStreamParser.builder();
+  private final JsonStreamParser.Builder scanning = JsonStreamParser.builder().structuralScanning(true);
+  private final List<ByteBuf> chunks = new ArrayList<>();
+
+  @Setup(Level.Trial)
+  public void setup(final Blackhole blackhole) {
+    jackson.doOnValue("/results/-", blackhole::consume).doOnValue("/status", blackhole::consume);
+    scanning.doOnValue("/results/-", blackhole::consume).doOnValue("/status", blackhole::consume);
+
+    byte[] response = response(rowFields, valueLength);
+    for (int i = 0; i < response.length; i += CHUNK_SIZE) {
+      int length = Math.min(CHUNK_SIZE, response.length - i);
+      chunks.add(PooledByteBufAllocator.DEFAULT.directBuffer(length).writeBytes(response, i, length));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    chunks.forEach(ByteBuf::release);
+  }
+
+  @Benchmark
+  public void jackson() {
+    parse(jackson.build(null, new CopyingStreamWindow(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  @Benchmark
+  public void scanning() {
+    parse(scanning.build(null, new CopyingStreamWindow(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  private void parse(final JsonStreamParser parser) {
+    try {
+      for (ByteBuf chunk : chunks) {
+        parser.feed(chunk.retainedDuplicate());
+      }
+      parser.endOfInput();
+    } finally {
+      parser.close();
+    }
+  }
+
+  private static byte[] response(final int rowFields, final int valueLength) {
+    StringBuilder value = new StringBuilder("value \\\"quoted\\\" ");
+    while (value.length() < valueLength) {
+      value.append('x');
+    }
+
+    StringBuilder response = new StringBuilder("{\"requestID\":\"1\",\"signature\":{\"*\":\"*\"},\"results\":[");
+    for (int i = 0; i < NUM_ROWS; i++) {
+      response.append(i == 0 ? "{" : ",{").append("\"id\":").append(i);
+      for (int f = 0; f < rowFields; f++) {
+        if (f % 2 == 0) {
+          response.append(",\"name").append(f).append("\":\"").append(value).append('"');
+        } else {
+          response.append(",\"nested").append(f).append("\":{\"count\":").append(f * i)
+            .append(",\"flags\":[true,false,null],\"ratio\":").append(f / 7.0).append('}');
+        }
+      }
+      response.append('}');
+    }
+    response.append("],\"status\":\"success\"}");
+    return response.toString().getBytes(UTF_8);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encode path of all KV requests which carry a document body.
+ * <p>
+ * The request is created once and encoded on every invocation, so this covers key encoding (with and without
+ * the collection prefix), optional snappy compression and the final frame assembly in the
+ * {@link com.couchbase.client.core.io.netty.kv.MemcacheProtocol}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentEncodeBenchmark {
+
+  private static final ByteBufAllocator ALLOC = PooledByteBufAllocator.DEFAULT;
+
+  @Param({"INSERT", "UPSERT", "REPLACE", "APPEND", "PREPEND", "SUBDOC_MUTATE"})
+  public KeyValueOperation operation;
+
+  @Param({"256", "16384", "204800"})
+  public int documentSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  @Param({"false", "true"})
+  public boolean collections;
+
+  private KeyValueBenchmarkState state;
+  private KeyValueChannelContext channelContext;
+  private KeyValueRequest<?> request;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    state = new KeyValueBenchmarkState();
+    channelContext = state.channelContext(compression, collections);
+    request = operation.request(
+      state.coreContext(),
+      KeyValueBenchmarkState.collection(collections),
+      KeyValueBenchmarkState.document(documentSize)
+    );
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    state.shutdown();
+  }
+
+  @Benchmark
+  public int encode() {
+    ByteBuf encoded = request.encode(ALLOC, request.opaque(), channelContext);
+    try {
+      return encoded.readableBytes();
+    } finally {
+      encoded.release();
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.PasswordAuthenticator;
+import com.couchbase.client.core.env.SeedNode;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.util.UnsignedLEB128;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Holds the environment, context and sample documents shared by all KV benchmarks.
+ * <p>
+ * The core is created against a seed node but never connects anywhere, it is only needed so that requests
+ * and handlers can be constructed the same way they are in production.
+ */
+public class KeyValueBenchmarkState {
+
+  public static final String BUCKET = "benchmark";
+  public static final String KEY = "benchmark-document-key::00000001";
+  public static final Duration TIMEOUT = Duration.ofSeconds(10);
+  public static final CollectionIdentifier DEFAULT_COLLECTION = CollectionIdentifier.fromDefault(BUCKET);
+  public static final CollectionIdentifier CUSTOM_COLLECTION = new CollectionIdentifier(
+    BUCKET,
+    Optional.of("tenant"),
+    Optional.of("profiles")
+  );
+
+  private final CoreEnvironment environment;
+  private final Core core;
+
+  public KeyValueBenchmarkState() {
+    environment = CoreEnvironment.create();
+    core = Core.create(environment, PasswordAuthenticator.create("Administrator", "password"), SeedNode.LOCALHOST);
+    core.configurationProvider().collectionMap().put(CUSTOM_COLLECTION, UnsignedLEB128.encode(8));
+  }
+
+  public CoreEnvironment environment() {
+    return environment;
+  }
+
+  public Core core() {
+    return core;
+  }
+
+  public CoreContext coreContext() {
+    return core.context();
+  }
+
+  public CollectionMap collectionMap() {
+    return core.configurationProvider().collectionMap();
+  }
+
+  /**
+   * Returns the collection identifier to use, depending on if collections should be enabled or not.
+   */
+  public static CollectionIdentifier collection(final boolean collections) {
+    return collections ? CUSTOM_COLLECTION : DEFAULT_COLLECTION;
+  }
+
+  /**
+   * Creates a channel context which looks like it has been negotiated against a modern server.
+   *
+   * @param compression if snappy has been negotiated (uses the default compression config).
+   * @param collections if collections have been negotiated.
+   * @return the created channel context.
+   */
+  public KeyValueChannelContext channelContext(final boolean compression, final boolean collections) {
+    return new KeyValueChannelContext(
+      compression ? CompressionConfig.create() : null,
+      collections,
+      true,
+      Optional.of(BUCKET),
+      true,
+      true,
+      true,
+      collectionMap(),
+      null,
+      true,
+      true
+    );
+  }
+
+  public void shutdown() {
+    core.shutdown().block();
+    environment.shutdown();
+  }
+
+  /**
+   * Generates a JSON document of (roughly) the given size in bytes.
+   * <p>
+   * The document mixes repeating field names with random values, so it compresses about as well as a typical
+   * application document does, and the output is stable across runs to keep the numbers comparable.
+   *
+   * @param size the target size of the document in bytes.
+   * @return the encoded document.
+   */
+  public static byte[] document(final int size) {
+    Random random = new Random(size);
+    StringBuilder sb = new StringBuilder(size + 64);
+    sb.append('{');
+    int field = 0;
+    while (sb.length() < size - 2) {
+      if (field > 0) {
+        sb.append(',');
+      }
+      sb.append("\"field").append(field++).append("\":\"");
+      for (int i = 0; i < 16; i++) {
+        sb.append((char) ('a' + random.nextInt(26)));
+      }
+      sb.append('"');
+    }
+    sb.append('}');
+    return sb.toString().getBytes(UTF_8);
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the decode path of all KV requests, turning a successful server response into the typed response.
+ * <p>
+ * The document size and compression only change the outcome for operations which return a document body, for
+ * all others they are effectively noise and can be pinned with {@code -p documentSize=256 -p compression=false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValueDecodeBenchmark {
+
+  @Param
+  public KeyValueOperation operation;
+
+  @Param({"256", "16384", "204800"})
+  public int documentSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  private KeyValueBenchmarkState state;
+  private KeyValueChannelContext channelContext;
+  private KeyValueRequest<?> request;
+  private ByteBuf response;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    state = new KeyValueBenchmarkState();
+    channelContext = state.channelContext(compression, false);
+    byte[] document = KeyValueBenchmarkState.document(documentSize);
+    request = operation.request(state.coreContext(), KeyValueBenchmarkState.collection(false), document);
+    response = operation.response(document, compression);
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    response.release();
+    state.shutdown();
+  }
+
+  @Benchmark
+  public Response decode() {
+    return request.decode(response, channelContext);
+  }
+
+}
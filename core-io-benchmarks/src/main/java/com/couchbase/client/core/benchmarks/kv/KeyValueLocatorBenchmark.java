@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.config.BucketConfigParser;
+import com.couchbase.client.core.config.ClusterConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.TargetedRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.SyncDurabilityRequest;
+import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.core.node.Node;
+import com.couchbase.client.core.node.NodeIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes the {@link KeyValueLocator} to route a KV request to its node.
+ * <p>
+ * The {@code routingTable} benchmark goes through the locator itself, while {@code nodeScan} performs the lookup
+ * the locator did before it had a routing table: resolving the node index in the config and scanning the node list
+ * for a matching identifier (including the same request type checks, so both sides do the same work apart from the
+ * lookup). The nodes only count what they are sent, so nothing but the routing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValueLocatorBenchmark {
+
+  private static final int NUM_PARTITIONS = 1024;
+
+  @Param({"3", "10", "50"})
+  public int numNodes;
+
+  private KeyValueBenchmarkState state;
+  private KeyValueLocator locator;
+  private ClusterConfig clusterConfig;
+  private List<Node> nodes;
+  private KeyValueRequest<?> request;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    state = new KeyValueBenchmarkState();
+    locator = new KeyValueLocator();
+
+    clusterConfig = new ClusterConfig();
+    clusterConfig.setBucketConfig(BucketConfigParser.parse(config(numNodes), state.environment(), "10.0.0.0"));
+
+    nodes = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < numNodes; i++) {
+      nodes.add(new CountingNode(state.coreContext(), new NodeIdentifier(hostname(i), 8091)));
+    }
+
+    request = KeyValueOperation.GET.request(state.coreContext(), KeyValueBenchmarkState.DEFAULT_COLLECTION, null);
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    state.shutdown();
+  }
+
+  @Benchmark
+  public KeyValueRequest<?> routingTable() {
+    locator.dispatch(request, nodes, clusterConfig, state.coreContext());
+    return request;
+  }
+
+  @Benchmark
+  public Node nodeScan() {
+    if (request instanceof TargetedRequest || request instanceof SyncDurabilityRequest) {
+      throw new IllegalStateException("Only plain requests are routed in this benchmark");
+    }
+    CouchbaseBucketConfig config = (CouchbaseBucketConfig) clusterConfig.bucketConfig(request.bucket());
+    int partition = KeyValueLocator.partitionForKey(request.key(), config.numberOfPartitions());
+    request.partition((short) partition);
+    boolean useFastForward = config.hasFastForwardMap() && request.rejectedWithNotMyVbucket() > 0;
+    NodeInfo nodeInfo = config.nodeAtIndex(config.nodeIndexForActive(partition, useFastForward));
+    for (Node node : nodes) {
+      if (node.identifier().equals(nodeInfo.identifier())) {
+        node.send(request);
+        return node;
+      }
+    }
+    throw new IllegalStateException("Node not found for request " + request);
+  }
+
+  private static String hostname(final int node) {
+    return "10.0.0." + (node + 1);
+  }
+
+  /**
+   * Generates a bucket config with the given number of nodes, spreading the partitions and one replica evenly.
+   */
+  private static String config(final int numNodes) {
+    StringBuilder nodesJson = new StringBuilder();
+    StringBuilder nodesExtJson = new StringBuilder();
+    StringBuilder serverList = new StringBuilder();
+    for (int i = 0; i < numNodes; i++) {
+      String separator = i == 0 ? "" : ",";
+      nodesJson.append(separator).append("{\"hostname\":\"").append(hostname(i))
+        .append(":8091\",\"ports\":{\"direct\":11210}}");
+      nodesExtJson.append(separator).append("{\"hostname\":\"").append(hostname(i))
+        .append("\",\"services\":{\"mgmt\":8091,\"kv\":11210}}");
+      serverList.append(separator).append('"').append(hostname(i)).append(":11210\"");
+    }
+
+    StringBuilder vbucketMap = new StringBuilder();
+    for (int partition = 0; partition < NUM_PARTITIONS; partition++) {
+      vbucketMap.append(partition == 0 ? "" : ",")
+        .append('[').append(partition % numNodes).append(',').append((partition + 1) % numNodes).append(']');
+    }
+
+    return "{\"rev\":1,\"name\":\"" + KeyValueBenchmarkState.BUCKET + "\",\"nodeLocator\":\"vbucket\","
+      + "\"uuid\":\"aa4b515529fa706f1e5f09f21abb5c06\","
+      + "\"nodes\":[" + nodesJson + "],\"nodesExt\":[" + nodesExtJson + "],"
+      + "\"vBucketServerMap\":{\"hashAlgorithm\":\"CRC\",\"numReplicas\":1,"
+      + "\"serverList\":[" + serverList + "],\"vBucketMap\":[" + vbucketMap + "]}}";
+  }
+
+  /**
+   * A node which does not connect anywhere and only counts the requests sent to it.
+   */
+  private static class CountingNode extends Node {
+
+    private long sent;
+
+    CountingNode(final CoreContext ctx, final NodeIdentifier identifier) {
+      super(ctx, identifier, Optional.empty());
+    }
+
+    @Override
+    public <R extends Request<? extends Response>> void send(final R request) {
+      sent++;
+    }
+
+  }
+
+}
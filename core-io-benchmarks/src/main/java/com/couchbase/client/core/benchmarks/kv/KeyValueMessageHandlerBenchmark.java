@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.endpoint.EndpointContext;
+import com.couchbase.client.core.io.netty.kv.ChannelAttributes;
+import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
+import com.couchbase.client.core.io.netty.kv.ServerFeature;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.util.HostAndPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full write/read cycle through the {@link KeyValueMessageHandler}.
+ * <p>
+ * Every invocation creates a fresh request, writes (and encodes) it through the handler, feeds the matching
+ * response back in and waits for the request to be completed. This covers the per-request bookkeeping in the
+ * handler on top of the raw encode and decode cost measured in the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValueMessageHandlerBenchmark {
+
+  /**
+   * The offset of the opaque in the memcache header.
+   */
+  private static final int OPAQUE_OFFSET = 12;
+
+  @Param({"GET", "UPSERT"})
+  public KeyValueOperation operation;
+
+  @Param({"256", "16384", "204800"})
+  public int documentSize;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  @Param({"false", "true"})
+  public boolean collections;
+
+  private KeyValueBenchmarkState state;
+  private EmbeddedChannel channel;
+  private byte[] document;
+  private ByteBuf response;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    state = new KeyValueBenchmarkState();
+    document = KeyValueBenchmarkState.document(documentSize);
+    response = operation.response(document, compression);
+
+    EndpointContext endpointContext = new EndpointContext(state.coreContext(), new HostAndPort("127.0.0.1", 11210),
+      null, ServiceType.KV, Optional.empty(), Optional.of(KeyValueBenchmarkState.BUCKET), Optional.empty());
+
+    Set<ServerFeature> features = EnumSet.of(
+      ServerFeature.MUTATION_SEQNO,
+      ServerFeature.XATTR,
+      ServerFeature.XERROR,
+      ServerFeature.SELECT_BUCKET,
+      ServerFeature.ALT_REQUEST,
+      ServerFeature.SYNC_REPLICATION
+    );
+    if (compression) {
+      features.add(ServerFeature.SNAPPY);
+    }
+    if (collections) {
+      features.add(ServerFeature.COLLECTIONS);
+    }
+
+    channel = new EmbeddedChannel(false, false, new KeyValueMessageHandler(
+      null,
+      endpointContext,
+      Optional.of(KeyValueBenchmarkState.BUCKET)
+    ));
+    channel.attr(ChannelAttributes.SERVER_FEATURE_KEY).set(features);
+    channel.register();
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    channel.finishAndReleaseAll();
+    response.release();
+    state.shutdown();
+  }
+
+  @Benchmark
+  public Response roundtrip() throws Exception {
+    KeyValueRequest<?> request = operation.request(
+      state.coreContext(),
+      KeyValueBenchmarkState.collection(collections),
+      document
+    );
+
+    channel.writeOutbound(request);
+    ByteBuf written = channel.readOutbound();
+    written.release();
+
+    ByteBuf inbound = response.retainedDuplicate();
+    inbound.setInt(OPAQUE_OFFSET, request.opaque());
+    channel.writeInbound(inbound);
+
+    return request.response().getNow(null);
+  }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.kv.AppendRequest;
+import com.couchbase.client.core.msg.kv.DecrementRequest;
+import com.couchbase.client.core.msg.kv.GetAndLockRequest;
+import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
+import com.couchbase.client.core.msg.kv.GetMetaRequest;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.IncrementRequest;
+import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaCasRequest;
+import com.couchbase.client.core.msg.kv.ObserveViaSeqnoRequest;
+import com.couchbase.client.core.msg.kv.PrependRequest;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.msg.kv.ReplaceRequest;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.msg.kv.SubdocCommandType;
+import com.couchbase.client.core.msg.kv.SubdocGetRequest;
+import com.couchbase.client.core.msg.kv.SubdocMutateRequest;
+import com.couchbase.client.core.msg.kv.TouchRequest;
+import com.couchbase.client.core.msg.kv.UnlockRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.couchbase.client.core.benchmarks.kv.KeyValueBenchmarkState.KEY;
+import static com.couchbase.client.core.benchmarks.kv.KeyValueBenchmarkState.TIMEOUT;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noExtras;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noKey;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * All the KV operations covered by the benchmarks, together with a way to build the request and a matching
+ * successful server response for each of them.
+ * <p>
+ * The requests are created through their public constructors with the same arguments the higher level
+ * APIs would pass in, so the encode and decode paths measured here are the ones taken in production.
+ */
+public enum KeyValueOperation {
+
+  GET(MemcacheProtocol.Opcode.GET) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new GetRequest(KEY, TIMEOUT, ctx, cid, RETRY, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return documentResponse(opcode, content, compressed);
+    }
+  },
+
+  GET_AND_LOCK(MemcacheProtocol.Opcode.GET_AND_LOCK) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new GetAndLockRequest(KEY, TIMEOUT, ctx, cid, RETRY, TIMEOUT, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return documentResponse(opcode, content, compressed);
+    }
+  },
+
+  GET_AND_TOUCH(MemcacheProtocol.Opcode.GET_AND_TOUCH) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new GetAndTouchRequest(KEY, TIMEOUT, ctx, cid, RETRY, 3600, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return documentResponse(opcode, content, compressed);
+    }
+  },
+
+  REPLICA_GET(MemcacheProtocol.Opcode.GET_REPLICA) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new ReplicaGetRequest(KEY, TIMEOUT, ctx, cid, RETRY, (short) 1, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return documentResponse(opcode, content, compressed);
+    }
+  },
+
+  GET_META(MemcacheProtocol.Opcode.GET_META) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new GetMetaRequest(KEY, TIMEOUT, ctx, cid, RETRY, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      ByteBuf extras = Unpooled.buffer(20).writeInt(0).writeInt(0).writeInt(0).writeLong(1);
+      return buildResponse(opcode, (byte) 0, extras, noBody());
+    }
+  },
+
+  SUBDOC_GET(MemcacheProtocol.Opcode.SUBDOC_MULTI_LOOKUP) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new SubdocGetRequest(TIMEOUT, ctx, cid, RETRY, KEY, (byte) 0, Collections.singletonList(
+        new SubdocGetRequest.Command(SubdocCommandType.GET_DOC, "", false, 0)
+      ), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      ByteBuf body = Unpooled.buffer(6 + content.length).writeShort(0).writeInt(content.length).writeBytes(content);
+      return buildResponse(opcode, (byte) 0, noExtras(), body);
+    }
+  },
+
+  INSERT(MemcacheProtocol.Opcode.ADD) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new InsertRequest(KEY, content, 0, 0, TIMEOUT, ctx, cid, RETRY, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  UPSERT(MemcacheProtocol.Opcode.SET) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new UpsertRequest(KEY, content, 0, false, 0, TIMEOUT, ctx, cid, RETRY, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  REPLACE(MemcacheProtocol.Opcode.REPLACE) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new ReplaceRequest(KEY, content, 0, false, 0, TIMEOUT, 1234, ctx, cid, RETRY, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  APPEND(MemcacheProtocol.Opcode.APPEND) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new AppendRequest(TIMEOUT, ctx, cid, RETRY, KEY, content, 0, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  PREPEND(MemcacheProtocol.Opcode.PREPEND) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new PrependRequest(TIMEOUT, ctx, cid, RETRY, KEY, content, 0, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  SUBDOC_MUTATE(MemcacheProtocol.Opcode.SUBDOC_MULTI_MUTATE) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new SubdocMutateRequest(TIMEOUT, ctx, cid, null, RETRY, KEY, false, true, false, false,
+        Collections.singletonList(
+          new SubdocMutateRequest.Command(SubdocCommandType.SET_DOC, "", content, false, false, false, 0)
+        ), 0, false, 0, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  REMOVE(MemcacheProtocol.Opcode.DELETE) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new RemoveRequest(KEY, 0, TIMEOUT, ctx, cid, RETRY, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return mutationResponse(opcode);
+    }
+  },
+
+  TOUCH(MemcacheProtocol.Opcode.TOUCH) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new TouchRequest(TIMEOUT, ctx, cid, RETRY, KEY, 3600, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return buildResponse(opcode, (byte) 0, noExtras(), noBody());
+    }
+  },
+
+  UNLOCK(MemcacheProtocol.Opcode.UNLOCK) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new UnlockRequest(TIMEOUT, ctx, cid, RETRY, KEY, 1234, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return buildResponse(opcode, (byte) 0, noExtras(), noBody());
+    }
+  },
+
+  INCREMENT(MemcacheProtocol.Opcode.INCREMENT) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new IncrementRequest(TIMEOUT, ctx, cid, RETRY, KEY, 1, Optional.of(0L), 0, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return buildResponse(opcode, (byte) 0, mutationToken(), Unpooled.buffer(8).writeLong(42));
+    }
+  },
+
+  DECREMENT(MemcacheProtocol.Opcode.DECREMENT) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new DecrementRequest(TIMEOUT, ctx, cid, RETRY, KEY, 1, Optional.of(0L), 0, Optional.empty(), null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      return buildResponse(opcode, (byte) 0, mutationToken(), Unpooled.buffer(8).writeLong(42));
+    }
+  },
+
+  OBSERVE_VIA_CAS(MemcacheProtocol.Opcode.OBSERVE_CAS) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new ObserveViaCasRequest(TIMEOUT, ctx, cid, RETRY, KEY, true, 0);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      byte[] key = KEY.getBytes(UTF_8);
+      ByteBuf body = Unpooled
+        .buffer(13 + key.length)
+        .writeShort(0)
+        .writeShort(key.length)
+        .writeBytes(key)
+        .writeByte(0x01)
+        .writeLong(1234);
+      return buildResponse(opcode, (byte) 0, noExtras(), body);
+    }
+  },
+
+  OBSERVE_VIA_SEQNO(MemcacheProtocol.Opcode.OBSERVE_SEQ) {
+    @Override
+    KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content) {
+      return new ObserveViaSeqnoRequest(TIMEOUT, ctx, cid, RETRY, 0, true, 1234, KEY, null);
+    }
+
+    @Override
+    ByteBuf response(byte[] content, boolean compressed) {
+      ByteBuf body = Unpooled.buffer(27).writeByte(0).writeShort(0).writeLong(1234).writeLong(1).writeLong(2);
+      return buildResponse(opcode, (byte) 0, noExtras(), body);
+    }
+  };
+
+  /**
+   * All requests use the same retry strategy, so the environment default is not looked up on every creation.
+   */
+  private static final BestEffortRetryStrategy RETRY = BestEffortRetryStrategy.INSTANCE;
+
+  final MemcacheProtocol.Opcode opcode;
+
+  KeyValueOperation(final MemcacheProtocol.Opcode opcode) {
+    this.opcode = opcode;
+  }
+
+  /**
+   * Creates a new request for this operation.
+   *
+   * @param ctx the core context to use.
+   * @param cid the collection the request is dispatched against.
+   * @param content the document content, ignored by operations which do not carry a body.
+   * @return the created request.
+   */
+  abstract KeyValueRequest<?> request(CoreContext ctx, CollectionIdentifier cid, byte[] content);
+
+  /**
+   * Creates a successful server response for this operation.
+   * <p>
+   * Note that the opaque of the returned buffer is always 0, callers which need to match it against a written
+   * request need to set it on the buffer.
+   *
+   * @param content the document content, ignored by operations which do not return a body.
+   * @param compressed if the content should be returned snappy compressed.
+   * @return the response buffer, pooled like the ones read from a channel.
+   */
+  abstract ByteBuf response(byte[] content, boolean compressed);
+
+  private static ByteBuf documentResponse(final MemcacheProtocol.Opcode opcode, final byte[] content,
+                                          final boolean compressed) {
+    ByteBuf extras = Unpooled.buffer(4).writeInt(0x02000006);
+    if (compressed) {
+      return buildResponse(
+        opcode,
+        (byte) (0x01 | MemcacheProtocol.Datatype.SNAPPY.datatype()),
+        extras,
+        Unpooled.wrappedBuffer(Snappy.compress(content))
+      );
+    }
+    return buildResponse(opcode, (byte) 0x01, extras, Unpooled.wrappedBuffer(content));
+  }
+
+  private static ByteBuf mutationResponse(final MemcacheProtocol.Opcode opcode) {
+    return buildResponse(opcode, (byte) 0, mutationToken(), noBody());
+  }
+
+  private static ByteBuf mutationToken() {
+    return Unpooled.buffer(16).writeLong(0x1122334455667788L).writeLong(42);
+  }
+
+  private static ByteBuf buildResponse(final MemcacheProtocol.Opcode opcode, final byte datatype, final ByteBuf extras,
+                                  final ByteBuf body) {
+    try {
+      return MemcacheProtocol.response(PooledByteBufAllocator.DEFAULT, opcode, datatype, (short) 0,
+        0, 1234, extras, noKey(), body);
+    } finally {
+      extras.release();
+      body.release();
+    }
+  }
+
+}
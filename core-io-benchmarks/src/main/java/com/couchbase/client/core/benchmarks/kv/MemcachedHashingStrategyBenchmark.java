@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.benchmarks.kv;
+
+import com.couchbase.client.core.config.BucketConfigParser;
+import com.couchbase.client.core.config.MemcachedBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+import com.couchbase.client.core.node.MemcachedHashingStrategy;
+import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.node.StandardMemcachedHashingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures building and looking up the ketama ring of a {@link MemcachedBucketConfig} with different
+ * {@link MemcachedHashingStrategy MemcachedHashingStrategies}.
+ * <p>
+ * Alternative strategies can be compared by adding them to the {@link Strategy} enum. The {@code sortedMapLookup}
+ * benchmark performs the lookup on a {@link TreeMap} like the config did before it flattened the ring into arrays,
+ * so it serves as the baseline for {@code ringLookup}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemcachedHashingStrategyBenchmark {
+
+  private static final int NUM_KEYS = 1024;
+
+  @Param({"3", "10", "50"})
+  public int numNodes;
+
+  @Param({"STANDARD", "HOSTNAME_ONLY"})
+  public Strategy strategy;
+
+  private KeyValueBenchmarkState state;
+  private MemcachedBucketConfig template;
+  private MemcachedBucketConfig config;
+  private TreeMap<Long, NodeInfo> sortedRing;
+  private byte[][] keys;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    state = new KeyValueBenchmarkState();
+    template = (MemcachedBucketConfig) BucketConfigParser.parse(config(numNodes), state.environment(), "10.0.0.0");
+    config = buildRing();
+    sortedRing = new TreeMap<>(config.ketamaNodes());
+
+    keys = new byte[NUM_KEYS][];
+    for (int i = 0; i < NUM_KEYS; i++) {
+      keys[i] = ("benchmark-document-key::" + i).getBytes(UTF_8);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    state.shutdown();
+  }
+
+  @Benchmark
+  public MemcachedBucketConfig buildRing() {
+    return new MemcachedBucketConfig(state.environment(), template.rev(), template.uuid(), template.name(),
+      template.uri(), template.streamingUri(), template.nodes(), template.portInfos(), Collections.emptyList(),
+      Collections.emptyMap(), "10.0.0.0", strategy.hashingStrategy);
+  }
+
+  @Benchmark
+  public NodeIdentifier ringLookup() {
+    return config.nodeForId(nextKey());
+  }
+
+  @Benchmark
+  public NodeIdentifier sortedMapLookup() {
+    long hash = ketamaHash(nextKey());
+    if (!sortedRing.containsKey(hash)) {
+      SortedMap<Long, NodeInfo> tailMap = sortedRing.tailMap(hash);
+      hash = tailMap.isEmpty() ? sortedRing.firstKey() : tailMap.firstKey();
+    }
+    return sortedRing.get(hash).identifier();
+  }
+
+  private byte[] nextKey() {
+    return keys[next++ & (NUM_KEYS - 1)];
+  }
+
+  /**
+   * Same hash the {@link MemcachedBucketConfig} calculates for a key.
+   */
+  private static long ketamaHash(final byte[] key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("MD5").digest(key);
+      long rv = ((long) (digest[3] & 0xFF) << 24)
+        | ((long) (digest[2] & 0xFF) << 16)
+        | ((long) (digest[1] & 0xFF) << 8)
+        | (digest[0] & 0xFF);
+      return rv & 0xffffffffL;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String hostname(final int node) {
+    return "10.0.0." + (node + 1);
+  }
+
+  /**
+   * Generates a memcached bucket config with the given number of nodes, all of them running the KV service.
+   */
+  private static String config(final int numNodes) {
+    StringBuilder nodesJson = new StringBuilder();
+    StringBuilder nodesExtJson = new StringBuilder();
+    for (int i = 0; i < numNodes; i++) {
+      String separator = i == 0 ? "" : ",";
+      nodesJson.append(separator).append("{\"hostname\":\"").append(hostname(i))
+        .append(":8091\",\"ports\":{\"direct\":11210}}");
+      nodesExtJson.append(separator).append("{\"hostname\":\"").append(hostname(i))
+        .append("\",\"services\":{\"mgmt\":8091,\"kv\":11210}}");
+    }
+
+    return "{\"rev\":1,\"name\":\"" + KeyValueBenchmarkState.BUCKET + "\",\"nodeLocator\":\"ketama\","
+      + "\"uuid\":\"c82bb209e1afd5d938d7adcb6ea10de2\","
+      + "\"nodes\":[" + nodesJson + "],\"nodesExt\":[" + nodesExtJson + "]}";
+  }
+
+  /**
+   * The hashing strategies to compare.
+   */
+  public enum Strategy {
+    /**
+     * The strategy the config uses by default, compatible with libcouchbase.
+     */
+    STANDARD(StandardMemcachedHashingStrategy.INSTANCE),
+    /**
+     * Leaves the port out of the hashed node, so all nodes need to listen on the same KV port.
+     */
+    HOSTNAME_ONLY((info, repetition) -> info.hostname() + "-" + repetition);
+
+    private final MemcachedHashingStrategy hashingStrategy;
+
+    Strategy(final MemcachedHashingStrategy hashingStrategy) {
+      this.hashingStrategy = hashingStrategy;
+    }
+  }
+
+}
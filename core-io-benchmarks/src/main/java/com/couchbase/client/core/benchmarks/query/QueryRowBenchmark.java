@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks.query;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonNode;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufInputStream;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
+import com.couchbase.client.core.json.Mapper;
+import com.couchbase.client.core.json.stream.CopyingStreamWindow;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
+import com.couchbase.client.core.json.stream.SlicingStreamWindow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures extracting and decoding the rows of a query response, comparing the copying path (each row is copied
+ * into a byte array which is then decoded) against the zero-copy path (each row is a retained slice of the
+ * network buffers, decoded through a stream and released afterwards).
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryRowBenchmark {
+
+  /**
+   * The size of the network buffers the response arrives in.
+   */
+  private static final int CHUNK_SIZE = 8192;
+
+  private static final int NUM_ROWS = 1000;
+
+  @Param({"128", "4096"})
+  public int rowSize;
+
+  private final JsonStreamParser.Builder copyingParser = JsonStreamParser.builder();
+  private final JsonStreamParser.Builder slicingParser = JsonStreamParser.builder();
+  private final List<ByteBuf> chunks = new ArrayList<>();
+
+  private Blackhole blackhole;
+
+  @Setup(Level.Trial)
+  public void setup(final Blackhole blackhole) {
+    this.blackhole = blackhole;
+    copyingParser.doOnValue("/results/-", v -> decode(v.readBytes()));
+    slicingParser.doOnValue("/results/-", v -> decode(v.readRetainedSlice()));
+
+    byte[] response = response(rowSize);
+    for (int i = 0; i < response.length; i += CHUNK_SIZE) {
+      int length = Math.min(CHUNK_SIZE, response.length - i);
+      chunks.add(PooledByteBufAllocator.DEFAULT.directBuffer(length).writeBytes(response, i, length));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown() {
+    chunks.forEach(ByteBuf::release);
+  }
+
+  @Benchmark
+  public void copying() {
+    parse(copyingParser.build(null, new CopyingStreamWindow(PooledByteBufAllocator.DEFAULT)));
+  }
+
+  @Benchmark
+  public void slicing() {
+    parse(slicingParser.build(null, new SlicingStreamWindow()));
+  }
+
+  private void parse(final JsonStreamParser parser) {
+    try {
+      for (ByteBuf chunk : chunks) {
+        parser.feed(chunk.retainedDuplicate());
+      }
+      parser.endOfInput();
+    } finally {
+      parser.close();
+    }
+  }
+
+  private void decode(final byte[] row) {
+    try {
+      blackhole.consume(Mapper.reader().readTree(row));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void decode(final ByteBuf row) {
+    try (InputStream input = new ByteBufInputStream(row, true)) {
+      JsonNode node = Mapper.reader().readTree(input);
+      blackhole.consume(node);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] response(final int rowSize) {
+    StringBuilder padding = new StringBuilder();
+    for (int i = 0; i < rowSize; i++) {
+      padding.append('x');
+    }
+
+    StringBuilder response = new StringBuilder("{\"requestID\":\"1\",\"signature\":{\"*\":\"*\"},\"results\":[");
+    for (int i = 0; i < NUM_ROWS; i++) {
+      if (i > 0) {
+        response.append(',');
+      }
+      response.append("{\"id\":").append(i).append(",\"content\":\"").append(padding).append("\"}");
+    }
+    response.append("],\"status\":\"success\"}");
+    return response.toString().getBytes(UTF_8);
+  }
+
+}
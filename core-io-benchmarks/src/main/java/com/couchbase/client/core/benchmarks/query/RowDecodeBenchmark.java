@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.benchmarks.query;
+
+import com.couchbase.client.java.AsyncUtils;
+import com.couchbase.client.java.codec.DefaultJsonSerializer;
+import com.couchbase.client.java.codec.JsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures how many rows per second are decoded into POJOs by the row decoding stage of the reactive query and
+ * analytics results, depending on the decode parallelism and whether the order of the rows is preserved.
+ * <p>
+ * The rows are wide documents, so that decoding rather than emitting them dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowDecodeBenchmark {
+
+  private static final int NUM_ROWS = 2000;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  @Param({"true", "false"})
+  public boolean preserveOrder;
+
+  private final JsonSerializer serializer = DefaultJsonSerializer.create();
+  private final List<byte[]> rows = new ArrayList<>();
+  private Scheduler scheduler;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < NUM_ROWS; i++) {
+      StringBuilder row = new StringBuilder("{\"id\":").append(i);
+      for (int field = 0; field < WideRow.FIELDS; field++) {
+        row.append(",\"field").append(field).append("\":\"value-").append(i).append('-').append(field).append('"');
+      }
+      row.append(",\"tags\":[");
+      for (int tag = 0; tag < 32; tag++) {
+        row.append(tag == 0 ? "" : ",").append(tag * i);
+      }
+      rows.add(row.append("]}").toString().getBytes(UTF_8));
+    }
+    scheduler = Schedulers.newParallel("decode", Math.max(parallelism, Runtime.getRuntime().availableProcessors()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    scheduler.dispose();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_ROWS)
+  public List<WideRow> decodeRows() {
+    return AsyncUtils
+      .decodeRows(Flux.fromIterable(rows), row -> serializer.deserialize(WideRow.class, row), parallelism,
+        preserveOrder, scheduler)
+      .collectList()
+      .block();
+  }
+
+  /**
+   * A wide document with many fields.
+   */
+  public static class WideRow {
+
+    static final int FIELDS = 24;
+
+    public int id;
+    public String field0;
+    public String field1;
+    public String field2;
+    public String field3;
+    public String field4;
+    public String field5;
+    public String field6;
+    public String field7;
+    public String field8;
+    public String field9;
+    public String field10;
+    public String field11;
+    public String field12;
+    public String field13;
+    public String field14;
+    public String field15;
+    public String field16;
+    public String field17;
+    public String field18;
+    public String field19;
+    public String field20;
+    public String field21;
+    public String field22;
+    public String field23;
+    public long[] tags;
+
+  }
+
+}
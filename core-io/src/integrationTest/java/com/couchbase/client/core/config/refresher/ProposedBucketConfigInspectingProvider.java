@@ -106,6 +106,16 @@ public class ProposedBucketConfigInspectingProvider implements ConfigurationProv
     return delegate.collectionMap();
   }
 
+  @Override
+  public void markClusterMapChangeNotificationsEnabled(String name) {
+    delegate.markClusterMapChangeNotificationsEnabled(name);
+  }
+
+  @Override
+  public void markClusterMapChangeNotificationsDisabled(String name) {
+    delegate.markClusterMapChangeNotificationsDisabled(name);
+  }
+
   @Override
   public void refreshCollectionId(CollectionIdentifier identifier) {
     delegate.refreshCollectionId(identifier);
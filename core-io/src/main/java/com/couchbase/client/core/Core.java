@@ -59,6 +59,7 @@ import com.couchbase.client.core.node.ViewLocator;
 import com.couchbase.client.core.service.ServiceScope;
 import com.couchbase.client.core.service.ServiceState;
 import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.kv.GetCoalescer;
 import com.couchbase.client.core.util.HostAndPort;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -103,11 +104,6 @@ public class Core {
    */
   private static final AtomicInteger CORE_IDS = new AtomicInteger();
 
-  /**
-   * Locates the right node for the KV service.
-   */
-  private static final KeyValueLocator KEY_VALUE_LOCATOR = new KeyValueLocator();
-
   /**
    * Locates the right node for the manager service.
    */
@@ -158,6 +154,14 @@ public class Core {
    */
   private final CopyOnWriteArrayList<Node> nodes;
 
+  /**
+   * Locates the right node for the KV service.
+   *
+   * <p>Unlike the other locators this one is not shared, since it caches routing tables for the configs and
+   * nodes of this core.</p>
+   */
+  private final KeyValueLocator keyValueLocator = new KeyValueLocator();
+
   /**
    * If a reconfiguration is in process, this will be set to true and prevent concurrent reconfig attempts.
    */
@@ -184,6 +188,11 @@ public class Core {
    */
   private final Timer timer;
 
+  /**
+   * Coalesces identical KV reads in flight, null if disabled.
+   */
+  private final GetCoalescer getCoalescer;
+
   private final Set<SeedNode> seedNodes;
 
   /**
@@ -219,6 +228,7 @@ public class Core {
     this.nodes = new CopyOnWriteArrayList<>();
     this.eventBus = environment.eventBus();
     this.timer = environment.timer();
+    this.getCoalescer = environment.ioConfig().kvGetCoalescingEnabled() ? new GetCoalescer(this) : null;
     this.currentConfig = configurationProvider.config();
     this.configurationProvider.configs().subscribe(c -> {
       currentConfig = c;
@@ -292,6 +302,13 @@ public class Core {
       timer.register((Request<Response>) request);
     }
 
+    if (getCoalescer != null) {
+      if (getCoalescer.coalesce(request)) {
+        return;
+      }
+      getCoalescer.invalidate(request);
+    }
+
     locator(request.serviceType()).dispatch(request, nodes, currentConfig, context());
   }
 
@@ -807,10 +824,10 @@ public class Core {
    * @param serviceType the service type for which a locator should be returned.
    * @return the locator for the service type, or an exception if unknown.
    */
-  private static Locator locator(final ServiceType serviceType) {
+  private Locator locator(final ServiceType serviceType) {
     switch (serviceType) {
       case KV:
-        return KEY_VALUE_LOCATOR;
+        return keyValueLocator;
       case MANAGER:
         return MANAGER_LOCATOR;
       case QUERY:
@@ -17,6 +17,10 @@
 package com.couchbase.client.core;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
@@ -25,12 +29,18 @@ import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@link Timer} acts as the main timing facility for various operations, for
  * example to track and time out requests if they run for too long or for rescheduling needs.
+ * <p>
+ * The timer can be split into multiple shards, each with its own wheel and thread. A caller thread always
+ * registers with the same shard, so that threads submitting many requests do not all contend on the queue of
+ * a single wheel.
  *
  * @since 2.0.0
  */
@@ -44,12 +54,37 @@ public class Timer {
    * Based on our testing 10ms strikes a good balance, 1ms seems to be too noisy and 100ms has too much loss
    * in accuracy.
    */
-  private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+  public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
 
   /**
-   * The internal timer.
+   * By default a single wheel is used for all timeouts.
    */
-  private HashedWheelTimer wheelTimer;
+  public static final int DEFAULT_NUM_SHARDS = 1;
+
+  /**
+   * How often the lag and the pending timeouts of each shard are recorded.
+   */
+  private static final Duration PROBE_INTERVAL = Duration.ofSeconds(1);
+
+  /**
+   * The internal timers, one per shard.
+   */
+  private final HashedWheelTimer[] wheelTimers;
+
+  /**
+   * The tick duration of each wheel.
+   */
+  private final Duration tickDuration;
+
+  /**
+   * Records how late (in microseconds) a timeout fires compared to its deadline.
+   */
+  private final ValueRecorder lagRecorder;
+
+  /**
+   * Records the number of timeouts pending per shard.
+   */
+  private final ValueRecorder pendingRecorder;
 
   /**
    * Set to true once stopped.
@@ -73,7 +108,21 @@ public class Timer {
    * @return the created timer.
    */
   public static Timer create(final long maxNumRequestsInRetry) {
-    return new Timer(maxNumRequestsInRetry);
+    return create(maxNumRequestsInRetry, DEFAULT_NUM_SHARDS, DEFAULT_TICK_DURATION, new NoopMeter());
+  }
+
+  /**
+   * Creates a new {@link Timer} with custom values.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of independent wheels (and threads) to use.
+   * @param tickDuration the tick duration of each wheel.
+   * @param meter the meter to record the timer lag and pending timeouts into.
+   * @return the created timer.
+   */
+  public static Timer create(final long maxNumRequestsInRetry, final int numShards, final Duration tickDuration,
+                             final Meter meter) {
+    return new Timer(maxNumRequestsInRetry, numShards, tickDuration, meter);
   }
 
   /**
@@ -88,18 +137,52 @@ public class Timer {
     return timer;
   }
 
+  /**
+   * Creates and starts a timer with custom values.
+   *
+   * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of independent wheels (and threads) to use.
+   * @param tickDuration the tick duration of each wheel.
+   * @param meter the meter to record the timer lag and pending timeouts into.
+   * @return the created and started timer.
+   */
+  public static Timer createAndStart(final long maxNumRequestsInRetry, final int numShards,
+                                     final Duration tickDuration, final Meter meter) {
+    Timer timer = create(maxNumRequestsInRetry, numShards, tickDuration, meter);
+    timer.start();
+    return timer;
+  }
+
   /**
    * Internal timer constructor.
    *
    * @param maxNumRequestsInRetry the maximum number of requests in retry allowed before backpressure hits.
+   * @param numShards the number of independent wheels (and threads) to use.
+   * @param tickDuration the tick duration of each wheel.
+   * @param meter the meter to record the timer lag and pending timeouts into.
    */
-  private Timer(final long maxNumRequestsInRetry) {
+  private Timer(final long maxNumRequestsInRetry, final int numShards, final Duration tickDuration,
+                final Meter meter) {
     this.maxNumRequestsInRetry = maxNumRequestsInRetry;
-    wheelTimer = new HashedWheelTimer(
-      new DefaultThreadFactory("cb-timer", true),
-      DEFAULT_TICK_DURATION.toMillis(),
-      TimeUnit.MILLISECONDS
-    );
+    this.tickDuration = tickDuration;
+    this.lagRecorder = meter.valueRecorder(TracingIdentifiers.METER_TIMER_LAG, Collections.emptyMap());
+    this.pendingRecorder = meter.valueRecorder(TracingIdentifiers.METER_TIMER_PENDING, Collections.emptyMap());
+
+    DefaultThreadFactory threadFactory = new DefaultThreadFactory("cb-timer", true);
+    wheelTimers = new HashedWheelTimer[Math.max(1, numShards)];
+    for (int i = 0; i < wheelTimers.length; i++) {
+      wheelTimers[i] = new HashedWheelTimer(threadFactory, tickDuration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Returns the wheel the current thread schedules into.
+   */
+  private HashedWheelTimer wheelTimer() {
+    if (wheelTimers.length == 1) {
+      return wheelTimers[0];
+    }
+    return wheelTimers[(int) (Thread.currentThread().getId() % wheelTimers.length)];
   }
 
   /**
@@ -139,7 +222,7 @@ public class Timer {
     if (stopped) {
       return null;
     }
-    return wheelTimer.newTimeout(timeout -> callback.run(), runAfter.toNanos(), TimeUnit.NANOSECONDS);
+    return wheelTimer().newTimeout(timeout -> callback.run(), runAfter.toNanos(), TimeUnit.NANOSECONDS);
   }
 
   /**
@@ -153,7 +236,7 @@ public class Timer {
       return;
     }
 
-    final Timeout registration = wheelTimer.newTimeout(
+    final Timeout registration = wheelTimer().newTimeout(
       timeout -> request.cancel(CancellationReason.TIMEOUT),
       request.timeout().toNanos(),
       TimeUnit.NANOSECONDS
@@ -165,7 +248,29 @@ public class Timer {
    * Starts this timer.
    */
   public void start() {
-    wheelTimer.start();
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      wheelTimer.start();
+      probe(wheelTimer);
+    }
+  }
+
+  /**
+   * Periodically records how late the given wheel fires and how many timeouts are pending on it.
+   */
+  private void probe(final HashedWheelTimer wheelTimer) {
+    final long scheduledAt = System.nanoTime();
+    wheelTimer.newTimeout(timeout -> {
+      long lag = System.nanoTime() - scheduledAt - PROBE_INTERVAL.toNanos();
+      lagRecorder.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, lag)));
+      pendingRecorder.recordValue(wheelTimer.pendingTimeouts());
+      if (!stopped) {
+        try {
+          probe(wheelTimer);
+        } catch (IllegalStateException ex) {
+          // The wheel has been stopped concurrently, nothing left to probe.
+        }
+      }
+    }, PROBE_INTERVAL.toNanos(), TimeUnit.NANOSECONDS);
   }
 
   /**
@@ -173,9 +278,21 @@ public class Timer {
    */
   public void stop() {
     stopped = true;
-    wheelTimer.stop();
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      wheelTimer.stop();
+    }
   }
 
+  /**
+   * Returns the number of timeouts currently pending across all shards.
+   */
+  public long pendingTimeouts() {
+    long pending = 0;
+    for (HashedWheelTimer wheelTimer : wheelTimers) {
+      pending += wheelTimer.pendingTimeouts();
+    }
+    return pending;
+  }
 
   /**
    * Returns the number of requests currently outstanding for retry.
@@ -187,7 +304,8 @@ public class Timer {
   @Override
   public String toString() {
     return "Timer{" +
-      "wheelTimer=" + wheelTimer +
+      "wheelTimers=" + Arrays.toString(wheelTimers) +
+      ", tickDuration=" + tickDuration +
       ", stopped=" + stopped +
       ", outstandingForRetry=" + outstandingForRetry +
       ", maxNumRequestsInRetry=" + maxNumRequestsInRetry +
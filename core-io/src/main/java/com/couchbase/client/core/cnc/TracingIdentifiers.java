@@ -95,6 +95,8 @@ public class TracingIdentifiers {
 
   public static final String SPAN_REQUEST_KV_EXISTS = "exists";
 
+  public static final String SPAN_REQUEST_KV_GET_META = "get_meta";
+
   public static final String SPAN_REQUEST_KV_TOUCH = "touch";
 
   public static final String SPAN_REQUEST_KV_UNLOCK = "unlock";
@@ -117,6 +119,8 @@ public class TracingIdentifiers {
 
   public static final String SPAN_GET_ANY_REPLICA = "get_any_replica";
 
+  public static final String SPAN_GET_HEDGED = "get_hedged";
+
   public static final String SPAN_REQUEST_MA_CONNECT_LINK = "manager_analytics_connect_link";
   public static final String SPAN_REQUEST_MA_CREATE_DATASET = "manager_analytics_create_dataset";
   public static final String SPAN_REQUEST_MA_CREATE_DATAVERSE = "manager_analytics_create_dataverse";
@@ -214,7 +218,33 @@ public class TracingIdentifiers {
 
   public static final String ATTR_SCOPE = "db.couchbase.scope";
 
+  public static final String ATTR_OUTCOME = "outcome";
+
   public static final String METER_REQUESTS = "db.couchbase.requests";
 
+  public static final String METER_COMPRESSION = "db.couchbase.compression";
+
+  public static final String METER_WRITES_PER_FLUSH = "db.couchbase.io.writes_per_flush";
+
+  public static final String METER_BYTES_PER_WRITE = "db.couchbase.io.bytes_per_write";
+
+  public static final String METER_IN_FLIGHT = "db.couchbase.io.in_flight";
+
+  public static final String METER_IN_FLIGHT_LIMIT = "db.couchbase.io.in_flight_limit";
+
+  public static final String METER_TIMER_LAG = "db.couchbase.timer.lag";
+
+  public static final String METER_TIMER_PENDING = "db.couchbase.timer.pending";
+
+  public static final String METER_CONFIG_PARSES = "db.couchbase.config.parses";
+
+  public static final String METER_NEAR_CACHE = "db.couchbase.near_cache";
+
+  public static final String METER_QUERY_PREPARED_STATEMENTS = "db.couchbase.query.prepared_statements";
+
+  public static final String METER_BUFFERED_ROWS = "db.couchbase.io.buffered_rows";
+
+  public static final String METER_BUFFERED_BYTES = "db.couchbase.io.buffered_bytes";
+
 
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.couchbase.client.core.cnc.metrics;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.ValueRecorder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This simple meter keeps the sum of each counter and the last value of each value recorder, and should be used
+ * in testing only to assert that certain metrics got recorded.
+ */
+@Stability.Internal
+public class RecordingMeter implements Meter {
+
+  private final Map<NameAndTags, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final Map<NameAndTags, AtomicLong> values = new ConcurrentHashMap<>();
+
+  @Override
+  public Counter counter(final String name, final Map<String, String> tags) {
+    return counters.computeIfAbsent(new NameAndTags(name, new HashMap<>(tags)), k -> new AtomicLong())::addAndGet;
+  }
+
+  @Override
+  public ValueRecorder valueRecorder(final String name, final Map<String, String> tags) {
+    return values.computeIfAbsent(new NameAndTags(name, new HashMap<>(tags)), k -> new AtomicLong())::set;
+  }
+
+  /**
+   * Returns the sum of all counters with the given name, regardless of their tags.
+   *
+   * @param name the name of the counters.
+   * @return the sum, 0 if nothing has been counted.
+   */
+  public long count(final String name) {
+    return count(name, Collections.emptyMap());
+  }
+
+  /**
+   * Returns the sum of all counters with the given name whose tags contain all of the given tags.
+   *
+   * @param name the name of the counters.
+   * @param tags the tags the counters need to have, among others.
+   * @return the sum, 0 if nothing has been counted.
+   */
+  public long count(final String name, final Map<String, String> tags) {
+    long count = 0;
+    for (Map.Entry<NameAndTags, AtomicLong> counter : counters.entrySet()) {
+      if (matches(counter.getKey(), name, tags)) {
+        count += counter.getValue().get();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the last value recorded by the value recorder with the given name and tags.
+   *
+   * @param name the name of the value recorder.
+   * @param tags the tags the value recorder needs to have, among others.
+   * @return the last recorded value.
+   * @throws IllegalStateException if not exactly one value recorder matches.
+   */
+  public long lastValue(final String name, final Map<String, String> tags) {
+    AtomicLong value = null;
+    for (Map.Entry<NameAndTags, AtomicLong> recorder : values.entrySet()) {
+      if (matches(recorder.getKey(), name, tags)) {
+        if (value != null) {
+          throw new IllegalStateException("More than one value recorder matches " + name + " " + tags);
+        }
+        value = recorder.getValue();
+      }
+    }
+    if (value == null) {
+      throw new IllegalStateException("No value recorder matches " + name + " " + tags);
+    }
+    return value.get();
+  }
+
+  private static boolean matches(final NameAndTags nameAndTags, final String name, final Map<String, String> tags) {
+    return nameAndTags.name().equals(name) && nameAndTags.tags().entrySet().containsAll(tags.entrySet());
+  }
+
+  @Override
+  public String toString() {
+    return "RecordingMeter";
+  }
+
+}
@@ -16,13 +16,18 @@
 
 package com.couchbase.client.core.config;
 
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.DeserializationFeature;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.InjectableValues;
+import com.couchbase.client.core.json.stream.JsonStreamParser;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * An abstraction over the bucket parser which takes a raw config as a string and turns it into a
@@ -31,6 +36,12 @@ import java.io.IOException;
  * @since 2.0.0
  */
 public final class BucketConfigParser {
+
+    /**
+     * The number of characters fed to the streaming parser at once while looking for the revision.
+     */
+    private static final int PEEK_CHUNK_SIZE = 512;
+
     /**
      * Parse a raw configuration into a {@link BucketConfig}.
      *
@@ -53,4 +64,36 @@ public final class BucketConfigParser {
             throw new CouchbaseException("Could not parse configuration", e);
         }
     }
+
+    /**
+     * Extracts only the revision from a raw configuration, without parsing the rest of it.
+     * <p>
+     * The server sends the revision as one of the first fields, so the input is fed to a streaming parser in small
+     * chunks and parsing stops as soon as the revision is found. This allows to discard configs which are not newer
+     * than the current one without deserializing the full partition map.
+     *
+     * @param input the raw string input.
+     * @return the revision of the config, or -1 if it does not contain one.
+     */
+    public static long parseRevision(final String input) {
+        final AtomicLong rev = new AtomicLong(-1);
+        try (JsonStreamParser parser = JsonStreamParser.builder()
+            .doOnValue("/rev", v -> rev.set(v.readLong()))
+            .build()) {
+            int start = 0;
+            while (start < input.length() && rev.get() < 0) {
+                int end = Math.min(start + PEEK_CHUNK_SIZE, input.length());
+                if (end < input.length() && Character.isHighSurrogate(input.charAt(end - 1))) {
+                    end++;
+                }
+                // The parser takes ownership of the fed buffer.
+                parser.feed(Unpooled.copiedBuffer(input.subSequence(start, end), UTF_8));
+                start = end;
+            }
+            if (rev.get() < 0) {
+                parser.endOfInput();
+            }
+        }
+        return rev.get();
+    }
 }
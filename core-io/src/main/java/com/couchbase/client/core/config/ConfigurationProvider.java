@@ -109,6 +109,22 @@ public interface ConfigurationProvider  {
    */
   void proposeGlobalConfig(ProposedGlobalConfigContext ctx);
 
+  /**
+   * Signals that the server pushes config changes for the given bucket on its own, so that it does
+   * not need to be polled as frequently anymore.
+   *
+   * @param name the name of the bucket.
+   */
+  void markClusterMapChangeNotificationsEnabled(String name);
+
+  /**
+   * Signals that a connection over which the server pushed config changes for the given bucket has been closed,
+   * so that the bucket is polled frequently again once no such connection is left.
+   *
+   * @param name the name of the bucket.
+   */
+  void markClusterMapChangeNotificationsDisabled(String name);
+
   /**
    * Instructs the provider to try and load the global config, and then manage it.
    */
@@ -17,7 +17,10 @@
 package com.couchbase.client.core.config;
 
 import com.couchbase.client.core.Core;
+import com.couchbase.client.core.cnc.Counter;
 import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.cnc.events.config.BucketConfigUpdatedEvent;
 import com.couchbase.client.core.cnc.events.config.BucketOpenRetriedEvent;
 import com.couchbase.client.core.cnc.events.config.CollectionMapRefreshFailedEvent;
@@ -61,6 +64,7 @@ import reactor.core.publisher.ReplayProcessor;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -115,6 +119,16 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   private final Core core;
   private final EventBus eventBus;
 
+  /**
+   * Counts the proposed bucket configs which have been fully parsed.
+   */
+  private final Counter configsParsed;
+
+  /**
+   * Counts the proposed bucket configs which have been discarded based on their revision alone.
+   */
+  private final Counter configParsesSkipped;
+
   private final KeyValueBucketLoader keyValueLoader;
   private final ClusterManagerBucketLoader clusterManagerLoader;
   private final KeyValueBucketRefresher keyValueRefresher;
@@ -150,6 +164,9 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   public DefaultConfigurationProvider(final Core core, final Set<SeedNode> seedNodes) {
     this.core = core;
     eventBus = core.context().environment().eventBus();
+    Meter meter = core.context().environment().meter();
+    configsParsed = meter.counter(TracingIdentifiers.METER_CONFIG_PARSES, parseTags("parsed"));
+    configParsesSkipped = meter.counter(TracingIdentifiers.METER_CONFIG_PARSES, parseTags("skipped"));
 
     // Don't publish the initial seed nodes, since they probably came from the user
     // and might not be KV nodes, or might have incomplete port information.
@@ -166,6 +183,12 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     configsSink.next(currentConfig);
   }
 
+  private static Map<String, String> parseTags(final String outcome) {
+    Map<String, String> tags = new HashMap<>(1);
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return tags;
+  }
+
   @Override
   public CollectionMap collectionMap() {
     return collectionMap;
@@ -405,11 +428,23 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   public void proposeBucketConfig(final ProposedBucketConfigContext ctx) {
     if (!shutdown.get()) {
       try {
+        if (isOldOrSameRevision(ctx)) {
+          configParsesSkipped.incrementBy(1);
+          eventBus.publish(new ConfigIgnoredEvent(
+            core.context(),
+            ConfigIgnoredEvent.Reason.OLD_OR_SAME_REVISION,
+            Optional.empty(),
+            Optional.empty()
+          ));
+          return;
+        }
+
         BucketConfig config = BucketConfigParser.parse(
           ctx.config(),
           core.context().environment(),
           ctx.origin()
         );
+        configsParsed.incrementBy(1);
         checkAndApplyConfig(config);
       } catch (Exception ex) {
         eventBus.publish(new ConfigIgnoredEvent(
@@ -429,6 +464,34 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     }
   }
 
+  /**
+   * Checks, based on the revision alone, if the proposed config would be ignored after parsing it.
+   * <p>
+   * The refreshers propose the current config frequently and it usually did not change, so looking at the revision
+   * first avoids deserializing the full config (including its partition map) just to throw it away.
+   *
+   * @param ctx the proposed config.
+   * @return true if the current config of the bucket is at least as new as the proposed one.
+   */
+  private boolean isOldOrSameRevision(final ProposedBucketConfigContext ctx) {
+    BucketConfig oldConfig = currentConfig.bucketConfig(ctx.bucketName());
+    if (oldConfig == null) {
+      return false;
+    }
+    long rev = BucketConfigParser.parseRevision(ctx.config());
+    return rev > 0 && rev <= oldConfig.rev();
+  }
+
+  @Override
+  public void markClusterMapChangeNotificationsEnabled(final String name) {
+    keyValueRefresher.markClusterMapChangeNotificationsEnabled(name);
+  }
+
+  @Override
+  public void markClusterMapChangeNotificationsDisabled(final String name) {
+    keyValueRefresher.markClusterMapChangeNotificationsDisabled(name);
+  }
+
   @Override
   public void proposeGlobalConfig(final ProposedGlobalConfigContext ctx) {
     if (!shutdown.get()) {
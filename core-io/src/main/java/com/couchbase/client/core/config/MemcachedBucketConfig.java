@@ -28,9 +28,13 @@ import com.couchbase.client.core.deps.com.fasterxml.jackson.annotation.JsonPrope
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
@@ -44,19 +48,38 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class MemcachedBucketConfig extends AbstractBucketConfig {
 
     private final long rev;
-    private final TreeMap<Long, NodeInfo> ketamaNodes;
     private final MemcachedHashingStrategy hashingStrategy;
 
+    /**
+     * The points of the ketama ring, sorted ascending so they can be binary searched.
+     */
+    private final long[] ketamaHashes;
+
+    /**
+     * The node owning the point at the same index in {@link #ketamaHashes}.
+     */
+    private final NodeInfo[] ketamaNodeInfos;
+
+    /**
+     * The identifier of the node owning the point at the same index in {@link #ketamaHashes}, computed once per
+     * node so lookups do not have to create them.
+     */
+    private final NodeIdentifier[] ketamaIdentifiers;
+
     /**
      * Creates a new {@link MemcachedBucketConfig}.
      *
      * @param env the environment to use.
      * @param rev the revision of the config.
+     * @param uuid the UUID of the bucket.
      * @param name the name of the bucket.
      * @param uri the URI for this bucket.
      * @param streamingUri the streaming URI for this bucket.
      * @param nodeInfos related node information.
      * @param portInfos port info for the nodes, including services.
+     * @param bucketCapabilities the capabilities of the bucket.
+     * @param clusterCapabilities the capabilities of the cluster, by service.
+     * @param origin the host the config has been loaded from.
      */
     @JsonCreator
     public MemcachedBucketConfig(
@@ -71,12 +94,56 @@ public class MemcachedBucketConfig extends AbstractBucketConfig {
             @JsonProperty("bucketCapabilities") List<BucketCapabilities> bucketCapabilities,
             @JsonProperty("clusterCapabilities") Map<String, Set<ClusterCapabilities>> clusterCapabilities,
             @JacksonInject("origin") String origin) {
+        this(env, rev, uuid, name, uri, streamingUri, nodeInfos, portInfos, bucketCapabilities, clusterCapabilities,
+          origin, StandardMemcachedHashingStrategy.INSTANCE);
+    }
+
+    /**
+     * Creates a new {@link MemcachedBucketConfig} which builds its ketama ring with a custom hashing strategy.
+     *
+     * @param env the environment to use.
+     * @param rev the revision of the config.
+     * @param uuid the UUID of the bucket.
+     * @param name the name of the bucket.
+     * @param uri the URI for this bucket.
+     * @param streamingUri the streaming URI for this bucket.
+     * @param nodeInfos related node information.
+     * @param portInfos port info for the nodes, including services.
+     * @param bucketCapabilities the capabilities of the bucket.
+     * @param clusterCapabilities the capabilities of the cluster, by service.
+     * @param origin the host the config has been loaded from.
+     * @param hashingStrategy the strategy used to hash the nodes onto the ring.
+     */
+    public MemcachedBucketConfig(
+            CoreEnvironment env,
+            long rev,
+            String uuid,
+            String name,
+            String uri,
+            String streamingUri,
+            List<NodeInfo> nodeInfos,
+            List<PortInfo> portInfos,
+            List<BucketCapabilities> bucketCapabilities,
+            Map<String, Set<ClusterCapabilities>> clusterCapabilities,
+            String origin,
+            MemcachedHashingStrategy hashingStrategy) {
         super(uuid, name, BucketNodeLocator.KETAMA, uri, streamingUri, nodeInfos, portInfos, bucketCapabilities,
           origin, clusterCapabilities);
         this.rev = rev;
-        this.ketamaNodes = new TreeMap<>();
-        this.hashingStrategy = StandardMemcachedHashingStrategy.INSTANCE;
-        populateKetamaNodes();
+        this.hashingStrategy = hashingStrategy;
+
+        SortedMap<Long, NodeInfo> ring = populateKetamaNodes();
+        Map<NodeInfo, NodeIdentifier> identifiers = new HashMap<>();
+        this.ketamaHashes = new long[ring.size()];
+        this.ketamaNodeInfos = new NodeInfo[ring.size()];
+        this.ketamaIdentifiers = new NodeIdentifier[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, NodeInfo> point : ring.entrySet()) {
+            ketamaHashes[i] = point.getKey();
+            ketamaNodeInfos[i] = point.getValue();
+            ketamaIdentifiers[i] = identifiers.computeIfAbsent(point.getValue(), NodeInfo::identifier);
+            i++;
+        }
     }
 
     @Override
@@ -94,11 +161,30 @@ public class MemcachedBucketConfig extends AbstractBucketConfig {
         return BucketType.MEMCACHED;
     }
 
+    /**
+     * Returns the ketama ring as a sorted map from each point to the node owning it.
+     * <p>
+     * The map is created on every call from the internal representation, so it should only be used for
+     * introspection and not on the request path (use {@link #nodeForId(byte[])} instead).
+     *
+     * @return an unmodifiable copy of the ketama ring.
+     */
     public SortedMap<Long, NodeInfo> ketamaNodes() {
-        return ketamaNodes;
+        TreeMap<Long, NodeInfo> ring = new TreeMap<>();
+        for (int i = 0; i < ketamaHashes.length; i++) {
+            ring.put(ketamaHashes[i], ketamaNodeInfos[i]);
+        }
+        return Collections.unmodifiableSortedMap(ring);
     }
 
-    private void populateKetamaNodes() {
+    /**
+     * Computes the points of the ketama ring for all KV nodes.
+     * <p>
+     * The points are collected in a sorted map so that colliding points resolve exactly like they always did
+     * (the node added last wins), the constructor then flattens it into parallel arrays for the lookups.
+     */
+    private SortedMap<Long, NodeInfo> populateKetamaNodes() {
+        TreeMap<Long, NodeInfo> ketamaNodes = new TreeMap<>();
         for (NodeInfo node : nodes()) {
             if (!node.services().containsKey(ServiceType.KV)) {
                 continue;
@@ -122,21 +208,32 @@ public class MemcachedBucketConfig extends AbstractBucketConfig {
                 }
             }
         }
+        return ketamaNodes;
     }
 
+    /**
+     * Locates the node owning the given document ID on the ketama ring.
+     * <p>
+     * This is the first point on the ring at or after the hash of the ID, wrapping around to the first point
+     * if the hash is larger than all of them.
+     *
+     * @param id the document ID.
+     * @return the identifier of the node owning the ID.
+     * @throws NoSuchElementException if the ring is empty because no node runs the KV service.
+     */
     public NodeIdentifier nodeForId(final byte[] id) {
-        long hash = calculateKetamaHash(id);
-
-        if (!ketamaNodes.containsKey(hash)) {
-            SortedMap<Long, NodeInfo> tailMap = ketamaNodes.tailMap(hash);
-            if (tailMap.isEmpty()) {
-                hash = ketamaNodes.firstKey();
-            } else {
-                hash = tailMap.firstKey();
-            }
+        if (ketamaHashes.length == 0) {
+            throw new NoSuchElementException("The ketama ring has no nodes.");
         }
 
-        return ketamaNodes.get(hash).identifier();
+        int index = Arrays.binarySearch(ketamaHashes, calculateKetamaHash(id));
+        if (index < 0) {
+            index = -(index + 1);
+            if (index == ketamaHashes.length) {
+                index = 0;
+            }
+        }
+        return ketamaIdentifiers[index];
     }
 
     @Override
@@ -174,7 +271,7 @@ public class MemcachedBucketConfig extends AbstractBucketConfig {
         return "MemcachedBucketConfig{" +
           "name='" + redactMeta(name()) + '\'' +
           ", rev=" + rev +
-          ", nodes=" + redactSystem(new HashSet<>(ketamaNodes.values()).toString()) +
+          ", nodes=" + redactSystem(new HashSet<>(Arrays.asList(ketamaNodeInfos)).toString()) +
           ", hash=" + hashingStrategy +
           '}';
     }
@@ -185,12 +282,16 @@ public class MemcachedBucketConfig extends AbstractBucketConfig {
         if (o == null || getClass() != o.getClass()) return false;
         MemcachedBucketConfig that = (MemcachedBucketConfig) o;
         return rev == that.rev &&
-          Objects.equals(ketamaNodes, that.ketamaNodes) &&
+          Arrays.equals(ketamaHashes, that.ketamaHashes) &&
+          Arrays.equals(ketamaNodeInfos, that.ketamaNodeInfos) &&
           Objects.equals(hashingStrategy, that.hashingStrategy);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rev, ketamaNodes, hashingStrategy);
+        int result = Objects.hash(rev, hashingStrategy);
+        result = 31 * result + Arrays.hashCode(ketamaHashes);
+        result = 31 * result + Arrays.hashCode(ketamaNodeInfos);
+        return result;
     }
 }
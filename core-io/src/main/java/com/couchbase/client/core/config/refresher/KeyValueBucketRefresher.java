@@ -56,6 +56,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * <p>Once a config is retrieved it is sent to the config manager which then decides if it is going to apply
  * or discard the config.</p>
  *
+ * <p>Buckets for which the server pushes config changes on its own are only polled at the (much longer)
+ * safety net interval, unless their config is tainted.</p>
+ *
  * @since 1.0.0
  */
 @Stability.Internal
@@ -108,11 +111,21 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private final Set<String> tainted = ConcurrentHashMap.newKeySet();
 
+  /**
+   * Holds the number of open connections per bucket over which the server pushes config changes on its own.
+   */
+  private final Map<String, Integer> notified = new ConcurrentHashMap<>();
+
   /**
    * Holds the allowable config poll interval in nanoseconds.
    */
   private final long configPollIntervalNanos;
 
+  /**
+   * Holds the poll interval in nanoseconds for buckets whose config changes are pushed by the server.
+   */
+  private final long configSafetyNetPollIntervalNanos;
+
   /**
    * Stores the timeout used for config refresh requests, keeping it in reasonable bounds (between 1 and 5s).
    */
@@ -129,6 +142,10 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     this.eventBus = core.context().environment().eventBus();
     this.provider = provider;
     this.configPollIntervalNanos = core.context().environment().ioConfig().configPollInterval().toNanos();
+    this.configSafetyNetPollIntervalNanos = Math.max(
+      configPollIntervalNanos,
+      core.context().environment().ioConfig().configSafetyNetPollInterval().toNanos()
+    );
     this.configRequestTimeout = clampConfigRequestTimeout(configPollIntervalNanos);
 
     pollRegistration = Flux
@@ -180,7 +197,8 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private Mono<ProposedBucketConfigContext> maybeUpdateBucket(final String name) {
     Long last = registrations.get(name);
-    boolean overInterval = last != null && (System.nanoTime() - last) >= configPollIntervalNanos;
+    long interval = notified.containsKey(name) ? configSafetyNetPollIntervalNanos : configPollIntervalNanos;
+    boolean overInterval = last != null && (System.nanoTime() - last) >= interval;
     boolean allowed = tainted.contains(name) || overInterval;
 
     return allowed
@@ -301,6 +319,7 @@ public class KeyValueBucketRefresher implements BucketRefresher {
   public Mono<Void> deregister(final String name) {
     return Mono.defer(() -> {
       registrations.remove(name);
+      notified.remove(name);
       return Mono.empty();
     });
   }
@@ -315,6 +334,26 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     tainted.remove(name);
   }
 
+  /**
+   * Marks one more connection of the bucket as receiving config changes pushed by the server, so it is only polled
+   * at the safety net interval as long as such a connection is open (unless its config is tainted).
+   *
+   * @param name the name of the bucket.
+   */
+  public void markClusterMapChangeNotificationsEnabled(final String name) {
+    notified.merge(name, 1, Integer::sum);
+  }
+
+  /**
+   * Marks one connection of the bucket which received config changes pushed by the server as closed. Once no such
+   * connection is left, the bucket is polled at the regular interval again.
+   *
+   * @param name the name of the bucket.
+   */
+  public void markClusterMapChangeNotificationsDisabled(final String name) {
+    notified.computeIfPresent(name, (bucket, connections) -> connections > 1 ? connections - 1 : null);
+  }
+
   @Override
   public Mono<Void> shutdown() {
     return Mono.defer(() -> {
@@ -19,6 +19,9 @@ package com.couchbase.client.core.endpoint;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.Counter;
 import com.couchbase.client.core.cnc.Event;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionAbortedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionFailedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectedEvent;
@@ -33,6 +36,7 @@ import com.couchbase.client.core.deps.io.netty.channel.DefaultEventLoopGroup;
 import com.couchbase.client.core.deps.io.netty.channel.epoll.EpollChannelOption;
 import com.couchbase.client.core.deps.io.netty.channel.local.LocalChannel;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.InFlightLimitBehavior;
 import com.couchbase.client.core.env.SecurityConfig;
 import com.couchbase.client.core.error.BucketNotFoundException;
 import com.couchbase.client.core.error.InvalidArgumentException;
@@ -75,6 +79,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -132,11 +137,36 @@ public abstract class BaseEndpoint implements Endpoint {
   /**
    * If the current endpoint is free or not.
    *
-   * <p>Note that the value is not tracked if pipelined = true, since we only need it
-   * to check if the endpoint is free or not. And it is always free for pipelined endpoints.</p>
+   * <p>Note that the value is not tracked if pipelined = true and no in-flight limit is set, since we only need it
+   * to check if the endpoint is free or not. And it is always free for pipelined endpoints without a limit.</p>
    */
   private final AtomicInteger outstandingRequests;
 
+  /**
+   * The maximum number of requests in flight if pipelined, 0 if not limited.
+   */
+  private final int maxInFlightRequests;
+
+  /**
+   * What to do with a request once {@link #maxInFlightRequests} is reached.
+   */
+  private final InFlightLimitBehavior inFlightLimitBehavior;
+
+  /**
+   * Records the number of requests in flight on every write, only used if the in-flight requests are limited.
+   */
+  private final ValueRecorder inFlightRecorder;
+
+  /**
+   * Counts the requests which have been held back because the in-flight limit has been reached.
+   */
+  private final Counter inFlightLimitQueued;
+
+  /**
+   * Counts the requests which have been rejected because the in-flight limit has been reached.
+   */
+  private final Counter inFlightLimitRejected;
+
   /**
    * The event loop group used for this endpoint, passed to netty.
    */
@@ -160,6 +190,11 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   private volatile Channel channel;
 
+  /**
+   * If write batching is enabled, queues the requests for the current channel.
+   */
+  private volatile WriteBatcher writeBatcher;
+
   /**
    * Holds the unix nanotime when the last response completed.
    */
@@ -182,6 +217,26 @@ public abstract class BaseEndpoint implements Endpoint {
   BaseEndpoint(final String hostname, final int port, final EventLoopGroup eventLoopGroup,
                final ServiceContext serviceContext, final CircuitBreakerConfig circuitBreakerConfig,
                final ServiceType serviceType, final boolean pipelined) {
+    this(hostname, port, eventLoopGroup, serviceContext, circuitBreakerConfig, serviceType, pipelined,
+      0, InFlightLimitBehavior.QUEUE);
+  }
+
+  /**
+   * Constructor to create a new endpoint which limits the number of requests in flight, usually called
+   * by subclasses.
+   *
+   * @param hostname the remote hostname.
+   * @param port the remote port.
+   * @param eventLoopGroup the netty event loop group to use.
+   * @param serviceContext the core context.
+   * @param circuitBreakerConfig the circuit breaker config used.
+   * @param maxInFlightRequests the maximum number of requests in flight if pipelined, 0 if not limited.
+   * @param inFlightLimitBehavior what to do with requests once the limit is reached.
+   */
+  BaseEndpoint(final String hostname, final int port, final EventLoopGroup eventLoopGroup,
+               final ServiceContext serviceContext, final CircuitBreakerConfig circuitBreakerConfig,
+               final ServiceType serviceType, final boolean pipelined, final int maxInFlightRequests,
+               final InFlightLimitBehavior inFlightLimitBehavior) {
     disconnect = new AtomicBoolean(false);
     this.hostname = hostname;
     this.port = port;
@@ -205,11 +260,32 @@ public abstract class BaseEndpoint implements Endpoint {
     );
 
     this.outstandingRequests = new AtomicInteger(0);
+    this.maxInFlightRequests = pipelined ? maxInFlightRequests : 0;
+    this.inFlightLimitBehavior = inFlightLimitBehavior;
+    if (this.maxInFlightRequests > 0) {
+      Meter meter = serviceContext.environment().meter();
+      this.inFlightRecorder = meter.valueRecorder(TracingIdentifiers.METER_IN_FLIGHT, inFlightTags(serviceType, null));
+      this.inFlightLimitQueued = meter.counter(TracingIdentifiers.METER_IN_FLIGHT_LIMIT, inFlightTags(serviceType, "queued"));
+      this.inFlightLimitRejected = meter.counter(TracingIdentifiers.METER_IN_FLIGHT_LIMIT, inFlightTags(serviceType, "rejected"));
+    } else {
+      this.inFlightRecorder = null;
+      this.inFlightLimitQueued = null;
+      this.inFlightLimitRejected = null;
+    }
     this.lastResponseTimestamp = 0;
     this.eventLoopGroup = eventLoopGroup;
     this.serviceType = serviceType;
   }
 
+  private static Map<String, String> inFlightTags(final ServiceType serviceType, final String outcome) {
+    Map<String, String> tags = new HashMap<>(2);
+    tags.put(TracingIdentifiers.ATTR_SERVICE, serviceType.ident());
+    if (outcome != null) {
+      tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    }
+    return tags;
+  }
+
   @Override
   public EndpointContext context() {
     return endpointContext.get();
@@ -243,6 +319,16 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   protected abstract PipelineInitializer pipelineInitializer();
 
+  /**
+   * Returns the maximum number of requests which are written before the channel is flushed.
+   *
+   * <p>If 0 (the default), every request is written and flushed on its own. Subclasses can override this
+   * to have requests queued and written in batches from the event loop.</p>
+   */
+  protected int maxWriteBatchSize() {
+    return 0;
+  }
+
   /**
    * Starts the connect process of this endpoint.
    *
@@ -388,6 +474,10 @@ public abstract class BaseEndpoint implements Endpoint {
             ));
             closeChannel(channel);
           } else {
+            int maxWriteBatchSize = maxWriteBatchSize();
+            this.writeBatcher = maxWriteBatchSize > 0
+              ? new WriteBatcher(channel, maxWriteBatchSize, this::writeListener)
+              : null;
             this.channel = channel;
 
             Optional<HostAndPort> localSocket = Optional.empty();
@@ -474,6 +564,7 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   @Stability.Internal
   public void notifyChannelInactive() {
+    // The requests in flight on this channel are retried and count again once they are dispatched.
     outstandingRequests.set(0);
     if (disconnect.get()) {
       // We don't need to do anything if we've been already instructed to disconnect.
@@ -542,6 +633,8 @@ public abstract class BaseEndpoint implements Endpoint {
 
       if (!pipelined) {
         outstandingRequests.incrementAndGet();
+      } else if (maxInFlightRequests > 0) {
+        inFlightRecorder.recordValue(outstandingRequests.incrementAndGet());
       }
       if (circuitBreakerEnabled) {
         circuitBreaker.track();
@@ -554,16 +647,20 @@ public abstract class BaseEndpoint implements Endpoint {
         });
       }
 
-      channel
-        .writeAndFlush(request)
-        .addListener(f -> {
-          if (!f.isSuccess()) {
-            EndpointContext context = endpointContext.get();
-            Event.Severity severity = disconnect.get() ? Event.Severity.DEBUG : Event.Severity.WARN;
-            context.environment().eventBus().publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
-            RetryOrchestrator.maybeRetry(context, request, RetryReason.ENDPOINT_NOT_WRITABLE);
-          }
-        });
+      final WriteBatcher batcher = writeBatcher;
+      if (batcher != null) {
+        batcher.enqueue(request);
+      } else {
+        channel.writeAndFlush(request).addListener(writeListener(request));
+      }
+    } else if (channelWritable() && inFlightLimitReached()) {
+      if (inFlightLimitBehavior == InFlightLimitBehavior.REJECT) {
+        inFlightLimitRejected.incrementBy(1);
+        request.cancel(CancellationReason.TOO_MANY_REQUESTS_IN_FLIGHT);
+      } else {
+        inFlightLimitQueued.incrementBy(1);
+        RetryOrchestrator.maybeRetry(ctx, request, RetryReason.ENDPOINT_IN_FLIGHT_LIMIT_REACHED);
+      }
     } else {
       RetryReason retryReason = circuitBreaker.allowsRequest()
         ? RetryReason.ENDPOINT_NOT_WRITABLE
@@ -572,11 +669,41 @@ public abstract class BaseEndpoint implements Endpoint {
     }
   }
 
+  /**
+   * Creates the listener which retries the request if it could not be written into the channel.
+   *
+   * @param request the request which is written.
+   * @return the listener to attach to the write future.
+   */
+  private ChannelFutureListener writeListener(final Request<? extends Response> request) {
+    return f -> {
+      if (!f.isSuccess()) {
+        EndpointContext context = endpointContext.get();
+        Event.Severity severity = disconnect.get() ? Event.Severity.DEBUG : Event.Severity.WARN;
+        context.environment().eventBus().publish(new EndpointWriteFailedEvent(severity, context, f.cause()));
+        if (maxInFlightRequests > 0) {
+          decrementInFlightRequests();
+        }
+        RetryOrchestrator.maybeRetry(context, request, RetryReason.ENDPOINT_NOT_WRITABLE);
+      }
+    };
+  }
+
   @Override
   public boolean freeToWrite() {
+    if (maxInFlightRequests > 0) {
+      return outstandingRequests.get() < maxInFlightRequests;
+    }
     return pipelined || outstandingRequests.get() == 0;
   }
 
+  /**
+   * Checks if this endpoint is pipelined and has reached the configured maximum number of requests in flight.
+   */
+  private boolean inFlightLimitReached() {
+    return maxInFlightRequests > 0 && outstandingRequests.get() >= maxInFlightRequests;
+  }
+
   @Override
   public long outstandingRequests() {
     return outstandingRequests.get();
@@ -606,9 +733,21 @@ public abstract class BaseEndpoint implements Endpoint {
   public void decrementOutstandingRequests() {
     if (!pipelined) {
       outstandingRequests.decrementAndGet();
+    } else if (maxInFlightRequests > 0) {
+      decrementInFlightRequests();
     }
   }
 
+  /**
+   * Frees the in-flight slot of a dispatched request once it has been answered or could not be written.
+   *
+   * <p>The count is reset when the channel goes inactive, so late responses or write failures from the old
+   * channel must not push it below zero.</p>
+   */
+  private void decrementInFlightRequests() {
+    outstandingRequests.updateAndGet(count -> count > 0 ? count - 1 : 0);
+  }
+
   @Override
   @Stability.Internal
   public long lastConnectedAt() {
@@ -621,11 +760,20 @@ public abstract class BaseEndpoint implements Endpoint {
    * @return true if we can, false otherwise.
    */
   private boolean canWrite() {
+    return channelWritable() && freeToWrite();
+  }
+
+  /**
+   * Helper method to check if the channel is connected, writable and not held back by the circuit breaker,
+   * regardless of the number of requests in flight.
+   *
+   * @return true if it is, false otherwise.
+   */
+  private boolean channelWritable() {
     return state.state() == EndpointState.CONNECTED
       && channel.isActive()
       && channel.isWritable()
-      && circuitBreaker.allowsRequest()
-      && freeToWrite();
+      && circuitBreaker.allowsRequest();
   }
 
   @Override
@@ -19,6 +19,8 @@ package com.couchbase.client.core.endpoint;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPipeline;
 import com.couchbase.client.core.deps.io.netty.handler.flush.FlushConsolidationHandler;
 import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.InFlightLimitBehavior;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.io.netty.kv.ErrorMapLoadingHandler;
 import com.couchbase.client.core.io.netty.kv.FeatureNegotiatingHandler;
 import com.couchbase.client.core.io.netty.kv.KeyValueMessageHandler;
@@ -26,6 +28,8 @@ import com.couchbase.client.core.io.netty.kv.MemcacheProtocolDecodeHandler;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocolVerificationHandler;
 import com.couchbase.client.core.io.netty.kv.SelectBucketHandler;
 import com.couchbase.client.core.io.netty.kv.ServerFeature;
+import com.couchbase.client.core.io.netty.kv.WriteCoalescingHandler;
+import com.couchbase.client.core.service.KeyValueServiceConfig;
 import com.couchbase.client.core.service.ServiceContext;
 import com.couchbase.client.core.service.ServiceType;
 
@@ -45,8 +49,16 @@ public class KeyValueEndpoint extends BaseEndpoint {
 
   public KeyValueEndpoint(final ServiceContext ctx, final String hostname,
                           final int port, final Optional<String> bucketname, final Authenticator authenticator) {
+    this(ctx, hostname, port, bucketname, authenticator, KeyValueServiceConfig.DEFAULT_MAX_IN_FLIGHT_REQUESTS,
+      KeyValueServiceConfig.DEFAULT_IN_FLIGHT_LIMIT_BEHAVIOR);
+  }
+
+  public KeyValueEndpoint(final ServiceContext ctx, final String hostname,
+                          final int port, final Optional<String> bucketname, final Authenticator authenticator,
+                          final int maxInFlightRequests, final InFlightLimitBehavior inFlightLimitBehavior) {
     super(hostname, port, ctx.environment().ioEnvironment().kvEventLoopGroup().get(),
-      ctx, ctx.environment().ioConfig().kvCircuitBreakerConfig(), ServiceType.KV, true);
+      ctx, ctx.environment().ioConfig().kvCircuitBreakerConfig(), ServiceType.KV, true,
+      maxInFlightRequests, inFlightLimitBehavior);
     this.authenticator = authenticator;
     this.bucketname = bucketname;
   }
@@ -56,6 +68,12 @@ public class KeyValueEndpoint extends BaseEndpoint {
     return new KeyValuePipelineInitializer(context(), bucketname, authenticator);
   }
 
+  @Override
+  protected int maxWriteBatchSize() {
+    IoConfig config = context().environment().ioConfig();
+    return config.kvWriteBatchingEnabled() ? config.maxKvWriteBatchSize() : 0;
+  }
+
   public static class KeyValuePipelineInitializer implements PipelineInitializer {
 
     private final EndpointContext ctx;
@@ -70,7 +88,11 @@ public class KeyValueEndpoint extends BaseEndpoint {
 
     @Override
     public void init(BaseEndpoint endpoint, ChannelPipeline pipeline) {
-      if (FLUSH_CONSOLIDATION_LIMIT > 0) {
+      IoConfig config = ctx.environment().ioConfig();
+      if (config.kvWriteBatchingEnabled()) {
+        // Writes are already batched and flushed once per batch, so no further flush consolidation is needed.
+        pipeline.addLast(new WriteCoalescingHandler(config.maxKvCoalescedWriteBytes(), ctx.environment().meter()));
+      } else if (FLUSH_CONSOLIDATION_LIMIT > 0) {
         pipeline.addLast(new FlushConsolidationHandler(FLUSH_CONSOLIDATION_LIMIT, true));
       }
 
@@ -111,6 +133,12 @@ public class KeyValueEndpoint extends BaseEndpoint {
         features.add(ServerFeature.SNAPPY);
       }
 
+      if (ctx.environment().ioConfig().clusterMapChangeNotificationsEnabled()) {
+        // The server only pushes on duplex connections.
+        features.add(ServerFeature.DUPLEX);
+        features.add(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
+      }
+
       boolean unorderedExecutionEnabled = Boolean.parseBoolean(
         System.getProperty("com.couchbase.unorderedExecutionEnabled", "true")
       );
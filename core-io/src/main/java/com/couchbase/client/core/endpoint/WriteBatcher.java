@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.deps.io.netty.channel.Channel;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelFutureListener;
+import com.couchbase.client.core.deps.io.netty.util.internal.PlatformDependent;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Queues requests for a single channel and writes them in batches from its event loop.
+ * <p>
+ * Instead of scheduling one task per request on the event loop, callers enqueue into a multi-producer queue and
+ * only the first one schedules a drain task. The task writes up to the configured number of requests and flushes
+ * once, so the batch size adapts to the load: under light load every flush carries a single request, under heavy
+ * load many requests share one task and one syscall.
+ */
+class WriteBatcher {
+
+  private final Channel channel;
+  private final int maxBatchSize;
+  private final Function<Request<? extends Response>, ChannelFutureListener> writeListener;
+  private final Queue<Request<? extends Response>> queue = PlatformDependent.newMpscQueue();
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+  private final Runnable drainTask = this::drain;
+
+  /**
+   * Creates a new batcher.
+   *
+   * @param channel the channel to write into.
+   * @param maxBatchSize the maximum number of requests written per flush.
+   * @param writeListener creates the listener which is attached to the write future of each request.
+   */
+  WriteBatcher(final Channel channel, final int maxBatchSize,
+               final Function<Request<? extends Response>, ChannelFutureListener> writeListener) {
+    this.channel = channel;
+    this.maxBatchSize = maxBatchSize;
+    this.writeListener = writeListener;
+  }
+
+  /**
+   * Queues the request and makes sure a drain task is scheduled on the event loop.
+   *
+   * @param request the request to write.
+   */
+  void enqueue(final Request<? extends Response> request) {
+    queue.offer(request);
+    schedule();
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        channel.eventLoop().execute(drainTask);
+      } catch (RejectedExecutionException ex) {
+        // The event loop is shutting down, so writing each request fails and its listener takes over.
+        Request<? extends Response> request;
+        while ((request = queue.poll()) != null) {
+          channel.write(request).addListener(writeListener.apply(request));
+        }
+        scheduled.set(false);
+      }
+    }
+  }
+
+  private void drain() {
+    int written = 0;
+    Request<? extends Response> request;
+    while (written < maxBatchSize && (request = queue.poll()) != null) {
+      channel.write(request).addListener(writeListener.apply(request));
+      written++;
+    }
+    if (written > 0) {
+      channel.flush();
+    }
+
+    scheduled.set(false);
+    if (!queue.isEmpty()) {
+      // Either the batch was full or a request raced with the reset above. Rescheduling instead of
+      // looping gives the event loop the chance to handle I/O in between.
+      schedule();
+    }
+  }
+
+}
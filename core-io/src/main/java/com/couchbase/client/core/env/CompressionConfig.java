@@ -17,6 +17,7 @@
 package com.couchbase.client.core.env;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -31,6 +32,8 @@ public class CompressionConfig {
   public static final boolean DEFAULT_ENABLED = true;
   public static final int DEFAULT_MIN_SIZE = 32;
   public static final double DEFAULT_MIN_RATIO = 0.83;
+  public static final boolean DEFAULT_ADAPTIVE = false;
+  public static final int DEFAULT_SAMPLE_SIZE = 4096;
 
   /**
    * If compression is enabled or not.
@@ -47,6 +50,16 @@ public class CompressionConfig {
    */
   private final double minRatio;
 
+  /**
+   * If a prefix of large documents should be sampled before compressing them in full.
+   */
+  private final boolean adaptive;
+
+  /**
+   * The size of the prefix which is sampled in adaptive mode.
+   */
+  private final int sampleSize;
+
   /**
    * Creates a {@link CompressionConfig} with default arguments.
    *
@@ -100,6 +113,33 @@ public class CompressionConfig {
     return builder().minRatio(minRatio);
   }
 
+  /**
+   * If set to true, only a prefix of large documents is compressed first to decide if compressing the
+   * full document is worth it.
+   *
+   * <p>The default is false.</p>
+   *
+   * @param adaptive true to enable adaptive compression, false otherwise.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder adaptive(boolean adaptive) {
+    return builder().adaptive(adaptive);
+  }
+
+  /**
+   * The size of the document prefix which is sampled when adaptive compression is enabled.
+   *
+   * <p>The default is 4096 bytes.</p>
+   *
+   * @param sampleSize the sample size in bytes.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  @Stability.Volatile
+  public static Builder sampleSize(int sampleSize) {
+    return builder().sampleSize(sampleSize);
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -109,6 +149,8 @@ public class CompressionConfig {
     export.put("enabled", enabled);
     export.put("minRatio", minRatio);
     export.put("minSize", minSize);
+    export.put("adaptive", adaptive);
+    export.put("sampleSize", sampleSize);
     return export;
   }
 
@@ -121,6 +163,8 @@ public class CompressionConfig {
     this.enabled = builder.enabled;
     this.minRatio = builder.minRatio;
     this.minSize = builder.minSize;
+    this.adaptive = builder.adaptive;
+    this.sampleSize = builder.sampleSize;
   }
 
   /**
@@ -150,6 +194,26 @@ public class CompressionConfig {
     return enabled;
   }
 
+  /**
+   * True if large documents are sampled before they are compressed in full.
+   *
+   * @return true if adaptive compression is enabled, false otherwise.
+   */
+  @Stability.Volatile
+  public boolean adaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Returns the size of the document prefix which is sampled in adaptive mode.
+   *
+   * @return the sample size in bytes.
+   */
+  @Stability.Volatile
+  public int sampleSize() {
+    return sampleSize;
+  }
+
   /**
    * This builder allows to customize the {@link CompressionConfig}.
    */
@@ -158,6 +222,8 @@ public class CompressionConfig {
     private boolean enabled = DEFAULT_ENABLED;
     private int minSize = DEFAULT_MIN_SIZE;
     private double minRatio = DEFAULT_MIN_RATIO;
+    private boolean adaptive = DEFAULT_ADAPTIVE;
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
 
     public CompressionConfig build() {
       return new CompressionConfig(this);
@@ -197,6 +263,38 @@ public class CompressionConfig {
       return this;
     }
 
+    /**
+     * If set to true, only a prefix of large documents is compressed first to decide if compressing the
+     * full document is worth it.
+     *
+     * <p>Documents which are already compressed (images, archives, encrypted payloads,...) will not meet the
+     * minimum ratio, so with this setting they only pay for compressing the sample instead of the full document.
+     * Only documents which are at least twice the sample size are sampled.</p>
+     *
+     * @param adaptive true to enable adaptive compression, false otherwise.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder adaptive(boolean adaptive) {
+      this.adaptive = adaptive;
+      return this;
+    }
+
+    /**
+     * The size of the document prefix which is sampled when adaptive compression is enabled.
+     *
+     * @param sampleSize the sample size in bytes, must be at least 1.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder sampleSize(int sampleSize) {
+      if (sampleSize < 1) {
+        throw InvalidArgumentException.fromMessage("Sample size must be at least 1, but is " + sampleSize);
+      }
+      this.sampleSize = sampleSize;
+      return this;
+    }
+
   }
 
 }
@@ -117,6 +117,8 @@ public class CoreEnvironment {
   private final Supplier<Scheduler> scheduler;
   private final OrphanReporter orphanReporter;
   private final long maxNumRequestsInRetry;
+  private final int timerShards;
+  private final Duration timerTickDuration;
 
   public static CoreEnvironment create() {
     return builder().build();
@@ -132,6 +134,8 @@ public class CoreEnvironment {
 
     this.userAgent = defaultUserAgent();
     this.maxNumRequestsInRetry = builder.maxNumRequestsInRetry;
+    this.timerShards = builder.timerShards;
+    this.timerTickDuration = builder.timerTickDuration;
     this.scheduler = Optional
       .ofNullable(builder.scheduler)
       .orElse(new OwnedSupplier<>(
@@ -140,8 +144,6 @@ public class CoreEnvironment {
     this.eventBus = Optional
       .ofNullable(builder.eventBus)
       .orElse(new OwnedSupplier<>(DefaultEventBus.create(scheduler.get())));
-    this.timer = Timer.createAndStart(maxNumRequestsInRetry);
-
 
     this.securityConfig = builder.securityConfig.build();
 
@@ -178,6 +180,8 @@ public class CoreEnvironment {
       meter.get().start().block();
     }
 
+    this.timer = Timer.createAndStart(maxNumRequestsInRetry, timerShards, timerTickDuration, meter.get());
+
     orphanReporter = new OrphanReporter(eventBus.get(), orphanReporterConfig);
     orphanReporter.start().block();
 
@@ -478,6 +482,8 @@ public class CoreEnvironment {
 
     input.put("userAgent", userAgent.formattedLong());
     input.put("maxNumRequestsInRetry", maxNumRequestsInRetry);
+    input.put("timerShards", timerShards);
+    input.put("timerTickDurationMs", timerTickDuration.toMillis());
 
     input.put("ioEnvironment", ioEnvironment.exportAsMap());
     input.put("ioConfig", ioConfig.exportAsMap());
@@ -518,6 +524,8 @@ public class CoreEnvironment {
     private Supplier<Meter> meter = null;
     private RetryStrategy retryStrategy = null;
     private long maxNumRequestsInRetry = DEFAULT_MAX_NUM_REQUESTS_IN_RETRY;
+    private int timerShards = Timer.DEFAULT_NUM_SHARDS;
+    private Duration timerTickDuration = Timer.DEFAULT_TICK_DURATION;
 
     protected Builder() { }
 
@@ -544,6 +552,44 @@ public class CoreEnvironment {
       return self();
     }
 
+    /**
+     * Allows to customize the number of independent timer wheels used to track request timeouts and retries.
+     * <p>
+     * Every wheel runs on its own thread, and each thread submitting requests always registers them with the
+     * same wheel. Using more than one wheel (defaults to {@link Timer#DEFAULT_NUM_SHARDS}) reduces the contention
+     * on the timer if many application threads submit requests at a very high rate.
+     *
+     * @param timerShards the number of timer wheels, must be at least 1.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public SELF timerShards(final int timerShards) {
+      if (timerShards < 1) {
+        throw InvalidArgumentException.fromMessage("timerShards must be at least 1");
+      }
+      this.timerShards = timerShards;
+      return self();
+    }
+
+    /**
+     * Allows to customize the tick duration of the timer wheels.
+     * <p>
+     * Timeouts and retries fire with the precision of one tick (defaults to {@link Timer#DEFAULT_TICK_DURATION}).
+     * A shorter tick is more accurate but wakes up the timer threads more often.
+     *
+     * @param timerTickDuration the tick duration, must be at least 1 millisecond.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    @Stability.Volatile
+    public SELF timerTickDuration(final Duration timerTickDuration) {
+      notNull(timerTickDuration, "TimerTickDuration");
+      if (timerTickDuration.toMillis() < 1) {
+        throw InvalidArgumentException.fromMessage("timerTickDuration must be at least 1 millisecond");
+      }
+      this.timerTickDuration = timerTickDuration;
+      return self();
+    }
+
     /**
      * Immediately loads the properties from the given loader into the environment.
      *
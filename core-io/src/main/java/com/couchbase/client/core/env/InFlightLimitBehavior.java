@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.env;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.retry.RetryReason;
+
+/**
+ * Determines what happens to a request if the KV endpoint it should be written to already has the maximum
+ * number of requests in flight.
+ *
+ * @see IoConfig.Builder#maxKvInFlightRequests(int)
+ */
+@Stability.Volatile
+public enum InFlightLimitBehavior {
+
+  /**
+   * The request is held back and retried with backoff until the endpoint has capacity again or the request
+   * times out (retried with {@link RetryReason#ENDPOINT_IN_FLIGHT_LIMIT_REACHED}).
+   */
+  QUEUE,
+
+  /**
+   * The request fails fast with a {@link CancellationReason#TOO_MANY_REQUESTS_IN_FLIGHT}, so that the
+   * application can apply its own backpressure.
+   */
+  REJECT,
+
+  /**
+   * The request is written to another connection to the same node if one has capacity, and held back like
+   * {@link #QUEUE} otherwise.
+   * <p>
+   * Note that operations on the same document are not guaranteed to be sent over the same connection anymore,
+   * so their relative order is not preserved.
+   */
+  SPILL
+
+}
@@ -19,6 +19,7 @@ package com.couchbase.client.core.env;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.endpoint.CircuitBreaker;
 import com.couchbase.client.core.endpoint.CircuitBreakerConfig;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.service.AbstractPooledEndpointServiceConfig;
 import com.couchbase.client.core.service.ServiceType;
 
@@ -31,6 +32,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.couchbase.client.core.util.Validators.notNull;
+
 public class IoConfig {
 
   public static final boolean DEFAULT_MUTATION_TOKENS_ENABLED = true;
@@ -43,6 +46,19 @@ public class IoConfig {
   public static final int DEFAULT_MAX_HTTP_CONNECTIONS = AbstractPooledEndpointServiceConfig.DEFAULT_MAX_ENDPOINTS;
   public static final Duration DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT = AbstractPooledEndpointServiceConfig.DEFAULT_IDLE_TIME;
   public static final Duration DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT = Duration.ofMinutes(5);
+  public static final boolean DEFAULT_KV_WRITE_BATCHING_ENABLED = false;
+  public static final int DEFAULT_MAX_KV_WRITE_BATCH_SIZE = 128;
+  public static final int DEFAULT_MAX_KV_COALESCED_WRITE_BYTES = 64 * 1024;
+  public static final int DEFAULT_MAX_KV_IN_FLIGHT_REQUESTS = 0;
+  public static final InFlightLimitBehavior DEFAULT_KV_IN_FLIGHT_LIMIT_BEHAVIOR = InFlightLimitBehavior.QUEUE;
+  public static final boolean DEFAULT_CLUSTER_MAP_CHANGE_NOTIFICATIONS_ENABLED = false;
+  public static final Duration DEFAULT_CONFIG_SAFETY_NET_POLL_INTERVAL = Duration.ofSeconds(30);
+  public static final boolean DEFAULT_KV_GET_COALESCING_ENABLED = false;
+  public static final int DEFAULT_MAX_QUERY_PREPARED_STATEMENTS = 5000;
+  public static final int DEFAULT_STREAMING_ROWS_LOW_WATERMARK = 256;
+  public static final int DEFAULT_STREAMING_ROWS_HIGH_WATERMARK = 1024;
+  public static final long DEFAULT_STREAMING_BYTES_LOW_WATERMARK = 4 * 1024 * 1024;
+  public static final long DEFAULT_STREAMING_BYTES_HIGH_WATERMARK = 16 * 1024 * 1024;
 
   private final boolean mutationTokensEnabled;
   private final Duration configPollInterval;
@@ -61,6 +77,19 @@ public class IoConfig {
   private final int maxHttpConnections;
   private final Duration idleHttpConnectionTimeout;
   private final Duration configIdleRedialTimeout;
+  private final boolean kvWriteBatchingEnabled;
+  private final int maxKvWriteBatchSize;
+  private final int maxKvCoalescedWriteBytes;
+  private final int maxKvInFlightRequests;
+  private final InFlightLimitBehavior kvInFlightLimitBehavior;
+  private final boolean clusterMapChangeNotificationsEnabled;
+  private final Duration configSafetyNetPollInterval;
+  private final boolean kvGetCoalescingEnabled;
+  private final int maxQueryPreparedStatements;
+  private final int streamingRowsLowWatermark;
+  private final int streamingRowsHighWatermark;
+  private final long streamingBytesLowWatermark;
+  private final long streamingBytesHighWatermark;
 
   private IoConfig(Builder builder) {
     mutationTokensEnabled = builder.mutationTokensEnabled;
@@ -84,6 +113,19 @@ public class IoConfig {
     maxHttpConnections = builder.maxHttpConnections;
     idleHttpConnectionTimeout = builder.idleHttpConnectionTimeout;
     configIdleRedialTimeout = builder.configIdleRedialTimeout;
+    kvWriteBatchingEnabled = builder.kvWriteBatchingEnabled;
+    maxKvWriteBatchSize = builder.maxKvWriteBatchSize;
+    maxKvCoalescedWriteBytes = builder.maxKvCoalescedWriteBytes;
+    maxKvInFlightRequests = builder.maxKvInFlightRequests;
+    kvInFlightLimitBehavior = builder.kvInFlightLimitBehavior;
+    clusterMapChangeNotificationsEnabled = builder.clusterMapChangeNotificationsEnabled;
+    configSafetyNetPollInterval = builder.configSafetyNetPollInterval;
+    kvGetCoalescingEnabled = builder.kvGetCoalescingEnabled;
+    maxQueryPreparedStatements = builder.maxQueryPreparedStatements;
+    streamingRowsLowWatermark = builder.streamingRowsLowWatermark;
+    streamingRowsHighWatermark = builder.streamingRowsHighWatermark;
+    streamingBytesLowWatermark = builder.streamingBytesLowWatermark;
+    streamingBytesHighWatermark = builder.streamingBytesHighWatermark;
   }
 
   public static IoConfig create() {
@@ -173,6 +215,60 @@ public class IoConfig {
     return builder().configIdleRedialTimeout(configIdleRedialTimeout);
   }
 
+  @Stability.Volatile
+  public static Builder enableKvWriteBatching(boolean kvWriteBatchingEnabled) {
+    return builder().enableKvWriteBatching(kvWriteBatchingEnabled);
+  }
+
+  @Stability.Volatile
+  public static Builder maxKvWriteBatchSize(int maxKvWriteBatchSize) {
+    return builder().maxKvWriteBatchSize(maxKvWriteBatchSize);
+  }
+
+  @Stability.Volatile
+  public static Builder maxKvCoalescedWriteBytes(int maxKvCoalescedWriteBytes) {
+    return builder().maxKvCoalescedWriteBytes(maxKvCoalescedWriteBytes);
+  }
+
+  @Stability.Volatile
+  public static Builder maxKvInFlightRequests(int maxKvInFlightRequests) {
+    return builder().maxKvInFlightRequests(maxKvInFlightRequests);
+  }
+
+  @Stability.Volatile
+  public static Builder kvInFlightLimitBehavior(InFlightLimitBehavior kvInFlightLimitBehavior) {
+    return builder().kvInFlightLimitBehavior(kvInFlightLimitBehavior);
+  }
+
+  @Stability.Volatile
+  public static Builder enableClusterMapChangeNotifications(boolean clusterMapChangeNotificationsEnabled) {
+    return builder().enableClusterMapChangeNotifications(clusterMapChangeNotificationsEnabled);
+  }
+
+  @Stability.Volatile
+  public static Builder configSafetyNetPollInterval(Duration configSafetyNetPollInterval) {
+    return builder().configSafetyNetPollInterval(configSafetyNetPollInterval);
+  }
+
+  @Stability.Volatile
+  public static Builder enableKvGetCoalescing(boolean kvGetCoalescingEnabled) {
+    return builder().enableKvGetCoalescing(kvGetCoalescingEnabled);
+  }
+
+  public static Builder maxQueryPreparedStatements(int maxQueryPreparedStatements) {
+    return builder().maxQueryPreparedStatements(maxQueryPreparedStatements);
+  }
+
+  @Stability.Volatile
+  public static Builder streamingRowsWatermarks(int lowWatermark, int highWatermark) {
+    return builder().streamingRowsWatermarks(lowWatermark, highWatermark);
+  }
+
+  @Stability.Volatile
+  public static Builder streamingBytesWatermarks(long lowWatermark, long highWatermark) {
+    return builder().streamingBytesWatermarks(lowWatermark, highWatermark);
+  }
+
   public CircuitBreakerConfig kvCircuitBreakerConfig() {
     return kvCircuitBreakerConfig;
   }
@@ -246,6 +342,70 @@ public class IoConfig {
     return configIdleRedialTimeout;
   }
 
+  @Stability.Volatile
+  public boolean kvWriteBatchingEnabled() {
+    return kvWriteBatchingEnabled;
+  }
+
+  @Stability.Volatile
+  public int maxKvWriteBatchSize() {
+    return maxKvWriteBatchSize;
+  }
+
+  @Stability.Volatile
+  public int maxKvCoalescedWriteBytes() {
+    return maxKvCoalescedWriteBytes;
+  }
+
+  @Stability.Volatile
+  public int maxKvInFlightRequests() {
+    return maxKvInFlightRequests;
+  }
+
+  @Stability.Volatile
+  public InFlightLimitBehavior kvInFlightLimitBehavior() {
+    return kvInFlightLimitBehavior;
+  }
+
+  @Stability.Volatile
+  public boolean clusterMapChangeNotificationsEnabled() {
+    return clusterMapChangeNotificationsEnabled;
+  }
+
+  @Stability.Volatile
+  public Duration configSafetyNetPollInterval() {
+    return configSafetyNetPollInterval;
+  }
+
+  @Stability.Volatile
+  public boolean kvGetCoalescingEnabled() {
+    return kvGetCoalescingEnabled;
+  }
+
+  public int maxQueryPreparedStatements() {
+    return maxQueryPreparedStatements;
+  }
+
+  @Stability.Volatile
+  public int streamingRowsLowWatermark() {
+    return streamingRowsLowWatermark;
+  }
+
+  @Stability.Volatile
+  public int streamingRowsHighWatermark() {
+    return streamingRowsHighWatermark;
+  }
+
+  @Stability.Volatile
+  public long streamingBytesLowWatermark() {
+    return streamingBytesLowWatermark;
+  }
+
+  @Stability.Volatile
+  public long streamingBytesHighWatermark() {
+    return streamingBytesHighWatermark;
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -269,6 +429,19 @@ public class IoConfig {
     export.put("maxHttpConnections", maxHttpConnections);
     export.put("idleHttpConnectionTimeoutMs", idleHttpConnectionTimeout.toMillis());
     export.put("configIdleRedialTimeoutMs", configIdleRedialTimeout.toMillis());
+    export.put("kvWriteBatchingEnabled", kvWriteBatchingEnabled);
+    export.put("maxKvWriteBatchSize", maxKvWriteBatchSize);
+    export.put("maxKvCoalescedWriteBytes", maxKvCoalescedWriteBytes);
+    export.put("maxKvInFlightRequests", maxKvInFlightRequests);
+    export.put("kvInFlightLimitBehavior", kvInFlightLimitBehavior.name());
+    export.put("clusterMapChangeNotificationsEnabled", clusterMapChangeNotificationsEnabled);
+    export.put("configSafetyNetPollIntervalMs", configSafetyNetPollInterval.toMillis());
+    export.put("kvGetCoalescingEnabled", kvGetCoalescingEnabled);
+    export.put("maxQueryPreparedStatements", maxQueryPreparedStatements);
+    export.put("streamingRowsLowWatermark", streamingRowsLowWatermark);
+    export.put("streamingRowsHighWatermark", streamingRowsHighWatermark);
+    export.put("streamingBytesLowWatermark", streamingBytesLowWatermark);
+    export.put("streamingBytesHighWatermark", streamingBytesHighWatermark);
     return export;
   }
 
@@ -291,6 +464,19 @@ public class IoConfig {
     private int maxHttpConnections = DEFAULT_MAX_HTTP_CONNECTIONS;
     private Duration idleHttpConnectionTimeout = DEFAULT_IDLE_HTTP_CONNECTION_TIMEOUT;
     private Duration configIdleRedialTimeout = DEFAULT_CONFIG_IDLE_REDIAL_TIMEOUT;
+    private boolean kvWriteBatchingEnabled = DEFAULT_KV_WRITE_BATCHING_ENABLED;
+    private int maxKvWriteBatchSize = DEFAULT_MAX_KV_WRITE_BATCH_SIZE;
+    private int maxKvCoalescedWriteBytes = DEFAULT_MAX_KV_COALESCED_WRITE_BYTES;
+    private int maxKvInFlightRequests = DEFAULT_MAX_KV_IN_FLIGHT_REQUESTS;
+    private InFlightLimitBehavior kvInFlightLimitBehavior = DEFAULT_KV_IN_FLIGHT_LIMIT_BEHAVIOR;
+    private boolean clusterMapChangeNotificationsEnabled = DEFAULT_CLUSTER_MAP_CHANGE_NOTIFICATIONS_ENABLED;
+    private Duration configSafetyNetPollInterval = DEFAULT_CONFIG_SAFETY_NET_POLL_INTERVAL;
+    private boolean kvGetCoalescingEnabled = DEFAULT_KV_GET_COALESCING_ENABLED;
+    private int maxQueryPreparedStatements = DEFAULT_MAX_QUERY_PREPARED_STATEMENTS;
+    private int streamingRowsLowWatermark = DEFAULT_STREAMING_ROWS_LOW_WATERMARK;
+    private int streamingRowsHighWatermark = DEFAULT_STREAMING_ROWS_HIGH_WATERMARK;
+    private long streamingBytesLowWatermark = DEFAULT_STREAMING_BYTES_LOW_WATERMARK;
+    private long streamingBytesHighWatermark = DEFAULT_STREAMING_BYTES_HIGH_WATERMARK;
 
     public IoConfig build() {
       return new IoConfig(this);
@@ -462,5 +648,221 @@ public class IoConfig {
       this.configIdleRedialTimeout = configIdleRedialTimeout;
       return this;
     }
+
+    /**
+     * Configures whether requests on KV connections are batched before they are written.
+     * <p>
+     * If enabled, requests are queued per connection and written by a single task on the event loop, which
+     * flushes once per batch and copies small encoded requests into one contiguous buffer. Under light load
+     * every batch holds a single request, so no latency is added.
+     *
+     * @param kvWriteBatchingEnabled true to batch writes on KV connections.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder enableKvWriteBatching(final boolean kvWriteBatchingEnabled) {
+      this.kvWriteBatchingEnabled = kvWriteBatchingEnabled;
+      return this;
+    }
+
+    /**
+     * Configures how many requests are written at most before the connection is flushed, if write
+     * batching is enabled.
+     *
+     * @param maxKvWriteBatchSize the maximum number of requests per flush.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder maxKvWriteBatchSize(final int maxKvWriteBatchSize) {
+      if (maxKvWriteBatchSize < 1) {
+        throw InvalidArgumentException.fromMessage("maxKvWriteBatchSize must be >= 1");
+      }
+      this.maxKvWriteBatchSize = maxKvWriteBatchSize;
+      return this;
+    }
+
+    /**
+     * Configures how many bytes of encoded requests are copied at most into a single buffer, if write
+     * batching is enabled.
+     * <p>
+     * Requests which are larger than this limit are written as-is.
+     *
+     * @param maxKvCoalescedWriteBytes the maximum size of a coalesced buffer in bytes.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder maxKvCoalescedWriteBytes(final int maxKvCoalescedWriteBytes) {
+      if (maxKvCoalescedWriteBytes < 0) {
+        throw InvalidArgumentException.fromMessage("maxKvCoalescedWriteBytes must be >= 0");
+      }
+      this.maxKvCoalescedWriteBytes = maxKvCoalescedWriteBytes;
+      return this;
+    }
+
+    /**
+     * Configures how many requests can be in flight at most on a single KV connection.
+     * <p>
+     * Once the limit is reached, further requests for this connection are handled as configured through
+     * {@link #kvInFlightLimitBehavior(InFlightLimitBehavior)}. This keeps a slow node from piling up an unbounded
+     * number of outstanding requests. Note that the limit is enforced on a best-effort basis, so it might be
+     * exceeded by a few requests which are dispatched concurrently.
+     * <p>
+     * The default is 0, which means that the number of requests in flight is not limited.
+     *
+     * @param maxKvInFlightRequests the maximum number of requests in flight per KV connection, 0 for no limit.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder maxKvInFlightRequests(final int maxKvInFlightRequests) {
+      if (maxKvInFlightRequests < 0) {
+        throw InvalidArgumentException.fromMessage("maxKvInFlightRequests must be >= 0");
+      }
+      this.maxKvInFlightRequests = maxKvInFlightRequests;
+      return this;
+    }
+
+    /**
+     * Configures what happens to requests when a KV connection has reached its maximum number of requests
+     * in flight.
+     * <p>
+     * The default is {@link InFlightLimitBehavior#QUEUE}.
+     *
+     * @param kvInFlightLimitBehavior the behavior once the limit is reached.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder kvInFlightLimitBehavior(final InFlightLimitBehavior kvInFlightLimitBehavior) {
+      this.kvInFlightLimitBehavior = notNull(kvInFlightLimitBehavior, "KvInFlightLimitBehavior");
+      return this;
+    }
+
+    /**
+     * Configures if the server should push cluster map (config) changes over the KV connections.
+     * <p>
+     * If enabled and supported by the server (Couchbase Server 7.0 and later), a changed config is applied as
+     * soon as the server announces it, and polling for configs only happens every
+     * {@link #configSafetyNetPollInterval(Duration)} as a safety net. While a config is known to be outdated
+     * (for example during a rebalance), it is still polled every {@link #configPollInterval(Duration)}.
+     * <p>
+     * The default is false.
+     *
+     * @param clusterMapChangeNotificationsEnabled true if the server should push config changes.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder enableClusterMapChangeNotifications(final boolean clusterMapChangeNotificationsEnabled) {
+      this.clusterMapChangeNotificationsEnabled = clusterMapChangeNotificationsEnabled;
+      return this;
+    }
+
+    /**
+     * Configures the config poll interval for buckets whose config changes are pushed by the server.
+     * <p>
+     * Only used if {@link #enableClusterMapChangeNotifications(boolean)} is enabled and the server supports it.
+     * Note that it is never shorter than the regular {@link #configPollInterval(Duration)}.
+     * <p>
+     * The default is 30 seconds.
+     *
+     * @param configSafetyNetPollInterval the poll interval while config changes are pushed.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder configSafetyNetPollInterval(final Duration configSafetyNetPollInterval) {
+      this.configSafetyNetPollInterval = notNull(configSafetyNetPollInterval, "ConfigSafetyNetPollInterval");
+      return this;
+    }
+
+    /**
+     * Configures if identical KV reads which are in flight at the same time are coalesced into a single request.
+     * <p>
+     * If enabled, a get (including projections and replica reads) for a document which is already being read with
+     * the exact same parameters is not sent to the server, but completes with a copy of the response of the request
+     * in flight. Every read still completes within its own timeout, and if the request in flight is cancelled (for
+     * example because it timed out), the reads waiting for it are sent on their own. This considerably reduces the
+     * load on the cluster if many reads for the same hot document happen at once.
+     * <p>
+     * The default is false.
+     *
+     * @param kvGetCoalescingEnabled true if identical concurrent reads should be coalesced.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder enableKvGetCoalescing(final boolean kvGetCoalescingEnabled) {
+      this.kvGetCoalescingEnabled = kvGetCoalescingEnabled;
+      return this;
+    }
+
+    /**
+     * Configures the maximum number of prepared N1QL statements which are cached on the client.
+     * <p>
+     * Non-adhoc queries are prepared once and then executed through the cached prepared statement. Once the cache
+     * is full, the least recently used statements are evicted and need to be prepared again on their next use.
+     * <p>
+     * The default is 5000.
+     *
+     * @param maxQueryPreparedStatements the maximum number of prepared statements cached.
+     * @return this builder for chaining purposes.
+     */
+    public Builder maxQueryPreparedStatements(final int maxQueryPreparedStatements) {
+      if (maxQueryPreparedStatements < 1) {
+        throw InvalidArgumentException.fromMessage("maxQueryPreparedStatements must be >= 1");
+      }
+      this.maxQueryPreparedStatements = maxQueryPreparedStatements;
+      return this;
+    }
+
+    /**
+     * Configures how many rows of a streaming (query, analytics, search or view) response may be buffered
+     * before the SDK stops reading from the socket.
+     * <p>
+     * Once the rows which have been received but not yet consumed reach the high watermark, reading is paused
+     * until they drop to the low watermark again. This only applies while the rows are subscribed to, since
+     * rows which nobody consumes yet would otherwise never let the response complete.
+     * <p>
+     * The defaults are 256 (low) and 1024 (high).
+     *
+     * @param lowWatermark the number of buffered rows at which reading resumes.
+     * @param highWatermark the number of buffered rows at which reading pauses.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder streamingRowsWatermarks(final int lowWatermark, final int highWatermark) {
+      if (lowWatermark < 0) {
+        throw InvalidArgumentException.fromMessage("lowWatermark must be >= 0");
+      }
+      if (highWatermark < 1 || highWatermark < lowWatermark) {
+        throw InvalidArgumentException.fromMessage("highWatermark must be >= 1 and >= lowWatermark");
+      }
+      this.streamingRowsLowWatermark = lowWatermark;
+      this.streamingRowsHighWatermark = highWatermark;
+      return this;
+    }
+
+    /**
+     * Configures how many bytes of rows of a streaming (query, analytics, search or view) response may be
+     * buffered before the SDK stops reading from the socket.
+     * <p>
+     * This works just like {@link #streamingRowsWatermarks(int, int)}, but bounds the size of the buffered rows
+     * instead of their number, which matters if the rows are large. Reading is paused if either high watermark is
+     * reached, and only resumes once both low watermarks are reached again.
+     * <p>
+     * The defaults are 4 MiB (low) and 16 MiB (high).
+     *
+     * @param lowWatermark the size of buffered rows at which reading resumes.
+     * @param highWatermark the size of buffered rows at which reading pauses.
+     * @return this builder for chaining purposes.
+     */
+    @Stability.Volatile
+    public Builder streamingBytesWatermarks(final long lowWatermark, final long highWatermark) {
+      if (lowWatermark < 0) {
+        throw InvalidArgumentException.fromMessage("lowWatermark must be >= 0");
+      }
+      if (highWatermark < 1 || highWatermark < lowWatermark) {
+        throw InvalidArgumentException.fromMessage("highWatermark must be >= 1 and >= lowWatermark");
+      }
+      this.streamingBytesLowWatermark = lowWatermark;
+      this.streamingBytesHighWatermark = highWatermark;
+      return this;
+    }
   }
 }
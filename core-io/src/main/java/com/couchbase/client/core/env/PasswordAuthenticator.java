@@ -21,6 +21,7 @@ import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpRequest;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.io.netty.kv.SaslAuthenticationHandler;
 import com.couchbase.client.core.io.netty.kv.SaslListMechanismsHandler;
+import com.couchbase.client.core.io.netty.kv.sasl.SaltedPasswordCache;
 import com.couchbase.client.core.service.ServiceType;
 
 import java.util.Base64;
@@ -45,6 +46,12 @@ public class PasswordAuthenticator implements Authenticator {
   private final Set<SaslMechanism> allowedSaslMechanisms;
   private final String cachedHttpAuthHeader;
 
+  /**
+   * Shares the SCRAM salted passwords across the KV connections authenticated by this instance.
+   */
+  private final SaltedPasswordCache saltedPasswordCache =
+    new SaltedPasswordCache(SaltedPasswordCache.DEFAULT_MAX_ENTRIES);
+
   /**
    * Creates a new {@link Builder} which allows to customize this authenticator.
    */
@@ -105,12 +112,17 @@ public class PasswordAuthenticator implements Authenticator {
   @Override
   public void authKeyValueConnection(final EndpointContext ctx, final ChannelPipeline pipeline) {
     boolean tls = ctx.environment().securityConfig().tlsEnabled();
+    final String username = this.username.get();
+    final String password = this.password.get();
+    // Dynamic credentials may have changed since the last connection, which invalidates all salted passwords.
+    saltedPasswordCache.credentials(username, password);
     pipeline.addLast(new SaslListMechanismsHandler(ctx));
     pipeline.addLast(new SaslAuthenticationHandler(
       ctx,
-      username.get(),
-      password.get(),
-      tls ? EnumSet.of(SaslMechanism.PLAIN) : allowedSaslMechanisms
+      username,
+      password,
+      tls ? EnumSet.of(SaslMechanism.PLAIN) : allowedSaslMechanisms,
+      saltedPasswordCache
     ));
   }
 
@@ -36,6 +36,7 @@ public class CollectionIdentifier {
   private final boolean isDefault;
   private final Optional<String> scope;
   private final Optional<String> collection;
+  private final int hashCode;
 
   public static CollectionIdentifier fromDefault(String bucket) {
     return new CollectionIdentifier(bucket, Optional.of(DEFAULT_SCOPE), Optional.of(DEFAULT_COLLECTION));
@@ -50,6 +51,7 @@ public class CollectionIdentifier {
     this.scope = scope;
     this.collection = collection;
     this.isDefault = Optional.of(DEFAULT_SCOPE).equals(scope) && Optional.of(DEFAULT_COLLECTION).equals(collection);
+    this.hashCode = Objects.hash(bucket, scope, collection);
   }
 
   public String bucket() {
@@ -80,7 +82,7 @@ public class CollectionIdentifier {
 
   @Override
   public int hashCode() {
-    return Objects.hash(bucket, scope, collection);
+    return hashCode;
   }
 
   @Override
@@ -18,17 +18,24 @@ package com.couchbase.client.core.io;
 
 import com.couchbase.client.core.util.UnsignedLEB128;
 
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The {@link CollectionMap} maps a locator to the encoded collection ID representation.
+ * <p>
+ * The map is organized by bucket, then scope and then collection, so that looking up an identifier does not
+ * need to hash the full {@link CollectionIdentifier} and checking for the presence of a bucket is a single lookup.
+ * All levels are concurrent maps, so reads never block.
  */
 public class CollectionMap {
 
   /**
-   * Holds the actual inner map.
+   * Holds the actual inner map, from bucket to scope to collection to the encoded ID.
    */
-  private final ConcurrentHashMap<CollectionIdentifier, byte[]> inner = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConcurrentMap<Optional<String>, ConcurrentMap<Optional<String>, byte[]>>> inner =
+    new ConcurrentHashMap<>();
 
   /**
    * Holds the identifier for the default collection.
@@ -47,7 +54,12 @@ public class CollectionMap {
     if (key.isDefault()) {
       return DEFAULT_ID;
     }
-    return inner.get(key);
+    ConcurrentMap<Optional<String>, ConcurrentMap<Optional<String>, byte[]>> scopes = inner.get(key.bucket());
+    if (scopes == null) {
+      return null;
+    }
+    ConcurrentMap<Optional<String>, byte[]> collections = scopes.get(key.scope());
+    return collections == null ? null : collections.get(key.collection());
   }
 
   /**
@@ -57,7 +69,10 @@ public class CollectionMap {
    * @param value the value associated.
    */
   public void put(final CollectionIdentifier key, byte[] value) {
-    inner.put(key, value);
+    inner
+      .computeIfAbsent(key.bucket(), k -> new ConcurrentHashMap<>())
+      .computeIfAbsent(key.scope(), k -> new ConcurrentHashMap<>())
+      .put(key.collection(), value);
   }
 
   /**
@@ -67,12 +82,7 @@ public class CollectionMap {
    * @return true if so, false otherwise.
    */
   public boolean hasBucketMap(final String bucket) {
-    for (CollectionIdentifier identifier : inner.keySet()) {
-      if (bucket.equals(identifier.bucket())) {
-        return true;
-      }
-    }
-    return false;
+    return inner.containsKey(bucket);
   }
 
 }
@@ -67,6 +67,7 @@ public class AnalyticsChunkResponseParser
   }
 
   private final JsonStreamParser.Builder parserBuilder = JsonStreamParser.builder()
+    .structuralScanning(true)
     .doOnValue("/requestID", v -> requestId = v.readString())
     .doOnValue("/signature", v -> signature = Optional.of(v.readBytes()))
     .doOnValue("/clientContextID", v -> clientContextId = Optional.of(v.readString()))
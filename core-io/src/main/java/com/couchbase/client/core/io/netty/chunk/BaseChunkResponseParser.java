@@ -16,14 +16,20 @@
 
 package com.couchbase.client.core.io.netty.chunk;
 
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelConfig;
 import com.couchbase.client.core.deps.io.netty.handler.codec.http.HttpResponse;
 import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.json.stream.CopyingStreamWindow;
 import com.couchbase.client.core.json.stream.JsonStreamParser;
+import com.couchbase.client.core.json.stream.StreamWindow;
 import com.couchbase.client.core.msg.RequestContext;
 import com.couchbase.client.core.msg.chunk.ChunkHeader;
 import com.couchbase.client.core.msg.chunk.ChunkRow;
@@ -35,6 +41,8 @@ import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -89,11 +97,43 @@ public abstract class BaseChunkResponseParser<H extends ChunkHeader, ROW extends
    */
   private final AtomicLong requested = new AtomicLong(0);
 
+  /**
+   * Holds the rows of the current response which have been emitted but not yet consumed.
+   */
+  private RowBuffer rowBuffer;
+
+  /**
+   * Holds the current associated rows, as seen by the consumers.
+   */
+  private Flux<ROW> consumedRows;
+
+  /**
+   * Records the number of buffered rows, created with the first response which has a request context.
+   */
+  private ValueRecorder bufferedRowsRecorder;
+
+  /**
+   * Records the size of buffered rows, created with the first response which has a request context.
+   */
+  private ValueRecorder bufferedBytesRecorder;
+
   /**
    * Subclass implements this to return the "meat" of the decoding, the chunk parser.
    */
   protected abstract JsonStreamParser.Builder parserBuilder();
 
+  /**
+   * Returns the stream window the parser remembers recent response data in.
+   * <p>
+   * Called whenever the parser is initialized for a new response, after the request context has been updated.
+   * The default copies the response into a single accumulator buffer.
+   *
+   * @param channelConfig the channel config whose allocator may be used for the window.
+   */
+  protected StreamWindow streamWindow(final ChannelConfig channelConfig) {
+    return new CopyingStreamWindow(channelConfig.getAllocator());
+  }
+
   private volatile RequestContext requestContext;
 
   private volatile HttpResponse responseHeader;
@@ -167,25 +207,54 @@ public abstract class BaseChunkResponseParser<H extends ChunkHeader, ROW extends
   @Override
   public void initialize(final ChannelConfig channelConfig) {
     cleanup();
-    parser = parserBuilder().build(scratchBuffer, new CopyingStreamWindow(channelConfig.getAllocator()));
+    parser = parserBuilder().build(scratchBuffer, streamWindow(channelConfig));
     this.channelConfig = channelConfig;
     this.trailer = MonoProcessor.create();
     this.requested.set(0);
+    initializeRecorders();
+
+    // Each response gets its own buffer, since its rows may still be consumed while the next response is read.
+    final RowBuffer buffer = new RowBuffer(requestContext == null ? null : requestContext.environment());
+    this.rowBuffer = buffer;
     this.rows = EmitterProcessor.create();
+    this.consumedRows = this.rows.doOnNext(row -> {
+      if (buffer.consumed(row) && !channelConfig.isAutoRead() && requested.get() > 0) {
+        channelConfig.setAutoRead(true);
+      }
+    });
     this.rowSink = this.rows
       .sink(FluxSink.OverflowStrategy.BUFFER)
       .onRequest(v -> {
         requested.addAndGet(v);
-        if (!channelConfig.isAutoRead()) {
+        if (!channelConfig.isAutoRead() && buffer.belowLowWatermark()) {
           channelConfig.setAutoRead(true);
         }
       })
-      .onDispose(() -> channelConfig.setAutoRead(true));
+      .onDispose(() -> {
+        buffer.disposed = true;
+        channelConfig.setAutoRead(true);
+      });
+  }
+
+  /**
+   * Creates the recorders for the buffered rows, once the service of the parser is known.
+   */
+  private void initializeRecorders() {
+    if (bufferedRowsRecorder != null || requestContext == null || requestContext.environment() == null) {
+      return;
+    }
+    Meter meter = requestContext.environment().meter();
+    Map<String, String> tags = Collections.singletonMap(
+      TracingIdentifiers.ATTR_SERVICE,
+      requestContext.request().serviceType().ident()
+    );
+    bufferedBytesRecorder = meter.valueRecorder(TracingIdentifiers.METER_BUFFERED_BYTES, tags);
+    bufferedRowsRecorder = meter.valueRecorder(TracingIdentifiers.METER_BUFFERED_ROWS, tags);
   }
 
   @Override
   public Flux<ROW> rows() {
-    return rows;
+    return consumedRows;
   }
 
   @Override
@@ -226,15 +295,23 @@ public abstract class BaseChunkResponseParser<H extends ChunkHeader, ROW extends
    * Emits a single row into the rows flux.
    *
    * <p>Note that this method also handles the backpressure stalling side. If we find that someone
-   * is subscribed to this flux but has not requested any further rows, the channel auto-read
-   * is going to be paused until further rows are requested or the subscriber unsubscribes.</p>
+   * is subscribed to this flux but has not requested any further rows, or that the rows which have
+   * not been consumed yet reached one of the high watermarks of the {@link IoConfig}, the channel
+   * auto-read is going to be paused until further rows are requested and the buffered rows dropped
+   * to the low watermarks, or the subscriber unsubscribes.</p>
    *
    * @param row the row to emit.
    */
   protected void emitRow(final ROW row) {
+    boolean aboveHighWatermark = rowBuffer.emitted(row);
+    if (bufferedRowsRecorder != null) {
+      bufferedRowsRecorder.recordValue(rowBuffer.rows.get());
+      bufferedBytesRecorder.recordValue(rowBuffer.bytes.get());
+    }
+
     rowSink.next(row);
     requested.decrementAndGet();
-    if (requested.get() <= 0 && channelConfig.isAutoRead() && rows.downstreamCount() > 0) {
+    if ((requested.get() <= 0 || aboveHighWatermark) && channelConfig.isAutoRead() && rows.downstreamCount() > 0) {
       channelConfig.setAutoRead(false);
     }
   }
@@ -272,4 +349,54 @@ public abstract class BaseChunkResponseParser<H extends ChunkHeader, ROW extends
     this.trailer.onComplete();
   }
 
+  /**
+   * Keeps track of the rows of a single response which have been emitted but not yet consumed.
+   */
+  private static final class RowBuffer {
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final long rowsLowWatermark;
+    private final long rowsHighWatermark;
+    private final long bytesLowWatermark;
+    private final long bytesHighWatermark;
+
+    /**
+     * Set once the rows have been disposed, after which reading is not paused anymore.
+     */
+    private volatile boolean disposed;
+
+    RowBuffer(final CoreEnvironment environment) {
+      IoConfig config = environment == null ? null : environment.ioConfig();
+      rowsLowWatermark = config == null ? IoConfig.DEFAULT_STREAMING_ROWS_LOW_WATERMARK : config.streamingRowsLowWatermark();
+      rowsHighWatermark = config == null ? IoConfig.DEFAULT_STREAMING_ROWS_HIGH_WATERMARK : config.streamingRowsHighWatermark();
+      bytesLowWatermark = config == null ? IoConfig.DEFAULT_STREAMING_BYTES_LOW_WATERMARK : config.streamingBytesLowWatermark();
+      bytesHighWatermark = config == null ? IoConfig.DEFAULT_STREAMING_BYTES_HIGH_WATERMARK : config.streamingBytesHighWatermark();
+    }
+
+    /**
+     * Returns true if either high watermark has been reached with this row.
+     */
+    boolean emitted(final ChunkRow row) {
+      long r = rows.incrementAndGet();
+      long b = bytes.addAndGet(row.estimatedSize());
+      return !disposed && (r >= rowsHighWatermark || b >= bytesHighWatermark);
+    }
+
+    /**
+     * Returns true if both low watermarks have been reached (again) with this row.
+     */
+    boolean consumed(final ChunkRow row) {
+      // Never drop below zero, in case more than one subscriber consumes the rows.
+      long r = rows.updateAndGet(v -> Math.max(0, v - 1));
+      long b = bytes.updateAndGet(v -> Math.max(0, v - row.estimatedSize()));
+      return r <= rowsLowWatermark && b <= bytesLowWatermark;
+    }
+
+    boolean belowLowWatermark() {
+      return rows.get() <= rowsLowWatermark && bytes.get() <= bytesLowWatermark;
+    }
+
+  }
+
 }
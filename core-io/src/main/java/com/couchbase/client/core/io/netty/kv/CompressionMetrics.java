@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
+import com.couchbase.client.core.service.ServiceType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the counters which track the outcome of compression attempts on KV documents.
+ * <p>
+ * The counters are created once per channel and then incremented on the encode path, so that no tags need to be
+ * built and looked up per request.
+ */
+@Stability.Internal
+public class CompressionMetrics {
+
+  /**
+   * Metrics which are not reported anywhere, used when no meter is available (i.e. in tests).
+   */
+  public static final CompressionMetrics NOOP = new CompressionMetrics(new NoopMeter());
+
+  public static final String OUTCOME_COMPRESSED = "compressed";
+  public static final String OUTCOME_REJECTED = "rejected";
+  public static final String OUTCOME_SKIPPED = "skipped";
+
+  /**
+   * The document has been compressed and is sent compressed.
+   */
+  private final Counter compressed;
+
+  /**
+   * The document has been compressed in full, but did not meet the minimum ratio.
+   */
+  private final Counter rejected;
+
+  /**
+   * Compression has been skipped since the sampled prefix did not meet the minimum ratio.
+   */
+  private final Counter skipped;
+
+  public CompressionMetrics(final Meter meter) {
+    this.compressed = meter.counter(TracingIdentifiers.METER_COMPRESSION, tags(OUTCOME_COMPRESSED));
+    this.rejected = meter.counter(TracingIdentifiers.METER_COMPRESSION, tags(OUTCOME_REJECTED));
+    this.skipped = meter.counter(TracingIdentifiers.METER_COMPRESSION, tags(OUTCOME_SKIPPED));
+  }
+
+  private static Map<String, String> tags(final String outcome) {
+    Map<String, String> tags = new HashMap<>(2);
+    tags.put(TracingIdentifiers.ATTR_SERVICE, ServiceType.KV.ident());
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return tags;
+  }
+
+  public void compressed() {
+    compressed.incrementBy(1);
+  }
+
+  public void rejected() {
+    rejected.incrementBy(1);
+  }
+
+  public void skipped() {
+    skipped.incrementBy(1);
+  }
+
+}
@@ -40,12 +40,23 @@ public class KeyValueChannelContext {
   private final boolean preserveTtl;
   private final CollectionMap collectionMap;
   private final ChannelId channelId;
+  private final CompressionMetrics compressionMetrics;
 
   public KeyValueChannelContext(final CompressionConfig compression, final boolean collections,
                                 final boolean mutationTokens, final Optional<String> bucket,
                                 final boolean syncReplication, final boolean vattrEnabled, final boolean altRequest,
                                 final CollectionMap collectionMap, final ChannelId channelId,
                                 final boolean createAsDeleted, final boolean preserveTtl) {
+    this(compression, collections, mutationTokens, bucket, syncReplication, vattrEnabled, altRequest, collectionMap,
+      channelId, createAsDeleted, preserveTtl, CompressionMetrics.NOOP);
+  }
+
+  public KeyValueChannelContext(final CompressionConfig compression, final boolean collections,
+                                final boolean mutationTokens, final Optional<String> bucket,
+                                final boolean syncReplication, final boolean vattrEnabled, final boolean altRequest,
+                                final CollectionMap collectionMap, final ChannelId channelId,
+                                final boolean createAsDeleted, final boolean preserveTtl,
+                                final CompressionMetrics compressionMetrics) {
     this.compression = compression;
     this.collections = collections;
     this.mutationTokensEnabled = mutationTokens;
@@ -57,6 +68,7 @@ public class KeyValueChannelContext {
     this.channelId = channelId;
     this.createAsDeleted = createAsDeleted;
     this.preserveTtl = preserveTtl;
+    this.compressionMetrics = compressionMetrics;
   }
 
   public boolean collectionsEnabled() {
@@ -71,6 +83,10 @@ public class KeyValueChannelContext {
     return compression;
   }
 
+  public CompressionMetrics compressionMetrics() {
+    return compressionMetrics;
+  }
+
   public boolean mutationTokensEnabled() {
     return mutationTokensEnabled;
   }
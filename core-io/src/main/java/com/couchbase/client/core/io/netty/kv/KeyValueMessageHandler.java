@@ -34,8 +34,6 @@ import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectHashMap;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectMap;
 import com.couchbase.client.core.endpoint.BaseEndpoint;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.CompressionConfig;
@@ -81,19 +79,9 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
   private final EndpointContext endpointContext;
 
   /**
-   * Holds all outstanding requests based on their opaque.
+   * Holds all outstanding requests with their dispatch spans and start timestamps based on their opaque.
    */
-  private final IntObjectMap<KeyValueRequest<Response>> writtenRequests;
-
-  /**
-   * Holds all outstanding requests based on their opaque.
-   */
-  private final IntObjectMap<RequestSpan> writtenRequestDispatchSpans;
-
-  /**
-   * Holds the start timestamps for the outstanding dispatched requests.
-   */
-  private final IntObjectMap<Long> writtenRequestDispatchTimings;
+  private final OutstandingRequestTable writtenRequests;
 
   /**
    * The compression config used for this handler.
@@ -125,6 +113,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private KeyValueChannelContext channelContext;
 
+  /**
+   * True if the server pushes config changes for the bucket over this connection.
+   */
+  private boolean clusterMapNotificationsEnabled;
+
   /**
    * If present, holds the error map negotiated on this connection.
    */
@@ -139,9 +132,9 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
                                 final Optional<String> bucketName) {
     this.endpoint = endpoint;
     this.endpointContext = endpointContext;
-    this.writtenRequests = new IntObjectHashMap<>();
-    this.writtenRequestDispatchTimings = new IntObjectHashMap<>();
-    this.writtenRequestDispatchSpans = new IntObjectHashMap<>();
+    this.writtenRequests = new OutstandingRequestTable(
+      endpointContext.environment().ioConfig().maxKvInFlightRequests()
+    );
     this.compressionConfig = endpointContext.environment().compressionConfig();
     this.eventBus = endpointContext.environment().eventBus();
     this.bucketName = bucketName;
@@ -176,6 +169,8 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     boolean vattrEnabled = features != null && features.contains(ServerFeature.VATTR);
     boolean createAsDeleted = features != null && features.contains(ServerFeature.CREATE_AS_DELETED);
     boolean preserveTtl = features != null && features.contains(ServerFeature.PRESERVE_TTL);
+    boolean clusterMapNotifications = features != null
+      && features.contains(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
 
     if (syncReplication && !altRequest) {
       throw new IllegalStateException("If Synchronous Replication is enabled, the server also " +
@@ -193,9 +188,15 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       ioContext.core().configurationProvider().collectionMap(),
       ctx.channel().id(),
       createAsDeleted,
-      preserveTtl
+      preserveTtl,
+      compression ? new CompressionMetrics(endpointContext.environment().meter()) : CompressionMetrics.NOOP
     );
 
+    if (clusterMapNotifications && bucketName.isPresent()) {
+      clusterMapNotificationsEnabled = true;
+      ioContext.core().configurationProvider().markClusterMapChangeNotificationsEnabled(bucketName.get());
+    }
+
     ctx.fireChannelActive();
   }
 
@@ -206,12 +207,12 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       KeyValueRequest<Response> request = (KeyValueRequest<Response>) msg;
 
       int opaque = request.opaque();
-      writtenRequests.put(opaque, request);
       try {
         ctx.write(request.encode(ctx.alloc(), opaque, channelContext), promise);
-        writtenRequestDispatchTimings.put(opaque, (Long) System.nanoTime());
+        long dispatchedAt = System.nanoTime();
+        RequestSpan dispatchSpan = null;
         if (request.requestSpan() != null) {
-          RequestSpan dispatchSpan = endpointContext
+          dispatchSpan = endpointContext
             .environment()
             .requestTracer()
             .requestSpan(TracingIdentifiers.SPAN_DISPATCH, request.requestSpan());
@@ -226,12 +227,13 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
             null
           );
           setNumericOperationId(dispatchSpan, request.opaque());
-
-          writtenRequestDispatchSpans.put(opaque, dispatchSpan);
         }
-
+        writtenRequests.put(opaque, request, dispatchSpan, dispatchedAt);
       } catch (Throwable err) {
-        writtenRequests.remove(opaque);
+        if (endpoint != null) {
+          // The request is not on the wire, so no response will free its in-flight slot.
+          endpoint.decrementOutstandingRequests();
+        }
         if (err instanceof CollectionNotFoundException) {
           if (channelContext.collectionsEnabled()) {
             if (ioContext.core().configurationProvider().collectionMapRefreshInProgress()) {
@@ -255,6 +257,8 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+    // Requests pushed by the server do not answer anything we dispatched.
+    boolean serverRequest = msg instanceof ByteBuf && MemcacheProtocol.isServerRequest((ByteBuf) msg);
     try {
       if (msg instanceof ByteBuf) {
         decode(ctx, (ByteBuf) msg);
@@ -265,7 +269,7 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
         closeChannelWithReason(ioContext, ctx, ChannelClosedProactivelyEvent.Reason.INVALID_RESPONSE_FORMAT_DETECTED);
       }
     } finally {
-      if (endpoint != null) {
+      if (endpoint != null && !serverRequest) {
         endpoint.markRequestCompletion();
       }
       ReferenceCountUtil.release(msg);
@@ -274,8 +278,12 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelInactive(final ChannelHandlerContext ctx) {
-    for (KeyValueRequest<Response> request : writtenRequests.values()) {
-      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT);
+    writtenRequests.forEachRequest(request ->
+      RetryOrchestrator.maybeRetry(ioContext, request, RetryReason.CHANNEL_CLOSED_WHILE_IN_FLIGHT)
+    );
+    if (clusterMapNotificationsEnabled) {
+      clusterMapNotificationsEnabled = false;
+      ioContext.core().configurationProvider().markClusterMapChangeNotificationsDisabled(bucketName.get());
     }
     ctx.fireChannelInactive();
   }
@@ -287,21 +295,28 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    * @param response the response to decode and handle.
    */
   private void decode(final ChannelHandlerContext ctx, final ByteBuf response) {
+    if (MemcacheProtocol.isServerRequest(response)) {
+      handleServerRequest(ctx, response);
+      return;
+    }
+
     int opaque = MemcacheProtocol.opaque(response);
-    KeyValueRequest<Response> request = writtenRequests.remove(opaque);
+    int slot = writtenRequests.slot(opaque);
 
-    if (request == null) {
+    if (slot < 0) {
       handleUnknownResponseReceived(ctx, response);
       return;
     }
 
+    KeyValueRequest<Response> request = writtenRequests.request(slot);
+    long start = writtenRequests.dispatchedAt(slot);
+    RequestSpan dispatchSpan = writtenRequests.span(slot);
+    writtenRequests.remove(slot);
+
     long serverTime = MemcacheProtocol.parseServerDurationFromResponse(response);
     request.context().serverLatency(serverTime);
-
-    long start = writtenRequestDispatchTimings.remove(opaque);
     request.context().dispatchLatency(System.nanoTime() - start);
 
-    RequestSpan dispatchSpan = writtenRequestDispatchSpans.remove(opaque);
     if (dispatchSpan != null) {
       TracingUtils.setServerDurationAttribute(dispatchSpan, serverTime);
       dispatchSpan.end();
@@ -388,6 +403,35 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     closeChannelWithReason(ioContext, ctx, ChannelClosedProactivelyEvent.Reason.KV_RESPONSE_CONTAINED_UNKNOWN_OPAQUE);
   }
 
+  /**
+   * Handles a request the server sent on its own over this (duplex) connection.
+   *
+   * <p>Right now only cluster map change notifications are expected, which carry the changed config for the
+   * bucket and are proposed just like configs which have been polled. None of them expect a response.</p>
+   *
+   * @param ctx the channel handler context.
+   * @param request the request sent by the server.
+   */
+  private void handleServerRequest(final ChannelHandlerContext ctx, final ByteBuf request) {
+    if (MemcacheProtocol.opcode(request) != MemcacheProtocol.ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION.opcode()) {
+      handleUnknownResponseReceived(ctx, request);
+      return;
+    }
+
+    String bucket = MemcacheProtocol.key(request).map(k -> k.toString(UTF_8)).orElse(null);
+    if (bucket == null) {
+      // Without a selected bucket the server only announces the global config, which is not polled here.
+      return;
+    }
+
+    body(request)
+      .map(b -> b.toString(UTF_8).trim())
+      .filter(c -> c.startsWith("{"))
+      .ifPresent(c -> ioContext.core().configurationProvider().proposeBucketConfig(
+        new ProposedBucketConfigContext(bucket, c, endpointContext.remoteSocket().hostname())
+      ));
+  }
+
   /**
    * If an error code has been found, this method tries to analyze it and perform the right
    * side effects.
@@ -24,6 +24,7 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
+import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.error.DurabilityLevelNotAvailableException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
@@ -402,7 +403,8 @@ public enum MemcacheProtocol {
    * Performs simple sanity checking of a key/value response.
    *
    * It checks the magic byte and if the total readable bytes match
-   * up with the total length of the packet.
+   * up with the total length of the packet. Requests initiated by the server
+   * (only sent on duplex connections) are accepted as well.
    *
    * @param response the response to check.
    * @return true if verified, false otherwise.
@@ -416,10 +418,37 @@ public enum MemcacheProtocol {
     int bodyPlusHeader = response.getInt(TOTAL_LENGTH_OFFSET) + MemcacheProtocol.HEADER_SIZE;
 
     return
-      (magic == Magic.RESPONSE.magic() || magic == Magic.FLEXIBLE_RESPONSE.magic())
+      (magic == Magic.RESPONSE.magic() || magic == Magic.FLEXIBLE_RESPONSE.magic()
+        || magic == Magic.SERVER_REQUEST.magic())
       && readableBytes == bodyPlusHeader;
   }
 
+  /**
+   * Checks if the given message is a request initiated by the server instead of a response to one of our requests.
+   *
+   * @param message the message to check.
+   * @return true if it has been sent by the server on its own.
+   */
+  static boolean isServerRequest(final ByteBuf message) {
+    return message.getByte(MAGIC_OFFSET) == Magic.SERVER_REQUEST.magic();
+  }
+
+  /**
+   * Returns the key of a non-flexible message if available.
+   *
+   * @param message the message to extract the key from.
+   * @return an optional either containing the key of the message or none.
+   */
+  static Optional<ByteBuf> key(final ByteBuf message) {
+    int keyLength = message.getShort(2);
+    byte extrasLength = message.getByte(4);
+    if (keyLength > 0) {
+      return Optional.of(message.slice(MemcacheProtocol.HEADER_SIZE + extrasLength, keyLength));
+    } else {
+      return Optional.empty();
+    }
+  }
+
   /**
    * Helper to express no key is used for this message.
    */
@@ -784,19 +813,113 @@ public enum MemcacheProtocol {
     }
   }
 
+  /**
+   * Compresses the readable bytes of the content if snappy has been negotiated and the compression config
+   * says it is worth it, otherwise returns null.
+   *
+   * <p>If adaptive compression is enabled and the content is at least twice the configured sample size, only
+   * the sample is compressed first. If the sample does not meet the minimum ratio, it is very unlikely that the
+   * full content does, so the full compression attempt is skipped.</p>
+   *
+   * <p>Every attempt is recorded in the {@link CompressionMetrics} of the channel.</p>
+   *
+   * @param alloc the allocator to use for the compressed output and temporary buffers.
+   * @param content the content to compress, its reader index is not modified.
+   * @param ctx the channel context which holds the compression config and metrics.
+   * @return a {@link ByteBuf} if compressed, or null if not compressed.
+   */
+  public static ByteBuf tryCompression(final ByteBufAllocator alloc, final ByteBuf content,
+                                       final KeyValueChannelContext ctx) {
+    CompressionConfig config = ctx.compressionConfig();
+    int length = content.readableBytes();
+    if (config == null || !config.enabled() || length < config.minSize()) {
+      return null;
+    }
+
+    if (config.adaptive() && length >= config.sampleSize() * 2L) {
+      ByteBuf sample = tryCompression(alloc, content.slice(content.readerIndex(), config.sampleSize()),
+        config.minRatio());
+      if (sample == null) {
+        ctx.compressionMetrics().skipped();
+        return null;
+      }
+      sample.release();
+    }
+
+    ByteBuf compressed = tryCompression(alloc, content, config.minRatio());
+    if (compressed == null) {
+      ctx.compressionMetrics().rejected();
+    } else {
+      ctx.compressionMetrics().compressed();
+    }
+    return compressed;
+  }
+
   /**
    * Try to compress the input, but if it is below the min ratio then it will return null.
    *
+   * @param alloc the allocator to use for the compressed output.
    * @param input the input array.
    * @param minRatio the minimum ratio to accept and return the buffer.
    * @return a {@link ByteBuf} if compressed, or null if below the min ratio.
    */
-  public static ByteBuf tryCompression(byte[] input, double minRatio) {
-    byte[] compressed = Snappy.compress(input);
-    if (((double) compressed.length / input.length) > minRatio) {
-      return null;
+  public static ByteBuf tryCompression(final ByteBufAllocator alloc, final byte[] input, final double minRatio) {
+    return tryCompression(alloc, input, 0, input.length, minRatio);
+  }
+
+  /**
+   * Try to compress the readable bytes of the input, but if it is below the min ratio then it will return null.
+   *
+   * <p>The reader index of the input is not modified. If the input is backed by an array it is compressed
+   * in place, otherwise its content is copied into a temporary (pooled) heap buffer first.</p>
+   *
+   * @param alloc the allocator to use for the compressed output and temporary buffers.
+   * @param input the input buffer.
+   * @param minRatio the minimum ratio to accept and return the buffer.
+   * @return a {@link ByteBuf} if compressed, or null if below the min ratio.
+   */
+  public static ByteBuf tryCompression(final ByteBufAllocator alloc, final ByteBuf input, final double minRatio) {
+    int length = input.readableBytes();
+    if (input.hasArray()) {
+      return tryCompression(alloc, input.array(), input.arrayOffset() + input.readerIndex(), length, minRatio);
+    }
+
+    ByteBuf copy = alloc.heapBuffer(length);
+    try {
+      copy.writeBytes(input, input.readerIndex(), length);
+      return tryCompression(alloc, copy.array(), copy.arrayOffset(), length, minRatio);
+    } finally {
+      copy.release();
+    }
+  }
+
+  /**
+   * Compresses the input range into a heap buffer taken from the allocator.
+   *
+   * <p>Snappy keeps its hash tables in thread local recyclers, so on the event loops they are reused across
+   * requests. Together with a pooled allocator this means that neither a successful nor a rejected attempt
+   * produces garbage - if the ratio is not good enough the output just goes back into the pool.</p>
+   */
+  private static ByteBuf tryCompression(final ByteBufAllocator alloc, final byte[] input, final int offset,
+                                        final int length, final double minRatio) {
+    ByteBuf compressed = alloc.heapBuffer(Snappy.maxCompressedLength(length));
+    try {
+      int compressedLength = Snappy.compress(
+        input,
+        offset,
+        length,
+        compressed.array(),
+        compressed.arrayOffset() + compressed.writerIndex()
+      );
+      if (((double) compressedLength / length) > minRatio) {
+        compressed.release();
+        return null;
+      }
+      return compressed.writerIndex(compressed.writerIndex() + compressedLength);
+    } catch (Throwable t) {
+      compressed.release();
+      throw t;
     }
-    return Unpooled.wrappedBuffer(compressed);
   }
 
   /**
@@ -816,6 +939,47 @@ public enum MemcacheProtocol {
     return input;
   }
 
+  /**
+   * Returns the body of the message as a byte array, decompressing it if the datatype has the snappy flag enabled.
+   *
+   * <p>Compared to {@link #bodyAsBytes(ByteBuf)} followed by {@link #tryDecompression(byte[], byte)} this does not
+   * copy the compressed body into an intermediate array, it is decompressed straight out of the message (or a
+   * pooled copy of it, if the message is not backed by an array).</p>
+   *
+   * @param message the message to extract the body from.
+   * @return the (decompressed) body, or null if the message has no body.
+   */
+  public static byte[] decompressedBodyAsBytes(final ByteBuf message) {
+    if (message == null || (datatype(message) & Datatype.SNAPPY.datatype()) != Datatype.SNAPPY.datatype()) {
+      return bodyAsBytes(message);
+    }
+
+    Optional<ByteBuf> body = body(message);
+    if (!body.isPresent()) {
+      return null;
+    }
+
+    ByteBuf input = body.get();
+    int length = input.readableBytes();
+    if (input.hasArray()) {
+      return decompress(input.array(), input.arrayOffset() + input.readerIndex(), length);
+    }
+
+    ByteBuf copy = input.alloc().heapBuffer(length);
+    try {
+      copy.writeBytes(input, input.readerIndex(), length);
+      return decompress(copy.array(), copy.arrayOffset(), length);
+    } finally {
+      copy.release();
+    }
+  }
+
+  private static byte[] decompress(final byte[] input, final int offset, final int length) {
+    byte[] output = new byte[Snappy.getUncompressedLength(input, offset)];
+    Snappy.uncompress(input, offset, length, output, 0);
+    return output;
+  }
+
   /**
    * Helper method during development and debugging to dump the raw message as a
    * verbose string.
@@ -876,7 +1040,15 @@ public enum MemcacheProtocol {
     REQUEST((byte) 0x80),
     RESPONSE((byte) 0x81),
     FLEXIBLE_REQUEST((byte) 0x08),
-    FLEXIBLE_RESPONSE((byte) 0x18);
+    FLEXIBLE_RESPONSE((byte) 0x18),
+    /**
+     * A request initiated by the server, only sent on connections which negotiated {@code DUPLEX}.
+     */
+    SERVER_REQUEST((byte) 0x82),
+    /**
+     * The response to a {@link #SERVER_REQUEST}.
+     */
+    SERVER_RESPONSE((byte) 0x83);
 
     private final byte magic;
 
@@ -903,6 +1075,10 @@ public enum MemcacheProtocol {
           return Magic.FLEXIBLE_REQUEST;
         case 0x18:
           return Magic.FLEXIBLE_RESPONSE;
+        case (byte) 0x82:
+          return Magic.SERVER_REQUEST;
+        case (byte) 0x83:
+          return Magic.SERVER_RESPONSE;
       }
       return null;
     }
@@ -1296,6 +1472,36 @@ public enum MemcacheProtocol {
 
   }
 
+  /**
+   * Contains the opcodes of the requests the server sends on its own over duplex connections.
+   * <p>
+   * They are kept apart from {@link Opcode} since they share the same value range.
+   */
+  public enum ServerOpcode {
+    /**
+     * Pushes a new cluster map (bucket config) after it changed on the server.
+     * <p>
+     * The extras carry the revision, the key the bucket name and the body the config itself. The server
+     * does not expect a response.
+     */
+    CLUSTERMAP_CHANGE_NOTIFICATION((byte) 0x01);
+
+    private final byte opcode;
+
+    ServerOpcode(byte opcode) {
+      this.opcode = opcode;
+    }
+
+    /**
+     * Returns the opcode for the given command.
+     *
+     * @return the opcode for the command.
+     */
+    public byte opcode() {
+      return opcode;
+    }
+  }
+
   public enum Datatype {
     /**
      * Snappy datatype used to signal compression.
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * Holds the requests written to a single KV channel, together with their dispatch span and dispatch timestamp,
+ * keyed by their opaque.
+ * <p>
+ * This is an open-addressed hash table with linear probing over parallel arrays, so that looking up a response
+ * needs a single probe sequence and neither the opaque nor the timestamp are boxed. Removed entries are filled by
+ * shifting the following entries of the same probe sequence back, so no tombstones are needed.
+ * <p>
+ * The table is not thread safe, it must only be accessed from the event loop of its channel.
+ */
+final class OutstandingRequestTable {
+
+  /**
+   * The capacity used if no in-flight limit is known, enough for 32 requests without resizing.
+   */
+  static final int DEFAULT_CAPACITY = 64;
+
+  private int[] opaques;
+  private KeyValueRequest<Response>[] requests;
+  private RequestSpan[] spans;
+  private long[] dispatchedAt;
+  private int mask;
+  private int size;
+
+  /**
+   * Creates a new table which can hold the given number of requests without resizing.
+   *
+   * @param expectedRequests the number of requests expected in flight, 0 if unknown.
+   */
+  OutstandingRequestTable(final int expectedRequests) {
+    int capacity = DEFAULT_CAPACITY;
+    while (expectedRequests > capacity >>> 1 && capacity < (1 << 30)) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private void allocate(final int capacity) {
+    opaques = new int[capacity];
+    requests = new KeyValueRequest[capacity];
+    spans = new RequestSpan[capacity];
+    dispatchedAt = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Spreads the (usually sequential) opaques over the table.
+   */
+  private int index(final int opaque) {
+    int hash = opaque * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /**
+   * Stores a written request, replacing any request stored with the same opaque.
+   *
+   * @param opaque the opaque the request has been encoded with.
+   * @param request the written request.
+   * @param span the dispatch span, may be null.
+   * @param dispatchedAt the {@link System#nanoTime()} when the request has been written.
+   */
+  void put(final int opaque, final KeyValueRequest<Response> request, final RequestSpan span,
+           final long dispatchedAt) {
+    if (size >= (mask + 1) >>> 1) {
+      resize();
+    }
+
+    int i = index(opaque);
+    while (requests[i] != null && opaques[i] != opaque) {
+      i = (i + 1) & mask;
+    }
+    if (requests[i] == null) {
+      size++;
+    }
+    opaques[i] = opaque;
+    requests[i] = request;
+    spans[i] = span;
+    this.dispatchedAt[i] = dispatchedAt;
+  }
+
+  /**
+   * Returns the slot of the request with the given opaque, or -1 if not present.
+   * <p>
+   * The slot is only valid until the next modification of the table.
+   */
+  int slot(final int opaque) {
+    int i = index(opaque);
+    while (requests[i] != null) {
+      if (opaques[i] == opaque) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  KeyValueRequest<Response> request(final int slot) {
+    return requests[slot];
+  }
+
+  RequestSpan span(final int slot) {
+    return spans[slot];
+  }
+
+  long dispatchedAt(final int slot) {
+    return dispatchedAt[slot];
+  }
+
+  /**
+   * Removes the entry at the given slot.
+   *
+   * @param slot the slot as returned by {@link #slot(int)}.
+   */
+  void remove(final int slot) {
+    size--;
+    int gap = slot;
+    int i = slot;
+    while (true) {
+      i = (i + 1) & mask;
+      if (requests[i] == null) {
+        break;
+      }
+      // The entry can fill the gap if the gap lies between its ideal slot and its current slot.
+      int ideal = index(opaques[i]);
+      if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+        opaques[gap] = opaques[i];
+        requests[gap] = requests[i];
+        spans[gap] = spans[i];
+        dispatchedAt[gap] = dispatchedAt[i];
+        gap = i;
+      }
+    }
+    requests[gap] = null;
+    spans[gap] = null;
+  }
+
+  /**
+   * Calls the consumer for every stored request, in no particular order.
+   */
+  void forEachRequest(final Consumer<KeyValueRequest<Response>> consumer) {
+    for (KeyValueRequest<Response> request : requests) {
+      if (request != null) {
+        consumer.accept(request);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void resize() {
+    int[] oldOpaques = opaques;
+    KeyValueRequest<Response>[] oldRequests = requests;
+    RequestSpan[] oldSpans = spans;
+    long[] oldDispatchedAt = dispatchedAt;
+
+    allocate(oldOpaques.length << 1);
+    size = 0;
+    for (int i = 0; i < oldRequests.length; i++) {
+      if (oldRequests[i] != null) {
+        put(oldOpaques[i], oldRequests[i], oldSpans[i], oldDispatchedAt[i]);
+      }
+    }
+  }
+
+}
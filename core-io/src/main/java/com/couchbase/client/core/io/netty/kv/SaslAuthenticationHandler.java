@@ -35,6 +35,7 @@ import com.couchbase.client.core.error.AuthenticationFailureException;
 import com.couchbase.client.core.error.context.KeyValueIoErrorContext;
 import com.couchbase.client.core.io.IoContext;
 import com.couchbase.client.core.io.netty.kv.sasl.CouchbaseSaslClientFactory;
+import com.couchbase.client.core.io.netty.kv.sasl.SaltedPasswordCache;
 import com.couchbase.client.core.json.Mapper;
 import com.couchbase.client.core.msg.kv.BaseKeyValueRequest;
 import com.couchbase.client.core.util.Bytes;
@@ -101,6 +102,7 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
   private final String password;
   private final Set<SaslMechanism> allowedMechanisms;
   private final EndpointContext endpointContext;
+  private final SaltedPasswordCache saltedPasswordCache;
 
   /**
    * Once connected, holds the io context for more debug information.
@@ -126,7 +128,19 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
 
   public SaslAuthenticationHandler(final EndpointContext endpointContext, final String username,
                                    final String password, final Set<SaslMechanism> allowedSaslMechanisms) {
+    this(endpointContext, username, password, allowedSaslMechanisms, null);
+  }
+
+  /**
+   * Creates a handler which looks up SCRAM salted passwords in the given cache.
+   *
+   * @param saltedPasswordCache the cache of the authenticator, or null if salted passwords should not be cached.
+   */
+  public SaslAuthenticationHandler(final EndpointContext endpointContext, final String username,
+                                   final String password, final Set<SaslMechanism> allowedSaslMechanisms,
+                                   final SaltedPasswordCache saltedPasswordCache) {
     this.endpointContext = endpointContext;
+    this.saltedPasswordCache = saltedPasswordCache;
     this.username = username;
     this.password = password;
     this.allowedMechanisms = allowedSaslMechanisms;
@@ -349,7 +363,7 @@ public class SaslAuthenticationHandler extends ChannelDuplexHandler implements C
    * @throws SaslException if something went wrong during the creation.
    */
   private SaslClient createSaslClient(final Set<SaslMechanism> selected) throws SaslException {
-    return new CouchbaseSaslClientFactory().createSaslClient(
+    return new CouchbaseSaslClientFactory(saltedPasswordCache).createSaslClient(
       selected.stream().map(SaslMechanism::mech).toArray(String[]::new),
       null,
       "couchbase",
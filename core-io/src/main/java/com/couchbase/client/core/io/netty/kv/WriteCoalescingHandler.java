@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelOutboundHandlerAdapter;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
+import com.couchbase.client.core.service.ServiceType;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies small encoded requests which are written between two flushes into a single contiguous buffer.
+ * <p>
+ * Every KV request is encoded into its own small buffer, which would otherwise end up as a separate entry
+ * in the gathering write. When requests are written in batches (see
+ * {@link com.couchbase.client.core.env.IoConfig#kvWriteBatchingEnabled()}), this handler merges them until
+ * the configured size limit is reached and hands a single buffer to the transport on flush. Buffers larger than
+ * the limit are passed through unchanged, and a lone buffer is never copied.
+ * <p>
+ * It also records how many messages are written per flush and how large each buffer passed to the transport is.
+ */
+@Stability.Internal
+public class WriteCoalescingHandler extends ChannelOutboundHandlerAdapter {
+
+  private final int maxCoalescedBytes;
+  private final ValueRecorder writesPerFlush;
+  private final ValueRecorder bytesPerWrite;
+
+  /**
+   * Holds the promises of all messages which are part of the {@link #pending} buffer.
+   */
+  private final List<ChannelPromise> pendingPromises = new ArrayList<>();
+
+  /**
+   * The buffer which has not been passed on yet, either a single message or the merged messages.
+   */
+  private ByteBuf pending;
+
+  /**
+   * True if {@link #pending} has been allocated by this handler and can be written into.
+   */
+  private boolean pendingAggregated;
+
+  private int writesSinceFlush;
+
+  public WriteCoalescingHandler(final int maxCoalescedBytes, final Meter meter) {
+    this.maxCoalescedBytes = maxCoalescedBytes;
+    Map<String, String> tags = Collections.singletonMap(TracingIdentifiers.ATTR_SERVICE, ServiceType.KV.ident());
+    this.writesPerFlush = meter.valueRecorder(TracingIdentifiers.METER_WRITES_PER_FLUSH, tags);
+    this.bytesPerWrite = meter.valueRecorder(TracingIdentifiers.METER_BYTES_PER_WRITE, tags);
+  }
+
+  @Override
+  public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+    writesSinceFlush++;
+    if (!(msg instanceof ByteBuf)) {
+      writePending(ctx);
+      ctx.write(msg, promise);
+      return;
+    }
+
+    ByteBuf buf = (ByteBuf) msg;
+    int readable = buf.readableBytes();
+    if (pending != null && pending.readableBytes() + readable > maxCoalescedBytes) {
+      writePending(ctx);
+    }
+
+    if (readable > maxCoalescedBytes) {
+      bytesPerWrite.recordValue(readable);
+      ctx.write(buf, promise);
+    } else if (pending == null) {
+      pending = buf;
+      pendingPromises.add(promise);
+    } else {
+      if (!pendingAggregated) {
+        int initialCapacity = Math.min(maxCoalescedBytes, 2 * (pending.readableBytes() + readable));
+        ByteBuf aggregate = ctx.alloc().ioBuffer(initialCapacity, maxCoalescedBytes);
+        aggregate.writeBytes(pending);
+        pending.release();
+        pending = aggregate;
+        pendingAggregated = true;
+      }
+      pending.writeBytes(buf);
+      buf.release();
+      pendingPromises.add(promise);
+    }
+  }
+
+  @Override
+  public void flush(final ChannelHandlerContext ctx) {
+    writePending(ctx);
+    if (writesSinceFlush > 0) {
+      writesPerFlush.recordValue(writesSinceFlush);
+      writesSinceFlush = 0;
+    }
+    ctx.flush();
+  }
+
+  @Override
+  public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+    writePending(ctx);
+    super.close(ctx, promise);
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+    if (pending != null) {
+      pending.release();
+      pending = null;
+      pendingAggregated = false;
+      ClosedChannelException cause = new ClosedChannelException();
+      for (ChannelPromise promise : pendingPromises) {
+        promise.tryFailure(cause);
+      }
+      pendingPromises.clear();
+    }
+  }
+
+  /**
+   * Passes the pending buffer on to the next handler and completes all of its promises once written.
+   */
+  private void writePending(final ChannelHandlerContext ctx) {
+    if (pending == null) {
+      return;
+    }
+
+    bytesPerWrite.recordValue(pending.readableBytes());
+    if (pendingPromises.size() == 1) {
+      ctx.write(pending, pendingPromises.get(0));
+    } else {
+      final ChannelPromise[] promises = pendingPromises.toArray(new ChannelPromise[0]);
+      ctx.write(pending).addListener(f -> {
+        for (ChannelPromise promise : promises) {
+          if (f.isSuccess()) {
+            promise.trySuccess();
+          } else {
+            promise.tryFailure(f.cause());
+          }
+        }
+      });
+    }
+
+    pending = null;
+    pendingAggregated = false;
+    pendingPromises.clear();
+  }
+
+}
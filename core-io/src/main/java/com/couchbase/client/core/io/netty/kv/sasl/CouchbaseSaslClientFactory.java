@@ -31,11 +31,28 @@ import java.util.Map;
  * supported then it will fall back to the JVM-implemented one which supports the rest (i.e.
  * PLAIN and CRAM-MD5).</p>
  *
+ * <p>If created with a {@link SaltedPasswordCache}, the salted passwords derived during SCRAM authentication are
+ * shared across the connections using that cache, since the derivation is expensive by design and every connection
+ * of the same user against the same cluster uses the same salt and iteration count.</p>
+ *
  * @since 2.0.0
  */
 public class CouchbaseSaslClientFactory implements SaslClientFactory {
 
-  private static final SaslClientFactory SCRAM_FACTORY = new ScramSaslClientFactory();
+  private final SaslClientFactory scramFactory;
+
+  public CouchbaseSaslClientFactory() {
+    this(null);
+  }
+
+  /**
+   * Creates a factory whose SCRAM clients share the given cache for salted passwords.
+   *
+   * @param saltedPasswordCache the cache to use, or null if every client should derive the salted password.
+   */
+  public CouchbaseSaslClientFactory(final SaltedPasswordCache saltedPasswordCache) {
+    this.scramFactory = new ScramSaslClientFactory(saltedPasswordCache);
+  }
 
   @Override
   public SaslClient createSaslClient(final String[] mechanisms, final String authorizationId,
@@ -43,7 +60,7 @@ public class CouchbaseSaslClientFactory implements SaslClientFactory {
                                      final Map<String, ?> props, final CallbackHandler cbh)
     throws SaslException {
 
-    SaslClient client = SCRAM_FACTORY
+    SaslClient client = scramFactory
       .createSaslClient(mechanisms, authorizationId, protocol, serverName, props, cbh);
     if (client == null) {
       client = Sasl.createSaslClient(mechanisms, authorizationId, protocol, serverName, props, cbh);
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A bounded cache of SCRAM salted passwords, so that the expensive PBKDF2 derivation only runs once per
+ * credential instead of once per connection.
+ * <p>
+ * The cache belongs to a single authenticator and is cleared whenever its credentials change. Entries are keyed
+ * by an HMAC over the mechanism, username, password, salt and iteration count under a random secret which never
+ * leaves this instance, so the keys cannot be used to brute-force the password offline. Concurrent handshakes for
+ * the same entry share a single derivation.
+ */
+@Stability.Internal
+public final class SaltedPasswordCache {
+
+  /**
+   * The default number of salted passwords kept.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 16;
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final Map<ByteBuffer, CompletableFuture<byte[]>> entries;
+  private final SecretKeySpec secret;
+
+  /**
+   * Identifies the credentials the cached entries have been derived for, null if none have been seen yet.
+   */
+  private ByteBuffer credentials;
+
+  public SaltedPasswordCache(final int maxEntries) {
+    byte[] secret = new byte[32];
+    new SecureRandom().nextBytes(secret);
+    this.secret = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    this.entries = new LinkedHashMap<ByteBuffer, CompletableFuture<byte[]>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, CompletableFuture<byte[]>> eldest) {
+        if (size() > maxEntries) {
+          wipe(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Tells the cache which credentials are used for the next authentication, clearing all entries if they differ
+   * from the ones used before.
+   *
+   * @param username the current username.
+   * @param password the current password.
+   */
+  public void credentials(final String username, final String password) {
+    ByteBuffer current = hmac(bytes(username), bytes(password));
+    synchronized (entries) {
+      if (!current.equals(credentials)) {
+        clearEntries();
+        credentials = current;
+      }
+    }
+  }
+
+  /**
+   * Removes and wipes all cached salted passwords.
+   */
+  public void clear() {
+    synchronized (entries) {
+      clearEntries();
+    }
+  }
+
+  /**
+   * Returns the cached salted password for the given parameters, deriving (and caching) it if not present.
+   * <p>
+   * The derivation happens outside of any lock, so connections for different credentials are not serialized,
+   * while connections for the same credentials wait for the one derivation in progress.
+   *
+   * @return a copy of the salted password.
+   */
+  byte[] get(final String mechanism, final String username, final String password, final byte[] salt,
+             final int iterations, final Supplier<byte[]> derive) {
+    ByteBuffer key = hmac(
+      mechanism.getBytes(UTF_8),
+      username.getBytes(UTF_8),
+      password.getBytes(UTF_8),
+      salt,
+      ByteBuffer.allocate(4).putInt(0, iterations).array()
+    );
+
+    CompletableFuture<byte[]> entry;
+    boolean owner = false;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry == null) {
+        entry = new CompletableFuture<>();
+        entries.put(key, entry);
+        owner = true;
+      }
+    }
+
+    if (owner) {
+      byte[] saltedPassword;
+      try {
+        saltedPassword = derive.get();
+      } catch (RuntimeException e) {
+        synchronized (entries) {
+          entries.remove(key, entry);
+        }
+        entry.completeExceptionally(e);
+        throw e;
+      }
+      entry.complete(saltedPassword.clone());
+      return saltedPassword;
+    }
+
+    byte[] saltedPassword;
+    try {
+      saltedPassword = entry.join();
+    } catch (CompletionException e) {
+      // The shared derivation failed, so try on our own and report our own failure if it happens again.
+      return derive.get();
+    }
+    synchronized (entries) {
+      // Evicted or cleared entries have been wiped in the meantime.
+      if (entries.get(key) == entry) {
+        return saltedPassword.clone();
+      }
+    }
+    return derive.get();
+  }
+
+  /**
+   * Returns the number of salted passwords currently cached.
+   */
+  int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private void clearEntries() {
+    entries.values().forEach(SaltedPasswordCache::wipe);
+    entries.clear();
+  }
+
+  private static void wipe(final CompletableFuture<byte[]> entry) {
+    if (entry.isDone() && !entry.isCompletedExceptionally()) {
+      byte[] saltedPassword = entry.join();
+      Arrays.fill(saltedPassword, (byte) 0);
+    }
+  }
+
+  private static byte[] bytes(final String value) {
+    return value == null ? new byte[0] : value.getBytes(UTF_8);
+  }
+
+  private ByteBuffer hmac(final byte[]... fields) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secret);
+      for (byte[] field : fields) {
+        // Length-prefix every field, so that the boundaries between fields are part of the key.
+        mac.update(ByteBuffer.allocate(4).putInt(0, field.length).array());
+        mac.update(field);
+      }
+      return ByteBuffer.wrap(mac.doFinal());
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(HMAC_ALGORITHM + " is not supported by this JVM", e);
+    }
+  }
+
+}
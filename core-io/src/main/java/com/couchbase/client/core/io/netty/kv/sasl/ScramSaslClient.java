@@ -50,8 +50,10 @@ class ScramSaslClient implements SaslClient  {
   private final String hmacAlgorithm;
   private final CallbackHandler callbacks;
   private final MessageDigest digest;
+  private final SaltedPasswordCache saltedPasswordCache;
 
   private String clientNonce;
+  private String username;
   private byte[] salt;
   private byte[] saltedPassword;
   private int iterationCount;
@@ -64,7 +66,19 @@ class ScramSaslClient implements SaslClient  {
 
   ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler)
     throws NoSuchAlgorithmException  {
+    this(mode, callbackHandler, null);
+  }
+
+  /**
+   * Creates a new client which looks up the salted password in the given cache.
+   *
+   * @param saltedPasswordCache the cache to use, or null if the salted password should always be derived.
+   */
+  ScramSaslClient(final ScramSaslClientFactory.Mode mode, final CallbackHandler callbackHandler,
+                  final SaltedPasswordCache saltedPasswordCache)
+    throws NoSuchAlgorithmException  {
     callbacks = callbackHandler;
+    this.saltedPasswordCache = saltedPasswordCache;
 
     switch (mode) {
       case SCRAM_SHA512:
@@ -110,7 +124,8 @@ class ScramSaslClient implements SaslClient  {
         throw new SaslException("Initial challenge should be without input data");
       }
 
-      clientFirstMessage = "n,,n=" + getUserName() + ",r=" + clientNonce;
+      username = getUserName();
+      clientFirstMessage = "n,,n=" + username + ",r=" + clientNonce;
       clientFirstMessageBare = clientFirstMessage.substring(3);
       return clientFirstMessage.getBytes(UTF_8);
     } else if (serverFirstMessage == null) {
@@ -314,7 +329,12 @@ class ScramSaslClient implements SaslClient  {
     }
 
     String password = new String(pw);
-    saltedPassword = pbkdf2(password, salt, iterationCount);
+    if (saltedPasswordCache == null) {
+      saltedPassword = pbkdf2(password, salt, iterationCount);
+    } else {
+      saltedPassword = saltedPasswordCache.get(name, username, password, salt, iterationCount,
+        () -> pbkdf2(password, salt, iterationCount));
+    }
     passwordCallback.clearPassword();
   }
 
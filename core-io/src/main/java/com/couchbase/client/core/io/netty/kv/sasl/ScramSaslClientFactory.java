@@ -37,6 +37,24 @@ import java.util.stream.Stream;
  */
 public class ScramSaslClientFactory implements SaslClientFactory {
 
+  /**
+   * If not null, caches the salted passwords across the created clients.
+   */
+  private final SaltedPasswordCache saltedPasswordCache;
+
+  public ScramSaslClientFactory() {
+    this(null);
+  }
+
+  /**
+   * Creates a factory whose clients share the given cache for salted passwords.
+   *
+   * @param saltedPasswordCache the cache to use, or null if every client should derive the salted password.
+   */
+  ScramSaslClientFactory(final SaltedPasswordCache saltedPasswordCache) {
+    this.saltedPasswordCache = saltedPasswordCache;
+  }
+
   @Override
   public SaslClient createSaslClient(final String[] mechanisms, final String authorizationId,
                                      final String protocol, final String serverName,
@@ -56,7 +74,7 @@ public class ScramSaslClientFactory implements SaslClientFactory {
     }
 
     try {
-      return new ScramSaslClient(mode.get(), cbh);
+      return new ScramSaslClient(mode.get(), cbh, saltedPasswordCache);
     } catch (NoSuchAlgorithmException e) {
       throw new SaslException("Selected algorithm not supported.", e);
     }
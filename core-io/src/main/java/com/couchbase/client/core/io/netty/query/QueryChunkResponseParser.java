@@ -30,10 +30,15 @@ import com.couchbase.client.core.error.context.QueryErrorContext;
 import com.couchbase.client.core.error.IndexFailureException;
 import com.couchbase.client.core.error.IndexNotFoundException;
 import com.couchbase.client.core.io.netty.chunk.BaseChunkResponseParser;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelConfig;
 import com.couchbase.client.core.json.stream.JsonStreamParser;
+import com.couchbase.client.core.json.stream.SlicingStreamWindow;
+import com.couchbase.client.core.json.stream.StreamWindow;
+import com.couchbase.client.core.msg.RequestContext;
 import com.couchbase.client.core.msg.query.QueryChunkHeader;
 import com.couchbase.client.core.msg.query.QueryChunkRow;
 import com.couchbase.client.core.msg.query.QueryChunkTrailer;
+import com.couchbase.client.core.msg.query.QueryRequest;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -66,6 +71,11 @@ public class QueryChunkResponseParser
   private byte[] errors;
   private byte[] profile;
 
+  /**
+   * If the rows of the current response are emitted as slices of the response buffers.
+   */
+  private boolean zeroCopyRows;
+
   @Override
   protected void doCleanup() {
     requestId = null;
@@ -81,13 +91,14 @@ public class QueryChunkResponseParser
   }
 
   private final JsonStreamParser.Builder parserBuilder = JsonStreamParser.builder()
+    .structuralScanning(true)
     .doOnValue("/requestID", v -> requestId = v.readString())
     .doOnValue("/signature", v -> signature = Optional.of(v.readBytes()))
     .doOnValue("/clientContextID", v -> clientContextId = Optional.of(v.readString()))
     .doOnValue("/prepared", v -> prepared = Optional.of(v.readString()))
     .doOnValue("/results/-", v -> {
       markHeaderComplete();
-      emitRow(new QueryChunkRow(v.readBytes()));
+      emitRow(zeroCopyRows ? new QueryChunkRow(v.readRetainedSlice()) : new QueryChunkRow(v.readBytes()));
     })
     .doOnValue("/status", v -> {
       markHeaderComplete();
@@ -106,6 +117,19 @@ public class QueryChunkResponseParser
     return parserBuilder;
   }
 
+  /**
+   * Keeps the response buffers around instead of copying them if the request asked for zero-copy rows,
+   * so that each row can be emitted as a slice of them.
+   */
+  @Override
+  protected StreamWindow streamWindow(final ChannelConfig channelConfig) {
+    RequestContext ctx = requestContext();
+    zeroCopyRows = ctx != null
+      && ctx.request() instanceof QueryRequest
+      && ((QueryRequest) ctx.request()).zeroCopyRows();
+    return zeroCopyRows ? new SlicingStreamWindow() : super.streamWindow(channelConfig);
+  }
+
   @Override
   public Optional<QueryChunkHeader> header(boolean lastChunk) {
     return isHeaderComplete()
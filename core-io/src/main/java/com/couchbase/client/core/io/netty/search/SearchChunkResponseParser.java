@@ -53,6 +53,7 @@ public class SearchChunkResponseParser
   }
 
   private final JsonStreamParser.Builder parserBuilder = JsonStreamParser.builder()
+    .structuralScanning(true)
     .doOnValue("/status", v -> status = v.readBytes())
     .doOnValue("/error", v -> {
       error = v.readBytes();
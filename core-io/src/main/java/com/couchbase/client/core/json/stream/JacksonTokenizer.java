@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.json.stream;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonFactory;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonParser;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+
+/**
+ * Tokenizes the input with Jackson's non-blocking parser, which fully validates it.
+ */
+class JacksonTokenizer implements JsonTokenizer {
+  private static final JsonFactory jsonFactory = new JsonFactory();
+
+  /**
+   * Jackson non-blocking parser tokenizes the input sent to the feeder.
+   */
+  private final JsonParser parser;
+  private final ByteArrayFeeder feeder;
+
+  JacksonTokenizer() {
+    try {
+      this.parser = jsonFactory.createNonBlockingByteArrayParser();
+      this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+  }
+
+  @Override
+  public void feed(byte[] input, int start, int end) throws IOException {
+    feeder.feedInput(input, start, end);
+  }
+
+  @Override
+  public void endOfInput() {
+    feeder.endOfInput();
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    return parser.nextToken();
+  }
+
+  @Override
+  public String currentName() throws IOException {
+    return parser.getCurrentName();
+  }
+
+  @Override
+  public long tokenStartOffset() {
+    // Jackson treats this offset as one-based. We want zero-based, so subtract 1.
+    return parser.getTokenLocation().getByteOffset() - 1;
+  }
+
+  @Override
+  public long tokenEndOffset() {
+    return parser.getCurrentLocation().getByteOffset();
+  }
+
+  @Override
+  public void skipChildren() {
+    // The non-blocking parser cannot skip ahead, so the navigator fast-forwards through the tokens instead.
+  }
+
+  @Override
+  public void close() {
+    try {
+      parser.close();
+    } catch (IOException inconceivable) {
+      throw new AssertionError("non-blocking parser should not have thrown exception on close", inconceivable);
+    }
+  }
+
+}
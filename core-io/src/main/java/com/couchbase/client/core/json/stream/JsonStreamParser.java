@@ -16,10 +16,7 @@
 
 package com.couchbase.client.core.json.stream;
 
-import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonFactory;
-import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonParser;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
-import com.couchbase.client.core.deps.com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
@@ -40,21 +37,23 @@ import static java.util.Objects.requireNonNull;
  * Supply the input JSON by calling {@link #feed(ByteBuf)} repeatedly.
  * Close the parser after feeding the last of the data.
  * <p>
+ * By default the input is fully tokenized and validated by Jackson. If the builder
+ * enables {@link Builder#structuralScanning(boolean)}, only its structure is scanned
+ * instead, which finds the boundaries of large captured values much faster.
+ * <p>
  * Not thread safe.
  */
 public class JsonStreamParser implements Closeable {
-  private static final JsonFactory jsonFactory = new JsonFactory();
 
   /**
-   * Jackson non-blocking parser tokenizes the input sent to the feeder.
+   * Splits the input into the tokens consumed by the navigator.
    */
-  private final JsonParser parser;
-  private final ByteArrayFeeder feeder;
+  private final JsonTokenizer tokenizer;
 
   /**
-   * KLUDGE: An unpooled heap buffer used for feeding Jackson. As of Jackson 2.9.8,
+   * KLUDGE: An unpooled heap buffer used for feeding the tokenizer. As of Jackson 2.9.8,
    * the non-blocking parser can only be fed from offset zero of a byte array.
-   * Input is copied to this buffer's backing array before being fed to Jackson.
+   * Input is copied to this buffer's backing array before being fed to the tokenizer.
    */
   private final ByteBuf scratchBuffer;
 
@@ -85,17 +84,11 @@ public class JsonStreamParser implements Closeable {
     return new Builder();
   }
 
-  private JsonStreamParser(PathTree pathTree, ByteBuf scratchBuffer, StreamWindow window) {
+  private JsonStreamParser(PathTree pathTree, ByteBuf scratchBuffer, StreamWindow window, JsonTokenizer tokenizer) {
     this.scratchBuffer = checkScratchBuffer(scratchBuffer);
     this.window = requireNonNull(window);
     this.navigator = new StructureNavigator(this, pathTree);
-
-    try {
-      this.parser = jsonFactory.createNonBlockingByteArrayParser();
-      this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
-    } catch (IOException impossible) {
-      throw new AssertionError(impossible);
-    }
+    this.tokenizer = requireNonNull(tokenizer);
   }
 
   private static ByteBuf checkScratchBuffer(ByteBuf buf) {
@@ -119,7 +112,7 @@ public class JsonStreamParser implements Closeable {
    */
   public void feed(ByteBuf input) throws DecodingFailureException {
     try {
-      feedJackson(input);
+      feedTokenizer(input);
       processTokens();
       collectGarbage();
 
@@ -137,7 +130,7 @@ public class JsonStreamParser implements Closeable {
    */
   public void endOfInput() {
     try {
-      feeder.endOfInput();
+      tokenizer.endOfInput();
       processTokens();
 
     } catch (Throwable t) {
@@ -145,7 +138,7 @@ public class JsonStreamParser implements Closeable {
     }
   }
 
-  private void feedJackson(ByteBuf input) throws IOException {
+  private void feedTokenizer(ByteBuf input) throws IOException {
     // Until a ByteBufferFeeder implementation arrives in Jackson 3, must copy input
     // to a heap buffer and feed from the backing array.
     input.markReaderIndex();
@@ -159,23 +152,26 @@ public class JsonStreamParser implements Closeable {
     // to make sure the input buffer is released when parser is closed.
     window.add(input);
 
-    feeder.feedInput(scratchBuffer.array(), scratchBuffer.arrayOffset(), scratchBuffer.writerIndex());
+    tokenizer.feed(scratchBuffer.array(), scratchBuffer.arrayOffset(), scratchBuffer.writerIndex());
   }
 
   private void processTokens() throws IOException {
     while (true) {
-      final JsonToken token = parser.nextToken();
+      final JsonToken token = tokenizer.nextToken();
       if (token == JsonToken.NOT_AVAILABLE || token == null) {
         return;
       }
       //dumpToken(token);
       navigator.accept(token);
+      if (token.isStructStart() && navigator.isFastForwarding()) {
+        tokenizer.skipChildren();
+      }
     }
   }
 
   private void dumpToken(JsonToken token) throws IOException {
     String location = "[" + tokenStartOffset() + "," + tokenEndOffset() + "]";
-    System.out.println(token + " (" + parser.getText() + ")  location=" + location);
+    System.out.println(token + " (" + tokenizer.currentName() + ")  location=" + location);
   }
 
   /**
@@ -192,7 +188,7 @@ public class JsonStreamParser implements Closeable {
   }
 
   String getCurrentName() throws IOException {
-    return parser.getCurrentName();
+    return tokenizer.currentName();
   }
 
   void beginCapture() {
@@ -200,17 +196,15 @@ public class JsonStreamParser implements Closeable {
   }
 
   private long tokenStartOffset() {
-    // Jackson treats this offset as one-based. We want zero-based, so subtract 1.
-    return parser.getTokenLocation().getByteOffset() - 1;
+    return tokenizer.tokenStartOffset();
   }
 
   private long tokenEndOffset() {
-    return parser.getCurrentLocation().getByteOffset();
+    return tokenizer.tokenEndOffset();
   }
 
   void emitCapturedValue(String jsonPointer, Consumer<MatchedValue> consumer) {
-    final byte[] capturedValue = window.getBytes(captureStartOffset, tokenEndOffset());
-    consumer.accept(new MatchedValue(jsonPointer, capturedValue));
+    consumer.accept(new MatchedValue(jsonPointer, window, captureStartOffset, tokenEndOffset()));
   }
 
   /**
@@ -224,12 +218,7 @@ public class JsonStreamParser implements Closeable {
     closed = true;
     scratchBuffer.release();
     window.close();
-
-    try {
-      parser.close();
-    } catch (IOException inconceivable) {
-      throw new AssertionError("non-blocking parser should not have thrown exception on close", inconceivable);
-    }
+    tokenizer.close();
   }
 
   /**
@@ -241,6 +230,7 @@ public class JsonStreamParser implements Closeable {
   public static class Builder {
     private final PathTree tree = PathTree.createRoot();
     private boolean frozen;
+    private boolean structuralScanning;
 
     /**
      * Register a callback to invoke when the target of the JSON pointer is found.
@@ -254,6 +244,22 @@ public class JsonStreamParser implements Closeable {
       return this;
     }
 
+    /**
+     * Controls whether the parsers only scan the structure of the input instead of tokenizing it with Jackson.
+     * <p>
+     * With structural scanning the parsers only track nesting depth, strings and escapes to find the values they
+     * capture, and skip over the contents of captured or unmatched containers in a single tight pass. This is much
+     * faster if the captured values are large (like the rows of a query response) and fully tokenized by whoever
+     * decodes them anyway, but malformed JSON within skipped values is not detected.
+     * <p>
+     * Disabled by default.
+     */
+    public Builder structuralScanning(boolean structuralScanning) {
+      checkNotFrozen();
+      this.structuralScanning = structuralScanning;
+      return this;
+    }
+
     /**
      * Return a new parser using the builder's configuration. May be called repeatedly
      * to get fresh parsers with the same configuration.
@@ -274,7 +280,8 @@ public class JsonStreamParser implements Closeable {
       frozen = true;
       return new JsonStreamParser(tree,
         defaultIfNull(scratchBuffer, Unpooled::buffer),
-        defaultIfNull(window, () -> new CopyingStreamWindow(UnpooledByteBufAllocator.DEFAULT)));
+        defaultIfNull(window, () -> new CopyingStreamWindow(UnpooledByteBufAllocator.DEFAULT)),
+        structuralScanning ? new StructuralScanner() : new JacksonTokenizer());
     }
 
     private void checkNotFrozen() {
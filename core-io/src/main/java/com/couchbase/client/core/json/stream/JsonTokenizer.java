@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.json.stream;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Splits the input fed to a {@link JsonStreamParser} into the tokens its {@link StructureNavigator} consumes.
+ * <p>
+ * Input is fed in chunks, and each chunk must be consumed completely (until {@link #nextToken()} returns
+ * {@link JsonToken#NOT_AVAILABLE}) before the next one is fed.
+ */
+interface JsonTokenizer {
+
+  /**
+   * Adds the given range of bytes to the input. The array may be reused once the input has been consumed.
+   */
+  void feed(byte[] input, int start, int end) throws IOException;
+
+  /**
+   * Signals that no more input will be fed.
+   */
+  void endOfInput();
+
+  /**
+   * Returns the next token, {@link JsonToken#NOT_AVAILABLE} if more input is needed, or null at the end of input.
+   */
+  JsonToken nextToken() throws IOException;
+
+  /**
+   * Returns the name of the field the current token belongs to, or null if there is none.
+   */
+  String currentName() throws IOException;
+
+  /**
+   * Returns the zero-based offset from the beginning of the stream where the current token starts.
+   */
+  long tokenStartOffset();
+
+  /**
+   * Returns the offset from the beginning of the stream right after the current token.
+   */
+  long tokenEndOffset();
+
+  /**
+   * Called right after a start token if the navigator is not interested in the contents of the container.
+   * <p>
+   * The tokenizer may then skip the contents and return the matching end token next, or keep returning the
+   * tokens of the contents (which the navigator ignores).
+   */
+  void skipChildren();
+
+  void close();
+
+}
@@ -17,32 +17,57 @@
 package com.couchbase.client.core.json.stream;
 
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonNode;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.json.Mapper;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A value captured by the {@link JsonStreamParser}.
+ * <p>
+ * The value is read from the stream window on demand, so it is only valid for the duration
+ * of the callback it is passed to.
+ */
 public class MatchedValue {
   private final String jsonPointer;
-  private final byte[] json;
+  private final StreamWindow window;
+  private final long startOffset;
+  private final long endOffset;
+  private byte[] json;
 
-  MatchedValue(String jsonPointer, byte[] json) {
+  MatchedValue(String jsonPointer, StreamWindow window, long startOffset, long endOffset) {
     this.jsonPointer = jsonPointer;
-    this.json = requireNonNull(json);
+    this.window = requireNonNull(window);
+    this.startOffset = startOffset;
+    this.endOffset = endOffset;
   }
 
   public boolean isNull() {
-    return json[0] == 'n';
+    return readBytes()[0] == 'n';
   }
 
   public byte[] readBytes() {
+    if (json == null) {
+      json = window.getBytes(startOffset, endOffset);
+    }
     return json;
   }
 
+  /**
+   * Returns the value as a buffer which the caller is responsible for releasing.
+   * <p>
+   * Depending on the stream window this is a slice of the buffers the parser has been fed with,
+   * so the value can be handed out without copying it.
+   */
+  public ByteBuf readRetainedSlice() {
+    return window.getRetainedSlice(startOffset, endOffset);
+  }
+
   public JsonNode readTree() {
     try {
-      return requireNonNull(Mapper.decodeIntoTree(json));
+      return requireNonNull(Mapper.decodeIntoTree(readBytes()));
     } catch (Exception shouldNeverHappen) {
       throw new AssertionError("Value at " + jsonPointer + " is not JSON.", shouldNeverHappen);
     }
@@ -66,7 +91,7 @@ public class MatchedValue {
 
   private <T> T read(Class<T> type) {
     try {
-      return requireNonNull(Mapper.decodeInto(json, type));
+      return requireNonNull(Mapper.decodeInto(readBytes(), type));
     } catch (Exception e) {
       throw new DecodingFailureException("Value at " + jsonPointer + " is not a " + type.getSimpleName(), e);
     }
@@ -76,7 +101,7 @@ public class MatchedValue {
   public String toString() {
     return "JsonValue{" +
       "jsonPointer='" + jsonPointer + '\'' +
-      ", json=" + new String(json, UTF_8) +
+      ", json=" + new String(readBytes(), UTF_8) +
       '}';
   }
 }
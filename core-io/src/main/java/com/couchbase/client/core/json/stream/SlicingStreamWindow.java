@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.json.stream;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+
+import java.util.ArrayDeque;
+
+/**
+ * A stream window implementation that keeps the input buffers instead of copying them.
+ * <p>
+ * Regions of the stream can be handed out as retained slices of the input buffers, so values which
+ * are passed on to a consumer do not need to be copied. The flip side is that an input buffer is only
+ * released once the window has moved past all of it, and once all slices of it have been released.
+ */
+public class SlicingStreamWindow implements StreamWindow {
+  private final ArrayDeque<ByteBuf> buffers = new ArrayDeque<>();
+
+  /**
+   * Offset from the beginning of the stream to the start of the window.
+   */
+  private long windowStartOffset;
+
+  /**
+   * Offset from the beginning of the stream to the end of the window.
+   */
+  private long streamOffset;
+
+  @Override
+  public void add(ByteBuf buf) {
+    if (!buf.isReadable()) {
+      buf.release();
+      return;
+    }
+    buffers.addLast(buf);
+    streamOffset += buf.readableBytes();
+  }
+
+  @Override
+  public void releaseBefore(long releaseStreamOffset) {
+    if (releaseStreamOffset <= 0) {
+      return;
+    }
+    if (releaseStreamOffset > streamOffset) {
+      throw new IndexOutOfBoundsException("Offset " + releaseStreamOffset + " is past the end of the window "
+        + streamOffset);
+    }
+
+    while (!buffers.isEmpty()) {
+      long bufferEndOffset = windowStartOffset + buffers.peekFirst().readableBytes();
+      if (bufferEndOffset > releaseStreamOffset) {
+        return;
+      }
+      buffers.pollFirst().release();
+      windowStartOffset = bufferEndOffset;
+    }
+  }
+
+  @Override
+  public byte[] getBytes(long startStreamOffset, long endStreamOffset) {
+    checkRegion(startStreamOffset, endStreamOffset);
+    final byte[] result = new byte[(int) (endStreamOffset - startStreamOffset)];
+
+    long bufferStartOffset = windowStartOffset;
+    int written = 0;
+    for (ByteBuf buf : buffers) {
+      if (written == result.length) {
+        break;
+      }
+      long bufferEndOffset = bufferStartOffset + buf.readableBytes();
+      if (bufferEndOffset > startStreamOffset) {
+        int localStart = (int) Math.max(0, startStreamOffset - bufferStartOffset);
+        int length = (int) (Math.min(bufferEndOffset, endStreamOffset) - bufferStartOffset) - localStart;
+        buf.getBytes(buf.readerIndex() + localStart, result, written, length);
+        written += length;
+      }
+      bufferStartOffset = bufferEndOffset;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a retained slice of the input buffer if the region lies within a single one, or
+   * a composite of retained slices if it spans several of them.
+   */
+  @Override
+  public ByteBuf getRetainedSlice(long startStreamOffset, long endStreamOffset) {
+    checkRegion(startStreamOffset, endStreamOffset);
+    if (startStreamOffset == endStreamOffset) {
+      return Unpooled.EMPTY_BUFFER;
+    }
+
+    CompositeByteBuf composite = null;
+    long bufferStartOffset = windowStartOffset;
+    for (ByteBuf buf : buffers) {
+      long bufferEndOffset = bufferStartOffset + buf.readableBytes();
+      if (bufferEndOffset > startStreamOffset) {
+        int localStart = (int) Math.max(0, startStreamOffset - bufferStartOffset);
+        int length = (int) (Math.min(bufferEndOffset, endStreamOffset) - bufferStartOffset) - localStart;
+        ByteBuf slice = buf.retainedSlice(buf.readerIndex() + localStart, length);
+
+        if (composite == null && bufferEndOffset >= endStreamOffset) {
+          return slice;
+        }
+        if (composite == null) {
+          composite = buf.alloc().compositeBuffer(buffers.size());
+        }
+        composite.addComponent(true, slice);
+        if (bufferEndOffset >= endStreamOffset) {
+          return composite;
+        }
+      }
+      bufferStartOffset = bufferEndOffset;
+    }
+    throw new AssertionError("Region [" + startStreamOffset + "," + endStreamOffset + "] not found in window.");
+  }
+
+  private void checkRegion(long startStreamOffset, long endStreamOffset) {
+    if (startStreamOffset < windowStartOffset || endStreamOffset > streamOffset || startStreamOffset > endStreamOffset) {
+      throw new IndexOutOfBoundsException("Region [" + startStreamOffset + "," + endStreamOffset
+        + "] is outside the window [" + windowStartOffset + "," + streamOffset + "]");
+    }
+  }
+
+  @Override
+  public void close() {
+    ByteBuf buf;
+    while ((buf = buffers.pollFirst()) != null) {
+      if (buf.refCnt() > 0) {
+        buf.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.json.stream;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
+import com.couchbase.client.core.deps.io.netty.util.internal.PlatformDependent;
+import com.couchbase.client.core.json.Mapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Tokenizes the input by tracking only its structure (nesting depth, strings and escapes), and skips over
+ * the contents of containers the navigator is not interested in without tokenizing them at all.
+ * <p>
+ * Since captured values (like the rows of a query result) are skipped as well, finding their boundaries only
+ * takes a single tight pass over their bytes, and full tokenization is deferred to whoever decodes them. The
+ * flip side is that malformed JSON within skipped values is not detected; only mismatched containers and
+ * unterminated values are reported. Scalars are not validated either, their token type is a best guess from
+ * their first character.
+ * <p>
+ * Not thread safe.
+ */
+class StructuralScanner implements JsonTokenizer {
+
+  private static final byte OBJECT = 1;
+  private static final byte ARRAY = 2;
+
+  /**
+   * If strings can be skipped eight bytes at a time.
+   */
+  private static final boolean WORD_SCAN = PlatformDependent.hasUnsafe();
+
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final long QUOTES = ONES * '"';
+  private static final long BACKSLASHES = ONES * '\\';
+
+  /**
+   * What the scanner is in the middle of if the previous input ended within a token.
+   */
+  private enum Pending {
+    NONE,
+    KEY,
+    STRING,
+    LITERAL,
+    SKIP,
+  }
+
+  private Pending pending = Pending.NONE;
+
+  /**
+   * The current input, valid from {@link #position} to {@link #limit}.
+   */
+  private byte[] input = new byte[0];
+  private int position;
+  private int limit;
+
+  /**
+   * Offset from the beginning of the stream corresponding to index 0 of the current input array.
+   */
+  private long inputOffset;
+
+  /**
+   * Total number of bytes fed so far.
+   */
+  private long streamLength;
+
+  private boolean endOfInput;
+
+  /**
+   * The types of the containers enclosing the current position, innermost last.
+   */
+  private byte[] containers = new byte[16];
+  private int depth;
+
+  /**
+   * Whether the next string in the current object is a field name.
+   */
+  private boolean expectFieldName;
+
+  /**
+   * Whether the previous byte within a string was an unescaped backslash.
+   */
+  private boolean escaped;
+
+  /**
+   * Whether the skipped contents are currently within a string.
+   */
+  private boolean skipInString;
+
+  /**
+   * Nesting depth within the container which is being skipped.
+   */
+  private int skipDepth;
+
+  /**
+   * Accumulates the raw bytes of the current field name, which may span inputs.
+   */
+  private byte[] name = new byte[64];
+  private int nameLength;
+  private boolean nameEscaped;
+  private String currentName;
+
+  private byte literalStart;
+  private long tokenStart;
+  private long tokenEnd;
+
+  @Override
+  public void feed(final byte[] input, final int start, final int end) {
+    if (position < limit) {
+      throw new IllegalStateException("Must consume previous input before feeding more.");
+    }
+    this.input = input;
+    this.position = start;
+    this.limit = end;
+    this.inputOffset = streamLength - start;
+    this.streamLength += end - start;
+  }
+
+  @Override
+  public void endOfInput() {
+    endOfInput = true;
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    switch (pending) {
+      case KEY:
+        return finishFieldName();
+      case STRING:
+        return finishString();
+      case LITERAL:
+        return finishLiteral();
+      case SKIP:
+        return finishSkip();
+      default:
+        break;
+    }
+
+    while (position < limit) {
+      final byte b = input[position];
+      switch (b) {
+        case ' ':
+        case '\t':
+        case '\n':
+        case '\r':
+        case ':':
+          position++;
+          break;
+
+        case ',':
+          position++;
+          expectFieldName = depth > 0 && containers[depth - 1] == OBJECT;
+          break;
+
+        case '{':
+          return startContainer(OBJECT, JsonToken.START_OBJECT);
+
+        case '[':
+          return startContainer(ARRAY, JsonToken.START_ARRAY);
+
+        case '}':
+        case ']':
+          tokenStart = offset(position);
+          position++;
+          tokenEnd = tokenStart + 1;
+          return endContainer(b);
+
+        case '"':
+          tokenStart = offset(position);
+          position++;
+          if (expectFieldName) {
+            expectFieldName = false;
+            nameLength = 0;
+            nameEscaped = false;
+            pending = Pending.KEY;
+            return finishFieldName();
+          }
+          pending = Pending.STRING;
+          return finishString();
+
+        default:
+          tokenStart = offset(position);
+          literalStart = b;
+          pending = Pending.LITERAL;
+          return finishLiteral();
+      }
+    }
+
+    if (endOfInput) {
+      if (depth > 0) {
+        throw new IOException("Unexpected end of input within a container at offset " + offset(position));
+      }
+      return null;
+    }
+    return JsonToken.NOT_AVAILABLE;
+  }
+
+  private JsonToken startContainer(final byte type, final JsonToken token) {
+    tokenStart = offset(position);
+    position++;
+    tokenEnd = tokenStart + 1;
+    if (depth == containers.length) {
+      containers = Arrays.copyOf(containers, depth * 2);
+    }
+    containers[depth++] = type;
+    expectFieldName = type == OBJECT;
+    return token;
+  }
+
+  private JsonToken endContainer(final byte closer) throws IOException {
+    final byte type = closer == '}' ? OBJECT : ARRAY;
+    if (depth == 0 || containers[depth - 1] != type) {
+      throw new IOException("Unexpected close marker '" + (char) closer + "' at offset " + tokenStart);
+    }
+    depth--;
+    expectFieldName = false;
+    return type == OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+  }
+
+  private JsonToken finishString() throws IOException {
+    final byte[] in = input;
+    final int end = limit;
+    int p = position;
+    boolean esc = escaped;
+    while (p < end) {
+      final byte b = in[p++];
+      if (esc) {
+        esc = false;
+      } else if (b == '\\') {
+        esc = true;
+      } else if (b == '"') {
+        position = p;
+        escaped = false;
+        pending = Pending.NONE;
+        tokenEnd = offset(p);
+        return JsonToken.VALUE_STRING;
+      }
+    }
+    position = p;
+    escaped = esc;
+    return needMoreInput();
+  }
+
+  private JsonToken finishFieldName() throws IOException {
+    while (position < limit) {
+      final byte b = input[position++];
+      if (escaped) {
+        escaped = false;
+      } else if (b == '\\') {
+        escaped = true;
+        nameEscaped = true;
+      } else if (b == '"') {
+        pending = Pending.NONE;
+        tokenEnd = offset(position);
+        currentName = decodeFieldName();
+        return JsonToken.FIELD_NAME;
+      }
+      if (nameLength == name.length) {
+        name = Arrays.copyOf(name, nameLength * 2);
+      }
+      name[nameLength++] = b;
+    }
+    return needMoreInput();
+  }
+
+  private String decodeFieldName() {
+    if (!nameEscaped) {
+      return new String(name, 0, nameLength, UTF_8);
+    }
+    byte[] quoted = new byte[nameLength + 2];
+    quoted[0] = '"';
+    System.arraycopy(name, 0, quoted, 1, nameLength);
+    quoted[quoted.length - 1] = '"';
+    return Mapper.decodeInto(quoted, String.class);
+  }
+
+  private JsonToken finishLiteral() throws IOException {
+    while (position < limit) {
+      if (isDelimiter(input[position])) {
+        pending = Pending.NONE;
+        tokenEnd = offset(position);
+        return literalToken();
+      }
+      position++;
+    }
+    if (endOfInput && depth == 0) {
+      pending = Pending.NONE;
+      tokenEnd = offset(position);
+      return literalToken();
+    }
+    return needMoreInput();
+  }
+
+  private static boolean isDelimiter(final byte b) {
+    return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ':';
+  }
+
+  private JsonToken literalToken() throws IOException {
+    switch (literalStart) {
+      case 't':
+        return JsonToken.VALUE_TRUE;
+      case 'f':
+        return JsonToken.VALUE_FALSE;
+      case 'n':
+        return JsonToken.VALUE_NULL;
+      default:
+        if (literalStart == '-' || (literalStart >= '0' && literalStart <= '9')) {
+          return JsonToken.VALUE_NUMBER_INT;
+        }
+        throw new IOException("Unexpected character '" + (char) literalStart + "' at offset " + tokenStart);
+    }
+  }
+
+  @Override
+  public void skipChildren() {
+    pending = Pending.SKIP;
+    skipDepth = 1;
+    skipInString = false;
+    escaped = false;
+  }
+
+  /**
+   * Scans for the end of the container being skipped, which is the hot path for captured rows.
+   */
+  private JsonToken finishSkip() throws IOException {
+    final byte[] in = input;
+    final int end = limit;
+    int p = position;
+    int d = skipDepth;
+    boolean inString = skipInString;
+
+    if (escaped && p < end) {
+      // The previous input ended right after a backslash, so skip the escaped character.
+      escaped = false;
+      p++;
+    }
+
+    scan:
+    while (p < end) {
+      if (inString) {
+        // Within strings only the closing quote and escapes matter, so they get their own tight loop.
+        while (true) {
+          if (WORD_SCAN) {
+            p = skipPlainWords(in, p, end);
+          }
+          if (p == end) {
+            break scan;
+          }
+          final byte c = in[p++];
+          if (c == '"') {
+            inString = false;
+            break;
+          } else if (c == '\\') {
+            if (p == end) {
+              escaped = true;
+              break scan;
+            }
+            p++;
+          }
+        }
+        continue;
+      }
+
+      final byte b = in[p++];
+      if (b == '"') {
+        inString = true;
+      } else if (b == '{' || b == '[') {
+        d++;
+      } else if ((b == '}' || b == ']') && --d == 0) {
+        position = p;
+        pending = Pending.NONE;
+        tokenStart = offset(p - 1);
+        tokenEnd = offset(p);
+        return endContainer(b);
+      }
+    }
+
+    position = p;
+    skipDepth = d;
+    skipInString = inString;
+    // Nothing before this point is needed anymore, so the stream window may let go of it.
+    tokenStart = offset(p);
+    return needMoreInput();
+  }
+
+  /**
+   * Returns the index of the first word (group of eight bytes) starting at the given index which may contain
+   * a quote or a backslash.
+   */
+  private static int skipPlainWords(final byte[] in, int p, final int end) {
+    while (p + Long.BYTES <= end) {
+      final long word = PlatformDependent.getLong(in, p);
+      if (containsByte(word, QUOTES) || containsByte(word, BACKSLASHES)) {
+        break;
+      }
+      p += Long.BYTES;
+    }
+    return p;
+  }
+
+  private static boolean containsByte(final long word, final long pattern) {
+    final long x = word ^ pattern;
+    return ((x - ONES) & ~x & HIGH_BITS) != 0;
+  }
+
+  private JsonToken needMoreInput() throws IOException {
+    if (endOfInput) {
+      throw new IOException("Unexpected end of input at offset " + offset(position));
+    }
+    return JsonToken.NOT_AVAILABLE;
+  }
+
+  private long offset(final int index) {
+    return inputOffset + index;
+  }
+
+  @Override
+  public String currentName() {
+    return currentName;
+  }
+
+  @Override
+  public long tokenStartOffset() {
+    return tokenStart;
+  }
+
+  @Override
+  public long tokenEndOffset() {
+    return tokenEnd;
+  }
+
+  @Override
+  public void close() {
+    input = null;
+  }
+
+}
@@ -94,6 +94,13 @@ class StructureNavigator {
     return mode == Mode.CAPTURE;
   }
 
+  /**
+   * Returns true if the navigator only looks for the end of the current container.
+   */
+  boolean isFastForwarding() {
+    return state == fastForwardObject || state == fastForwardArray;
+  }
+
   private void pushScope(Scope newScope) {
     scopeStack.push(newScope);
     transitionTo(newScope);
@@ -68,6 +68,13 @@ public class CancellationReason {
   public static final CancellationReason TOO_MANY_REQUESTS_IN_RETRY =
     new CancellationReason("TOO_MANY_REQUESTS_IN_RETRY", null);
 
+  /**
+   * If the endpoint the request should be written to already has the maximum number of requests in flight and
+   * is configured to reject further requests instead of holding them back.
+   */
+  public static final CancellationReason TOO_MANY_REQUESTS_IN_FLIGHT =
+    new CancellationReason("TOO_MANY_REQUESTS_IN_FLIGHT", null);
+
   /**
    * When a {@link TargetedRequest} is dispatched but the list of nodes does not contain the target at all,
    * there is good chance that this request will not be able to make progress anymore so it will be cancelled.
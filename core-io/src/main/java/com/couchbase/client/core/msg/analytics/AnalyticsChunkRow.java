@@ -32,6 +32,11 @@ public class AnalyticsChunkRow implements ChunkRow {
     return data;
   }
 
+  @Override
+  public int estimatedSize() {
+    return data.length;
+  }
+
   @Override
   public String toString() {
     return "AnalyticsChunkRow{" +
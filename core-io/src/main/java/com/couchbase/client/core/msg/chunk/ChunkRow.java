@@ -20,4 +20,12 @@ package com.couchbase.client.core.msg.chunk;
  * Marker interface to describe a row emitted from a chunked response.
  */
 public interface ChunkRow {
+
+  /**
+   * Returns the approximate number of bytes the row holds, used to bound how many rows are buffered.
+   */
+  default int estimatedSize() {
+    return 0;
+  }
+
 }
@@ -23,7 +23,6 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -66,18 +65,14 @@ public class AppendRequest extends BaseKeyValueRequest<AppendResponse> implement
     try {
       key = encodedKeyWithCollection(alloc, ctx);
 
+      content = Unpooled.wrappedBuffer(this.content);
+
       byte datatype = 0;
-      CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
-        if (maybeCompressed != null) {
-          datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
-          content = maybeCompressed;
-        } else {
-          content = Unpooled.wrappedBuffer(this.content);
-        }
-      } else {
-        content = Unpooled.wrappedBuffer(this.content);
+      ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(alloc, content, ctx);
+      if (maybeCompressed != null) {
+        datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
+        content.release();
+        content = maybeCompressed;
       }
 
       return MemcacheProtocol.flexibleRequest(alloc, MemcacheProtocol.Opcode.APPEND, datatype, partition(),
@@ -21,6 +21,7 @@ import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.error.CollectionNotFoundException;
 import com.couchbase.client.core.error.FeatureNotAvailableException;
 import com.couchbase.client.core.error.InvalidArgumentException;
@@ -29,6 +30,7 @@ import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.msg.BaseRequest;
 import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.node.KeyValueLocator;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.Bytes;
@@ -84,6 +86,16 @@ public abstract class BaseKeyValueRequest<R extends Response>
    */
   private volatile short partition;
 
+  /**
+   * Caches the hash of the key plus one, 0 if it has not been computed yet.
+   */
+  private int keyHash;
+
+  /**
+   * Caches the key together with the collection prefix it was last encoded with, null if not encoded yet.
+   */
+  private volatile PrefixedKey prefixedKey;
+
   /**
    * Indicates if this request has been rejected with a NMVB before.
    */
@@ -142,12 +154,31 @@ public abstract class BaseKeyValueRequest<R extends Response>
    * <p>Note that it uses the key set during construction, if you want to encode a different key use the
    * {@link #encodedExternalKeyWithCollection(ByteBufAllocator, KeyValueChannelContext, byte[])} method instead.</p>
    *
+   * <p>The returned buffer wraps the cached encoded key, so it must only be read from.</p>
+   *
    * @param alloc the buffer allocator to use.
    * @param ctx the channel context.
    * @return the encoded ID, maybe with the collection prefix in place.
    */
   protected ByteBuf encodedKeyWithCollection(final ByteBufAllocator alloc, final KeyValueChannelContext ctx) {
-    return encodedExternalKeyWithCollection(alloc, ctx, key);
+    if (!ctx.collectionsEnabled()) {
+      checkDefaultCollection();
+      return Unpooled.wrappedBuffer(key);
+    }
+
+    // The collection map hands out the same encoded prefix until the collection ID changes, so the prefixed
+    // key only needs to be rebuilt on the first encode or after the collection has been recreated.
+    byte[] collection = collectionPrefix(ctx);
+    PrefixedKey cached = prefixedKey;
+    if (cached == null || cached.prefix != collection) {
+      byte[] encoded = new byte[collection.length + key.length];
+      checkKeyLength(encoded.length);
+      System.arraycopy(collection, 0, encoded, 0, collection.length);
+      System.arraycopy(key, 0, encoded, collection.length, key.length);
+      cached = new PrefixedKey(collection, encoded);
+      prefixedKey = cached;
+    }
+    return Unpooled.wrappedBuffer(cached.key);
   }
 
   /**
@@ -161,11 +192,7 @@ public abstract class BaseKeyValueRequest<R extends Response>
   protected ByteBuf encodedExternalKeyWithCollection(final ByteBufAllocator alloc, final KeyValueChannelContext ctx,
                                                      final byte[] key) {
     if (ctx.collectionsEnabled()) {
-      byte[] collection = ctx.collectionMap().get(collectionIdentifier);
-      if (collection == null) {
-        throw CollectionNotFoundException.forCollection(collectionIdentifier.collection().orElse(""));
-      }
-
+      byte[] collection = collectionPrefix(ctx);
       int totalLength = key.length + collection.length;
       checkKeyLength(totalLength);
       return alloc
@@ -173,15 +200,34 @@ public abstract class BaseKeyValueRequest<R extends Response>
         .writeBytes(collection)
         .writeBytes(key);
     } else {
-      if (collectionIdentifier.isDefault()) {
-        checkKeyLength(key.length);
-        return alloc.buffer(key.length).writeBytes(key);
-      } else {
-        throw new FeatureNotAvailableException("Collections are not supported (or enabled) on the cluster");
-      }
+      checkDefaultCollection();
+      return alloc.buffer(key.length).writeBytes(key);
+    }
+  }
+
+  /**
+   * Returns the LEB128 encoded collection ID, which the collection map stores already encoded.
+   *
+   * @param ctx the channel context.
+   * @return the encoded collection ID.
+   */
+  private byte[] collectionPrefix(final KeyValueChannelContext ctx) {
+    byte[] collection = ctx.collectionMap().get(collectionIdentifier);
+    if (collection == null) {
+      throw CollectionNotFoundException.forCollection(collectionIdentifier.collection().orElse(""));
     }
+    return collection;
   }
 
+  /**
+   * Makes sure the request targets the default collection if collections are not enabled.
+   */
+  private void checkDefaultCollection() {
+    if (!collectionIdentifier.isDefault()) {
+      throw new FeatureNotAvailableException("Collections are not supported (or enabled) on the cluster");
+    }
+    checkKeyLength(key.length);
+  }
 
 
   /**
@@ -241,6 +287,23 @@ public abstract class BaseKeyValueRequest<R extends Response>
     return key;
   }
 
+  /**
+   * Hashes the key on first access.
+   * <p>
+   * Concurrent callers might both compute the hash, but since they compute the same value (and an int is written
+   * atomically) no synchronization is needed.
+   */
+  @Override
+  public final int keyHash() {
+    int hash = keyHash;
+    if (hash == 0) {
+      byte[] key = key();
+      hash = KeyValueLocator.keyHash(key, 0, key.length) + 1;
+      keyHash = hash;
+    }
+    return hash - 1;
+  }
+
   @Override
   public String bucket() {
     return collectionIdentifier == null ? null : collectionIdentifier.bucket();
@@ -266,4 +329,17 @@ public abstract class BaseKeyValueRequest<R extends Response>
     rejectedWithNotMyVbucket.incrementAndGet();
   }
 
+  /**
+   * The key with its collection prefix, together with the prefix it has been built from.
+   */
+  private static final class PrefixedKey {
+    private final byte[] prefix;
+    private final byte[] key;
+
+    PrefixedKey(final byte[] prefix, final byte[] key) {
+      this.prefix = prefix;
+      this.key = key;
+    }
+  }
+
 }
@@ -43,12 +43,29 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noDatatype;
  */
 public class GetMetaRequest extends BaseKeyValueRequest<GetMetaResponse> {
 
+  /**
+   * The name the request is traced and measured under.
+   */
+  private final String name;
+
   public GetMetaRequest(final String key, final Duration timeout, final CoreContext ctx,
                         final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy, final RequestSpan span) {
+    this(key, timeout, ctx, collectionIdentifier, retryStrategy, span, TracingIdentifiers.SPAN_REQUEST_KV_EXISTS);
+  }
+
+  /**
+   * Creates a get meta request which is traced and measured under the given name instead of as an exists request.
+   *
+   * @param name the name of the operation, i.e. {@link TracingIdentifiers#SPAN_REQUEST_KV_GET_META}.
+   */
+  public GetMetaRequest(final String key, final Duration timeout, final CoreContext ctx,
+                        final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy,
+                        final RequestSpan span, final String name) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
+    this.name = name;
 
     if (span != null) {
-      span.setAttribute(TracingIdentifiers.ATTR_OPERATION, TracingIdentifiers.SPAN_REQUEST_KV_EXISTS);
+      span.setAttribute(TracingIdentifiers.ATTR_OPERATION, name);
     }
   }
 
@@ -83,6 +100,6 @@ public class GetMetaRequest extends BaseKeyValueRequest<GetMetaResponse> {
 
   @Override
   public String name() {
-    return "exists";
+    return name;
   }
 }
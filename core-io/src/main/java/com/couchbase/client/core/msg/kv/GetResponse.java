@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.msg.BaseResponse;
 import com.couchbase.client.core.msg.ResponseStatus;
 
@@ -30,7 +31,8 @@ public class GetResponse extends BaseResponse {
   private final long cas;
   private final int flags;
 
-  GetResponse(final ResponseStatus status, final byte[] content, final long cas, final int flags) {
+  @Stability.Internal
+  public GetResponse(final ResponseStatus status, final byte[] content, final long cas, final int flags) {
     super(status);
     this.content = content;
     this.cas = cas;
@@ -23,7 +23,6 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -45,7 +44,10 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
  */
 public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implements SyncDurabilityRequest {
 
-  private final byte[] content;
+  /**
+   * The document content, owned by this request and released once the request completes.
+   */
+  private final ByteBuf content;
   private final long expiration;
   private final int flags;
   private final Optional<DurabilityLevel> syncReplicationType;
@@ -56,8 +58,24 @@ public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implement
                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                        final RetryStrategy retryStrategy,
                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, Unpooled.wrappedBuffer(content), expiration, flags, timeout, ctx, collectionIdentifier, retryStrategy,
+      syncReplicationType, span);
+  }
+
+  /**
+   * Creates a new insert request with content that is already encoded into a (usually pooled) buffer.
+   *
+   * <p>The request takes ownership of the buffer and releases it once it completes, no matter if it
+   * succeeded, failed or got cancelled. The readable bytes at construction time are written as the document.</p>
+   */
+  public InsertRequest(final String key, final ByteBuf content, final long expiration,
+                       final int flags, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
     this.content = content;
+    response().whenComplete((r, t) -> ReferenceCountUtil.release(content));
     this.expiration = expiration;
     this.flags = flags;
     this.syncReplicationType = syncReplicationType;
@@ -77,18 +95,14 @@ public class InsertRequest extends BaseKeyValueRequest<InsertResponse> implement
     try {
       key = encodedKeyWithCollection(alloc, ctx);
 
+      content = this.content.retainedSlice();
+
       byte datatype = 0;
-      CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
-        if (maybeCompressed != null) {
-          datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
-          content = maybeCompressed;
-        } else {
-          content = Unpooled.wrappedBuffer(this.content);
-        }
-      } else {
-        content = Unpooled.wrappedBuffer(this.content);
+      ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(alloc, content, ctx);
+      if (maybeCompressed != null) {
+        datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
+        content.release();
+        content = maybeCompressed;
       }
 
       extras = alloc.buffer(Integer.BYTES * 2);
@@ -69,6 +69,16 @@ public interface KeyValueRequest<R extends Response> extends Request<R>, ScopedR
    */
   byte[] key();
 
+  /**
+   * Returns the hash of the key which determines its partition.
+   * <p>
+   * The hash is independent of the number of partitions and only computed once per request, so retries (and the
+   * grouping of bulk operations) do not need to hash the key again.
+   *
+   * @return the 15 bit hash of the key, see {@link com.couchbase.client.core.node.KeyValueLocator#keyHash}.
+   */
+  int keyHash();
+
   CollectionIdentifier collectionIdentifier();
 
   int opaque();
@@ -17,6 +17,7 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
@@ -38,6 +39,7 @@ import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.*;
@@ -240,6 +242,38 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     public boolean xattr() {
       return xattr;
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Command command = (Command) o;
+      return xattr == command.xattr &&
+        originalIndex == command.originalIndex &&
+        type == command.type &&
+        Objects.equals(path, command.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, path, xattr, originalIndex);
+    }
+  }
+
+  /**
+   * Returns the flags which apply to the whole lookup (i.e. if deleted documents can be accessed).
+   */
+  @Stability.Internal
+  public byte flags() {
+    return flags;
+  }
+
+  /**
+   * Returns the lookup commands of this request.
+   */
+  @Stability.Internal
+  public List<Command> commands() {
+    return commands;
   }
 
   @Override
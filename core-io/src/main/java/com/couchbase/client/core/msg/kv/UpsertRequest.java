@@ -23,7 +23,6 @@ import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
@@ -46,7 +45,10 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
  */
 public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implements SyncDurabilityRequest {
 
-  private final byte[] content;
+  /**
+   * The document content, owned by this request and released once the request completes.
+   */
+  private final ByteBuf content;
   private final long expiration;
   private final boolean preserveExpiry;
   private final int flags;
@@ -70,8 +72,24 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
                        final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                        final RetryStrategy retryStrategy,
                        final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
+    this(key, Unpooled.wrappedBuffer(content), expiration, preserveExpiry, flags, timeout, ctx, collectionIdentifier,
+      retryStrategy, syncReplicationType, span);
+  }
+
+  /**
+   * Creates a new upsert request with content that is already encoded into a (usually pooled) buffer.
+   *
+   * <p>The request takes ownership of the buffer and releases it once it completes, no matter if it
+   * succeeded, failed or got cancelled. The readable bytes at construction time are written as the document.</p>
+   */
+  public UpsertRequest(final String key, final ByteBuf content,
+                       final long expiration, final boolean preserveExpiry, final int flags, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType, final RequestSpan span) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier, span);
     this.content = content;
+    response().whenComplete((r, t) -> ReferenceCountUtil.release(content));
     this.expiration = expiration;
     this.preserveExpiry = preserveExpiry;
     this.flags = flags;
@@ -92,18 +110,14 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
     try {
       key = encodedKeyWithCollection(alloc, ctx);
 
+      content = this.content.retainedSlice();
+
       byte datatype = 0;
-      CompressionConfig config = ctx.compressionConfig();
-      if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
-        if (maybeCompressed != null) {
-          datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
-          content = maybeCompressed;
-        } else {
-          content = Unpooled.wrappedBuffer(this.content);
-        }
-      } else {
-        content = Unpooled.wrappedBuffer(this.content);
+      ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(alloc, content, ctx);
+      if (maybeCompressed != null) {
+        datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
+        content.release();
+        content = maybeCompressed;
       }
 
       extras = alloc.buffer(Integer.BYTES * 2);
@@ -16,28 +16,97 @@
 
 package com.couchbase.client.core.msg.query;
 
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufInputStream;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.msg.chunk.ChunkRow;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 
 public class QueryChunkRow implements ChunkRow {
 
+  private static final AtomicIntegerFieldUpdater<QueryChunkRow> RELEASED_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(QueryChunkRow.class, "released");
+
   private final byte[] data;
 
+  /**
+   * The slice of the response buffers holding the row, if it has been delivered without copying.
+   */
+  private final ByteBuf buffer;
+
+  /**
+   * Set to 1 once the buffer has been released, so that racing callers release it only once.
+   */
+  private volatile int released;
+
   public QueryChunkRow(byte[] data) {
     this.data = data;
+    this.buffer = null;
   }
 
+  /**
+   * Creates a row which takes ownership of the buffer, which needs to be released through {@link #release()}.
+   *
+   * @param buffer the retained slice of the response holding the row.
+   */
+  @Stability.Internal
+  public QueryChunkRow(ByteBuf buffer) {
+    this.data = null;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Returns the row as a byte array, which is a copy if the row has been delivered without copying.
+   */
   public byte[] data() {
-    return data;
+    return buffer == null ? data : ByteBufUtil.getBytes(buffer);
+  }
+
+  @Override
+  public int estimatedSize() {
+    return buffer == null ? data.length : buffer.readableBytes();
+  }
+
+  /**
+   * Returns true if the row holds a slice of the response buffers which needs to be released.
+   */
+  @Stability.Internal
+  public boolean zeroCopy() {
+    return buffer != null;
+  }
+
+  /**
+   * Returns a stream over the row, which reads straight from the response buffers if possible.
+   */
+  @Stability.Internal
+  public InputStream dataStream() {
+    return buffer == null ? new ByteArrayInputStream(data) : new ByteBufInputStream(buffer.duplicate());
+  }
+
+  /**
+   * Releases the slice of the response buffers held by the row, if any. Calling it more than once (also from
+   * different threads) has no effect.
+   */
+  @Stability.Internal
+  public void release() {
+    if (buffer != null && RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+      buffer.release();
+    }
   }
 
   @Override
   public String toString() {
     return "QueryChunkRow{" +
-      "data=" + redactUser(new String(data, StandardCharsets.UTF_8)) +
+      "data=" + redactUser(buffer == null
+        ? new String(data, StandardCharsets.UTF_8)
+        : buffer.toString(StandardCharsets.UTF_8)) +
       '}';
   }
 }
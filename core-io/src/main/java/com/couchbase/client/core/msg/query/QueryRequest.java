@@ -17,6 +17,7 @@
 package com.couchbase.client.core.msg.query;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
@@ -57,6 +58,11 @@ public class QueryRequest
   private final String bucket;
   private final String scope;
 
+  /**
+   * If the rows should be delivered as slices of the response buffers instead of byte arrays.
+   */
+  private volatile boolean zeroCopyRows;
+
   public QueryRequest(Duration timeout, CoreContext ctx, RetryStrategy retryStrategy,
                       final Authenticator authenticator, final String statement, final byte[] query, boolean idempotent,
                       final String contextId, final RequestSpan span, final String bucket, final String scope) {
@@ -145,6 +151,30 @@ public class QueryRequest
     return scope;
   }
 
+  /**
+   * Returns true if the rows of the response are delivered as slices of the response buffers, which
+   * the consumer needs to release through {@link QueryChunkRow#release()}.
+   */
+  @Stability.Internal
+  public boolean zeroCopyRows() {
+    return zeroCopyRows;
+  }
+
+  /**
+   * Delivers the rows of the response as slices of the response buffers instead of copying each one.
+   * <p>
+   * Must be set before the request is dispatched, and only if the consumer of the rows releases every one of them,
+   * including those dropped because the consumer cancelled.
+   *
+   * @param zeroCopyRows true if the rows should not be copied.
+   * @return this request for chaining purposes.
+   */
+  @Stability.Internal
+  public QueryRequest zeroCopyRows(final boolean zeroCopyRows) {
+    this.zeroCopyRows = zeroCopyRows;
+    return this;
+  }
+
   @Override
   public Map<String, Object> serviceContext() {
     Map<String, Object> ctx = new TreeMap<>();
@@ -169,6 +199,7 @@ public class QueryRequest
       ", contextId='" + contextId + '\'' +
       ", bucket='" + redactMeta(bucket) + '\'' +
       ", scope='" + redactMeta(scope) + '\'' +
+      ", zeroCopyRows=" + zeroCopyRows +
       '}';
   }
 
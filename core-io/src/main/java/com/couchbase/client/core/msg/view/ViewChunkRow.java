@@ -34,6 +34,11 @@ public class ViewChunkRow implements ChunkRow {
     return data;
   }
 
+  @Override
+  public int estimatedSize() {
+    return data.length;
+  }
+
   @Override
   public String toString() {
     return "ViewChunkRow{" +
@@ -37,8 +37,13 @@ import com.couchbase.client.core.msg.kv.SyncDurabilityRequest;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 /**
@@ -52,6 +57,11 @@ import java.util.zip.CRC32;
  */
 public class KeyValueLocator implements Locator {
 
+  /**
+   * Holds the routing table of each couchbase bucket, replaced once the config or the nodes change.
+   */
+  private final Map<String, KeyValueRoutingTable> routingTables = new ConcurrentHashMap<>();
+
   @Override
   public void dispatch(final Request<? extends Response> request, final List<Node> nodes,
                        final ClusterConfig config, final CoreContext ctx) {
@@ -63,6 +73,7 @@ public class KeyValueLocator implements Locator {
       BucketConfig bucketConfig = config.bucketConfig(bucket);
 
       if (bucketConfig == null) {
+        routingTables.remove(bucket);
         // Since a bucket is opened lazily, it might not be available yet (or for some
         // other reason the config is gone) - send it into retry!
         RetryOrchestrator.maybeRetry(ctx, request, ctx.core().configurationProvider().bucketConfigLoadInProgress()
@@ -122,21 +133,40 @@ public class KeyValueLocator implements Locator {
     ((Request<?>) request).cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
-  private static void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
-                                      final CouchbaseBucketConfig config, CoreContext ctx) {
+  private void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
+                               final CouchbaseBucketConfig config, CoreContext ctx) {
     if(!precheckCouchbaseBucket(request, config)) {
       return;
     }
 
-    int partitionId = partitionForKey(request.key(), config.numberOfPartitions());
+    int partitionId = request.keyHash() & config.numberOfPartitions() - 1;
     request.partition((short) partitionId);
 
-    int nodeId = calculateNodeId(partitionId, request, config);
+    // Only use the Fast-Forward node if we have a map in the first place, and more importantly,
+    // if the request at least got rejected once from a different node with a "not my vbucket"
+    // response. This prevents the client going to the newer node prematurely and potentially
+    // having the request being stuck on the server side during rebalance.
+    boolean useFastForward = config.hasFastForwardMap() && request.rejectedWithNotMyVbucket() > 0;
+
+    KeyValueRoutingTable routingTable = useFastForward ? null : routingTable(request.bucket(), config, nodes);
+    int nodeId = routingTable != null
+      ? routingTable.nodeIndex(partitionId, replica(request))
+      : calculateNodeId(partitionId, request, config, useFastForward);
     if (nodeId < 0) {
       RetryOrchestrator.maybeRetry(ctx, request, RetryReason.NODE_NOT_AVAILABLE);
       return;
     }
 
+    if (routingTable != null) {
+      Node node = routingTable.node(nodeId);
+      if (node != null && !node.disconnected()) {
+        node.send(request);
+        return;
+      }
+      // The node has been added or replaced since the table has been built, so build a new one next time.
+      routingTables.remove(request.bucket(), routingTable);
+    }
+
     NodeInfo nodeInfo = config.nodeAtIndex(nodeId);
     for (Node node : nodes) {
       if (node.identifier().equals(nodeInfo.identifier())) {
@@ -170,27 +200,47 @@ public class KeyValueLocator implements Locator {
     return true;
   }
 
+  /**
+   * Returns the routing table for the given config and nodes, building (and publishing) a new one if the
+   * current one has been built for a different config or node list.
+   */
+  private KeyValueRoutingTable routingTable(final String bucket, final CouchbaseBucketConfig config,
+                                            final List<Node> nodes) {
+    KeyValueRoutingTable routingTable = routingTables.get(bucket);
+    if (routingTable == null || !routingTable.builtFor(config, nodes)) {
+      routingTable = KeyValueRoutingTable.build(config, nodes);
+      routingTables.put(bucket, routingTable);
+    }
+    return routingTable;
+  }
+
+  /**
+   * Returns the replica the request needs to be sent to, 0 for the active.
+   */
+  private static int replica(final KeyValueRequest<?> request) {
+    if (request instanceof ReplicaGetRequest) {
+      return ((ReplicaGetRequest) request).replica();
+    } else if (request instanceof ObserveViaSeqnoRequest) {
+      return Math.max(0, ((ObserveViaSeqnoRequest) request).replica());
+    } else {
+      return 0;
+    }
+  }
+
   /**
    * Helper method to calculate the node if for the given partition and request type.
    *
    * @param partitionId the partition id.
    * @param request the request used.
    * @param config the current bucket configuration.
+   * @param useFastForward if the fast forward map should be used.
    * @return the calculated node id.
    */
   private static int calculateNodeId(int partitionId, final KeyValueRequest<?> request,
-                                     final CouchbaseBucketConfig config) {
-
-    // Only use the Fast-Forward node if we have a map in the first place, and more importantly,
-    // if the request at least got rejected once from a different node with a "not my vbucket"
-    // response. This prevents the client going to the newer node prematurely and potentially
-    // having the request being stuck on the server side during rebalance.
-    boolean useFastForward = config.hasFastForwardMap() && request.rejectedWithNotMyVbucket() > 0;
-
-    if (request instanceof ReplicaGetRequest) {
-      return config.nodeIndexForReplica(partitionId, ((ReplicaGetRequest) request).replica() - 1, useFastForward);
-    } else if (request instanceof ObserveViaSeqnoRequest && ((ObserveViaSeqnoRequest) request).replica() > 0) {
-      return config.nodeIndexForReplica(partitionId, ((ObserveViaSeqnoRequest) request).replica() - 1, useFastForward);
+                                     final CouchbaseBucketConfig config, final boolean useFastForward) {
+    int replica = replica(request);
+    if (replica > 0) {
+      return config.nodeIndexForReplica(partitionId, replica - 1, useFastForward);
     } else {
       return config.nodeIndexForActive(partitionId, useFastForward);
     }
@@ -258,6 +308,57 @@ public class KeyValueLocator implements Locator {
     return false;
   }
 
+  /**
+   * Orders the given requests so that all requests which target the same node and partition are next to each other.
+   * <p>
+   * This is used by bulk operations: when the ordered requests are dispatched one after another, each endpoint
+   * receives its share as one contiguous run, which the endpoint can write and flush as a single batch instead of
+   * interleaving them with requests for other nodes. The partition is resolved up front and stored on the request.
+   * <p>
+   * Routing is still performed for each request on dispatch, so if the config is not available (or not a couchbase
+   * bucket config) the requests are returned in their original order and nothing is lost but the grouping.
+   *
+   * @param requests the requests to order.
+   * @param config the current bucket config, might be null.
+   * @param <R> the type of the requests.
+   * @return a new list with the requests grouped by target node and partition.
+   */
+  public static <R extends KeyValueRequest<?>> List<R> groupByTarget(final List<R> requests, final BucketConfig config) {
+    if (!(config instanceof CouchbaseBucketConfig) || requests.size() < 2) {
+      return new ArrayList<>(requests);
+    }
+
+    final CouchbaseBucketConfig cbc = (CouchbaseBucketConfig) config;
+    final int numPartitions = cbc.numberOfPartitions();
+    @SuppressWarnings("unchecked")
+    final List<R>[] byPartition = new List[numPartitions];
+    for (R request : requests) {
+      int partitionId = request.keyHash() & numPartitions - 1;
+      request.partition((short) partitionId);
+      if (byPartition[partitionId] == null) {
+        byPartition[partitionId] = new ArrayList<>();
+      }
+      byPartition[partitionId].add(request);
+    }
+
+    // A node index of -1 (no active node) sorts first, the locator sends those into retry on dispatch anyways.
+    final Integer[] partitions = new Integer[numPartitions];
+    final int[] nodeIndexes = new int[numPartitions];
+    for (int i = 0; i < numPartitions; i++) {
+      partitions[i] = i;
+      nodeIndexes[i] = byPartition[i] == null ? -1 : cbc.nodeIndexForActive(i, false);
+    }
+    Arrays.sort(partitions, Comparator.comparingInt(partition -> nodeIndexes[partition]));
+
+    final List<R> grouped = new ArrayList<>(requests.size());
+    for (int partition : partitions) {
+      if (byPartition[partition] != null) {
+        grouped.addAll(byPartition[partition]);
+      }
+    }
+    return grouped;
+  }
+
   /**
    * Calculate the partition offset for the given key.
    *
@@ -266,10 +367,41 @@ public class KeyValueLocator implements Locator {
    * @return the calculated partition.
    */
   public static int partitionForKey(final byte[] id, final int numPartitions) {
+    return partitionForKey(id, 0, id.length, numPartitions);
+  }
+
+  /**
+   * Calculate the partition offset for the given key, stored in a region of a larger buffer.
+   *
+   * <p>This allows to hash a key straight out of an encoded buffer (for example after the collection prefix)
+   * without copying it first.</p>
+   *
+   * @param buffer the buffer holding the encoded document id.
+   * @param offset the offset of the document id in the buffer.
+   * @param length the length of the document id in bytes.
+   * @param numPartitions the number of partitions in the bucket.
+   * @return the calculated partition.
+   */
+  public static int partitionForKey(final byte[] buffer, final int offset, final int length,
+                                    final int numPartitions) {
+    return keyHash(buffer, offset, length) & numPartitions - 1;
+  }
+
+  /**
+   * Calculates the 15 bit hash of a key, which is masked with the number of partitions to get its partition.
+   *
+   * <p>This uses {@link CRC32} since its update is a JVM intrinsic. The instance never escapes, so once compiled
+   * it is not allocated either.</p>
+   *
+   * @param buffer the buffer holding the encoded document id.
+   * @param offset the offset of the document id in the buffer.
+   * @param length the length of the document id in bytes.
+   * @return the hash of the key.
+   */
+  public static int keyHash(final byte[] buffer, final int offset, final int length) {
     CRC32 crc32 = new CRC32();
-    crc32.update(id, 0, id.length);
-    long rv = (crc32.getValue() >> 16) & 0x7fff;
-    return (int) rv &numPartitions - 1;
+    crc32.update(buffer, offset, length);
+    return (int) (crc32.getValue() >> 16) & 0x7fff;
   }
 
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+
+import java.util.List;
+
+/**
+ * An immutable snapshot which routes a partition (and replica) of a couchbase bucket to the {@link Node} serving it.
+ * <p>
+ * The snapshot is built once for a bucket config and the nodes it is dispatched against, so that a
+ * dispatch only needs a couple of array loads instead of looking up the node index in the config and scanning the
+ * node list for a matching identifier. Only the regular partition map is covered, the fast forward map is only
+ * consulted during rebalance and still resolved per request.
+ * <p>
+ * A node which is not (yet) managed when the snapshot is built is stored as null, and the locator falls back to
+ * the regular lookup (and replaces the snapshot) once it shows up. Since the core mutates its node list in place,
+ * the snapshot keeps a copy of the nodes it has been built for and is replaced once they differ.
+ */
+final class KeyValueRoutingTable {
+
+  private final CouchbaseBucketConfig config;
+
+  /**
+   * The nodes at the time this table has been built, in list order.
+   */
+  private final Node[] nodes;
+
+  /**
+   * The node index for each partition, the active at index 0 followed by the replicas.
+   */
+  private final short[][] nodeIndexes;
+
+  /**
+   * The node for each node index of the config, null if not managed.
+   */
+  private final Node[] nodesByIndex;
+
+  private KeyValueRoutingTable(final CouchbaseBucketConfig config, final Node[] nodes,
+                               final short[][] nodeIndexes, final Node[] nodesByIndex) {
+    this.config = config;
+    this.nodes = nodes;
+    this.nodeIndexes = nodeIndexes;
+    this.nodesByIndex = nodesByIndex;
+  }
+
+  /**
+   * Builds the routing table for the given config and nodes.
+   *
+   * @param config the bucket config to route with.
+   * @param nodes the currently managed nodes.
+   * @return the created routing table.
+   */
+  static KeyValueRoutingTable build(final CouchbaseBucketConfig config, final List<Node> currentNodes) {
+    Node[] nodes = currentNodes.toArray(new Node[0]);
+    int numPartitions = config.numberOfPartitions();
+    int numReplicas = Math.max(0, config.numberOfReplicas());
+
+    short[][] nodeIndexes = new short[numReplicas + 1][numPartitions];
+    int maxNodeIndex = -1;
+    for (int partition = 0; partition < numPartitions; partition++) {
+      nodeIndexes[0][partition] = config.nodeIndexForActive(partition, false);
+      maxNodeIndex = Math.max(maxNodeIndex, nodeIndexes[0][partition]);
+      for (int replica = 0; replica < numReplicas; replica++) {
+        nodeIndexes[replica + 1][partition] = config.nodeIndexForReplica(partition, replica, false);
+        maxNodeIndex = Math.max(maxNodeIndex, nodeIndexes[replica + 1][partition]);
+      }
+    }
+
+    Node[] nodesByIndex = new Node[maxNodeIndex + 1];
+    for (int nodeIndex = 0; nodeIndex <= maxNodeIndex; nodeIndex++) {
+      NodeInfo nodeInfo = config.nodeAtIndex(nodeIndex);
+      if (nodeInfo == null) {
+        continue;
+      }
+      for (Node node : nodes) {
+        if (node.identifier().equals(nodeInfo.identifier())) {
+          nodesByIndex[nodeIndex] = node;
+          break;
+        }
+      }
+    }
+
+    return new KeyValueRoutingTable(config, nodes, nodeIndexes, nodesByIndex);
+  }
+
+  /**
+   * Returns true if this table has been built for exactly the given config and the same nodes in the same order.
+   */
+  boolean builtFor(final CouchbaseBucketConfig config, final List<Node> nodes) {
+    if (this.config != config) {
+      return false;
+    }
+    int i = 0;
+    for (Node node : nodes) {
+      if (i == this.nodes.length || this.nodes[i++] != node) {
+        return false;
+      }
+    }
+    return i == this.nodes.length;
+  }
+
+  /**
+   * Returns the node index for the given partition.
+   *
+   * @param partition the partition id.
+   * @param replica 0 for the active, or the replica number (starting at 1).
+   * @return the node index, negative if no node is serving it.
+   */
+  int nodeIndex(final int partition, final int replica) {
+    if (replica >= nodeIndexes.length || partition >= nodeIndexes[replica].length) {
+      return CouchbaseBucketConfig.PARTITION_NOT_EXISTENT;
+    }
+    return nodeIndexes[replica][partition];
+  }
+
+  /**
+   * Returns the node for the given node index, or null if it has not been managed when the table was built.
+   *
+   * @param nodeIndex the (non-negative) node index.
+   */
+  Node node(final int nodeIndex) {
+    return nodeIndex < nodesByIndex.length ? nodesByIndex[nodeIndex] : null;
+  }
+
+}
@@ -205,6 +205,13 @@ public class Node implements Stateful<NodeState> {
     });
   }
 
+  /**
+   * Returns true once this node has been instructed to disconnect, after which it is not used anymore.
+   */
+  boolean disconnected() {
+    return disconnect.get();
+  }
+
   /**
    * Adds a {@link Service} to this {@link Node}.
    *
@@ -431,7 +438,12 @@ public class Node implements Stateful<NodeState> {
     switch (serviceType) {
       case KV:
         return new KeyValueService(
-          KeyValueServiceConfig.endpoints(env.ioConfig().numKvConnections()).build(), ctx, address, port, bucket, authenticator);
+          KeyValueServiceConfig
+            .endpoints(env.ioConfig().numKvConnections())
+            .maxInFlightRequests(env.ioConfig().maxKvInFlightRequests())
+            .inFlightLimitBehavior(env.ioConfig().kvInFlightLimitBehavior())
+            .build(),
+          ctx, address, port, bucket, authenticator);
       case MANAGER:
         return new ManagerService(ctx, address, port);
       case QUERY:
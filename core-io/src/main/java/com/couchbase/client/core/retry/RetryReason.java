@@ -84,6 +84,11 @@ public enum RetryReason {
    * in-flight so it cannot be dispatched right now onto the same socket.
    */
   NOT_PIPELINED_REQUEST_IN_FLIGHT(true, true),
+  /**
+   * The request has been dispatched into a pipelined endpoint which already has the configured maximum
+   * number of requests in flight, so it is held back until the endpoint has capacity again.
+   */
+  ENDPOINT_IN_FLIGHT_LIMIT_REACHED(true, true),
   /**
    * The endpoint is connected, but for some reason cannot be written to at the moment.
    */
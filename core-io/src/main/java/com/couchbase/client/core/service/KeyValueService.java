@@ -20,6 +20,7 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.endpoint.Endpoint;
 import com.couchbase.client.core.endpoint.KeyValueEndpoint;
 import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.InFlightLimitBehavior;
 import com.couchbase.client.core.service.strategy.PartitionSelectionStrategy;
 
 import java.util.Optional;
@@ -30,16 +31,19 @@ import java.util.Optional;
 public class KeyValueService extends PooledService {
 
   private static final EndpointSelectionStrategy STRATEGY = new PartitionSelectionStrategy();
+  private static final EndpointSelectionStrategy SPILLING_STRATEGY = new PartitionSelectionStrategy(true);
 
+  private final KeyValueServiceConfig serviceConfig;
   private final String hostname;
   private final int port;
   private final Optional<String> bucketname;
   private final Authenticator authenticator;
 
-  public KeyValueService(final ServiceConfig serviceConfig, final CoreContext coreContext,
+  public KeyValueService(final KeyValueServiceConfig serviceConfig, final CoreContext coreContext,
                          final String hostname, final int port, final Optional<String> bucketname,
                          final Authenticator authenticator) {
     super(serviceConfig, new ServiceContext(coreContext, hostname, port, ServiceType.KV, bucketname));
+    this.serviceConfig = serviceConfig;
     this.hostname = hostname;
     this.port = port;
     this.bucketname = bucketname;
@@ -48,12 +52,16 @@ public class KeyValueService extends PooledService {
 
   @Override
   protected Endpoint createEndpoint() {
-    return new KeyValueEndpoint(serviceContext(), hostname, port, bucketname, authenticator);
+    return new KeyValueEndpoint(serviceContext(), hostname, port, bucketname, authenticator,
+      serviceConfig.maxInFlightRequests(), serviceConfig.inFlightLimitBehavior());
   }
 
   @Override
   protected EndpointSelectionStrategy selectionStrategy() {
-    return STRATEGY;
+    return serviceConfig.maxInFlightRequests() > 0
+      && serviceConfig.inFlightLimitBehavior() == InFlightLimitBehavior.SPILL
+      ? SPILLING_STRATEGY
+      : STRATEGY;
   }
 
   @Override
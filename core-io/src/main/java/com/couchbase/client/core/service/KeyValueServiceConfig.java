@@ -16,16 +16,26 @@
 
 package com.couchbase.client.core.service;
 
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.env.InFlightLimitBehavior;
+
 import java.time.Duration;
 
 public class KeyValueServiceConfig implements ServiceConfig {
 
   public static final int DEFAULT_ENDPOINTS = 1;
+  public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 0;
+  public static final InFlightLimitBehavior DEFAULT_IN_FLIGHT_LIMIT_BEHAVIOR = InFlightLimitBehavior.QUEUE;
 
   private final int endpoints;
+  private final int maxInFlightRequests;
+  private final InFlightLimitBehavior inFlightLimitBehavior;
 
   public static Builder builder() {
-    return new Builder().endpoints(DEFAULT_ENDPOINTS);
+    return new Builder()
+      .endpoints(DEFAULT_ENDPOINTS)
+      .maxInFlightRequests(DEFAULT_MAX_IN_FLIGHT_REQUESTS)
+      .inFlightLimitBehavior(DEFAULT_IN_FLIGHT_LIMIT_BEHAVIOR);
   }
 
   public static Builder endpoints(int endpoints) {
@@ -34,6 +44,8 @@ public class KeyValueServiceConfig implements ServiceConfig {
 
   private KeyValueServiceConfig(Builder builder) {
     this.endpoints = builder.endpoints;
+    this.maxInFlightRequests = builder.maxInFlightRequests;
+    this.inFlightLimitBehavior = builder.inFlightLimitBehavior;
   }
 
   @Override
@@ -56,14 +68,44 @@ public class KeyValueServiceConfig implements ServiceConfig {
     return true;
   }
 
+  /**
+   * The maximum number of requests in flight per endpoint, 0 if not limited.
+   */
+  @Stability.Volatile
+  public int maxInFlightRequests() {
+    return maxInFlightRequests;
+  }
+
+  /**
+   * What happens to a request if its endpoint has reached {@link #maxInFlightRequests()}.
+   */
+  @Stability.Volatile
+  public InFlightLimitBehavior inFlightLimitBehavior() {
+    return inFlightLimitBehavior;
+  }
+
   public static class Builder {
     private int endpoints;
+    private int maxInFlightRequests;
+    private InFlightLimitBehavior inFlightLimitBehavior;
 
     public Builder endpoints(int endpoints) {
       this.endpoints = endpoints;
       return this;
     }
 
+    @Stability.Volatile
+    public Builder maxInFlightRequests(int maxInFlightRequests) {
+      this.maxInFlightRequests = maxInFlightRequests;
+      return this;
+    }
+
+    @Stability.Volatile
+    public Builder inFlightLimitBehavior(InFlightLimitBehavior inFlightLimitBehavior) {
+      this.inFlightLimitBehavior = inFlightLimitBehavior;
+      return this;
+    }
+
     public KeyValueServiceConfig build() {
       return new KeyValueServiceConfig(this);
     }
@@ -73,6 +115,8 @@ public class KeyValueServiceConfig implements ServiceConfig {
   public String toString() {
     return "KeyValueServiceConfig{" +
       "endpoints=" + endpoints +
+      ", maxInFlightRequests=" + maxInFlightRequests +
+      ", inFlightLimitBehavior=" + inFlightLimitBehavior +
       '}';
   }
 }
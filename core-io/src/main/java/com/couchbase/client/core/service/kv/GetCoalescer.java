@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.AppendRequest;
+import com.couchbase.client.core.msg.kv.DecrementRequest;
+import com.couchbase.client.core.msg.kv.GetAndLockRequest;
+import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.IncrementRequest;
+import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.msg.kv.PrependRequest;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.msg.kv.ReplaceRequest;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.msg.kv.SubDocumentField;
+import com.couchbase.client.core.msg.kv.SubdocGetRequest;
+import com.couchbase.client.core.msg.kv.SubdocGetResponse;
+import com.couchbase.client.core.msg.kv.SubdocMutateRequest;
+import com.couchbase.client.core.msg.kv.TouchRequest;
+import com.couchbase.client.core.msg.kv.UnlockRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces identical KV reads which are in flight at the same time into a single request.
+ * <p>
+ * The first read for a document becomes the leader and is dispatched as usual. Identical reads arriving while it
+ * is in flight are not dispatched at all, but wait for the response of the leader and complete with their own copy
+ * of it, so that callers can never observe each other modifying the content. Every waiting read stays registered
+ * with the timer on its own, so it still times out according to its own timeout. If the leader is cancelled (for
+ * example because it timed out itself), the reads waiting for it are dispatched on their own.
+ * <p>
+ * Only full document gets, projections (subdocument lookups) and replica gets are coalesced, and only if they
+ * target the same document with the exact same parameters. Once a mutation of a document is dispatched, the reads
+ * of that document in flight stop accepting followers, so a read issued after a mutation never returns the content
+ * from before it.
+ */
+@Stability.Internal
+public class GetCoalescer {
+
+  /**
+   * The requests which change a document (its content, CAS or expiry).
+   */
+  private static final Set<Class<?>> MUTATIONS = new HashSet<>(Arrays.asList(
+    AppendRequest.class,
+    DecrementRequest.class,
+    GetAndLockRequest.class,
+    GetAndTouchRequest.class,
+    IncrementRequest.class,
+    InsertRequest.class,
+    PrependRequest.class,
+    RemoveRequest.class,
+    ReplaceRequest.class,
+    SubdocMutateRequest.class,
+    TouchRequest.class,
+    UnlockRequest.class,
+    UpsertRequest.class
+  ));
+
+  private final Core core;
+
+  /**
+   * Holds the leader for each read currently in flight.
+   */
+  private final Map<Key, Request<?>> inFlight = new ConcurrentHashMap<>();
+
+  public GetCoalescer(final Core core) {
+    this.core = core;
+  }
+
+  /**
+   * Attaches the request to an identical one in flight, or registers it as the leader if there is none.
+   *
+   * @param request the request which is about to be dispatched.
+   * @return true if the request has been attached and must not be dispatched, false if it should be dispatched.
+   */
+  public boolean coalesce(final Request<? extends Response> request) {
+    Key key = Key.of(request);
+    if (key == null) {
+      return false;
+    }
+
+    while (true) {
+      Request<?> leader = inFlight.putIfAbsent(key, request);
+      if (leader == null) {
+        request.response().whenComplete((response, error) -> inFlight.remove(key, request));
+        return false;
+      } else if (leader == request) {
+        // The leader is retried and needs to be dispatched again.
+        return false;
+      } else if (leader.completed()) {
+        inFlight.remove(key, leader);
+      } else {
+        follow(leader, request);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Stops the reads in flight for the document changed by the request (if it is a mutation) from accepting
+   * followers, so that reads arriving later are dispatched on their own.
+   * <p>
+   * This happens once when the mutation is dispatched and once more after it completed, since a leader which is
+   * retried in between registers itself again.
+   *
+   * @param request the request which is about to be dispatched.
+   */
+  public void invalidate(final Request<? extends Response> request) {
+    if (!MUTATIONS.contains(request.getClass())) {
+      return;
+    }
+
+    KeyValueRequest<?> mutation = (KeyValueRequest<?>) request;
+    removeLeaders(mutation);
+    request.response().whenComplete((response, error) -> removeLeaders(mutation));
+  }
+
+  private void removeLeaders(final KeyValueRequest<?> mutation) {
+    if (inFlight.isEmpty()) {
+      return;
+    }
+    int keyHash = mutation.keyHash();
+    byte[] key = mutation.key();
+    CollectionIdentifier collectionIdentifier = mutation.collectionIdentifier();
+    inFlight.keySet().removeIf(k -> k.sameDocument(keyHash, key, collectionIdentifier));
+  }
+
+  /**
+   * Returns the number of distinct reads currently in flight.
+   */
+  int size() {
+    return inFlight.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void follow(final Request<?> leader, final Request<? extends Response> follower) {
+    leader.response().whenComplete((response, error) -> {
+      if (follower.completed()) {
+        return;
+      }
+
+      if (leader.cancelled()) {
+        core.send(follower, false);
+      } else if (error != null) {
+        follower.fail(error);
+      } else {
+        ((Request<Response>) follower).succeed(copy(response));
+      }
+    });
+  }
+
+  /**
+   * Copies the content of the response, since the decoded byte arrays are handed out to the callers as-is.
+   */
+  private static Response copy(final Response response) {
+    if (response instanceof GetResponse) {
+      GetResponse r = (GetResponse) response;
+      return new GetResponse(r.status(), copy(r.content()), r.cas(), r.flags());
+    } else if (response instanceof SubdocGetResponse) {
+      SubdocGetResponse r = (SubdocGetResponse) response;
+      SubDocumentField[] values = null;
+      if (r.values() != null) {
+        values = new SubDocumentField[r.values().length];
+        for (int i = 0; i < values.length; i++) {
+          SubDocumentField field = r.values()[i];
+          values[i] = field == null
+            ? null
+            : new SubDocumentField(field.status(), field.error(), copy(field.value()), field.path(), field.type());
+        }
+      }
+      return new SubdocGetResponse(r.status(), r.error(), values, r.cas(), r.isDeleted());
+    }
+    return response;
+  }
+
+  private static byte[] copy(final byte[] content) {
+    return content == null ? null : content.clone();
+  }
+
+  /**
+   * Identifies reads which are answered by the exact same response.
+   */
+  static final class Key {
+
+    private final Class<?> type;
+    private final CollectionIdentifier collectionIdentifier;
+    private final byte[] key;
+    private final int keyHash;
+    private final short replica;
+    private final byte flags;
+    private final List<SubdocGetRequest.Command> commands;
+    private final int hashCode;
+
+    private Key(final KeyValueRequest<?> request, final short replica, final byte flags,
+                final List<SubdocGetRequest.Command> commands) {
+      this.type = request.getClass();
+      this.collectionIdentifier = request.collectionIdentifier();
+      this.key = request.key();
+      this.keyHash = request.keyHash();
+      this.replica = replica;
+      this.flags = flags;
+      this.commands = commands;
+      this.hashCode = 31 * (31 * keyHash + collectionIdentifier.hashCode()) + replica;
+    }
+
+    /**
+     * Creates the key for the request, or returns null if the request cannot be coalesced.
+     */
+    static Key of(final Request<?> request) {
+      Class<?> type = request.getClass();
+      if (type == GetRequest.class) {
+        return new Key((GetRequest) request, (short) 0, (byte) 0, Collections.emptyList());
+      } else if (type == ReplicaGetRequest.class) {
+        ReplicaGetRequest r = (ReplicaGetRequest) request;
+        return new Key(r, r.replica(), (byte) 0, Collections.emptyList());
+      } else if (type == SubdocGetRequest.class) {
+        SubdocGetRequest r = (SubdocGetRequest) request;
+        return new Key(r, (short) 0, r.flags(), r.commands());
+      }
+      return null;
+    }
+
+    /**
+     * Returns true if this read targets the given document.
+     */
+    boolean sameDocument(final int keyHash, final byte[] key, final CollectionIdentifier collectionIdentifier) {
+      return this.keyHash == keyHash &&
+        Arrays.equals(this.key, key) &&
+        Objects.equals(this.collectionIdentifier, collectionIdentifier);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key other = (Key) o;
+      return hashCode == other.hashCode &&
+        type == other.type &&
+        replica == other.replica &&
+        flags == other.flags &&
+        Arrays.equals(key, other.key) &&
+        Objects.equals(collectionIdentifier, other.collectionIdentifier) &&
+        Objects.equals(commands, other.commands);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.node.NodeIdentifier;
+
+import java.time.Duration;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Decides how long a hedged read waits for the active before it also asks a replica.
+ * <p>
+ * A delay can either be fixed or adapt to the latencies recently observed for the node the read is sent to. Since
+ * the adaptive variant keeps state, the same instance should be reused across reads.
+ */
+@Stability.Volatile
+public interface HedgeDelay {
+
+  /**
+   * Creates a delay which is always the same, regardless of the node.
+   *
+   * @param delay the delay after which the replica is asked.
+   * @return the created {@link HedgeDelay}.
+   */
+  static HedgeDelay fixed(final Duration delay) {
+    notNull(delay, "Delay");
+    return new HedgeDelay() {
+      @Override
+      public Duration delay(final NodeIdentifier node) {
+        return delay;
+      }
+
+      @Override
+      public String toString() {
+        return "FixedHedgeDelay{delay=" + delay + "}";
+      }
+    };
+  }
+
+  /**
+   * Creates a delay which waits for the given percentile of the latencies recently observed for a node.
+   *
+   * @param percentile the percentile of the recent latencies to wait for, for example {@code 95.0}.
+   * @param initialDelay the delay used for nodes without enough recent latencies.
+   * @return the created {@link HedgeDelay}.
+   */
+  static HedgeDelay percentile(final double percentile, final Duration initialDelay) {
+    return new PercentileHedgeDelay(percentile, initialDelay);
+  }
+
+  /**
+   * Returns the delay after which a read sent to the given node is hedged to a replica.
+   *
+   * @param node the node the active read is sent to, null if it is not known.
+   * @return the delay to wait for.
+   */
+  Duration delay(NodeIdentifier node);
+
+  /**
+   * Records the latency of a read which has been answered by the given node.
+   *
+   * @param node the node which answered the read.
+   * @param latencyNanos the latency of the read in nanoseconds.
+   */
+  default void recordLatency(final NodeIdentifier node, final long latencyNanos) { }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.node.NodeIdentifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * A {@link HedgeDelay} which waits for a percentile of the latencies recently observed per node.
+ * <p>
+ * Each node keeps a window of its most recent latencies. The percentile is not computed on every read, but only
+ * after a number of new latencies have been recorded, so reads only pay for looking up the current value.
+ */
+class PercentileHedgeDelay implements HedgeDelay {
+
+  /**
+   * How many of the most recent latencies are kept per node.
+   */
+  static final int WINDOW_SIZE = 128;
+
+  /**
+   * How many latencies need to be recorded until the percentile is computed (again).
+   */
+  static final int RECOMPUTE_INTERVAL = 16;
+
+  private final double percentile;
+  private final Duration initialDelay;
+  private final Map<NodeIdentifier, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+  PercentileHedgeDelay(final double percentile, final Duration initialDelay) {
+    notNull(initialDelay, "InitialDelay");
+    if (percentile <= 0 || percentile > 100) {
+      throw InvalidArgumentException.fromMessage(
+        "The percentile must be larger than 0 and at most 100, but is " + percentile
+      );
+    }
+    this.percentile = percentile;
+    this.initialDelay = initialDelay;
+  }
+
+  @Override
+  public Duration delay(final NodeIdentifier node) {
+    LatencyWindow window = node == null ? null : windows.get(node);
+    return window == null ? initialDelay : window.delay();
+  }
+
+  @Override
+  public void recordLatency(final NodeIdentifier node, final long latencyNanos) {
+    if (node != null) {
+      windows.computeIfAbsent(node, n -> new LatencyWindow()).record(latencyNanos);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "PercentileHedgeDelay{" +
+      "percentile=" + percentile +
+      ", initialDelay=" + initialDelay +
+      '}';
+  }
+
+  /**
+   * Holds the most recent latencies of a single node and the delay computed from them.
+   */
+  private class LatencyWindow {
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private long recorded;
+    private volatile Duration delay = initialDelay;
+
+    synchronized void record(final long latencyNanos) {
+      latencies[(int) (recorded++ % WINDOW_SIZE)] = latencyNanos;
+      if (recorded % RECOMPUTE_INTERVAL == 0) {
+        int size = (int) Math.min(recorded, WINDOW_SIZE);
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        delay = Duration.ofNanos(sorted[Math.max(0, index)]);
+      }
+    }
+
+    Duration delay() {
+      return delay;
+    }
+
+  }
+
+}
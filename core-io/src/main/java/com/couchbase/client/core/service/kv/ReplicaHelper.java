@@ -25,17 +25,21 @@ import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.cnc.events.request.IndividualReplicaGetFailedEvent;
 import com.couchbase.client.core.config.BucketConfig;
 import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.error.CommonExceptions;
 import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.core.error.DocumentNotFoundException;
 import com.couchbase.client.core.error.DocumentUnretrievableException;
 import com.couchbase.client.core.error.context.AggregateErrorContext;
 import com.couchbase.client.core.error.context.ErrorContext;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.msg.kv.GetResponse;
 import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.retry.RetryStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -47,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -230,6 +235,201 @@ public class ReplicaHelper {
   }
 
 
+  /**
+   * Reads from the active and only asks one replica as well if the active did not answer within the hedge delay.
+   * <p>
+   * The first successful answer wins and the other read is cancelled. A document not found on the active is
+   * treated as the authoritative answer, other failures are only propagated once the replica (if asked) failed
+   * as well. If the bucket has no replicas, this behaves like a regular get.
+   *
+   * @param clientContext (nullable)
+   * @param parentSpan (nullable)
+   * @param hedgeDelay decides how long to wait for the active and is told about the observed latencies.
+   * @param responseMapper converts the GetReplicaResponse to the client's native result type
+   */
+  public static <R> CompletableFuture<R> getHedgedAsync(
+      final Core core,
+      final CollectionIdentifier collectionIdentifier,
+      final String documentId,
+      final Duration timeout,
+      final RetryStrategy retryStrategy,
+      final Map<String, Object> clientContext,
+      final RequestSpan parentSpan,
+      final HedgeDelay hedgeDelay,
+      final Function<GetReplicaResponse, R> responseMapper) {
+    notNullOrEmpty(documentId, "Id", () -> ReducedKeyValueErrorContext.create(documentId, collectionIdentifier));
+
+    CoreEnvironment env = core.context().environment();
+    RequestSpan hedgedSpan = env.requestTracer().requestSpan(TracingIdentifiers.SPAN_GET_HEDGED, parentSpan);
+
+    RequestSpan activeSpan = env.requestTracer().requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_GET, hedgedSpan);
+    GetRequest active = new GetRequest(documentId, timeout, core.context(), collectionIdentifier, retryStrategy, activeSpan);
+    active.context().clientContext(clientContext);
+
+    HedgedGet<R> hedgedGet = new HedgedGet<>(core, documentId, active, clientContext, hedgedSpan, hedgeDelay, responseMapper);
+    hedgedGet.start();
+    return hedgedGet.result.whenComplete((result, throwable) -> hedgedSpan.end());
+  }
+
+  /**
+   * Holds the state of a single hedged read, see {@link #getHedgedAsync}.
+   */
+  private static class HedgedGet<R> {
+
+    private final Core core;
+    private final String documentId;
+    private final GetRequest active;
+    private final Map<String, Object> clientContext;
+    private final RequestSpan parentSpan;
+    private final HedgeDelay hedgeDelay;
+    private final Function<GetReplicaResponse, R> responseMapper;
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+    private final long start = System.nanoTime();
+
+    private int numReplicas;
+    private Timeout hedgeTimeout;
+    private ReplicaGetRequest replica;
+    private boolean replicaFailed;
+    private Throwable activeError;
+
+    HedgedGet(final Core core, final String documentId, final GetRequest active,
+              final Map<String, Object> clientContext, final RequestSpan parentSpan, final HedgeDelay hedgeDelay,
+              final Function<GetReplicaResponse, R> responseMapper) {
+      this.core = core;
+      this.documentId = documentId;
+      this.active = active;
+      this.clientContext = clientContext;
+      this.parentSpan = parentSpan;
+      this.hedgeDelay = hedgeDelay;
+      this.responseMapper = responseMapper;
+    }
+
+    void start() {
+      BucketConfig config = core.clusterConfig().bucketConfig(active.bucket());
+      if (config instanceof CouchbaseBucketConfig && ((CouchbaseBucketConfig) config).numberOfReplicas() > 0) {
+        CouchbaseBucketConfig couchbaseConfig = (CouchbaseBucketConfig) config;
+        Duration delay = hedgeDelay.delay(activeNode(couchbaseConfig));
+        synchronized (this) {
+          numReplicas = couchbaseConfig.numberOfReplicas();
+          hedgeTimeout = core.context().environment().timer().schedule(this::hedge, delay);
+        }
+      }
+
+      get(core, active).whenComplete((response, error) -> {
+        if (error == null) {
+          hedgeDelay.recordLatency(active.context().lastDispatchedToNode(), System.nanoTime() - start);
+          complete(new GetReplicaResponse(response, false));
+        } else {
+          activeFailed(unwrap(error));
+        }
+      });
+    }
+
+    /**
+     * Looks up the node the active read will be sent to, so its recent latencies can be taken into account.
+     */
+    private NodeIdentifier activeNode(final CouchbaseBucketConfig config) {
+      if (config.numberOfPartitions() == 0) {
+        return null;
+      }
+      int partition = active.keyHash() & config.numberOfPartitions() - 1;
+      int nodeIndex = config.nodeIndexForActive(partition, false);
+      return nodeIndex < 0 ? null : config.nodeAtIndex(nodeIndex).identifier();
+    }
+
+    /**
+     * Sends the read to one of the replicas, unless there is nothing to wait for anymore.
+     */
+    private void hedge() {
+      ReplicaGetRequest request;
+      synchronized (this) {
+        long remaining = active.timeout().toNanos() - (System.nanoTime() - start);
+        if (result.isDone() || replica != null || remaining <= 0) {
+          return;
+        }
+
+        short replicaIndex = (short) (1 + ThreadLocalRandom.current().nextInt(numReplicas));
+        RequestSpan span = core.context().environment().requestTracer()
+          .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_GET_REPLICA, parentSpan);
+        request = new ReplicaGetRequest(documentId, Duration.ofNanos(remaining), core.context(),
+          active.collectionIdentifier(), active.retryStrategy(), replicaIndex, span);
+        request.context().clientContext(clientContext);
+        replica = request;
+      }
+
+      long replicaStart = System.nanoTime();
+      get(core, request).whenComplete((response, error) -> {
+        if (error == null) {
+          hedgeDelay.recordLatency(request.context().lastDispatchedToNode(), System.nanoTime() - replicaStart);
+          complete(new GetReplicaResponse(response, true));
+        } else {
+          core.context().environment().eventBus().publish(new IndividualReplicaGetFailedEvent(request.context()));
+          replicaFailed();
+        }
+      });
+    }
+
+    private void activeFailed(final Throwable error) {
+      synchronized (this) {
+        if (!(error instanceof DocumentNotFoundException) && replica != null && !replicaFailed) {
+          activeError = error;
+          return;
+        }
+      }
+      fail(error);
+    }
+
+    private void replicaFailed() {
+      Throwable error;
+      synchronized (this) {
+        replicaFailed = true;
+        error = activeError;
+      }
+      if (error != null) {
+        fail(error);
+      }
+    }
+
+    private void complete(final GetReplicaResponse response) {
+      R mapped;
+      try {
+        mapped = responseMapper.apply(response);
+      } catch (Throwable t) {
+        fail(t);
+        return;
+      }
+      if (result.complete(mapped)) {
+        cancelOutstanding();
+      }
+    }
+
+    private void fail(final Throwable error) {
+      if (result.completeExceptionally(error)) {
+        cancelOutstanding();
+      }
+    }
+
+    /**
+     * Once the result is known, the pending hedge is not needed anymore and the losing read is cancelled.
+     */
+    private void cancelOutstanding() {
+      synchronized (this) {
+        if (hedgeTimeout != null) {
+          hedgeTimeout.cancel();
+        }
+        if (replica != null) {
+          replica.cancel(CancellationReason.STOPPED_LISTENING);
+        }
+      }
+      active.cancel(CancellationReason.STOPPED_LISTENING);
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+      return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+  }
+
   /**
    * Helper method to assemble a stream of requests to the active and all replicas
    *
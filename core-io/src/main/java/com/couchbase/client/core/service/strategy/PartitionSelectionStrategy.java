@@ -27,6 +27,25 @@ import java.util.List;
 
 public class PartitionSelectionStrategy implements EndpointSelectionStrategy {
 
+  /**
+   * If a request can be sent to another endpoint if the one for its partition is not free to write.
+   */
+  private final boolean spillOver;
+
+  public PartitionSelectionStrategy() {
+    this(false);
+  }
+
+  /**
+   * Creates a new strategy.
+   *
+   * @param spillOver if true, a request is sent to another connected endpoint if the endpoint for its
+   *                  partition has reached its in-flight limit.
+   */
+  public PartitionSelectionStrategy(final boolean spillOver) {
+    this.spillOver = spillOver;
+  }
+
   @Override
   public <R extends Request<? extends Response>> Endpoint select(final R request, final List<Endpoint> endpoints) {
     int size = endpoints.size();
@@ -36,11 +55,23 @@ public class PartitionSelectionStrategy implements EndpointSelectionStrategy {
 
     short partition = ((KeyValueRequest<?>) request).partition();
     Endpoint endpoint = size == 1 ? endpoints.get(0) : endpoints.get(partition % size);
-    if (endpoint != null && endpoint.state() == EndpointState.CONNECTED && endpoint.freeToWrite()) {
+    if (endpoint == null || endpoint.state() != EndpointState.CONNECTED) {
+      return null;
+    }
+    if (endpoint.freeToWrite()) {
       return endpoint;
     }
 
-    return null;
+    if (spillOver) {
+      for (Endpoint other : endpoints) {
+        if (other != endpoint && other.state() == EndpointState.CONNECTED && other.freeToWrite()) {
+          return other;
+        }
+      }
+    }
+
+    // The pinned endpoint has reached its in-flight limit, it decides on its own how to handle the request.
+    return endpoint;
   }
 
 }
@@ -16,6 +16,10 @@
 
 package com.couchbase.client.core.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Defines useful constants and methods with regards to bytes.
  */
@@ -26,4 +30,21 @@ public class Bytes {
    */
   public static final byte[] EMPTY_BYTE_ARRAY = new byte[] {};
 
+  /**
+   * Reads the remaining bytes of the stream into an array, without closing it.
+   *
+   * @param input the stream to read.
+   * @return all bytes up to the end of the stream.
+   * @throws IOException if reading from the stream fails.
+   */
+  public static byte[] readAllBytes(final InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(32, input.available()));
+    byte[] chunk = new byte[4096];
+    int read;
+    while ((read = input.read(chunk)) != -1) {
+      output.write(chunk, 0, read);
+    }
+    return output.toByteArray();
+  }
+
 }
@@ -16,18 +16,32 @@
 
 package com.couchbase.client.core;
 
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class TimerTest {
 
@@ -67,4 +81,59 @@ class TimerTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  @SuppressWarnings("unchecked")
+  void timesOutAndCancelsAcrossShards() throws Exception {
+    Meter meter = mock(Meter.class, invocation -> mock(ValueRecorder.class));
+    Timer timer = Timer.createAndStart(2, 4, Duration.ofMillis(1), meter);
+    try {
+      int threads = 8;
+      CountDownLatch latch = new CountDownLatch(threads);
+      Request<Response>[] timingOut = new Request[threads];
+      for (int i = 0; i < threads; i++) {
+        Request<Response> completing = mock(Request.class);
+        CompletableFuture<Response> response = new CompletableFuture<>();
+        when(completing.response()).thenReturn(response);
+        when(completing.timeout()).thenReturn(Duration.ofMillis(100));
+
+        Request<Response> request = mock(Request.class);
+        when(request.response()).thenReturn(new CompletableFuture<>());
+        when(request.timeout()).thenReturn(Duration.ofMillis(50));
+        timingOut[i] = request;
+
+        new Thread(() -> {
+          timer.register(completing);
+          timer.register(request);
+          response.complete(mock(Response.class));
+          latch.countDown();
+        }).start();
+      }
+
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      for (Request<Response> request : timingOut) {
+        verify(request, timeout(1000)).cancel(CancellationReason.TIMEOUT);
+      }
+      waitUntilCondition(() -> timer.pendingTimeouts() == 4);
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void recordsLagAndPendingTimeouts() {
+    Meter meter = mock(Meter.class);
+    ValueRecorder lag = mock(ValueRecorder.class);
+    ValueRecorder pending = mock(ValueRecorder.class);
+    when(meter.valueRecorder(eq(TracingIdentifiers.METER_TIMER_LAG), any())).thenReturn(lag);
+    when(meter.valueRecorder(eq(TracingIdentifiers.METER_TIMER_PENDING), any())).thenReturn(pending);
+
+    Timer timer = Timer.createAndStart(2, 2, Timer.DEFAULT_TICK_DURATION, meter);
+    try {
+      verify(lag, timeout(5000).atLeast(2)).recordValue(anyLong());
+      verify(pending, atLeastOnce()).recordValue(anyLong());
+    } finally {
+      timer.stop();
+    }
+  }
+
+}
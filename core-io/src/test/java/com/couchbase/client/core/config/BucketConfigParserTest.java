@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config;
+
+import com.couchbase.client.core.error.DecodingFailureException;
+import org.junit.jupiter.api.Test;
+
+import static com.couchbase.client.test.Util.readResource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link BucketConfigParser}.
+ */
+class BucketConfigParserTest {
+
+  @Test
+  void parsesRevisionOnly() {
+    String config = readResource("config_with_external.json", BucketConfigParserTest.class);
+    assertEquals(1073, BucketConfigParser.parseRevision(config));
+  }
+
+  @Test
+  void parsesRevisionAfterLargeFields() {
+    StringBuilder padding = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      padding.append("é😀");
+    }
+    String config = "{\"name\":\"" + padding + "\",\"nested\":{\"rev\":1},\"rev\":42,\"nodes\":[]}";
+    assertEquals(42, BucketConfigParser.parseRevision(config));
+  }
+
+  @Test
+  void returnsNegativeIfRevisionAbsent() {
+    assertEquals(-1, BucketConfigParser.parseRevision("{\"name\":\"default\",\"nodes\":[]}"));
+  }
+
+  @Test
+  void failsOnMalformedInput() {
+    assertThrows(DecodingFailureException.class, () -> BucketConfigParser.parseRevision("{\"name\":"));
+  }
+
+}
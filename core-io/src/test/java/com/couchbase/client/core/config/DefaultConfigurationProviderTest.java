@@ -22,6 +22,7 @@ import com.couchbase.client.core.cnc.Event;
 import com.couchbase.client.core.cnc.SimpleEventBus;
 import com.couchbase.client.core.cnc.events.config.CollectionMapRefreshFailedEvent;
 import com.couchbase.client.core.cnc.events.config.CollectionMapRefreshIgnoredEvent;
+import com.couchbase.client.core.cnc.events.config.ConfigIgnoredEvent;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.IoConfig;
@@ -60,6 +61,7 @@ import static com.couchbase.client.test.Util.readResource;
 import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
@@ -202,6 +204,37 @@ class DefaultConfigurationProviderTest {
     assertEquals(1888, provider.config().bucketConfig("default").rev());
   }
 
+  @Test
+  void skipsParsingOfOldOrSameRevision() {
+    Core core = mock(Core.class);
+    when(core.context()).thenReturn(new CoreContext(core, 1, ENVIRONMENT, mock(Authenticator.class)));
+
+    DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core, SeedNode.LOCALHOST);
+
+    String bucket = "default";
+    String newConfig = readResource(
+      "config_with_external_higher_rev.json",
+      DefaultConfigurationProviderTest.class
+    );
+    provider.proposeBucketConfig(new ProposedBucketConfigContext(bucket, newConfig, ORIGIN));
+    BucketConfig current = provider.config().bucketConfig("default");
+    assertEquals(1888, current.rev());
+
+    String oldConfig = readResource(
+      "config_with_external.json",
+      DefaultConfigurationProviderTest.class
+    );
+    provider.proposeBucketConfig(new ProposedBucketConfigContext(bucket, oldConfig, ORIGIN));
+    provider.proposeBucketConfig(new ProposedBucketConfigContext(bucket, newConfig, ORIGIN));
+
+    assertSame(current, provider.config().bucketConfig("default"));
+    long ignored = EVENT_BUS.publishedEvents().stream()
+      .filter(e -> e instanceof ConfigIgnoredEvent)
+      .filter(e -> ((ConfigIgnoredEvent) e).reason() == ConfigIgnoredEvent.Reason.OLD_OR_SAME_REVISION)
+      .count();
+    assertEquals(2, ignored);
+  }
+
   @Test
   void ignoreProposedConfigOnceShutdown() {
     Core core = mock(Core.class);
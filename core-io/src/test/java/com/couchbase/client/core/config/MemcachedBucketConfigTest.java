@@ -23,13 +23,16 @@ import com.couchbase.client.core.service.ServiceType;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 import static com.couchbase.client.test.Util.readResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -135,6 +138,33 @@ class MemcachedBucketConfigTest {
         }
     }
 
+    /**
+     * Makes sure that the lookup on the flattened ring picks the same nodes as walking the sorted ring, including
+     * the wrap-around to the first node for hashes larger than the last point.
+     */
+    @Test
+    void shouldLocateSameNodesAsSortedRing() throws Exception {
+        MemcachedBucketConfig config = readConfig("memcached_during_rebalance.json");
+        SortedMap<Long, NodeInfo> ring = config.ketamaNodes();
+        assertEquals(3 * 160, ring.size());
+
+        boolean wrapped = false;
+        for (int i = 0; i < 10000; i++) {
+            byte[] key = ("key-" + i).getBytes(UTF_8);
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key);
+            long hash = ((long) (digest[3] & 0xFF) << 24)
+                | ((long) (digest[2] & 0xFF) << 16)
+                | ((long) (digest[1] & 0xFF) << 8)
+                | (digest[0] & 0xFF);
+
+            SortedMap<Long, NodeInfo> tail = ring.tailMap(hash);
+            wrapped |= tail.isEmpty();
+            NodeInfo expected = tail.isEmpty() ? ring.get(ring.firstKey()) : tail.get(tail.firstKey());
+            assertEquals(expected.identifier(), config.nodeForId(key));
+        }
+        assertTrue(wrapped);
+    }
+
     /**
      * Helper method to load the config.
      */
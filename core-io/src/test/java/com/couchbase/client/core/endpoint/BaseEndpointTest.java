@@ -27,12 +27,16 @@ import com.couchbase.client.core.cnc.events.endpoint.EndpointDisconnectedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointDisconnectionFailedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointStateChangedEvent;
 import com.couchbase.client.core.env.*;
+import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.RequestContext;
 import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.service.ServiceContext;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.cnc.SimpleEventBus;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.channel.Channel;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelException;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelFuture;
@@ -40,6 +44,7 @@ import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelOutboundHandlerAdapter;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.channel.EventLoopGroup;
+import com.couchbase.client.core.deps.io.netty.channel.WriteBufferWaterMark;
 import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
 import com.couchbase.client.core.deps.io.netty.channel.nio.NioEventLoopGroup;
 import org.junit.jupiter.api.AfterEach;
@@ -47,8 +52,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -57,8 +65,12 @@ import java.util.function.Supplier;
 import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -366,19 +378,197 @@ class BaseEndpointTest {
     assertEquals(0, endpoint.outstandingRequests());
   }
 
+  /**
+   * If write batching is enabled, requests are queued and written from the event loop with one flush
+   * per batch.
+   */
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void batchesWritesIfEnabled() {
+    final AtomicInteger flushes = new AtomicInteger();
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void flush(ChannelHandlerContext ctx) {
+        flushes.incrementAndGet();
+        ctx.flush();
+      }
+    });
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 2);
+
+    List<Request<Response>> requests = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Request<Response> request = mock(Request.class);
+      when(request.response()).thenReturn(new CompletableFuture<>());
+      when(request.context()).thenReturn(new RequestContext(ctx, request));
+      requests.add(request);
+      endpoint.send(request);
+    }
+
+    assertNull(channel.readOutbound());
+    channel.runPendingTasks();
+
+    for (Request<Response> request : requests) {
+      assertEquals(request, channel.readOutbound());
+    }
+    assertEquals(2, flushes.get());
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void retriesIfInFlightLimitReached() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 0, 1, InFlightLimitBehavior.QUEUE);
+
+    CompletableFuture<Response> firstResponse = new CompletableFuture<>();
+    Request<Response> first = mock(Request.class);
+    when(first.response()).thenReturn(firstResponse);
+    when(first.context()).thenReturn(new RequestContext(ctx, first));
+    endpoint.send(first);
+    assertEquals(first, channel.readOutbound());
+    assertFalse(endpoint.freeToWrite());
+
+    Request<Response> second = mock(Request.class);
+    when(second.response()).thenReturn(new CompletableFuture<>());
+    RequestContext secondContext = new RequestContext(ctx, second);
+    when(second.context()).thenReturn(secondContext);
+    endpoint.send(second);
+    assertNull(channel.readOutbound());
+    assertEquals(1, secondContext.retryAttempts());
+    assertTrue(secondContext.retryReasons().contains(RetryReason.ENDPOINT_IN_FLIGHT_LIMIT_REACHED));
+
+    firstResponse.complete(mock(Response.class));
+    endpoint.markRequestCompletion();
+    assertTrue(endpoint.freeToWrite());
+  }
+
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void rejectsIfInFlightLimitReached() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 0, 1, InFlightLimitBehavior.REJECT);
+
+    Request<Response> first = mock(Request.class);
+    when(first.response()).thenReturn(new CompletableFuture<>());
+    when(first.context()).thenReturn(new RequestContext(ctx, first));
+    endpoint.send(first);
+    assertEquals(first, channel.readOutbound());
+
+    Request<Response> second = mock(Request.class);
+    when(second.response()).thenReturn(new CompletableFuture<>());
+    when(second.context()).thenReturn(new RequestContext(ctx, second));
+    endpoint.send(second);
+    assertNull(channel.readOutbound());
+    verify(second).cancel(CancellationReason.TOO_MANY_REQUESTS_IN_FLIGHT);
+  }
+
+  /**
+   * If the channel cannot take the request anyway, it is retried as usual instead of being rejected because
+   * of the in-flight limit.
+   */
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void retriesInsteadOfRejectingIfChannelNotWritable() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 0, 1, InFlightLimitBehavior.REJECT);
+
+    Request<Response> first = mock(Request.class);
+    when(first.response()).thenReturn(new CompletableFuture<>());
+    when(first.context()).thenReturn(new RequestContext(ctx, first));
+    endpoint.send(first);
+    assertEquals(first, channel.readOutbound());
+
+    channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 2));
+    channel.write(Unpooled.buffer(8).writeZero(8));
+    assertFalse(channel.isWritable());
+
+    Request<Response> second = mock(Request.class);
+    when(second.response()).thenReturn(new CompletableFuture<>());
+    RequestContext secondContext = new RequestContext(ctx, second);
+    when(second.context()).thenReturn(secondContext);
+    when(second.retryStrategy()).thenReturn(BestEffortRetryStrategy.INSTANCE);
+    endpoint.send(second);
+    verify(second, never()).cancel(any(CancellationReason.class));
+    assertTrue(secondContext.retryReasons().contains(RetryReason.ENDPOINT_NOT_WRITABLE));
+  }
+
+  /**
+   * A request which could not be written is retried, so it must not keep occupying an in-flight slot.
+   */
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void freesInFlightSlotIfWriteFails() {
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        promise.setFailure(new IOException("write failed"));
+      }
+    });
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 0, 1, InFlightLimitBehavior.QUEUE);
+
+    Request<Response> request = mock(Request.class);
+    when(request.response()).thenReturn(new CompletableFuture<>());
+    RequestContext requestContext = new RequestContext(ctx, request);
+    when(request.context()).thenReturn(requestContext);
+    when(request.retryStrategy()).thenReturn(BestEffortRetryStrategy.INSTANCE);
+    endpoint.send(request);
+
+    assertTrue(requestContext.retryReasons().contains(RetryReason.ENDPOINT_NOT_WRITABLE));
+    assertEquals(0, endpoint.outstandingRequests());
+    assertTrue(endpoint.freeToWrite());
+  }
+
+  /**
+   * The requests in flight on a channel which went inactive are retried elsewhere, so their slots are freed.
+   */
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void resetsInFlightCountIfChannelInactive() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, 0, 1, InFlightLimitBehavior.QUEUE);
+
+    Request<Response> request = mock(Request.class);
+    when(request.response()).thenReturn(new CompletableFuture<>());
+    when(request.context()).thenReturn(new RequestContext(ctx, request));
+    endpoint.send(request);
+    assertEquals(1, endpoint.outstandingRequests());
+
+    endpoint.disconnect();
+    endpoint.notifyChannelInactive();
+    assertEquals(0, endpoint.outstandingRequests());
+
+    // A late response from the old channel does not push the count below zero.
+    endpoint.markRequestCompletion();
+    assertEquals(0, endpoint.outstandingRequests());
+  }
+
+  private InstrumentedEndpoint connectSuccessfully(final Channel channel) {
+    return connectSuccessfully(channel, 0);
+  }
+
+  private InstrumentedEndpoint connectSuccessfully(final Channel channel, final int maxWriteBatchSize) {
+    return connectSuccessfully(channel, maxWriteBatchSize, 0, InFlightLimitBehavior.QUEUE);
+  }
+
   /**
    * Helper method to DRY up the case where we just need to connect properly.
    *
    * @param channel the channel into which it should connect.
    * @return the connected endpoint.
    */
-  private InstrumentedEndpoint connectSuccessfully(final Channel channel) {
+  private InstrumentedEndpoint connectSuccessfully(final Channel channel, final int maxWriteBatchSize,
+                                                   final int maxInFlightRequests,
+                                                   final InFlightLimitBehavior inFlightLimitBehavior) {
     final CompletableFuture<Channel> cf = new CompletableFuture<>();
 
-    InstrumentedEndpoint endpoint = InstrumentedEndpoint.create(
+    InstrumentedEndpoint endpoint = new InstrumentedEndpoint(
+      LOCALHOST,
+      PORT,
       eventLoopGroup,
       ctx,
-      () -> Mono.fromFuture(cf)
+      () -> Mono.fromFuture(cf),
+      maxWriteBatchSize,
+      maxInFlightRequests,
+      inFlightLimitBehavior
     );
 
     endpoint.connect();
@@ -394,16 +584,25 @@ class BaseEndpointTest {
   static class InstrumentedEndpoint extends BaseEndpoint {
 
     private final Supplier<Mono<Channel>> channelSupplier;
+    private final int maxWriteBatchSize;
 
     static InstrumentedEndpoint create(EventLoopGroup eventLoopGroup, ServiceContext ctx,
                                        Supplier<Mono<Channel>> channelSupplier) {
-      return new InstrumentedEndpoint(LOCALHOST, PORT, eventLoopGroup, ctx, channelSupplier);
+      return new InstrumentedEndpoint(LOCALHOST, PORT, eventLoopGroup, ctx, channelSupplier, 0, 0,
+        InFlightLimitBehavior.QUEUE);
     }
 
+    /**
+     * Creates the endpoint, which is pipelined if writes should be batched or in-flight requests are limited
+     * (like the KV endpoint).
+     */
     InstrumentedEndpoint(String hostname, int port, EventLoopGroup eventLoopGroup,
-                         ServiceContext ctx, Supplier<Mono<Channel>> channelSupplier) {
-      super(hostname, port, eventLoopGroup, ctx, CircuitBreakerConfig.enabled(false).build(), ServiceType.KV, false);
+                         ServiceContext ctx, Supplier<Mono<Channel>> channelSupplier, int maxWriteBatchSize,
+                         int maxInFlightRequests, InFlightLimitBehavior inFlightLimitBehavior) {
+      super(hostname, port, eventLoopGroup, ctx, CircuitBreakerConfig.enabled(false).build(), ServiceType.KV,
+        maxWriteBatchSize > 0 || maxInFlightRequests > 0, maxInFlightRequests, inFlightLimitBehavior);
       this.channelSupplier = channelSupplier;
+      this.maxWriteBatchSize = maxWriteBatchSize;
     }
 
     @Override
@@ -411,6 +610,11 @@ class BaseEndpointTest {
       return (endpoint, pipeline) -> { };
     }
 
+    @Override
+    protected int maxWriteBatchSize() {
+      return maxWriteBatchSize;
+    }
+
     @Override
     protected Mono<Channel> channelFutureIntoMono(ChannelFuture channelFuture) {
       if (channelSupplier == null) {
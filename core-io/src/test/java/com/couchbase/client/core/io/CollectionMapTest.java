@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io;
+
+import com.couchbase.client.core.util.UnsignedLEB128;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link CollectionMap}.
+ */
+class CollectionMapTest {
+
+  @Test
+  void returnsDefaultIdWithoutEntry() {
+    CollectionMap map = new CollectionMap();
+    assertArrayEquals(UnsignedLEB128.encode(0), map.get(CollectionIdentifier.fromDefault("bucket")));
+    assertFalse(map.hasBucketMap("bucket"));
+  }
+
+  @Test
+  void storesIdsPerBucketScopeAndCollection() {
+    CollectionMap map = new CollectionMap();
+    CollectionIdentifier first = new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("a"));
+    CollectionIdentifier second = new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("b"));
+    CollectionIdentifier otherScope = new CollectionIdentifier("bucket", Optional.of("other"), Optional.of("a"));
+    CollectionIdentifier otherBucket = new CollectionIdentifier("other", Optional.of("scope"), Optional.of("a"));
+
+    map.put(first, UnsignedLEB128.encode(8));
+    map.put(second, UnsignedLEB128.encode(9));
+
+    assertArrayEquals(UnsignedLEB128.encode(8), map.get(first));
+    assertArrayEquals(UnsignedLEB128.encode(9), map.get(second));
+    assertNull(map.get(otherScope));
+    assertNull(map.get(otherBucket));
+    assertTrue(map.hasBucketMap("bucket"));
+    assertFalse(map.hasBucketMap("other"));
+
+    map.put(first, UnsignedLEB128.encode(10));
+    assertArrayEquals(UnsignedLEB128.encode(10), map.get(first));
+  }
+
+  @Test
+  void distinguishesAbsentScopeAndCollection() {
+    CollectionMap map = new CollectionMap();
+    CollectionIdentifier absent = new CollectionIdentifier("bucket", Optional.empty(), Optional.empty());
+    map.put(absent, UnsignedLEB128.encode(8));
+
+    assertArrayEquals(UnsignedLEB128.encode(8), map.get(absent));
+    assertNull(map.get(new CollectionIdentifier("bucket", Optional.empty(), Optional.of("a"))));
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.chunk;
+
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.RecordingMeter;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelConfig;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.IoConfig;
+import com.couchbase.client.core.io.netty.query.QueryChunkResponseParser;
+import com.couchbase.client.core.msg.RequestContext;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
+import com.couchbase.client.core.msg.query.QueryRequest;
+import com.couchbase.client.core.service.ServiceType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link BaseChunkResponseParser}.
+ */
+class BaseChunkResponseParserTest {
+
+  private EmbeddedChannel channel;
+  private ChannelConfig channelConfig;
+  private RecordingMeter meter;
+  private RequestContext requestContext;
+
+  @BeforeEach
+  void beforeEach() {
+    channel = new EmbeddedChannel();
+    channelConfig = channel.config();
+    meter = new RecordingMeter();
+
+    CoreEnvironment environment = mock(CoreEnvironment.class);
+    when(environment.meter()).thenReturn(meter);
+    when(environment.ioConfig()).thenReturn(IoConfig.streamingRowsWatermarks(1, 3).build());
+    QueryRequest request = mock(QueryRequest.class);
+    when(request.serviceType()).thenReturn(ServiceType.QUERY);
+    requestContext = mock(RequestContext.class);
+    when(requestContext.environment()).thenReturn(environment);
+    doReturn(request).when(requestContext).request();
+  }
+
+  @AfterEach
+  void afterEach() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void pausesReadingAtHighWatermarkUntilLowWatermark() {
+    QueryChunkResponseParser parser = new QueryChunkResponseParser();
+    parser.updateRequestContext(requestContext);
+    parser.initialize(channelConfig);
+
+    RowSubscriber subscriber = new RowSubscriber();
+    parser.rows().subscribe(subscriber);
+
+    feed(parser, "{\"requestID\":\"1\",\"results\":[{\"a\":1},{\"a\":2},");
+    assertTrue(channelConfig.isAutoRead());
+    feed(parser, "{\"a\":3},");
+    assertFalse(channelConfig.isAutoRead());
+    assertEquals(3, lastValue(TracingIdentifiers.METER_BUFFERED_ROWS));
+    assertEquals(21, lastValue(TracingIdentifiers.METER_BUFFERED_BYTES));
+
+    subscriber.request(1);
+    assertFalse(channelConfig.isAutoRead());
+    subscriber.request(1);
+    assertTrue(channelConfig.isAutoRead());
+
+    feed(parser, "{\"a\":4}],\"status\":\"success\"}");
+    parser.endOfInput();
+    subscriber.request(Long.MAX_VALUE);
+    assertEquals(4, subscriber.received.get());
+    assertTrue(channelConfig.isAutoRead());
+    parser.cleanup();
+  }
+
+  @Test
+  void doesNotPauseWithoutSubscriber() {
+    QueryChunkResponseParser parser = new QueryChunkResponseParser();
+    parser.updateRequestContext(requestContext);
+    parser.initialize(channelConfig);
+
+    feed(parser, "{\"requestID\":\"1\",\"results\":[{\"a\":1},{\"a\":2},{\"a\":3},{\"a\":4}],\"status\":\"success\"}");
+    parser.endOfInput();
+    assertTrue(channelConfig.isAutoRead());
+    assertEquals(4, lastValue(TracingIdentifiers.METER_BUFFERED_ROWS));
+    parser.cleanup();
+  }
+
+  private static void feed(final BaseChunkResponseParser<?, ?, ?> parser, final String content) {
+    parser.feed(Unpooled.copiedBuffer(content, UTF_8));
+  }
+
+  /**
+   * Only consumes the rows it explicitly requests.
+   */
+  private static class RowSubscriber extends BaseSubscriber<QueryChunkRow> {
+
+    private final AtomicLong received = new AtomicLong();
+
+    @Override
+    protected void hookOnSubscribe(final Subscription subscription) {
+      // Rows are only requested by the test.
+    }
+
+    @Override
+    protected void hookOnNext(final QueryChunkRow value) {
+      received.incrementAndGet();
+    }
+
+  }
+
+  private long lastValue(final String name) {
+    return meter.lastValue(
+      name,
+      Collections.singletonMap(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_QUERY)
+    );
+  }
+
+}
@@ -19,6 +19,7 @@ package com.couchbase.client.core.io.netty.kv;
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.config.ProposedBucketConfigContext;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
@@ -40,6 +41,7 @@ import com.couchbase.client.core.cnc.SimpleEventBus;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.time.Duration;
 import java.util.Arrays;
@@ -52,11 +54,16 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -281,4 +288,86 @@ class KeyValueMessageHandlerTest {
     }
   }
 
+  /**
+   * Once negotiated, the server pushes changed configs over the connection, which need to be proposed like the
+   * ones received through polling.
+   */
+  @Test
+  void proposesPushedClusterMapChanges() throws Exception {
+    ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
+    EmbeddedChannel channel = clusterMapNotificationChannel(configurationProvider);
+
+    try {
+      verify(configurationProvider).markClusterMapChangeNotificationsEnabled(BUCKET);
+
+      String config = "{\"rev\":42}";
+      ByteBuf notification = Unpooled.buffer()
+        .writeByte(MemcacheProtocol.Magic.SERVER_REQUEST.magic())
+        .writeByte(MemcacheProtocol.ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION.opcode())
+        .writeShort(BUCKET.length())
+        .writeByte(4)
+        .writeByte(0)
+        .writeShort(0)
+        .writeInt(4 + BUCKET.length() + config.length())
+        .writeInt(0)
+        .writeLong(0)
+        .writeInt(42)
+        .writeBytes(BUCKET.getBytes(UTF_8))
+        .writeBytes(config.getBytes(UTF_8));
+      channel.writeInbound(notification);
+
+      ArgumentCaptor<ProposedBucketConfigContext> proposed = ArgumentCaptor.forClass(ProposedBucketConfigContext.class);
+      verify(configurationProvider).proposeBucketConfig(proposed.capture());
+      assertEquals(BUCKET, proposed.getValue().bucketName());
+      assertEquals(config, proposed.getValue().config());
+      assertEquals("127.0.0.1", proposed.getValue().origin());
+      assertTrue(channel.isOpen());
+      assertNull(channel.readOutbound());
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  /**
+   * Once the connection which negotiated pushed config changes is closed, the bucket might need to be polled
+   * frequently again.
+   */
+  @Test
+  void disablesClusterMapChangeNotificationsOnClose() throws Exception {
+    ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
+    EmbeddedChannel channel = clusterMapNotificationChannel(configurationProvider);
+
+    try {
+      verify(configurationProvider).markClusterMapChangeNotificationsEnabled(BUCKET);
+      verify(configurationProvider, never()).markClusterMapChangeNotificationsDisabled(BUCKET);
+
+      channel.close().sync();
+      verify(configurationProvider).markClusterMapChangeNotificationsDisabled(BUCKET);
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+    verify(configurationProvider, times(1)).markClusterMapChangeNotificationsDisabled(BUCKET);
+  }
+
+  /**
+   * Creates an active channel which negotiated pushed config changes for the bucket.
+   */
+  private static EmbeddedChannel clusterMapNotificationChannel(final ConfigurationProvider configurationProvider)
+    throws Exception {
+    Core core = mock(Core.class);
+    CoreContext coreContext = new CoreContext(core, 1, ENV, PasswordAuthenticator.create("foo", "bar"));
+    when(configurationProvider.collectionMap()).thenReturn(new CollectionMap());
+    when(core.configurationProvider()).thenReturn(configurationProvider);
+    EndpointContext ctx = new EndpointContext(coreContext, new HostAndPort("127.0.0.1", 1234),
+      null, ServiceType.KV, Optional.empty(), Optional.empty(), Optional.empty());
+
+    EmbeddedChannel channel = new EmbeddedChannel(false, false,
+      new KeyValueMessageHandler(null, ctx, Optional.of(BUCKET)));
+    channel.attr(ChannelAttributes.SERVER_FEATURE_KEY).set(
+      EnumSet.of(ServerFeature.DUPLEX, ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION)
+    );
+    channel.register();
+    return channel;
+  }
+
 }
\ No newline at end of file
@@ -74,7 +74,9 @@ class MemcacheProtocolVerificationHandlerTest {
       "response_extras_and_value",
       "success_hello_response",
       "success_errormap_response",
-      "error_hello_response"
+      "error_hello_response",
+      // sent by the server on its own over duplex connections
+      "clustermap_change_notification_request"
     );
   }
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.RequestSpan;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link OutstandingRequestTable}.
+ */
+class OutstandingRequestTableTest {
+
+  @Test
+  void storesAndRemovesEntries() {
+    OutstandingRequestTable table = new OutstandingRequestTable(0);
+    KeyValueRequest<Response> request = request();
+    RequestSpan span = mock(RequestSpan.class);
+
+    table.put(5, request, span, 1234L);
+    assertEquals(1, table.size());
+    assertEquals(-1, table.slot(6));
+
+    int slot = table.slot(5);
+    assertSame(request, table.request(slot));
+    assertSame(span, table.span(slot));
+    assertEquals(1234L, table.dispatchedAt(slot));
+
+    table.remove(slot);
+    assertEquals(0, table.size());
+    assertEquals(-1, table.slot(5));
+  }
+
+  @Test
+  void replacesEntryWithSameOpaque() {
+    OutstandingRequestTable table = new OutstandingRequestTable(0);
+    KeyValueRequest<Response> second = request();
+
+    table.put(1, request(), null, 1L);
+    table.put(1, second, null, 2L);
+
+    assertEquals(1, table.size());
+    int slot = table.slot(1);
+    assertSame(second, table.request(slot));
+    assertNull(table.span(slot));
+    assertEquals(2L, table.dispatchedAt(slot));
+  }
+
+  /**
+   * Compares the table against a regular map with random puts and removes, growing it well beyond its
+   * initial capacity so both resizing and the backward shift on removal are exercised.
+   */
+  @Test
+  void behavesLikeMap() {
+    OutstandingRequestTable table = new OutstandingRequestTable(0);
+    Map<Integer, KeyValueRequest<Response>> expected = new HashMap<>();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 20000; i++) {
+      int opaque = random.nextInt(512) - 256;
+      int slot = table.slot(opaque);
+      if (random.nextBoolean()) {
+        KeyValueRequest<Response> request = request();
+        table.put(opaque, request, null, opaque);
+        expected.put(opaque, request);
+      } else if (slot >= 0) {
+        assertSame(expected.remove(opaque), table.request(slot));
+        table.remove(slot);
+      } else {
+        assertNull(expected.get(opaque));
+      }
+      assertEquals(expected.size(), table.size());
+    }
+
+    for (Map.Entry<Integer, KeyValueRequest<Response>> entry : expected.entrySet()) {
+      int slot = table.slot(entry.getKey());
+      assertSame(entry.getValue(), table.request(slot));
+      assertEquals((long) entry.getKey(), table.dispatchedAt(slot));
+    }
+
+    Set<KeyValueRequest<Response>> all = new HashSet<>();
+    table.forEachRequest(all::add);
+    assertEquals(new HashSet<>(expected.values()), all);
+    assertTrue(all.size() > OutstandingRequestTable.DEFAULT_CAPACITY);
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private static KeyValueRequest<Response> request() {
+    return mock(KeyValueRequest.class);
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.ValueRecorder;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.channel.ChannelFuture;
+import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
+import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link WriteCoalescingHandler}.
+ */
+class WriteCoalescingHandlerTest {
+
+  static {
+    ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+  }
+
+  private Meter meter;
+  private ValueRecorder writesPerFlush;
+  private ValueRecorder bytesPerWrite;
+
+  @BeforeEach
+  void beforeEach() {
+    meter = mock(Meter.class);
+    writesPerFlush = mock(ValueRecorder.class);
+    bytesPerWrite = mock(ValueRecorder.class);
+    when(meter.valueRecorder(eq(TracingIdentifiers.METER_WRITES_PER_FLUSH), any())).thenReturn(writesPerFlush);
+    when(meter.valueRecorder(eq(TracingIdentifiers.METER_BYTES_PER_WRITE), any())).thenReturn(bytesPerWrite);
+  }
+
+  @Test
+  void coalescesWritesUntilFlush() {
+    EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescingHandler(1024, meter));
+    try {
+      ChannelFuture first = channel.write(buffer("foo"));
+      ChannelFuture second = channel.write(buffer("bar"));
+      ChannelFuture third = channel.write(buffer("baz"));
+      assertNull(channel.readOutbound());
+
+      channel.flush();
+      ByteBuf written = channel.readOutbound();
+      assertEquals("foobarbaz", written.toString(UTF_8));
+      written.release();
+      assertNull(channel.readOutbound());
+
+      assertTrue(first.isSuccess());
+      assertTrue(second.isSuccess());
+      assertTrue(third.isSuccess());
+      verify(writesPerFlush).recordValue(3);
+      verify(bytesPerWrite).recordValue(9);
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void passesSingleWriteThroughWithoutCopy() {
+    EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescingHandler(1024, meter));
+    try {
+      ByteBuf input = buffer("foo");
+      channel.writeAndFlush(input);
+      ByteBuf written = channel.readOutbound();
+      assertSame(input, written);
+      written.release();
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  void respectsMaxCoalescedBytes() {
+    EmbeddedChannel channel = new EmbeddedChannel(new WriteCoalescingHandler(6, meter));
+    try {
+      ByteBuf large = buffer("largevalue");
+      channel.write(buffer("foo"));
+      channel.write(buffer("bar"));
+      channel.write(buffer("baz"));
+      channel.write(large);
+      channel.flush();
+
+      ByteBuf written = channel.readOutbound();
+      assertEquals("foobar", written.toString(UTF_8));
+      written.release();
+      written = channel.readOutbound();
+      assertEquals("baz", written.toString(UTF_8));
+      written.release();
+      written = channel.readOutbound();
+      assertSame(large, written);
+      written.release();
+      assertNull(channel.readOutbound());
+
+      verify(writesPerFlush).recordValue(4);
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private static ByteBuf buffer(final String content) {
+    return Unpooled.copiedBuffer(content, UTF_8);
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv.sasl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the functionality of the {@link SaltedPasswordCache}.
+ */
+class SaltedPasswordCacheTest {
+
+  private static final byte[] SALT = new byte[] { 1, 2, 3 };
+
+  @Test
+  void derivesOncePerCredential() {
+    SaltedPasswordCache cache = new SaltedPasswordCache(SaltedPasswordCache.DEFAULT_MAX_ENTRIES);
+    AtomicInteger derivations = new AtomicInteger();
+    Supplier<byte[]> derive = () -> new byte[] { (byte) derivations.incrementAndGet() };
+
+    byte[] first = cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive);
+    byte[] second = cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive);
+    assertArrayEquals(first, second);
+    assertEquals(1, derivations.get());
+
+    // Modifying a returned copy must not affect the cached value.
+    second[0] = 0;
+    assertArrayEquals(first, cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive));
+    assertEquals(1, derivations.get());
+  }
+
+  @Test
+  void derivesAgainIfAnyParameterChanges() {
+    SaltedPasswordCache cache = new SaltedPasswordCache(SaltedPasswordCache.DEFAULT_MAX_ENTRIES);
+    AtomicInteger derivations = new AtomicInteger();
+    Supplier<byte[]> derive = () -> new byte[] { (byte) derivations.incrementAndGet() };
+
+    cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA256", "user", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "other", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "user", "changed", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "user", "pass", new byte[] { 4 }, 4096, derive);
+    cache.get("SCRAM-SHA512", "user", "pass", SALT, 10000, derive);
+    // Field boundaries are part of the key.
+    cache.get("SCRAM-SHA512", "userp", "ass", SALT, 4096, derive);
+
+    assertEquals(7, derivations.get());
+    assertEquals(7, cache.size());
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    SaltedPasswordCache cache = new SaltedPasswordCache(2);
+    AtomicInteger derivations = new AtomicInteger();
+    Supplier<byte[]> derive = () -> new byte[] { (byte) derivations.incrementAndGet() };
+
+    cache.get("SCRAM-SHA512", "a", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "b", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "a", "pass", SALT, 4096, derive);
+    cache.get("SCRAM-SHA512", "c", "pass", SALT, 4096, derive);
+    assertEquals(3, derivations.get());
+    assertEquals(2, cache.size());
+
+    cache.get("SCRAM-SHA512", "a", "pass", SALT, 4096, derive);
+    assertEquals(3, derivations.get());
+    cache.get("SCRAM-SHA512", "b", "pass", SALT, 4096, derive);
+    assertEquals(4, derivations.get());
+  }
+
+  @Test
+  void clearsIfCredentialsChange() {
+    SaltedPasswordCache cache = new SaltedPasswordCache(SaltedPasswordCache.DEFAULT_MAX_ENTRIES);
+    AtomicInteger derivations = new AtomicInteger();
+    Supplier<byte[]> derive = () -> new byte[] { (byte) derivations.incrementAndGet() };
+
+    cache.credentials("user", "pass");
+    cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive);
+    cache.credentials("user", "pass");
+    assertEquals(1, cache.size());
+
+    cache.credentials("user", "changed");
+    assertEquals(0, cache.size());
+    cache.credentials("user", "pass");
+    cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive);
+    assertEquals(2, derivations.get());
+  }
+
+  @Test
+  void sharesConcurrentDerivations() throws Exception {
+    SaltedPasswordCache cache = new SaltedPasswordCache(SaltedPasswordCache.DEFAULT_MAX_ENTRIES);
+    AtomicInteger derivations = new AtomicInteger();
+    CountDownLatch deriving = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<byte[]> derive = () -> {
+      derivations.incrementAndGet();
+      deriving.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new byte[] { 42 };
+    };
+
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<byte[]>> results = new ArrayList<>();
+      results.add(executor.submit(() -> cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive)));
+      deriving.await();
+      for (int i = 1; i < threads; i++) {
+        results.add(executor.submit(() -> cache.get("SCRAM-SHA512", "user", "pass", SALT, 4096, derive)));
+      }
+      release.countDown();
+      for (Future<byte[]> result : results) {
+        assertArrayEquals(new byte[] { 42 }, result.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, derivations.get());
+  }
+
+}
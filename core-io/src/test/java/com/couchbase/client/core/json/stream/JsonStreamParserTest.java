@@ -19,6 +19,7 @@ package com.couchbase.client.core.json.stream;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
+import com.couchbase.client.core.error.DecodingFailureException;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -214,6 +215,46 @@ class JsonStreamParserTest {
       .check();
   }
 
+  @Test
+  void scannerFindsRowBoundariesDespiteStringContents() throws Exception {
+    String json = "{'results':[{'a':'}]\\\\','b':['{',{'c':'\\''}]},'[',-1.5e3,{}," +
+      "{'long':'a string spanning words \\'with]}escapes\\' and \\\\ more text'}],'status':'success'}";
+
+    new ResultChecker(json)
+      .expect("/results/-", "{'a':'}]\\\\','b':['{',{'c':'\\''}]}", "'['", "-1.5e3", "{}",
+        "{'long':'a string spanning words \\'with]}escapes\\' and \\\\ more text'}")
+      .expect("/status", "'success'")
+      .check();
+  }
+
+  @Test
+  void scannerReportsMismatchedContainers() {
+    JsonStreamParser parser = JsonStreamParser.builder()
+      .structuralScanning(true)
+      .doOnValue("/results/-", v -> { })
+      .build();
+    try {
+      assertThrows(DecodingFailureException.class,
+        () -> parser.feed(Unpooled.copiedBuffer("{\"results\":[{\"a\":1}}", UTF_8)));
+    } finally {
+      parser.close();
+    }
+  }
+
+  @Test
+  void scannerReportsTruncatedInput() {
+    JsonStreamParser parser = JsonStreamParser.builder()
+      .structuralScanning(true)
+      .doOnValue("/results/-", v -> { })
+      .build();
+    try {
+      parser.feed(Unpooled.copiedBuffer("{\"results\":[{\"a\":\"xyz", UTF_8));
+      assertThrows(DecodingFailureException.class, parser::endOfInput);
+    } finally {
+      parser.close();
+    }
+  }
+
   @Test
   void cannotReconfigureAfterBuilding() throws Exception {
     JsonStreamParser.Builder builder = JsonStreamParser.builder()
@@ -251,6 +292,7 @@ class JsonStreamParserTest {
 
     private final List<ResultChecker.ListenerCheck> checks = new ArrayList<>();
     private final JsonStreamParser.Builder builder = JsonStreamParser.builder();
+    private final JsonStreamParser.Builder scanningBuilder = JsonStreamParser.builder().structuralScanning(true);
     private final byte[] json;
 
     ResultChecker(String json) {
@@ -264,6 +306,7 @@ class JsonStreamParserTest {
 
       ResultChecker.ListenerCheck check = new ResultChecker.ListenerCheck(jsonPointer, expected);
       builder.doOnValue(jsonPointer, value -> check.addActual(new String(value.readBytes(), UTF_8)));
+      scanningBuilder.doOnValue(jsonPointer, value -> check.addActual(new String(value.readBytes(), UTF_8)));
       checks.add(check);
       return this;
     }
@@ -273,14 +316,17 @@ class JsonStreamParserTest {
     }
 
     void check() throws IOException {
-      checkWithChunkSizeAndStreamWindow(Integer.MAX_VALUE);
+      for (JsonStreamParser.Builder b : Arrays.asList(builder, scanningBuilder)) {
+        checkWithChunkSizeAndStreamWindow(b, Integer.MAX_VALUE);
 
-      for (int i = 1; i <= min(32, json.length); i++) {
-        checkWithChunkSizeAndStreamWindow(i);
+        for (int i = 1; i <= min(32, json.length); i++) {
+          checkWithChunkSizeAndStreamWindow(b, i);
+        }
       }
     }
 
-    void checkWithChunkSizeAndStreamWindow(final int chunkSize) throws IOException {
+    void checkWithChunkSizeAndStreamWindow(final JsonStreamParser.Builder builder, final int chunkSize)
+      throws IOException {
       //System.out.println("testing with chunk size " + chunkSize);
       checks.forEach(c -> c.actual.clear()); // reset
 
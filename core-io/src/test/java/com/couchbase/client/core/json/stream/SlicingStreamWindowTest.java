@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.json.stream;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link SlicingStreamWindow}.
+ */
+class SlicingStreamWindowTest {
+
+  static {
+    ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+  }
+
+  @Test
+  void returnsRegionsWithinAndAcrossBuffers() {
+    SlicingStreamWindow window = new SlicingStreamWindow();
+    ByteBuf first = buffer("abc");
+    ByteBuf second = buffer("defg");
+    window.add(first);
+    window.add(second);
+
+    assertArrayEquals("bc".getBytes(UTF_8), window.getBytes(1, 3));
+    assertArrayEquals("cdef".getBytes(UTF_8), window.getBytes(2, 6));
+
+    ByteBuf within = window.getRetainedSlice(4, 7);
+    ByteBuf across = window.getRetainedSlice(2, 6);
+    assertEquals("efg", within.toString(UTF_8));
+    assertEquals("cdef", across.toString(UTF_8));
+
+    window.close();
+    assertEquals("efg", within.toString(UTF_8));
+    assertEquals("cdef", across.toString(UTF_8));
+
+    within.release();
+    across.release();
+    assertEquals(0, first.refCnt());
+    assertEquals(0, second.refCnt());
+  }
+
+  @Test
+  void onlyReleasesBuffersEntirelyBeforeOffset() {
+    SlicingStreamWindow window = new SlicingStreamWindow();
+    ByteBuf first = buffer("abc");
+    ByteBuf second = buffer("defg");
+    window.add(first);
+    window.add(second);
+
+    window.releaseBefore(2);
+    assertEquals(1, first.refCnt());
+    assertArrayEquals("cd".getBytes(UTF_8), window.getBytes(2, 4));
+
+    window.releaseBefore(4);
+    assertEquals(0, first.refCnt());
+    assertEquals(1, second.refCnt());
+    assertThrows(IndexOutOfBoundsException.class, () -> window.getBytes(2, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> window.getRetainedSlice(3, 8));
+
+    window.close();
+    assertEquals(0, second.refCnt());
+  }
+
+  @Test
+  void deliversParserValuesAsSlices() {
+    List<ByteBuf> rows = new ArrayList<>();
+    JsonStreamParser parser = JsonStreamParser.builder()
+      .doOnValue("/results/-", v -> rows.add(v.readRetainedSlice()))
+      .build(null, new SlicingStreamWindow());
+
+    byte[] json = "{\"results\":[{\"a\":1},{\"b\":[2,3]},\"c\"]}".getBytes(UTF_8);
+    List<ByteBuf> chunks = new ArrayList<>();
+    for (int i = 0; i < json.length; i += 5) {
+      chunks.add(Unpooled.copiedBuffer(json, i, Math.min(5, json.length - i)));
+    }
+
+    try {
+      for (ByteBuf chunk : chunks) {
+        parser.feed(chunk);
+      }
+      parser.endOfInput();
+    } finally {
+      parser.close();
+    }
+
+    assertEquals(3, rows.size());
+    assertEquals("{\"a\":1}", rows.get(0).toString(UTF_8));
+    assertEquals("{\"b\":[2,3]}", rows.get(1).toString(UTF_8));
+    assertEquals("\"c\"", rows.get(2).toString(UTF_8));
+
+    rows.forEach(ByteBuf::release);
+    for (ByteBuf chunk : chunks) {
+      assertEquals(0, chunk.refCnt());
+    }
+  }
+
+  private static ByteBuf buffer(final String content) {
+    return Unpooled.copiedBuffer(content, UTF_8);
+  }
+
+}
@@ -17,30 +17,49 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.CompressionMetrics;
 import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.retry.BestEffortRetryStrategy;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.PooledByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.body;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.datatype;
 import static com.couchbase.client.test.Util.readResource;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Verifies that the supported compression operations either do not compress or compress based
@@ -204,6 +223,26 @@ class CompressionTest {
     ReferenceCountUtil.release(encoded);
   }
 
+  @Test
+  void doesCompressLongBufferUpsertAndReleasesContent() {
+    ByteBuf content = Unpooled.copiedBuffer(longContent);
+    UpsertRequest request = new UpsertRequest(key, content, expiry, preserveExpiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty(), null);
+
+    ByteBuf encoded = request.encode(allocator, 0, ctx(true));
+    assertEquals(MemcacheProtocol.Datatype.SNAPPY.datatype(), datatype(encoded));
+    assertTrue(body(encoded).get().readableBytes() < longContent.length);
+    ReferenceCountUtil.release(encoded);
+
+    ByteBuf uncompressed = request.encode(allocator, 0, ctx(false));
+    assertEquals(Unpooled.wrappedBuffer(longContent), body(uncompressed).get());
+    ReferenceCountUtil.release(uncompressed);
+
+    assertEquals(1, content.refCnt());
+    request.cancel(CancellationReason.TIMEOUT);
+    assertEquals(0, content.refCnt());
+  }
+
   @Test
   void doesNotCompressIfDisabledReplace() {
     ReplaceRequest request = new ReplaceRequest(key, longContent, expiry, preserveExpiry, flags, timeout,
@@ -240,9 +279,114 @@ class CompressionTest {
     ReferenceCountUtil.release(encoded);
   }
 
+  @Test
+  void compressesDirectBufferIntoPooledBuffer() {
+    ByteBuf content = Unpooled.directBuffer(longContent.length).writeBytes(longContent);
+    ByteBuf compressed = MemcacheProtocol.tryCompression(PooledByteBufAllocator.DEFAULT, content, 0.83);
+    try {
+      assertTrue(compressed.readableBytes() < longContent.length);
+      assertEquals(0, content.readerIndex());
+      assertArrayEquals(longContent, Snappy.uncompress(ByteBufUtil.getBytes(compressed), 0, compressed.readableBytes()));
+    } finally {
+      compressed.release();
+      content.release();
+    }
+  }
+
+  @Test
+  void doesNotCompressIfRatioNotMet() {
+    byte[] random = new byte[4096];
+    new Random(0).nextBytes(random);
+    assertNull(MemcacheProtocol.tryCompression(PooledByteBufAllocator.DEFAULT, random, 0.83));
+  }
+
+  @Test
+  void decompressesBodyFromDirectBuffer() {
+    GetRequest request = new GetRequest(key, timeout, coreContext, cid, retryStrategy, null);
+    ByteBuf response = MemcacheProtocol.response(
+      allocator,
+      MemcacheProtocol.Opcode.GET,
+      (byte) (0x01 | MemcacheProtocol.Datatype.SNAPPY.datatype()),
+      (short) 0,
+      0,
+      cas,
+      Unpooled.buffer(4).writeInt(flags),
+      MemcacheProtocol.noKey(),
+      Unpooled.wrappedBuffer(Snappy.compress(longContent))
+    );
+    ByteBuf direct = Unpooled.directBuffer(response.readableBytes()).writeBytes(response);
+    try {
+      assertArrayEquals(longContent, request.decode(direct, ctx(true)).content());
+    } finally {
+      response.release();
+      direct.release();
+    }
+  }
+
+  @Test
+  void skipsCompressionIfSampleNotCompressibleAndAdaptive() {
+    byte[] random = new byte[16384];
+    new Random(0).nextBytes(random);
+    UpsertRequest request = new UpsertRequest(key, random, expiry, preserveExpiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty(), null);
+
+    Counters counters = new Counters();
+    ByteBuf encoded = request.encode(allocator, 0, ctx(CompressionConfig.adaptive(true).build(), counters.metrics));
+    assertEquals(0, datatype(encoded));
+    assertEquals(Unpooled.wrappedBuffer(random), body(encoded).get());
+    ReferenceCountUtil.release(encoded);
+
+    verify(counters.skipped).incrementBy(1);
+    verify(counters.rejected, never()).incrementBy(1);
+    verify(counters.compressed, never()).incrementBy(1);
+  }
+
+  @Test
+  void compressesIfSampleCompressibleAndAdaptive() {
+    byte[] content = new byte[16384];
+    for (int i = 0; i < content.length; i += longContent.length) {
+      System.arraycopy(longContent, 0, content, i, Math.min(longContent.length, content.length - i));
+    }
+    UpsertRequest request = new UpsertRequest(key, content, expiry, preserveExpiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty(), null);
+
+    Counters counters = new Counters();
+    ByteBuf encoded = request.encode(allocator, 0, ctx(CompressionConfig.adaptive(true).build(), counters.metrics));
+    assertEquals(MemcacheProtocol.Datatype.SNAPPY.datatype(), datatype(encoded));
+    ReferenceCountUtil.release(encoded);
+
+    verify(counters.compressed).incrementBy(1);
+    verify(counters.skipped, never()).incrementBy(1);
+  }
+
+  @Test
+  void recordsRejectedCompressionIfNotAdaptive() {
+    byte[] random = new byte[16384];
+    new Random(0).nextBytes(random);
+    AppendRequest request = new AppendRequest(timeout, coreContext, cid, retryStrategy, key, random, cas, durability, null);
+
+    Counters counters = new Counters();
+    ByteBuf encoded = request.encode(allocator, 0, ctx(CompressionConfig.create(), counters.metrics));
+    assertEquals(0, datatype(encoded));
+    ReferenceCountUtil.release(encoded);
+
+    verify(counters.rejected).incrementBy(1);
+    verify(counters.skipped, never()).incrementBy(1);
+  }
+
+  @Test
+  void rejectsSampleSizeBelowOne() {
+    assertThrows(InvalidArgumentException.class, () -> CompressionConfig.sampleSize(0));
+    assertThrows(InvalidArgumentException.class, () -> CompressionConfig.builder().sampleSize(-1));
+  }
+
   private KeyValueChannelContext ctx(boolean enabled) {
+    return ctx(CompressionConfig.builder().enable(enabled).build(), CompressionMetrics.NOOP);
+  }
+
+  private KeyValueChannelContext ctx(CompressionConfig config, CompressionMetrics metrics) {
     return new KeyValueChannelContext(
-      CompressionConfig.builder().enable(enabled).build(),
+      config,
       false,
       false,
       Optional.of(cid.bucket()),
@@ -252,8 +396,33 @@ class CompressionTest {
       new CollectionMap(),
       null,
       false,
-      false
+      false,
+      metrics
     );
   }
 
+  /**
+   * Holds mocked counters for every compression outcome.
+   */
+  private static class Counters {
+    final Counter compressed = mock(Counter.class);
+    final Counter rejected = mock(Counter.class);
+    final Counter skipped = mock(Counter.class);
+    final CompressionMetrics metrics;
+
+    Counters() {
+      Meter meter = mock(Meter.class);
+      when(meter.counter(eq(TracingIdentifiers.METER_COMPRESSION), anyMap())).thenAnswer(invocation -> {
+        Map<String, String> tags = invocation.getArgument(1);
+        switch (tags.get(TracingIdentifiers.ATTR_OUTCOME)) {
+          case CompressionMetrics.OUTCOME_COMPRESSED: return compressed;
+          case CompressionMetrics.OUTCOME_REJECTED: return rejected;
+          case CompressionMetrics.OUTCOME_SKIPPED: return skipped;
+          default: throw new IllegalArgumentException();
+        }
+      });
+      metrics = new CompressionMetrics(meter);
+    }
+  }
+
 }
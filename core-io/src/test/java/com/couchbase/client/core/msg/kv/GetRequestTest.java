@@ -17,12 +17,19 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.KeyValueChannelContext;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.core.util.UnsignedLEB128;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
 
 import static com.couchbase.client.core.io.netty.kv.ProtocolVerifier.decodeHexDump;
 import static com.couchbase.client.test.Util.readResource;
@@ -42,6 +49,7 @@ class GetRequestTest {
   private static final Duration TIMEOUT = Duration.ZERO;
   private static final CoreContext CTX = mock(CoreContext.class);
   private static final RetryStrategy RETRY = mock(RetryStrategy.class);
+  private static final int HEADER_SIZE = 24;
 
   @Test
   void decodeSuccessfulResponse() {
@@ -78,4 +86,39 @@ class GetRequestTest {
     assertEquals(0, decoded.flags());
   }
 
+  @Test
+  void encodesKeyWithCurrentCollectionPrefix() {
+    CollectionIdentifier collection = new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("coll"));
+    CollectionMap collectionMap = new CollectionMap();
+    collectionMap.put(collection, UnsignedLEB128.encode(8));
+    KeyValueChannelContext ctx = new KeyValueChannelContext(null, true, false, Optional.of("bucket"), false, false,
+      false, collectionMap, null, false, false);
+
+    GetRequest request = new GetRequest("key", TIMEOUT, CTX, collection, RETRY, null);
+    assertArrayEquals(prefixed(8, "key"), encodedKey(request, ctx));
+    assertArrayEquals(prefixed(8, "key"), encodedKey(request, ctx));
+
+    // The collection has been recreated with a new ID.
+    collectionMap.put(collection, UnsignedLEB128.encode(9));
+    assertArrayEquals(prefixed(9, "key"), encodedKey(request, ctx));
+  }
+
+  private static byte[] encodedKey(final GetRequest request, final KeyValueChannelContext ctx) {
+    ByteBuf encoded = request.encode(UnpooledByteBufAllocator.DEFAULT, request.opaque(), ctx);
+    try {
+      byte[] key = new byte[encoded.getShort(2)];
+      encoded.getBytes(HEADER_SIZE, key);
+      return key;
+    } finally {
+      encoded.release();
+    }
+  }
+
+  private static byte[] prefixed(final long collectionId, final String key) {
+    byte[] prefix = UnsignedLEB128.encode(collectionId);
+    byte[] encoded = Arrays.copyOf(prefix, prefix.length + key.length());
+    System.arraycopy(key.getBytes(UTF_8), 0, encoded, prefix.length, key.length());
+    return encoded;
+  }
+
 }
@@ -23,20 +23,28 @@ import com.couchbase.client.core.config.CouchbaseBucketConfig;
 import com.couchbase.client.core.config.NodeInfo;
 import com.couchbase.client.core.env.Authenticator;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.RequestContext;
 import com.couchbase.client.core.msg.TargetedRequest;
 import com.couchbase.client.core.msg.kv.CarrierBucketConfigRequest;
 import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.retry.RetryStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -269,4 +277,187 @@ class KeyValueLocatorTest {
     verify(request, times(1)).cancel(CancellationReason.TARGET_NODE_REMOVED);
   }
 
+  @Test
+  void groupsRequestsByNodeAndPartition() {
+    CouchbaseBucketConfig config = mock(CouchbaseBucketConfig.class);
+    when(config.numberOfPartitions()).thenReturn(1024);
+    when(config.nodeIndexForActive(anyInt(), eq(false)))
+      .thenAnswer(invocation -> (short) ((int) invocation.getArgument(0) % 3));
+
+    List<GetRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      GetRequest request = mock(GetRequest.class);
+      when(request.key()).thenReturn(("key-" + i).getBytes(UTF_8));
+      requests.add(request);
+    }
+
+    List<GetRequest> grouped = KeyValueLocator.groupByTarget(requests, config);
+    assertEquals(requests.size(), grouped.size());
+    assertTrue(grouped.containsAll(requests));
+
+    int lastNode = -1;
+    int lastPartition = -1;
+    for (GetRequest request : grouped) {
+      int partition = KeyValueLocator.partitionForKey(request.key(), 1024);
+      int node = partition % 3;
+      assertTrue(node >= lastNode);
+      if (node == lastNode) {
+        assertTrue(partition >= lastPartition);
+      }
+      lastNode = node;
+      lastPartition = partition;
+      verify(request).partition((short) partition);
+    }
+  }
+
+  /**
+   * The node is resolved through a routing table, which is only rebuilt once the bucket config changes.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void reusesRoutingTableUntilConfigChanges() {
+    Locator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    NodeInfo nodeInfo2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+      Collections.EMPTY_MAP, null);
+    Node node1Mock = mock(Node.class);
+    when(node1Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node node2Mock = mock(Node.class);
+    when(node2Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    List<Node> nodes = new ArrayList<>(Arrays.asList(node1Mock, node2Mock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo1);
+    when(bucketMock.nodeAtIndex(1)).thenReturn(nodeInfo2);
+    when(bucketMock.nodeIndexForActive(656, false)).thenReturn((short) 0);
+
+    GetRequest getRequest = mock(GetRequest.class);
+    when(getRequest.bucket()).thenReturn("bucket");
+    when(getRequest.key()).thenReturn("key".getBytes(UTF_8));
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(2)).send(getRequest);
+    verify(bucketMock, times(1)).nodeIndexForActive(656, false);
+
+    // The partition moved to the other node with a new config
+    CouchbaseBucketConfig newBucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(newBucketMock);
+    when(newBucketMock.numberOfPartitions()).thenReturn(1024);
+    when(newBucketMock.nodeAtIndex(0)).thenReturn(nodeInfo1);
+    when(newBucketMock.nodeAtIndex(1)).thenReturn(nodeInfo2);
+    when(newBucketMock.nodeIndexForActive(656, false)).thenReturn((short) 1);
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(2)).send(getRequest);
+    verify(node2Mock, times(1)).send(getRequest);
+  }
+
+  /**
+   * If a node has been replaced since the routing table has been built, the new node is used instead.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void routesToReplacedNode() {
+    Locator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    Node oldNodeMock = mock(Node.class);
+    when(oldNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    List<Node> nodes = new ArrayList<>(Collections.singletonList(oldNodeMock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.nodes()).thenReturn(Collections.singletonList(nodeInfo));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo);
+
+    GetRequest getRequest = mock(GetRequest.class);
+    when(getRequest.bucket()).thenReturn("bucket");
+    when(getRequest.key()).thenReturn("key".getBytes(UTF_8));
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(oldNodeMock, times(1)).send(getRequest);
+
+    Node newNodeMock = mock(Node.class);
+    when(newNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    when(oldNodeMock.disconnected()).thenReturn(true);
+    nodes.set(0, newNodeMock);
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(oldNodeMock, times(1)).send(getRequest);
+    verify(newNodeMock, times(2)).send(getRequest);
+  }
+
+  /**
+   * The core changes its node list in place, so the routing table needs to notice membership changes even if
+   * the same list instance is passed in.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void rebuildsRoutingTableIfNodesChangeInPlace() {
+    Locator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    Node oldNodeMock = mock(Node.class);
+    when(oldNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    List<Node> nodes = new CopyOnWriteArrayList<>(Collections.singletonList(oldNodeMock));
+
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(bucketMock.nodes()).thenReturn(Collections.singletonList(nodeInfo));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo);
+
+    GetRequest getRequest = mock(GetRequest.class);
+    when(getRequest.bucket()).thenReturn("bucket");
+    when(getRequest.key()).thenReturn("key".getBytes(UTF_8));
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(oldNodeMock, times(1)).send(getRequest);
+
+    // The old node is still shutting down, but has already been replaced in the list.
+    Node newNodeMock = mock(Node.class);
+    when(newNodeMock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    nodes.remove(oldNodeMock);
+    nodes.add(newNodeMock);
+
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(oldNodeMock, times(1)).send(getRequest);
+    verify(newNodeMock, times(1)).send(getRequest);
+  }
+
+  /**
+   * The partition needs to be the same, no matter if the key is hashed on its own, out of a larger buffer or
+   * through the hash cached on the request.
+   */
+  @Test
+  void hashesKeyConsistently() {
+    byte[] key = "key".getBytes(UTF_8);
+    byte[] prefixedKey = "\u0008key\u0000".getBytes(UTF_8);
+    assertEquals(656, KeyValueLocator.partitionForKey(key, 1024));
+    assertEquals(656, KeyValueLocator.partitionForKey(prefixedKey, 1, key.length, 1024));
+
+    GetRequest request = new GetRequest("key", Duration.ofSeconds(1), mock(CoreContext.class),
+      CollectionIdentifier.fromDefault("bucket"), mock(RetryStrategy.class), null);
+    assertEquals(KeyValueLocator.keyHash(key, 0, key.length), request.keyHash());
+    assertEquals(656, request.keyHash() & 1023);
+  }
+
+  @Test
+  void keepsOrderIfNoCouchbaseBucketConfig() {
+    List<GetRequest> requests = Arrays.asList(mock(GetRequest.class), mock(GetRequest.class));
+    assertEquals(requests, KeyValueLocator.groupByTarget(requests, null));
+  }
+
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.msg.kv.UpsertResponse;
+import com.couchbase.client.core.retry.RetryStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifies the functionality of the {@link GetCoalescer}.
+ */
+class GetCoalescerTest {
+
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+
+  private Core core;
+  private CoreContext ctx;
+  private GetCoalescer coalescer;
+
+  @BeforeEach
+  void beforeEach() {
+    core = mock(Core.class);
+    ctx = mock(CoreContext.class);
+    coalescer = new GetCoalescer(core);
+  }
+
+  @Test
+  void sharesResponseOfIdenticalRequestInFlight() throws Exception {
+    GetRequest leader = get("key");
+    GetRequest follower = get("key");
+    assertFalse(coalescer.coalesce(leader));
+    assertTrue(coalescer.coalesce(follower));
+    assertFalse(follower.completed());
+
+    GetResponse response = new GetResponse(ResponseStatus.SUCCESS, "content".getBytes(UTF_8), 1, 0);
+    leader.succeed(response);
+
+    GetResponse copy = follower.response().get();
+    assertArrayEquals(response.content(), copy.content());
+    assertNotSame(response.content(), copy.content());
+    assertEquals(1, copy.cas());
+    assertEquals(0, coalescer.size());
+    verify(core, never()).send(any(), anyBoolean());
+  }
+
+  @Test
+  void onlyCoalescesIdenticalRequests() {
+    assertFalse(coalescer.coalesce(get("key")));
+    assertFalse(coalescer.coalesce(get("other")));
+    assertFalse(coalescer.coalesce(replicaGet("key", (short) 1)));
+    assertFalse(coalescer.coalesce(replicaGet("key", (short) 2)));
+    assertTrue(coalescer.coalesce(replicaGet("key", (short) 1)));
+    assertEquals(4, coalescer.size());
+  }
+
+  @Test
+  void dispatchesLeaderAgainIfRetried() {
+    GetRequest leader = get("key");
+    assertFalse(coalescer.coalesce(leader));
+    assertFalse(coalescer.coalesce(leader));
+  }
+
+  @Test
+  void dispatchesFollowerIfLeaderCancelled() {
+    GetRequest leader = get("key");
+    GetRequest follower = get("key");
+    coalescer.coalesce(leader);
+    coalescer.coalesce(follower);
+
+    leader.cancel(CancellationReason.TIMEOUT);
+    assertFalse(follower.completed());
+    verify(core).send(follower, false);
+    assertEquals(0, coalescer.size());
+  }
+
+  @Test
+  void propagatesFailureOfLeader() {
+    GetRequest leader = get("key");
+    GetRequest follower = get("key");
+    coalescer.coalesce(leader);
+    coalescer.coalesce(follower);
+
+    leader.fail(new IllegalStateException("failed"));
+    ExecutionException thrown = assertThrows(ExecutionException.class, () -> follower.response().get());
+    assertTrue(thrown.getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  void keepsTimeoutOfFollower() throws Exception {
+    GetRequest leader = get("key");
+    GetRequest follower = get("key");
+    coalescer.coalesce(leader);
+    coalescer.coalesce(follower);
+
+    follower.cancel(CancellationReason.TIMEOUT);
+    assertTrue(follower.cancelled());
+
+    GetResponse response = new GetResponse(ResponseStatus.SUCCESS, new byte[0], 1, 0);
+    leader.succeed(response);
+    assertEquals(response, leader.response().get());
+    assertTrue(follower.cancelled());
+  }
+
+  @Test
+  void doesNotAttachToReadDispatchedBeforeMutation() throws Exception {
+    GetRequest leader = get("key");
+    GetRequest follower = get("key");
+    assertFalse(coalescer.coalesce(leader));
+    assertTrue(coalescer.coalesce(follower));
+
+    UpsertRequest upsert = upsert("key");
+    coalescer.invalidate(upsert);
+    upsert.succeed(mock(UpsertResponse.class));
+    assertFalse(coalescer.coalesce(get("key")));
+
+    // Reads which attached before the mutation still share the response of their leader.
+    leader.succeed(new GetResponse(ResponseStatus.SUCCESS, "content".getBytes(UTF_8), 1, 0));
+    assertEquals(1, follower.response().get().cas());
+  }
+
+  @Test
+  void doesNotAttachToReadRetriedWhileMutationInFlight() {
+    GetRequest leader = get("key");
+    assertFalse(coalescer.coalesce(leader));
+    assertFalse(coalescer.coalesce(get("other")));
+
+    UpsertRequest upsert = upsert("key");
+    coalescer.invalidate(upsert);
+    assertEquals(1, coalescer.size());
+    assertFalse(coalescer.coalesce(leader));
+
+    upsert.succeed(mock(UpsertResponse.class));
+    assertFalse(coalescer.coalesce(get("key")));
+    assertTrue(coalescer.coalesce(get("other")));
+  }
+
+  private GetRequest get(final String key) {
+    return new GetRequest(key, Duration.ofSeconds(1), ctx, COLLECTION, mock(RetryStrategy.class), null);
+  }
+
+  private UpsertRequest upsert(final String key) {
+    return new UpsertRequest(key, new byte[0], 0, 0, Duration.ofSeconds(1), ctx, COLLECTION,
+      mock(RetryStrategy.class), Optional.empty(), null);
+  }
+
+  private ReplicaGetRequest replicaGet(final String key, final short replica) {
+    return new ReplicaGetRequest(key, Duration.ofSeconds(1), ctx, COLLECTION, mock(RetryStrategy.class), replica, null);
+  }
+
+}
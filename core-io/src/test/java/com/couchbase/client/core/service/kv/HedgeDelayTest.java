@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.node.NodeIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link HedgeDelay} implementations.
+ */
+class HedgeDelayTest {
+
+  private static final NodeIdentifier NODE_1 = new NodeIdentifier("10.0.0.1", 8091);
+  private static final NodeIdentifier NODE_2 = new NodeIdentifier("10.0.0.2", 8091);
+
+  @Test
+  void fixedDelayIgnoresLatencies() {
+    HedgeDelay delay = HedgeDelay.fixed(Duration.ofMillis(5));
+    delay.recordLatency(NODE_1, Duration.ofSeconds(1).toNanos());
+    assertEquals(Duration.ofMillis(5), delay.delay(NODE_1));
+    assertEquals(Duration.ofMillis(5), delay.delay(null));
+  }
+
+  @Test
+  void usesInitialDelayUntilEnoughLatenciesRecorded() {
+    HedgeDelay delay = HedgeDelay.percentile(50, Duration.ofMillis(10));
+    for (int i = 1; i < PercentileHedgeDelay.RECOMPUTE_INTERVAL; i++) {
+      delay.recordLatency(NODE_1, Duration.ofMillis(1).toNanos());
+    }
+    assertEquals(Duration.ofMillis(10), delay.delay(NODE_1));
+
+    delay.recordLatency(NODE_1, Duration.ofMillis(1).toNanos());
+    assertEquals(Duration.ofMillis(1), delay.delay(NODE_1));
+    assertEquals(Duration.ofMillis(10), delay.delay(NODE_2));
+    assertEquals(Duration.ofMillis(10), delay.delay(null));
+  }
+
+  @Test
+  void computesPercentilePerNode() {
+    HedgeDelay delay = HedgeDelay.percentile(95, Duration.ofMillis(10));
+    for (int i = 1; i <= PercentileHedgeDelay.WINDOW_SIZE; i++) {
+      delay.recordLatency(NODE_1, Duration.ofMillis(i).toNanos());
+      delay.recordLatency(NODE_2, Duration.ofMillis(2).toNanos());
+    }
+    assertEquals(Duration.ofMillis(122), delay.delay(NODE_1));
+    assertEquals(Duration.ofMillis(2), delay.delay(NODE_2));
+  }
+
+  @Test
+  void onlyConsidersRecentLatencies() {
+    HedgeDelay delay = HedgeDelay.percentile(99, Duration.ofMillis(10));
+    for (int i = 0; i < PercentileHedgeDelay.WINDOW_SIZE; i++) {
+      delay.recordLatency(NODE_1, Duration.ofMillis(100).toNanos());
+    }
+    assertEquals(Duration.ofMillis(100), delay.delay(NODE_1));
+
+    for (int i = 0; i < PercentileHedgeDelay.WINDOW_SIZE; i++) {
+      delay.recordLatency(NODE_1, Duration.ofMillis(1).toNanos());
+    }
+    assertEquals(Duration.ofMillis(1), delay.delay(NODE_1));
+  }
+
+  @Test
+  void rejectsInvalidPercentile() {
+    assertThrows(InvalidArgumentException.class, () -> HedgeDelay.percentile(0, Duration.ofMillis(10)));
+    assertThrows(InvalidArgumentException.class, () -> HedgeDelay.percentile(100.1, Duration.ofMillis(10)));
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.config.ClusterConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+import com.couchbase.client.core.env.Authenticator;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
+import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the hedged reads of the {@link ReplicaHelper}.
+ */
+class ReplicaHelperTest {
+
+  private static final NodeIdentifier ACTIVE_NODE = new NodeIdentifier("10.0.0.1", 8091);
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+
+  private static CoreEnvironment env;
+
+  private Core core;
+  private List<Request<?>> sent;
+
+  @BeforeAll
+  static void beforeAll() {
+    env = CoreEnvironment.create();
+  }
+
+  @AfterAll
+  static void afterAll() {
+    env.shutdown();
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    core = mock(Core.class);
+    when(core.context()).thenReturn(new CoreContext(core, 1, env, mock(Authenticator.class)));
+
+    NodeInfo nodeInfo = mock(NodeInfo.class);
+    when(nodeInfo.identifier()).thenReturn(ACTIVE_NODE);
+    CouchbaseBucketConfig bucketConfig = mock(CouchbaseBucketConfig.class);
+    when(bucketConfig.name()).thenReturn("bucket");
+    when(bucketConfig.numberOfReplicas()).thenReturn(1);
+    when(bucketConfig.numberOfPartitions()).thenReturn(1024);
+    when(bucketConfig.nodeIndexForActive(anyInt(), eq(false))).thenReturn((short) 0);
+    when(bucketConfig.nodeAtIndex(0)).thenReturn(nodeInfo);
+    ClusterConfig clusterConfig = new ClusterConfig();
+    clusterConfig.setBucketConfig(bucketConfig);
+    when(core.clusterConfig()).thenReturn(clusterConfig);
+
+    sent = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(core).send(any());
+  }
+
+  @Test
+  void answersFromActiveWithoutHedging() throws Exception {
+    HedgeDelay hedgeDelay = mock(HedgeDelay.class);
+    when(hedgeDelay.delay(ACTIVE_NODE)).thenReturn(Duration.ofHours(1));
+
+    CompletableFuture<ReplicaHelper.GetReplicaResponse> result = getHedged(hedgeDelay);
+    assertEquals(1, sent.size());
+    GetRequest active = (GetRequest) sent.get(0);
+    active.succeed(response(ResponseStatus.SUCCESS));
+
+    assertFalse(result.get().isFromReplica());
+    assertEquals(1, sent.size());
+    verify(hedgeDelay).recordLatency(any(), anyLong());
+  }
+
+  @Test
+  void hedgesToReplicaAndCancelsActive() throws Exception {
+    CompletableFuture<ReplicaHelper.GetReplicaResponse> result = getHedged(HedgeDelay.fixed(Duration.ofMillis(1)));
+    waitUntilCondition(() -> sent.size() == 2);
+
+    GetRequest active = (GetRequest) sent.get(0);
+    ReplicaGetRequest replica = (ReplicaGetRequest) sent.get(1);
+    assertEquals(1, replica.replica());
+    replica.succeed(response(ResponseStatus.SUCCESS));
+
+    assertTrue(result.get().isFromReplica());
+    assertTrue(active.cancelled());
+  }
+
+  @Test
+  void waitsForReplicaIfActiveFails() throws Exception {
+    CompletableFuture<ReplicaHelper.GetReplicaResponse> result = getHedged(HedgeDelay.fixed(Duration.ofMillis(1)));
+    waitUntilCondition(() -> sent.size() == 2);
+
+    sent.get(0).fail(new RuntimeException("active failed"));
+    assertFalse(result.isDone());
+
+    ((ReplicaGetRequest) sent.get(1)).succeed(response(ResponseStatus.SUCCESS));
+    assertTrue(result.get().isFromReplica());
+  }
+
+  @Test
+  void failsIfDocumentNotFoundOnActive() {
+    HedgeDelay hedgeDelay = mock(HedgeDelay.class);
+    when(hedgeDelay.delay(ACTIVE_NODE)).thenReturn(Duration.ofHours(1));
+
+    CompletableFuture<ReplicaHelper.GetReplicaResponse> result = getHedged(hedgeDelay);
+    ((GetRequest) sent.get(0)).succeed(response(ResponseStatus.NOT_FOUND));
+
+    ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+    assertTrue(thrown.getCause() instanceof DocumentNotFoundException);
+    assertEquals(1, sent.size());
+    verify(hedgeDelay, never()).recordLatency(any(), anyLong());
+  }
+
+  private CompletableFuture<ReplicaHelper.GetReplicaResponse> getHedged(final HedgeDelay hedgeDelay) {
+    return ReplicaHelper.getHedgedAsync(core, COLLECTION, "key", Duration.ofSeconds(2),
+      BestEffortRetryStrategy.INSTANCE, null, null, hedgeDelay, response -> response);
+  }
+
+  private static GetResponse response(final ResponseStatus status) {
+    GetResponse response = mock(GetResponse.class);
+    when(response.status()).thenReturn(status);
+    when(response.content()).thenReturn(new byte[0]);
+    return response;
+  }
+
+}
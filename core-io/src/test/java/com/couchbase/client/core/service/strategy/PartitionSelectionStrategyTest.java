@@ -98,4 +98,46 @@ class PartitionSelectionStrategyTest {
     assertNull(selected);
   }
 
-}
\ No newline at end of file
+  @Test
+  void selectPinnedEvenIfNotFreeToWrite() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy();
+
+    Endpoint endpoint1 = mock(Endpoint.class);
+    Endpoint endpoint2 = mock(Endpoint.class);
+
+    when(endpoint1.state()).thenReturn(EndpointState.CONNECTED);
+    when(endpoint2.state()).thenReturn(EndpointState.CONNECTED);
+    when(endpoint1.freeToWrite()).thenReturn(false);
+    when(endpoint2.freeToWrite()).thenReturn(true);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+
+    assertEquals(endpoint1, strategy.select(request, Arrays.asList(endpoint1, endpoint2)));
+  }
+
+  @Test
+  void spillsOverToConnectedEndpointIfPinnedIsNotFreeToWrite() {
+    EndpointSelectionStrategy strategy = new PartitionSelectionStrategy(true);
+
+    Endpoint endpoint1 = mock(Endpoint.class);
+    Endpoint endpoint2 = mock(Endpoint.class);
+    Endpoint endpoint3 = mock(Endpoint.class);
+
+    when(endpoint1.state()).thenReturn(EndpointState.CONNECTED);
+    when(endpoint2.state()).thenReturn(EndpointState.DISCONNECTED);
+    when(endpoint3.state()).thenReturn(EndpointState.CONNECTED);
+    when(endpoint1.freeToWrite()).thenReturn(false);
+    when(endpoint2.freeToWrite()).thenReturn(true);
+    when(endpoint3.freeToWrite()).thenReturn(true);
+
+    GetRequest request = mock(GetRequest.class);
+    when(request.partition()).thenReturn((short) 12);
+
+    assertEquals(endpoint3, strategy.select(request, Arrays.asList(endpoint1, endpoint2, endpoint3)));
+
+    when(endpoint3.freeToWrite()).thenReturn(false);
+    assertEquals(endpoint1, strategy.select(request, Arrays.asList(endpoint1, endpoint2, endpoint3)));
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.GetResult;
+import com.couchbase.client.java.kv.MultiResult;
+import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.util.JavaIntegrationTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the bulk operations on the {@link AsyncCollection} and {@link ReactiveCollection}.
+ */
+class KeyValueMultiIntegrationTest extends JavaIntegrationTest {
+
+  static private Cluster cluster;
+  static private Collection collection;
+
+  @BeforeAll
+  static void beforeAll() {
+    cluster = Cluster.connect(seedNodes(), clusterOptions());
+    Bucket bucket = cluster.bucket(config().bucketname());
+    collection = bucket.defaultCollection();
+
+    bucket.waitUntilReady(Duration.ofSeconds(5));
+  }
+
+  @AfterAll
+  static void afterAll() {
+    cluster.disconnect();
+  }
+
+  @Test
+  void upsertsGetsAndRemovesMany() {
+    Map<String, JsonObject> documents = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      documents.put(UUID.randomUUID().toString(), JsonObject.create().put("i", i));
+    }
+
+    Map<String, CompletableFuture<MutationResult>> upserted = collection.async().upsertMulti(documents);
+    assertEquals(new ArrayList<>(documents.keySet()), new ArrayList<>(upserted.keySet()));
+    for (CompletableFuture<MutationResult> result : upserted.values()) {
+      assertTrue(result.join().cas() != 0);
+    }
+
+    Map<String, CompletableFuture<GetResult>> fetched = collection.async().getMulti(documents.keySet());
+    for (Map.Entry<String, CompletableFuture<GetResult>> entry : fetched.entrySet()) {
+      assertEquals(documents.get(entry.getKey()), entry.getValue().join().contentAsObject());
+    }
+
+    List<MultiResult<MutationResult>> removed = collection.reactive()
+      .removeMulti(documents.keySet())
+      .collectList()
+      .block();
+    assertEquals(documents.size(), removed.size());
+    for (MultiResult<MutationResult> result : removed) {
+      assertTrue(result.success());
+    }
+  }
+
+  @Test
+  void reportsErrorsPerDocument() {
+    String found = UUID.randomUUID().toString();
+    String notFound = UUID.randomUUID().toString();
+    collection.upsert(found, JsonObject.create());
+
+    List<String> ids = new ArrayList<>();
+    ids.add(found);
+    ids.add(notFound);
+
+    Map<String, MultiResult<GetResult>> results = new LinkedHashMap<>();
+    collection.reactive().getMulti(ids).toStream().forEach(r -> results.put(r.id(), r));
+
+    assertEquals(2, results.size());
+    assertTrue(results.get(found).success());
+    assertEquals(JsonObject.create(), results.get(found).result().contentAsObject());
+    assertFalse(results.get(notFound).success());
+    assertThrows(DocumentNotFoundException.class, () -> results.get(notFound).result());
+  }
+
+}
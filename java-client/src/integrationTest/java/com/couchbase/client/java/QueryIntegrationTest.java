@@ -46,6 +46,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.java.manager.query.QueryIndexManagerIntegrationTest.DISABLE_QUERY_TESTS_FOR_CLUSTER;
 import static com.couchbase.client.java.query.QueryOptions.queryOptions;
@@ -201,6 +202,20 @@ class QueryIntegrationTest extends JavaIntegrationTest {
         assertEquals(1, rows.size());
     }
 
+    @Test
+    void streamingSelect() {
+        String id = insertDoc();
+
+        QueryOptions options = queryOptions().scanConsistency(QueryScanConsistency.REQUEST_PLUS);
+        try (Stream<JsonObject> rows = cluster.queryStream(
+          "select * from " + bucketName + " where meta().id=\"" + id + "\"",
+          JsonObject.class,
+          options
+        )) {
+            assertEquals(1, rows.count());
+        }
+    }
+
     @Test
     void noProfileRequestedGivesEmptyProfile() {
         String id = insertDoc();
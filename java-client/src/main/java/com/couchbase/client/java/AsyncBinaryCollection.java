@@ -68,12 +68,18 @@ public class AsyncBinaryCollection {
   private final CoreEnvironment environment;
   private final CollectionIdentifier collectionIdentifier;
 
+  /**
+   * The collection this binary collection belongs to, which is told about the mutations issued.
+   */
+  private final AsyncCollection collection;
+
   AsyncBinaryCollection(final Core core, final CoreEnvironment environment,
-                        final CollectionIdentifier collectionIdentifier) {
+                        final CollectionIdentifier collectionIdentifier, final AsyncCollection collection) {
     this.core = core;
     this.coreContext = core.context();
     this.environment = environment;
     this.collectionIdentifier = collectionIdentifier;
+    this.collection = collection;
   }
 
   /**
@@ -119,6 +125,7 @@ public class AsyncBinaryCollection {
     AppendRequest request = new AppendRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, content,
       opts.cas(), opts.durabilityLevel(), span);
     request.context().clientContext(opts.clientContext());
+    collection.invalidateNearCache(id, request);
     return request;
   }
 
@@ -165,6 +172,7 @@ public class AsyncBinaryCollection {
     PrependRequest request = new PrependRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, content,
       opts.cas(), opts.durabilityLevel(), span);
     request.context().clientContext(opts.clientContext());
+    collection.invalidateNearCache(id, request);
     return request;
   }
 
@@ -207,6 +215,7 @@ public class AsyncBinaryCollection {
     IncrementRequest request = new IncrementRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id,
       opts.delta(), opts.initial(), expiry, opts.durabilityLevel(), span);
     request.context().clientContext(opts.clientContext());
+    collection.invalidateNearCache(id, request);
     return request;
   }
 
@@ -249,6 +258,7 @@ public class AsyncBinaryCollection {
     DecrementRequest request = new DecrementRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id,
       opts.delta(), opts.initial(), expiry, opts.durabilityLevel(), span);
     request.context().clientContext(opts.clientContext());
+    collection.invalidateNearCache(id, request);
     return request;
   }
 
@@ -22,16 +22,19 @@ import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.RequestSpan;
 import com.couchbase.client.core.cnc.TracingIdentifiers;
 import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.env.TimeoutConfig;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.error.context.ReducedKeyValueErrorContext;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.core.msg.kv.GetAndLockRequest;
 import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
 import com.couchbase.client.core.msg.kv.GetMetaRequest;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.RemoveRequest;
 import com.couchbase.client.core.msg.kv.ReplaceRequest;
 import com.couchbase.client.core.msg.kv.SubdocCommandType;
@@ -40,7 +43,9 @@ import com.couchbase.client.core.msg.kv.SubdocMutateRequest;
 import com.couchbase.client.core.msg.kv.TouchRequest;
 import com.couchbase.client.core.msg.kv.UnlockRequest;
 import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.node.KeyValueLocator;
 import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.core.service.kv.HedgeDelay;
 import com.couchbase.client.core.service.kv.ReplicaHelper;
 import com.couchbase.client.core.util.BucketConfigUtil;
 import com.couchbase.client.java.codec.JsonSerializer;
@@ -56,6 +61,9 @@ import com.couchbase.client.java.kv.GetAllReplicasOptions;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
 import com.couchbase.client.java.kv.GetAnyReplicaOptions;
+import com.couchbase.client.java.kv.GetHedgedOptions;
+import com.couchbase.client.java.kv.NearCache;
+import com.couchbase.client.java.kv.NearCacheConfig;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetReplicaResult;
 import com.couchbase.client.java.kv.GetResult;
@@ -87,9 +95,14 @@ import com.couchbase.client.java.kv.UpsertOptions;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
@@ -98,6 +111,7 @@ import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_ALL_REPLI
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_AND_LOCK_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_AND_TOUCH_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_ANY_REPLICA_OPTIONS;
+import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_HEDGED_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_INSERT_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_LOOKUP_IN_OPTIONS;
@@ -164,6 +178,17 @@ public class AsyncCollection {
    */
   private final CollectionIdentifier collectionIdentifier;
 
+  /**
+   * The hedge delay used if none is provided through the options, which learns from all hedged reads on this
+   * collection so it has to outlive them.
+   */
+  private final HedgeDelay defaultHedgeDelay = HedgeDelay.percentile(95, Duration.ofMillis(10));
+
+  /**
+   * The near cache for full document fetches, null if not enabled.
+   */
+  private volatile NearCache nearCache;
+
   /**
    * Creates a new {@link AsyncCollection}.
    *
@@ -181,7 +206,7 @@ public class AsyncCollection {
     this.environment = environment;
     this.bucket = bucket;
     this.collectionIdentifier = new CollectionIdentifier(bucket, Optional.of(scopeName), Optional.of(name));
-    this.asyncBinaryCollection = new AsyncBinaryCollection(core, environment, collectionIdentifier);
+    this.asyncBinaryCollection = new AsyncBinaryCollection(core, environment, collectionIdentifier, this);
   }
 
   /**
@@ -254,12 +279,58 @@ public class AsyncCollection {
 
     final Transcoder transcoder = opts.transcoder() == null ? environment.transcoder() : opts.transcoder();
     if (opts.projections().isEmpty() && !opts.withExpiry()) {
+      NearCache cache = nearCache;
+      if (cache != null) {
+        notNullOrEmpty(id, "Id", () -> ReducedKeyValueErrorContext.create(id, collectionIdentifier));
+        return cache.get(id, () -> fullGetRequest(id, opts), () -> revalidationRequest(id, opts), transcoder);
+      }
       return GetAccessor.get(core, fullGetRequest(id, opts), transcoder);
     } else {
       return GetAccessor.subdocGet(core, subdocGetRequest(id, opts), transcoder);
     }
   }
 
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids to fetch.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is loaded or failed.
+   * @see #getMulti(java.util.Collection, GetOptions)
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<GetResult>> getMulti(final java.util.Collection<String> ids) {
+    return getMulti(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   * <p>
+   * All requests are created up front and dispatched grouped by their target node and partition, so that each
+   * connection receives its share of the batch in one go. The returned map iterates in the order of the given ids,
+   * duplicate ids are only fetched once. Each document succeeds or fails on its own, so errors (including invalid
+   * ids) are reported through the individual futures.
+   * <p>
+   * Note that all requests are in flight at the same time, so very large bulks should be split into chunks.
+   *
+   * @param ids the document ids to fetch.
+   * @param options custom options which are applied to every fetch.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is loaded or failed.
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<GetResult>> getMulti(final java.util.Collection<String> ids,
+                                                            final GetOptions options) {
+    notNull(ids, "Ids", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "GetOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    final GetOptions.Built opts = options.build();
+
+    final Transcoder transcoder = opts.transcoder() == null ? environment.transcoder() : opts.transcoder();
+    if (opts.projections().isEmpty() && !opts.withExpiry()) {
+      return dispatchMulti(ids, id -> fullGetRequest(id, opts), (id, request) -> GetAccessor.get(core, request, transcoder));
+    } else {
+      return dispatchMulti(ids, id -> subdocGetRequest(id, opts), (id, request) -> GetAccessor.subdocGet(core, request, transcoder));
+    }
+  }
+
   /**
    * Helper method to create a get request for a full doc fetch.
    *
@@ -279,6 +350,61 @@ public class AsyncCollection {
     return request;
   }
 
+  /**
+   * Helper method to create the request which fetches the CAS of a document cached in the near cache.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param opts the options of the get which is served from the near cache.
+   * @return the get meta request.
+   */
+  private GetMetaRequest revalidationRequest(final String id, final GetOptions.Built opts) {
+    Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
+    RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
+    RequestSpan span = environment.requestTracer().requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_GET_META,
+      opts.parentSpan().orElse(null));
+    GetMetaRequest request = new GetMetaRequest(id, timeout, coreContext, collectionIdentifier, retryStrategy, span,
+      TracingIdentifiers.SPAN_REQUEST_KV_GET_META);
+    request.context().clientContext(opts.clientContext());
+    return request;
+  }
+
+  /**
+   * Enables the near cache for full document fetches through {@link #get(String, GetOptions)}, replacing the
+   * current one (and all documents it holds) if already enabled.
+   * <p>
+   * Gets with projections or expiry always go to the server. Every mutation this client issues against a document
+   * of this collection removes it from the cache, mutations of other clients are only noticed once a cached document
+   * expired. Note that a cached result carries the CAS from when it was fetched.
+   *
+   * @param config the configuration of the near cache.
+   */
+  @Stability.Volatile
+  public void enableNearCache(final NearCacheConfig config) {
+    notNull(config, "NearCacheConfig");
+    nearCache = new NearCache(core, config, collectionIdentifier);
+  }
+
+  /**
+   * Disables the near cache and drops all documents it holds.
+   */
+  @Stability.Volatile
+  public void disableNearCache() {
+    nearCache = null;
+  }
+
+  /**
+   * Removes the document from the near cache (if enabled) before the mutation is sent and once it completed.
+   *
+   * @param id the id of the document which is mutated.
+   * @param request the mutation request.
+   */
+  void invalidateNearCache(final String id, final Request<?> request) {
+    NearCache cache = nearCache;
+    if (cache != null) {
+      cache.invalidate(id, request);
+    }
+  }
+
   /**
    * Helper method to create a get request for a subdoc fetch.
    *
@@ -422,6 +548,7 @@ public class AsyncCollection {
       id, timeout, coreContext, collectionIdentifier, retryStrategy, lockTime, span
     );
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -476,6 +603,7 @@ public class AsyncCollection {
       id, timeout, coreContext, collectionIdentifier, retryStrategy, encodedExpiry, span
     );
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -548,6 +676,47 @@ public class AsyncCollection {
         response -> GetReplicaResult.from(response, transcoder));
   }
 
+  /**
+   * Reads from the active, and from one replica as well if the active does not answer within the hedge delay.
+   *
+   * @param id the document id.
+   * @return a future containing the first result, telling if it came from the active or the replica.
+   */
+  @Stability.Volatile
+  public CompletableFuture<GetReplicaResult> getHedged(final String id) {
+    return getHedged(id, DEFAULT_GET_HEDGED_OPTIONS);
+  }
+
+  /**
+   * Reads from the active, and from one replica as well if the active does not answer within the hedge delay.
+   * <p>
+   * Unlike {@link #getAnyReplica(String, GetAnyReplicaOptions)}, this only adds traffic for reads which would
+   * otherwise suffer from a slow node. Whichever copy answers first wins and the other read is cancelled. By default
+   * the delay is the 95th percentile of the latencies recently observed on the node the read is sent to.
+   *
+   * @param id the document id.
+   * @param options the custom options.
+   * @return a future containing the first result, telling if it came from the active or the replica.
+   */
+  @Stability.Volatile
+  public CompletableFuture<GetReplicaResult> getHedged(final String id, final GetHedgedOptions options) {
+    notNullOrEmpty(id, "Id", () -> ReducedKeyValueErrorContext.create(id, collectionIdentifier));
+    notNull(options, "GetHedgedOptions", () -> ReducedKeyValueErrorContext.create(id, collectionIdentifier));
+    GetHedgedOptions.Built opts = options.build();
+    Transcoder transcoder = opts.transcoder() == null ? environment.transcoder() : opts.transcoder();
+
+    return ReplicaHelper.getHedgedAsync(
+        core,
+        collectionIdentifier,
+        id,
+        opts.timeout().orElse(environment.timeoutConfig().kvTimeout()),
+        opts.retryStrategy().orElse(environment().retryStrategy()),
+        opts.clientContext(),
+        opts.parentSpan().orElse(null),
+        opts.hedgeDelay() == null ? defaultHedgeDelay : opts.hedgeDelay(),
+        response -> GetReplicaResult.from(response, transcoder));
+  }
+
   /**
    * Checks if the given document ID exists on the active partition with default options.
    *
@@ -613,6 +782,41 @@ public class AsyncCollection {
     return RemoveAccessor.remove(core, removeRequest(id, opts), id, opts.persistTo(), opts.replicateTo());
   }
 
+  /**
+   * Removes many documents from a collection with default options.
+   *
+   * @param ids the ids of the documents to remove.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is removed or failed.
+   * @see #removeMulti(java.util.Collection, RemoveOptions)
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<MutationResult>> removeMulti(final java.util.Collection<String> ids) {
+    return removeMulti(ids, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes many documents from a collection with custom options.
+   * <p>
+   * The requests are dispatched grouped by their target node and partition, see
+   * {@link #getMulti(java.util.Collection, GetOptions)} for details.
+   *
+   * @param ids the ids of the documents to remove.
+   * @param options custom options which are applied to every removal.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is removed or failed.
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<MutationResult>> removeMulti(final java.util.Collection<String> ids,
+                                                                    final RemoveOptions options) {
+    notNull(ids, "Ids", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "RemoveOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    final RemoveOptions.Built opts = options.build();
+    return dispatchMulti(
+      ids,
+      id -> removeRequest(id, opts),
+      (id, request) -> RemoveAccessor.remove(core, request, id, opts.persistTo(), opts.replicateTo())
+    );
+  }
+
   /**
    * Helper method to create the remove request.
    *
@@ -630,6 +834,7 @@ public class AsyncCollection {
     RemoveRequest request = new RemoveRequest(id, opts.cas(), timeout,
       coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel(), span);
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -678,24 +883,26 @@ public class AsyncCollection {
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_INSERT, opts.parentSpan().orElse(null));
 
+    long expiry = opts.expiry().encode(environment.eventBus());
+
     final RequestSpan encodeSpan = environment
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_ENCODING, span);
     long start = System.nanoTime();
     Transcoder.EncodedValue encoded;
     try {
-      encoded = transcoder.encode(content);
+      encoded = transcoder.encode(content, ByteBufAllocator.DEFAULT);
     } finally {
       encodeSpan.end();
     }
     long end = System.nanoTime();
 
-    long expiry = opts.expiry().encode(environment.eventBus());
-    InsertRequest request = new InsertRequest(id, encoded.encoded(), expiry, encoded.flags(),
+    InsertRequest request = new InsertRequest(id, encoded.encodedBuffer(), expiry, encoded.flags(),
       timeout, coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel(), span);
     request.context()
       .clientContext(opts.clientContext())
       .encodeLatency(end - start);
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -724,6 +931,41 @@ public class AsyncCollection {
     return UpsertAccessor.upsert(core, upsertRequest(id, content, opts), id, opts.persistTo(), opts.replicateTo());
   }
 
+  /**
+   * Upserts many full documents which might or might not exist yet with default options.
+   *
+   * @param documents the document ids and their contents to upsert.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is upserted or failed.
+   * @see #upsertMulti(Map, UpsertOptions)
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<MutationResult>> upsertMulti(final Map<String, ?> documents) {
+    return upsertMulti(documents, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts many full documents which might or might not exist yet with custom options.
+   * <p>
+   * The documents are encoded up front and dispatched grouped by their target node and partition, see
+   * {@link #getMulti(java.util.Collection, GetOptions)} for details.
+   *
+   * @param documents the document ids and their contents to upsert.
+   * @param options custom options which are applied to every upsert.
+   * @return a map of each document id and the {@link CompletableFuture} completing once it is upserted or failed.
+   */
+  @Stability.Volatile
+  public Map<String, CompletableFuture<MutationResult>> upsertMulti(final Map<String, ?> documents,
+                                                                    final UpsertOptions options) {
+    notNull(documents, "Documents", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    notNull(options, "UpsertOptions", () -> ReducedKeyValueErrorContext.create(null, collectionIdentifier));
+    final UpsertOptions.Built opts = options.build();
+    return dispatchMulti(
+      documents.keySet(),
+      id -> upsertRequest(id, documents.get(id), opts),
+      (id, request) -> UpsertAccessor.upsert(core, request, id, opts.persistTo(), opts.replicateTo())
+    );
+  }
+
   /**
    * Helper method to generate the upsert request.
    *
@@ -744,24 +986,26 @@ public class AsyncCollection {
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_UPSERT, opts.parentSpan().orElse(null));
 
+    long expiry = opts.expiry().encode(environment.eventBus());
+
     final RequestSpan encodeSpan = environment
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_ENCODING, span);
     long start = System.nanoTime();
     Transcoder.EncodedValue encoded;
     try {
-      encoded = transcoder.encode(content);
+      encoded = transcoder.encode(content, ByteBufAllocator.DEFAULT);
     } finally {
       encodeSpan.end();
     }
     long end = System.nanoTime();
 
-    long expiry = opts.expiry().encode(environment.eventBus());
-    final UpsertRequest request = new UpsertRequest(id, encoded.encoded(), expiry, opts.preserveExpiry(), encoded.flags(),
+    final UpsertRequest request = new UpsertRequest(id, encoded.encodedBuffer(), expiry, opts.preserveExpiry(), encoded.flags(),
       timeout, coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel(), span);
     request.context()
       .clientContext(opts.clientContext())
       .encodeLatency(end - start);
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -810,24 +1054,26 @@ public class AsyncCollection {
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_REPLACE, opts.parentSpan().orElse(null));
 
+    long expiry = opts.expiry().encode(environment.eventBus());
+
     final RequestSpan encodeSpan = environment
       .requestTracer()
       .requestSpan(TracingIdentifiers.SPAN_REQUEST_ENCODING, span);
     long start = System.nanoTime();
     Transcoder.EncodedValue encoded;
     try {
-      encoded = transcoder.encode(content);
+      encoded = transcoder.encode(content, ByteBufAllocator.DEFAULT);
     } finally {
       encodeSpan.end();
     }
     long end = System.nanoTime();
 
-    long expiry = opts.expiry().encode(environment.eventBus());
-    ReplaceRequest request = new ReplaceRequest(id, encoded.encoded(), expiry, opts.preserveExpiry(), encoded.flags(),
+    ReplaceRequest request = new ReplaceRequest(id, encoded.encodedBuffer(), expiry, opts.preserveExpiry(), encoded.flags(),
       timeout, opts.cas(), coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel(), span);
     request.context()
       .clientContext(opts.clientContext())
       .encodeLatency(end - start);
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -876,6 +1122,7 @@ public class AsyncCollection {
     TouchRequest request = new TouchRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id,
         encodedExpiry, span);
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -923,6 +1170,7 @@ public class AsyncCollection {
     RequestSpan span = environment.requestTracer().requestSpan(TracingIdentifiers.SPAN_REQUEST_KV_UNLOCK, opts.parentSpan().orElse(null));
     UnlockRequest request = new UnlockRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, cas, span);
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -1095,6 +1343,7 @@ public class AsyncCollection {
         request.context()
           .clientContext(opts.clientContext())
           .encodeLatency(end - start);
+        invalidateNearCache(id, request);
         final CompletableFuture<SubdocMutateRequest> future = new CompletableFuture<>();
         future.complete(request);
         return future;
@@ -1131,4 +1380,40 @@ public class AsyncCollection {
     return collectionIdentifier;
   }
 
+  /**
+   * Helper method to create the requests of a bulk operation and dispatch them grouped by their target.
+   *
+   * @param ids the document ids, duplicates are ignored.
+   * @param requestFactory creates the request for a single id.
+   * @param dispatcher dispatches a single request and returns its converted result.
+   * @return the results per id, in the order of the given ids.
+   */
+  private <R extends KeyValueRequest<?>, T> Map<String, CompletableFuture<T>> dispatchMulti(
+    final java.util.Collection<String> ids, final Function<String, R> requestFactory,
+    final BiFunction<String, R, CompletableFuture<T>> dispatcher) {
+    final Map<String, CompletableFuture<T>> results = new LinkedHashMap<>(ids.size());
+    final Map<R, String> requests = new IdentityHashMap<>(ids.size());
+
+    for (String id : ids) {
+      if (results.containsKey(id)) {
+        continue;
+      }
+      try {
+        requests.put(requestFactory.apply(id), id);
+        results.put(id, null);
+      } catch (RuntimeException ex) {
+        CompletableFuture<T> failed = new CompletableFuture<>();
+        failed.completeExceptionally(ex);
+        results.put(id, failed);
+      }
+    }
+
+    BucketConfig config = core.clusterConfig().bucketConfig(bucketName());
+    for (R request : KeyValueLocator.groupByTarget(new ArrayList<>(requests.keySet()), config)) {
+      String id = requests.get(request);
+      results.put(id, dispatcher.apply(id, request));
+    }
+    return results;
+  }
+
 }
@@ -40,10 +40,12 @@ import com.couchbase.client.java.query.QueryResult;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static com.couchbase.client.core.util.Golang.encodeDurationToMs;
 import static com.couchbase.client.core.util.Validators.notNull;
@@ -222,6 +224,44 @@ public class AsyncScope {
         serializer);
   }
 
+  /**
+   * Prepares N1QL statements with default {@link QueryOptions} and caches them, without executing them.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @return a {@link CompletableFuture} completing once all statements are prepared.
+   * @see #prepareQueries(List, QueryOptions)
+   */
+  @Stability.Volatile
+  public CompletableFuture<Void> prepareQueries(final List<String> statements) {
+    return prepareQueries(statements, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Prepares N1QL statements with custom {@link QueryOptions} and caches them, without executing them.
+   * <p>
+   * This is useful to warm up the prepared statement cache (i.e. during application startup), so that the first
+   * executions of the statements with {@link QueryOptions#adhoc(boolean)} disabled do not need to prepare them
+   * first. Only the timeout, retry strategy, serializer and parent span of the options are used.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @param options the custom options for the prepare requests.
+   * @return a {@link CompletableFuture} completing once all statements are prepared.
+   */
+  @Stability.Volatile
+  public CompletableFuture<Void> prepareQueries(final List<String> statements, final QueryOptions options) {
+    notNull(statements, "Statements");
+    notNull(options, "QueryOptions");
+    final QueryOptions.Built opts = options.build();
+    JsonSerializer serializer = opts.serializer() == null ? environment.jsonSerializer() : opts.serializer();
+    return queryAccessor.prepareAsync(
+      statements
+        .stream()
+        .map(statement -> queryRequest(bucketName(), scopeName, statement, opts, core, environment()))
+        .collect(Collectors.toList()),
+      serializer
+    );
+  }
+
   /**
    * Helper method to construct the query request. ( copied from Cluster )
    *
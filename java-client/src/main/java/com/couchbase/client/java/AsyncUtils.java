@@ -16,11 +16,26 @@
 
 package com.couchbase.client.java;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class AsyncUtils {
+
+  /**
+   * The number of rows a blocking stream requests ahead of its consumer.
+   */
+  public static final int DEFAULT_STREAM_PREFETCH = Queues.XS_BUFFER_SIZE;
+
   private AsyncUtils() {
     throw new AssertionError("not instantiable");
   }
@@ -58,4 +73,80 @@ public class AsyncUtils {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Helper method to consume the rows of a reactive result as a blocking stream.
+   * <p>
+   * Only a bounded number of rows is requested ahead of the consumer, so the backpressure of the reactive
+   * pipeline (which stops reading from the socket once nobody asks for rows) also bounds the memory used by
+   * blocking callers. Errors of the request are thrown while consuming the stream, and the stream must be closed
+   * (i.e. through try-with-resources) if it is not consumed fully, which cancels the underlying request.
+   *
+   * @param rows the rows to stream.
+   * @param <T> the generic type of the rows.
+   * @return the blocking stream over the rows.
+   */
+  public static <T> Stream<T> blockingStream(final Flux<T> rows) {
+    return rows.toStream(DEFAULT_STREAM_PREFETCH);
+  }
+
+  /**
+   * Helper method to decode the rows of a reactive result on a bounded number of workers.
+   * <p>
+   * With a parallelism of 1 the rows are decoded one after another on the thread which emits them. Otherwise up to
+   * parallelism rows are decoded at the same time on the given scheduler, and if the order should be preserved the
+   * decoded rows are re-sequenced, so that only as many rows are held back as are decoded at the same time.
+   *
+   * @param rows the rows to decode.
+   * @param decoder decodes a single row, must not return null.
+   * @param parallelism the maximum number of rows which are decoded at the same time.
+   * @param preserveOrder true if the decoded rows should be emitted in the order of the rows.
+   * @param scheduler the scheduler to decode the rows on.
+   * @param <R> the generic type of the rows.
+   * @param <T> the generic type of the decoded rows.
+   * @return the decoded rows.
+   */
+  public static <R, T> Flux<T> decodeRows(final Flux<R> rows, final Function<R, T> decoder, final int parallelism,
+                                          final boolean preserveOrder, final Scheduler scheduler) {
+    return decodeRows(rows, decoder, parallelism, preserveOrder, scheduler, row -> { });
+  }
+
+  /**
+   * Helper method to decode the rows of a reactive result on a bounded number of workers.
+   * <p>
+   * This works just like {@link #decodeRows(Flux, Function, int, boolean, Scheduler)}, but calls the cancel
+   * handler for each row whose decoding is cancelled before it has started. Each row is claimed either by the
+   * decoder or by the cancel handler, so a row which is being decoded is never handed to the cancel handler.
+   *
+   * @param rows the rows to decode.
+   * @param decoder decodes a single row, must not return null.
+   * @param parallelism the maximum number of rows which are decoded at the same time.
+   * @param preserveOrder true if the decoded rows should be emitted in the order of the rows.
+   * @param scheduler the scheduler to decode the rows on.
+   * @param onCancel called for each row whose decoding is cancelled before it has started.
+   * @param <R> the generic type of the rows.
+   * @param <T> the generic type of the decoded rows.
+   * @return the decoded rows.
+   */
+  public static <R, T> Flux<T> decodeRows(final Flux<R> rows, final Function<R, T> decoder, final int parallelism,
+                                          final boolean preserveOrder, final Scheduler scheduler,
+                                          final Consumer<R> onCancel) {
+    if (parallelism <= 1) {
+      return rows.map(decoder);
+    }
+    Function<R, Mono<T>> decode = row -> {
+      AtomicBoolean claimed = new AtomicBoolean();
+      return Mono
+        .fromCallable(() -> claimed.compareAndSet(false, true) ? decoder.apply(row) : null)
+        .subscribeOn(scheduler)
+        .doOnCancel(() -> {
+          if (claimed.compareAndSet(false, true)) {
+            onCancel.accept(row);
+          }
+        });
+    };
+    return preserveOrder
+      ? rows.flatMapSequential(decode, parallelism, 1)
+      : rows.flatMap(decode, parallelism, 1);
+  }
 }
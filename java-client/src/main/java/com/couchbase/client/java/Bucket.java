@@ -29,14 +29,18 @@ import com.couchbase.client.java.diagnostics.WaitUntilReadyOptions;
 import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.manager.collection.CollectionManager;
 import com.couchbase.client.java.manager.view.ViewIndexManager;
+import com.couchbase.client.java.view.ReactiveViewResult;
 import com.couchbase.client.java.view.ViewOptions;
 import com.couchbase.client.java.view.ViewResult;
+import com.couchbase.client.java.view.ViewRow;
 
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.java.AsyncUtils.block;
+import static com.couchbase.client.java.AsyncUtils.blockingStream;
 import static com.couchbase.client.java.ReactiveBucket.DEFAULT_VIEW_OPTIONS;
 
 /**
@@ -201,6 +205,41 @@ public class Bucket {
     return block(asyncBucket.viewQuery(designDoc, viewName, options));
   }
 
+  /**
+   * Queries a view on the bucket and streams its rows.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param designDoc the name of the design document in which the view resides.
+   * @param viewName the name of the view to query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws ViewNotFoundException (while consuming) if the view or design document is not found on the server.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public Stream<ViewRow> viewQueryStream(final String designDoc, final String viewName) {
+    return viewQueryStream(designDoc, viewName, DEFAULT_VIEW_OPTIONS);
+  }
+
+  /**
+   * Queries a view on the bucket with custom options and streams its rows.
+   *
+   * @param designDoc the name of the design document in which the view resides.
+   * @param viewName the name of the view to query.
+   * @param options allows to customize view options.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws ViewNotFoundException (while consuming) if the view or design document is not found on the server.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #viewQueryStream(String, String)
+   */
+  @Stability.Volatile
+  public Stream<ViewRow> viewQueryStream(final String designDoc, final String viewName, final ViewOptions options) {
+    return blockingStream(reactive().viewQuery(designDoc, viewName, options).flatMapMany(ReactiveViewResult::rows));
+  }
+
   /**
    * Performs application-level ping requests against services in the couchbase cluster.
    *
@@ -42,19 +42,24 @@ import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
 import com.couchbase.client.java.search.SearchOptions;
 import com.couchbase.client.java.search.SearchQuery;
+import com.couchbase.client.java.search.result.ReactiveSearchResult;
 import com.couchbase.client.java.search.result.SearchResult;
+import com.couchbase.client.java.search.result.SearchRow;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
 import static com.couchbase.client.java.AsyncCluster.extractClusterEnvironment;
 import static com.couchbase.client.java.AsyncCluster.seedNodesFromConnectionString;
 import static com.couchbase.client.java.AsyncUtils.block;
+import static com.couchbase.client.java.AsyncUtils.blockingStream;
 import static com.couchbase.client.java.ClusterOptions.clusterOptions;
 import static com.couchbase.client.java.ReactiveCluster.DEFAULT_ANALYTICS_OPTIONS;
 import static com.couchbase.client.java.ReactiveCluster.DEFAULT_DIAGNOSTICS_OPTIONS;
@@ -393,6 +398,69 @@ public class Cluster {
     return block(async().query(statement, options));
   }
 
+  /**
+   * Prepares N1QL statements with default {@link QueryOptions} and caches them, without executing them.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @throws TimeoutException if the operation times out before all statements are prepared.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   * @see #prepareQueries(List, QueryOptions)
+   */
+  @Stability.Volatile
+  public void prepareQueries(final List<String> statements) {
+    prepareQueries(statements, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Prepares N1QL statements with custom {@link QueryOptions} and caches them, without executing them.
+   * <p>
+   * This is useful to warm up the prepared statement cache (i.e. during application startup), so that the first
+   * executions of the statements with {@link QueryOptions#adhoc(boolean)} disabled do not need to prepare them
+   * first. Only the timeout, retry strategy, serializer and parent span of the options are used.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @param options the custom options for the prepare requests.
+   * @throws TimeoutException if the operation times out before all statements are prepared.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public void prepareQueries(final List<String> statements, final QueryOptions options) {
+    block(async().prepareQueries(statements, options));
+  }
+
+  /**
+   * Performs a N1QL query and streams its rows, decoded into the target class.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param statement the N1QL query statement.
+   * @param target the target class to decode the rows into.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public <T> Stream<T> queryStream(final String statement, final Class<T> target) {
+    return queryStream(statement, target, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Performs a N1QL query with custom {@link QueryOptions} and streams its rows, decoded into the target class.
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @param options the custom options for this query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #queryStream(String, Class)
+   */
+  @Stability.Volatile
+  public <T> Stream<T> queryStream(final String statement, final Class<T> target, final QueryOptions options) {
+    return blockingStream(reactive().query(statement, options).flatMapMany(result -> result.rowsAs(target)));
+  }
+
   /**
    * Performs an analytics query with default {@link AnalyticsOptions}.
    *
@@ -418,6 +486,41 @@ public class Cluster {
     return block(async().analyticsQuery(statement, options));
   }
 
+  /**
+   * Performs an analytics query and streams its rows, decoded into the target class.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param statement the query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public <T> Stream<T> analyticsQueryStream(final String statement, final Class<T> target) {
+    return analyticsQueryStream(statement, target, DEFAULT_ANALYTICS_OPTIONS);
+  }
+
+  /**
+   * Performs an analytics query with custom {@link AnalyticsOptions} and streams its rows, decoded into the
+   * target class.
+   *
+   * @param statement the query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @param options the custom options for this query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #analyticsQueryStream(String, Class)
+   */
+  @Stability.Volatile
+  public <T> Stream<T> analyticsQueryStream(final String statement, final Class<T> target,
+                                            final AnalyticsOptions options) {
+    return blockingStream(reactive().analyticsQuery(statement, options).flatMapMany(result -> result.rowsAs(target)));
+  }
+
   /**
    * Performs a Full Text Search (FTS) query with default {@link SearchOptions}.
    *
@@ -443,6 +546,40 @@ public class Cluster {
     return block(asyncCluster.searchQuery(indexName, query, options));
   }
 
+  /**
+   * Performs a Full Text Search (FTS) query and streams its rows.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param indexName the name of the search index to query.
+   * @param query the query, in the form of a {@link SearchQuery}
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public Stream<SearchRow> searchQueryStream(final String indexName, final SearchQuery query) {
+    return searchQueryStream(indexName, query, DEFAULT_SEARCH_OPTIONS);
+  }
+
+  /**
+   * Performs a Full Text Search (FTS) query with custom {@link SearchOptions} and streams its rows.
+   *
+   * @param indexName the name of the search index to query.
+   * @param query the query, in the form of a {@link SearchQuery}
+   * @param options the custom options for this query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #searchQueryStream(String, SearchQuery)
+   */
+  @Stability.Volatile
+  public Stream<SearchRow> searchQueryStream(final String indexName, final SearchQuery query,
+                                             final SearchOptions options) {
+    return blockingStream(reactive().searchQuery(indexName, query, options).flatMapMany(ReactiveSearchResult::rows));
+  }
+
   /**
    * Opens a {@link Bucket} with the given name.
    *
@@ -37,6 +37,7 @@ import com.couchbase.client.java.kv.GetAllReplicasOptions;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
 import com.couchbase.client.java.kv.GetAnyReplicaOptions;
+import com.couchbase.client.java.kv.GetHedgedOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetReplicaResult;
 import com.couchbase.client.java.kv.GetResult;
@@ -49,6 +50,7 @@ import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
 import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.kv.NearCacheConfig;
 import com.couchbase.client.java.kv.QueueOptions;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplaceOptions;
@@ -322,6 +324,56 @@ public class Collection {
     return block(asyncCollection.getAnyReplica(id, options));
   }
 
+  /**
+   * Reads from the active, and from one replica as well if the active does not answer within the hedge delay.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @return the first result, might be the active or a replica.
+   * @throws DocumentNotFoundException the given document id is not found in the collection.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public GetReplicaResult getHedged(final String id) {
+    return block(asyncCollection.getHedged(id));
+  }
+
+  /**
+   * Reads from the active, and from one replica as well if the active does not answer within the hedge delay,
+   * with custom options.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param options the custom options.
+   * @return the first result, might be the active or a replica.
+   * @throws DocumentNotFoundException the given document id is not found in the collection.
+   * @throws TimeoutException if the operation times out before getting a result.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public GetReplicaResult getHedged(final String id, final GetHedgedOptions options) {
+    return block(asyncCollection.getHedged(id, options));
+  }
+
+  /**
+   * Enables the near cache for full document fetches through {@link #get(String, GetOptions)}, replacing the
+   * current one (and all documents it holds) if already enabled.
+   *
+   * @param config the configuration of the near cache.
+   * @see AsyncCollection#enableNearCache(NearCacheConfig)
+   */
+  @Stability.Volatile
+  public void enableNearCache(final NearCacheConfig config) {
+    asyncCollection.enableNearCache(config);
+  }
+
+  /**
+   * Disables the near cache and drops all documents it holds.
+   */
+  @Stability.Volatile
+  public void disableNearCache() {
+    asyncCollection.disableNearCache();
+  }
+
   /**
    * Checks if the given document ID exists on the active partition.
    *
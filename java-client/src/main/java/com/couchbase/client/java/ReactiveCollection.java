@@ -45,6 +45,7 @@ import com.couchbase.client.java.kv.GetAllReplicasOptions;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
 import com.couchbase.client.java.kv.GetAnyReplicaOptions;
+import com.couchbase.client.java.kv.GetHedgedOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetReplicaResult;
 import com.couchbase.client.java.kv.GetResult;
@@ -58,6 +59,7 @@ import com.couchbase.client.java.kv.MutateInAccessor;
 import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
 import com.couchbase.client.java.kv.MutateInSpec;
+import com.couchbase.client.java.kv.MultiResult;
 import com.couchbase.client.java.kv.MutationResult;
 import com.couchbase.client.java.kv.RemoveAccessor;
 import com.couchbase.client.java.kv.RemoveOptions;
@@ -75,7 +77,9 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
@@ -84,6 +88,7 @@ import static com.couchbase.client.java.kv.GetAllReplicasOptions.getAllReplicasO
 import static com.couchbase.client.java.kv.GetAndLockOptions.getAndLockOptions;
 import static com.couchbase.client.java.kv.GetAndTouchOptions.getAndTouchOptions;
 import static com.couchbase.client.java.kv.GetAnyReplicaOptions.getAnyReplicaOptions;
+import static com.couchbase.client.java.kv.GetHedgedOptions.getHedgedOptions;
 import static com.couchbase.client.java.kv.GetOptions.getOptions;
 import static com.couchbase.client.java.kv.InsertOptions.insertOptions;
 import static com.couchbase.client.java.kv.LookupInOptions.lookupInOptions;
@@ -112,6 +117,7 @@ public class ReactiveCollection {
   static final GetAndTouchOptions DEFAULT_GET_AND_TOUCH_OPTIONS = getAndTouchOptions();
   static final GetAllReplicasOptions DEFAULT_GET_ALL_REPLICAS_OPTIONS = getAllReplicasOptions();
   static final GetAnyReplicaOptions DEFAULT_GET_ANY_REPLICA_OPTIONS = getAnyReplicaOptions();
+  static final GetHedgedOptions DEFAULT_GET_HEDGED_OPTIONS = getHedgedOptions();
   static final GetOptions DEFAULT_GET_OPTIONS = getOptions();
   static final InsertOptions DEFAULT_INSERT_OPTIONS = insertOptions();
   static final LookupInOptions DEFAULT_LOOKUP_IN_OPTIONS = lookupInOptions();
@@ -234,6 +240,34 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids to fetch.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is loaded or failed.
+   * @see #getMulti(java.util.Collection, GetOptions)
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids) {
+    return getMulti(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   * <p>
+   * The requests are dispatched on subscription, grouped by their target node and partition (see
+   * {@link AsyncCollection#getMulti(java.util.Collection, GetOptions)}). Results are emitted in completion order,
+   * and a failure of a single document does not terminate the flux but is reported in its {@link MultiResult}.
+   *
+   * @param ids the document ids to fetch.
+   * @param options custom options which are applied to every fetch.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is loaded or failed.
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<GetResult>> getMulti(final java.util.Collection<String> ids, final GetOptions options) {
+    return Flux.defer(() -> multiResults(asyncCollection.getMulti(ids, options)));
+  }
+
   /**
    * Fetches a full document and write-locks it for the given duration with default options.
    * <p>
@@ -435,6 +469,33 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Removes many documents from a collection with default options.
+   *
+   * @param ids the ids of the documents to remove.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is removed or failed.
+   * @see #removeMulti(java.util.Collection, RemoveOptions)
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids) {
+    return removeMulti(ids, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes many documents from a collection with custom options.
+   * <p>
+   * See {@link #getMulti(java.util.Collection, GetOptions)} for how the requests are dispatched and results emitted.
+   *
+   * @param ids the ids of the documents to remove.
+   * @param options custom options which are applied to every removal.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is removed or failed.
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<MutationResult>> removeMulti(final java.util.Collection<String> ids,
+                                                       final RemoveOptions options) {
+    return Flux.defer(() -> multiResults(asyncCollection.removeMulti(ids, options)));
+  }
+
   /**
    * Inserts a full document which does not exist yet with default options.
    *
@@ -499,6 +560,32 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Upserts many full documents which might or might not exist yet with default options.
+   *
+   * @param documents the document ids and their contents to upsert.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is upserted or failed.
+   * @see #upsertMulti(Map, UpsertOptions)
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents) {
+    return upsertMulti(documents, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts many full documents which might or might not exist yet with custom options.
+   * <p>
+   * See {@link #getMulti(java.util.Collection, GetOptions)} for how the requests are dispatched and results emitted.
+   *
+   * @param documents the document ids and their contents to upsert.
+   * @param options custom options which are applied to every upsert.
+   * @return a {@link Flux} emitting one {@link MultiResult} per document once it is upserted or failed.
+   */
+  @Stability.Volatile
+  public Flux<MultiResult<MutationResult>> upsertMulti(final Map<String, ?> documents, final UpsertOptions options) {
+    return Flux.defer(() -> multiResults(asyncCollection.upsertMulti(documents, options)));
+  }
+
   /**
    * Replaces a full document which already exists with default options.
    *
@@ -649,4 +736,20 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Helper method to turn the per-document futures of a bulk operation into a flux of results.
+   *
+   * @param futures the futures of the bulk operation by document id.
+   * @return a flux emitting one result per document, never failing for a single document.
+   */
+  private static <T> Flux<MultiResult<T>> multiResults(final Map<String, CompletableFuture<T>> futures) {
+    return Flux
+      .fromIterable(futures.entrySet())
+      .flatMap(entry -> Mono
+        .fromFuture(entry.getValue())
+        .map(result -> MultiResult.success(entry.getKey(), result))
+        .onErrorResume(error -> Mono.just(MultiResult.failure(entry.getKey(), error)))
+      );
+  }
+
 }
@@ -30,8 +30,10 @@ import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.ReactiveQueryResult;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.java.ReactiveCluster.DEFAULT_ANALYTICS_OPTIONS;
@@ -158,6 +160,44 @@ public class ReactiveScope {
     });
   }
 
+  /**
+   * Prepares N1QL statements with default {@link QueryOptions} and caches them, without executing them.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @return a {@link Mono} completing once all statements are prepared.
+   * @see #prepareQueries(List, QueryOptions)
+   */
+  @Stability.Volatile
+  public Mono<Void> prepareQueries(final List<String> statements) {
+    return prepareQueries(statements, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Prepares N1QL statements with custom {@link QueryOptions} and caches them, without executing them.
+   * <p>
+   * This is useful to warm up the prepared statement cache (i.e. during application startup), so that the first
+   * executions of the statements with {@link QueryOptions#adhoc(boolean)} disabled do not need to prepare them
+   * first. Only the timeout, retry strategy, serializer and parent span of the options are used.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @param options the custom options for the prepare requests.
+   * @return a {@link Mono} completing once all statements are prepared.
+   */
+  @Stability.Volatile
+  public Mono<Void> prepareQueries(final List<String> statements, final QueryOptions options) {
+    notNull(statements, "Statements");
+    notNull(options, "QueryOptions");
+    final QueryOptions.Built opts = options.build();
+    JsonSerializer serializer = opts.serializer() == null ? environment().jsonSerializer() : opts.serializer();
+    return Mono.defer(() -> async().queryAccessor().prepareReactive(
+      statements
+        .stream()
+        .map(statement -> async().queryRequest(bucketName(), name(), statement, opts, core(), environment()))
+        .collect(Collectors.toList()),
+      serializer
+    ));
+  }
+
   /**
    * Performs an Analytics query with default {@link AnalyticsOptions} on a scope
    *
@@ -186,6 +226,7 @@ public class ReactiveScope {
       return AnalyticsAccessor.analyticsQueryReactive(
           asyncScope.core(),
           asyncScope.analyticsRequest(statement, opts),
+          opts,
           serializer
       );
     });
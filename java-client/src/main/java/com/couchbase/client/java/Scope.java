@@ -27,10 +27,13 @@ import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.query.QueryOptions;
 import com.couchbase.client.java.query.QueryResult;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static com.couchbase.client.java.AsyncUtils.block;
+import static com.couchbase.client.java.AsyncUtils.blockingStream;
 import static com.couchbase.client.java.ReactiveCluster.DEFAULT_ANALYTICS_OPTIONS;
 import static com.couchbase.client.java.ReactiveCluster.DEFAULT_QUERY_OPTIONS;
 
@@ -168,6 +171,70 @@ public class Scope {
     return block(async().query(statement, options));
   }
 
+  /**
+   * Prepares N1QL statements with default {@link QueryOptions} and caches them, without executing them.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @throws TimeoutException if the operation times out before all statements are prepared.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   * @see #prepareQueries(List, QueryOptions)
+   */
+  @Stability.Volatile
+  public void prepareQueries(final List<String> statements) {
+    prepareQueries(statements, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Prepares N1QL statements with custom {@link QueryOptions} and caches them, without executing them.
+   * <p>
+   * This is useful to warm up the prepared statement cache (i.e. during application startup), so that the first
+   * executions of the statements with {@link QueryOptions#adhoc(boolean)} disabled do not need to prepare them
+   * first. Only the timeout, retry strategy, serializer and parent span of the options are used.
+   *
+   * @param statements the N1QL query statements to prepare.
+   * @param options the custom options for the prepare requests.
+   * @throws TimeoutException if the operation times out before all statements are prepared.
+   * @throws CouchbaseException for all other error reasons (acts as a base type and catch-all).
+   */
+  @Stability.Volatile
+  public void prepareQueries(final List<String> statements, final QueryOptions options) {
+    block(async().prepareQueries(statements, options));
+  }
+
+  /**
+   * Performs a N1QL query in a Scope and streams its rows, decoded into the target class.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param statement the N1QL query statement.
+   * @param target the target class to decode the rows into.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public <T> Stream<T> queryStream(final String statement, final Class<T> target) {
+    return queryStream(statement, target, DEFAULT_QUERY_OPTIONS);
+  }
+
+  /**
+   * Performs a N1QL query in a Scope with custom {@link QueryOptions} and streams its rows, decoded into the
+   * target class.
+   *
+   * @param statement the N1QL query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @param options the custom options for this query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #queryStream(String, Class)
+   */
+  @Stability.Volatile
+  public <T> Stream<T> queryStream(final String statement, final Class<T> target, final QueryOptions options) {
+    return blockingStream(reactive().query(statement, options).flatMapMany(result -> result.rowsAs(target)));
+  }
+
   /**
    * Performs an Analytics query with default {@link AnalyticsOptions} on a scope
    *
@@ -194,4 +261,39 @@ public class Scope {
   public AnalyticsResult analyticsQuery(final String statement, final AnalyticsOptions options) {
     return block(async().analyticsQuery(statement, options));
   }
+
+  /**
+   * Performs an analytics query on a scope and streams its rows, decoded into the target class.
+   * <p>
+   * The rows are decoded as the stream is consumed instead of being collected into memory.
+   *
+   * @param statement the query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see AsyncUtils#blockingStream
+   */
+  @Stability.Volatile
+  public <T> Stream<T> analyticsQueryStream(final String statement, final Class<T> target) {
+    return analyticsQueryStream(statement, target, DEFAULT_ANALYTICS_OPTIONS);
+  }
+
+  /**
+   * Performs an analytics query on a scope with custom {@link AnalyticsOptions} and streams its rows, decoded into the
+   * target class.
+   *
+   * @param statement the query statement as a raw string.
+   * @param target the target class to decode the rows into.
+   * @param options the custom options for this query.
+   * @return the stream of rows, which needs to be closed if it is not consumed fully.
+   * @throws TimeoutException (while consuming) if the operation times out before getting a result.
+   * @throws CouchbaseException (while consuming) for all other error reasons (acts as a base type and catch-all).
+   * @see #analyticsQueryStream(String, Class)
+   */
+  @Stability.Volatile
+  public <T> Stream<T> analyticsQueryStream(final String statement, final Class<T> target,
+                                            final AnalyticsOptions options) {
+    return blockingStream(reactive().analyticsQuery(statement, options).flatMapMany(result -> result.rowsAs(target)));
+  }
 }
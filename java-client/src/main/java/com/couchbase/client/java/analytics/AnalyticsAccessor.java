@@ -51,6 +51,18 @@ public class AnalyticsAccessor {
     return analyticsQueryInternal(core, request).map(r -> new ReactiveAnalyticsResult(r, serializer));
   }
 
+  public static Mono<ReactiveAnalyticsResult> analyticsQueryReactive(final Core core, final AnalyticsRequest request,
+                                                                     final AnalyticsOptions.Built options,
+                                                                     final JsonSerializer serializer) {
+    return analyticsQueryInternal(core, request).map(r -> new ReactiveAnalyticsResult(
+      r,
+      serializer,
+      options.decodeParallelism(),
+      options.preserveOrder(),
+      core.context().environment().scheduler()
+    ));
+  }
+
   private static Mono<AnalyticsResponse> analyticsQueryInternal(final Core core, final AnalyticsRequest request) {
     core.send(request);
     return Reactor
@@ -17,6 +17,7 @@
 package com.couchbase.client.java.analytics;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.CommonOptions;
 import com.couchbase.client.java.codec.JsonSerializer;
@@ -49,6 +50,8 @@ public class AnalyticsOptions extends CommonOptions<AnalyticsOptions> {
   private boolean readonly = false;
   private AnalyticsScanConsistency scanConsistency;
   private JsonSerializer serializer;
+  private int decodeParallelism = 1;
+  private boolean preserveOrder = true;
 
   /**
    * The options should only be instantiated through the {@link #analyticsOptions()} static method.
@@ -126,6 +129,44 @@ public class AnalyticsOptions extends CommonOptions<AnalyticsOptions> {
     return this;
   }
 
+  /**
+   * Decodes the rows on up to the given number of threads at the same time, preserving their order.
+   * <p>
+   * This only applies to the reactive API
+   * ({@link com.couchbase.client.java.ReactiveCluster#analyticsQuery(String, AnalyticsOptions)} and
+   * {@link com.couchbase.client.java.ReactiveScope#analyticsQuery(String, AnalyticsOptions)}) and is ignored
+   * otherwise. The rows are decoded on the scheduler of the environment, so this helps if decoding the rows (for
+   * example mapping wide documents to POJOs) rather than the network is the bottleneck. The default of 1 decodes
+   * the rows one after another as they arrive.
+   *
+   * @param decodeParallelism the maximum number of rows which are decoded at the same time, must be at least 1.
+   * @return the same {@link AnalyticsOptions} for chaining purposes.
+   */
+  @Stability.Volatile
+  public AnalyticsOptions decodeParallelism(final int decodeParallelism) {
+    return decodeParallelism(decodeParallelism, true);
+  }
+
+  /**
+   * Decodes the rows on up to the given number of threads at the same time.
+   * <p>
+   * This works just like {@link #decodeParallelism(int)}, but if the order does not need to be preserved each
+   * row is emitted as soon as it has been decoded, so a slow row does not hold back the ones after it.
+   *
+   * @param decodeParallelism the maximum number of rows which are decoded at the same time, must be at least 1.
+   * @param preserveOrder true if the rows should be emitted in the order the server returned them.
+   * @return the same {@link AnalyticsOptions} for chaining purposes.
+   */
+  @Stability.Volatile
+  public AnalyticsOptions decodeParallelism(final int decodeParallelism, final boolean preserveOrder) {
+    if (decodeParallelism < 1) {
+      throw InvalidArgumentException.fromMessage("decodeParallelism must be >= 1");
+    }
+    this.decodeParallelism = decodeParallelism;
+    this.preserveOrder = preserveOrder;
+    return this;
+  }
+
   /**
    * Customizes the consistency guarantees for this query.
    * <p>
@@ -216,6 +257,14 @@ public class AnalyticsOptions extends CommonOptions<AnalyticsOptions> {
       return serializer;
     }
 
+    public int decodeParallelism() {
+      return decodeParallelism;
+    }
+
+    public boolean preserveOrder() {
+      return preserveOrder;
+    }
+
     public int priority() {
       return priority;
     }
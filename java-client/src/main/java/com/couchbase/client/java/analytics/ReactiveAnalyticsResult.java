@@ -16,12 +16,17 @@
 
 package com.couchbase.client.java.analytics;
 
+import com.couchbase.client.core.msg.analytics.AnalyticsChunkRow;
 import com.couchbase.client.core.msg.analytics.AnalyticsResponse;
+import com.couchbase.client.java.AsyncUtils;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.TypeRef;
 import com.couchbase.client.java.json.JsonObject;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Function;
 
 public class ReactiveAnalyticsResult {
 
@@ -32,9 +37,32 @@ public class ReactiveAnalyticsResult {
      */
     private final JsonSerializer serializer;
 
+    /**
+     * The maximum number of rows which are decoded at the same time.
+     */
+    private final int decodeParallelism;
+
+    /**
+     * If the decoded rows are emitted in the order the server returned them.
+     */
+    private final boolean preserveOrder;
+
+    /**
+     * The scheduler the rows are decoded on if they are decoded in parallel.
+     */
+    private final Scheduler scheduler;
+
     ReactiveAnalyticsResult(final AnalyticsResponse response, final JsonSerializer serializer) {
+        this(response, serializer, 1, true, null);
+    }
+
+    ReactiveAnalyticsResult(final AnalyticsResponse response, final JsonSerializer serializer,
+                            final int decodeParallelism, final boolean preserveOrder, final Scheduler scheduler) {
         this.response = response;
         this.serializer = serializer;
+        this.decodeParallelism = decodeParallelism;
+        this.preserveOrder = preserveOrder;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -48,11 +76,18 @@ public class ReactiveAnalyticsResult {
     }
 
     public <T> Flux<T> rowsAs(final Class<T> target) {
-        return response.rows().map(row -> serializer.deserialize(target, row.data()));
+        return decodeRows(row -> serializer.deserialize(target, row.data()));
     }
 
     public <T> Flux<T> rowsAs(final TypeRef<T> target) {
-        return response.rows().map(row -> serializer.deserialize(target, row.data()));
+        return decodeRows(row -> serializer.deserialize(target, row.data()));
+    }
+
+    /**
+     * Decodes the rows, in parallel if configured.
+     */
+    private <T> Flux<T> decodeRows(final Function<AnalyticsChunkRow, T> decoder) {
+        return AsyncUtils.decodeRows(response.rows(), decoder, decodeParallelism, preserveOrder, scheduler);
     }
 
     public Mono<AnalyticsMetaData> metaData() {
@@ -20,10 +20,14 @@ import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JavaType;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.ObjectMapper;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.EncodingFailureException;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.java.json.RepackagedJsonValueModule;
 import com.couchbase.client.core.encryption.CryptoManager;
 import com.couchbase.client.java.encryption.databind.jackson.repackaged.RepackagedEncryptionModule;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -77,6 +81,19 @@ public class DefaultJsonSerializer implements JsonSerializer {
     }
   }
 
+  @Override
+  public void serialize(final Object input, final OutputStream output) {
+    try {
+      if (input instanceof byte[]) {
+        output.write((byte[]) input);
+      } else {
+        mapper.writeValue(output, input);
+      }
+    } catch (Throwable t) {
+      throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", t);
+    }
+  }
+
   @Override
   public <T> T deserialize(final Class<T> target, final byte[] input) {
     if (target.equals(byte[].class)) {
@@ -102,4 +119,26 @@ public class DefaultJsonSerializer implements JsonSerializer {
     }
   }
 
+  @Override
+  public <T> T deserialize(final Class<T> target, final InputStream input) {
+    try {
+      if (target.equals(byte[].class)) {
+        return (T) Bytes.readAllBytes(input);
+      }
+      return mapper.readValue(input, target);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
+
+  @Override
+  public <T> T deserialize(final TypeRef<T> target, final InputStream input) {
+    try {
+      JavaType type = mapper.getTypeFactory().constructType(target.type());
+      return mapper.readValue(input, type);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
+
 }
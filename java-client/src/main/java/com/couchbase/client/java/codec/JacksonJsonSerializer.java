@@ -22,6 +22,7 @@ import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.encryption.CryptoManager;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.EncodingFailureException;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.java.encryption.annotation.Encrypted;
 import com.couchbase.client.java.encryption.databind.jackson.EncryptionModule;
 import com.couchbase.client.java.json.JsonObject;
@@ -30,6 +31,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
@@ -124,6 +128,19 @@ public class JacksonJsonSerializer implements JsonSerializer {
     }
   }
 
+  @Override
+  public void serialize(final Object input, final OutputStream output) {
+    try {
+      if (input instanceof byte[]) {
+        output.write((byte[]) input);
+      } else {
+        mapper.writeValue(output, input);
+      }
+    } catch (Throwable t) {
+      throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", t);
+    }
+  }
+
   @Override
   public <T> T deserialize(final Class<T> target, final byte[] input) {
     if (target.equals(byte[].class)) {
@@ -149,6 +166,28 @@ public class JacksonJsonSerializer implements JsonSerializer {
     }
   }
 
+  @Override
+  public <T> T deserialize(final Class<T> target, final InputStream input) {
+    try {
+      if (target.equals(byte[].class)) {
+        return (T) Bytes.readAllBytes(input);
+      }
+      return mapper.readValue(input, target);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
+
+  @Override
+  public <T> T deserialize(final TypeRef<T> target, final InputStream input) {
+    try {
+      JavaType type = mapper.getTypeFactory().constructType(target.type());
+      return mapper.readValue(input, type);
+    } catch (Throwable e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
+
   /**
    * Throws something if the user-provided Jackson library is absent or broken.
    *
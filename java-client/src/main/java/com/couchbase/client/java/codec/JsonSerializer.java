@@ -16,7 +16,17 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.error.EncodingFailureException;
+
+import com.couchbase.client.core.util.Bytes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static com.couchbase.client.core.logging.RedactableArgument.redactUser;
 
 /**
  * The {@link JsonSerializer} handles the serialization and deserialization of raw json data into java objects.
@@ -31,6 +41,25 @@ public interface JsonSerializer {
    */
   byte[] serialize(Object input);
 
+  /**
+   * Serializes the given input straight into the output stream.
+   * <p>
+   * Serializers which are able to stream their output should override this method, since it allows the SDK
+   * to write documents directly into pooled buffers. The default implementation delegates to
+   * {@link #serialize(Object)} and writes the result.
+   *
+   * @param input the object as input.
+   * @param output the stream to write the serialized output into.
+   */
+  @Stability.Volatile
+  default void serialize(Object input, OutputStream output) {
+    try {
+      output.write(serialize(input));
+    } catch (IOException e) {
+      throw new EncodingFailureException("Serializing of content + " + redactUser(input) + " to JSON failed.", e);
+    }
+  }
+
   /**
    * Deserializes raw input into the target class.
    *
@@ -52,4 +81,45 @@ public interface JsonSerializer {
   default <T> T deserialize(TypeRef<T> target, byte[] input) {
     throw new DecodingFailureException(getClass().getSimpleName() + " does not support decoding via TypeRef.");
   }
+
+  /**
+   * Deserializes the content of the input stream into the target class.
+   * <p>
+   * Serializers which are able to read from a stream should override this method, since it allows the SDK
+   * to decode rows straight from the network buffers. The default implementation reads the stream into a
+   * byte array and delegates to {@link #deserialize(Class, byte[])}.
+   *
+   * @param target the target class.
+   * @param input the stream holding the raw input.
+   * @param <T> the generic type to deserialize into.
+   * @return the deserialized output.
+   */
+  @Stability.Volatile
+  default <T> T deserialize(Class<T> target, InputStream input) {
+    try {
+      return deserialize(target, Bytes.readAllBytes(input));
+    } catch (IOException e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
+
+  /**
+   * Deserializes the content of the input stream into the target type.
+   * <p>
+   * The default implementation reads the stream into a byte array and delegates to
+   * {@link #deserialize(TypeRef, byte[])}.
+   *
+   * @param target the target type.
+   * @param input the stream holding the raw input.
+   * @param <T> the type to deserialize into.
+   * @return the deserialized output.
+   */
+  @Stability.Volatile
+  default <T> T deserialize(TypeRef<T> target, InputStream input) {
+    try {
+      return deserialize(target, Bytes.readAllBytes(input));
+    } catch (IOException e) {
+      throw new DecodingFailureException("Deserialization of content into target " + target + " failed.", e);
+    }
+  }
 }
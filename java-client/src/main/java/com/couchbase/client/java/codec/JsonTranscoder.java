@@ -16,6 +16,9 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufOutputStream;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.CommonOptions;
@@ -24,8 +27,21 @@ import static java.util.Objects.requireNonNull;
 
 public class JsonTranscoder implements Transcoder {
 
+  /**
+   * The smallest initial capacity used when encoding into a buffer.
+   */
+  private static final int MIN_SIZE_HINT = 256;
+
   private final JsonSerializer serializer;
 
+  /**
+   * The initial capacity for the next buffer, based on the size of the last encoded document.
+   * <p>
+   * Documents written with the same transcoder tend to be of similar size, so this avoids growing (and copying)
+   * the buffer multiple times while serializing larger documents. Races on this field are harmless.
+   */
+  private volatile int sizeHint = MIN_SIZE_HINT;
+
   public static JsonTranscoder create(JsonSerializer serializer) {
     return new JsonTranscoder(serializer);
   }
@@ -36,6 +52,26 @@ public class JsonTranscoder implements Transcoder {
 
   @Override
   public EncodedValue encode(final Object input) {
+    verifyEncodable(input);
+    return new EncodedValue(serializer.serialize(input), CodecFlags.JSON_COMPAT_FLAGS);
+  }
+
+  @Override
+  public EncodedValue encode(final Object input, final ByteBufAllocator allocator) {
+    verifyEncodable(input);
+
+    ByteBuf buffer = allocator.buffer(sizeHint);
+    try {
+      serializer.serialize(input, new ByteBufOutputStream(buffer));
+    } catch (Throwable t) {
+      buffer.release();
+      throw t;
+    }
+    sizeHint = Math.max(buffer.readableBytes(), MIN_SIZE_HINT);
+    return new EncodedValue(buffer, CodecFlags.JSON_COMPAT_FLAGS);
+  }
+
+  private static void verifyEncodable(final Object input) {
     if (input instanceof CommonOptions.BuiltCommonOptions || input instanceof CommonOptions) {
       throw InvalidArgumentException.fromMessage("No content provided, cannot " +
         "encode " + input.getClass().getSimpleName() + " as content!");
@@ -46,8 +82,6 @@ public class JsonTranscoder implements Transcoder {
         "If you want to store already encoded JSON, use the RawJsonTranscoder, otherwise store it " +
         "with the RawBinaryTranscoder!");
     }
-
-    return new EncodedValue(serializer.serialize(input), CodecFlags.JSON_COMPAT_FLAGS);
   }
 
   @Override
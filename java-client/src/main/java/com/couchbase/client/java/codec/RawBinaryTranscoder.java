@@ -16,6 +16,8 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.error.DecodingFailureException;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
@@ -41,6 +43,21 @@ public class RawBinaryTranscoder implements Transcoder {
     }
   }
 
+  /**
+   * Encodes the given input, which can also be a {@link ByteBuf} when the content is already held in a
+   * (pooled) buffer.
+   * <p>
+   * A buffer is passed through as-is and ownership is handed over to the SDK, which releases it once the
+   * operation completes.
+   */
+  @Override
+  public EncodedValue encode(final Object input, final ByteBufAllocator allocator) {
+    if (input instanceof ByteBuf) {
+      return new EncodedValue((ByteBuf) input, CodecFlags.BINARY_COMPAT_FLAGS);
+    }
+    return encode(input);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T decode(final Class<T> target, final byte[] input, int flags) {
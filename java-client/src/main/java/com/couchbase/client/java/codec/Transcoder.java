@@ -16,6 +16,11 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.error.DecodingFailureException;
 
 /**
@@ -32,6 +37,22 @@ public interface Transcoder {
    */
   EncodedValue encode(Object input);
 
+  /**
+   * Encodes the given input into the wire representation, allocating the output from the given allocator.
+   * <p>
+   * Transcoders which are able to write their output straight into a (pooled) buffer should override this
+   * method, since it avoids materializing the encoded payload as an intermediate byte array. The default
+   * implementation delegates to {@link #encode(Object)}.
+   *
+   * @param input the input object to encode.
+   * @param allocator the allocator to use if the output is written into a buffer.
+   * @return the encoded wire representation of the payload.
+   */
+  @Stability.Volatile
+  default EncodedValue encode(Object input, ByteBufAllocator allocator) {
+    return encode(input);
+  }
+
   /**
    * Decodes the wire representation into the entity based on the data format.
    *
@@ -60,15 +81,48 @@ public interface Transcoder {
   class EncodedValue {
 
     private final byte[] encoded;
+    private final ByteBuf encodedBuffer;
     private final int flags;
 
     public EncodedValue(final byte[] encoded, final int flags) {
       this.encoded = encoded;
+      this.encodedBuffer = null;
+      this.flags = flags;
+    }
+
+    /**
+     * Creates an encoded value which is backed by a (usually pooled) buffer.
+     * <p>
+     * Ownership of the buffer is handed over to the SDK, which releases it once the operation it is used for
+     * completes.
+     *
+     * @param encoded the buffer holding the encoded value in its readable bytes.
+     * @param flags the flags on the wire.
+     */
+    @Stability.Volatile
+    public EncodedValue(final ByteBuf encoded, final int flags) {
+      this.encoded = null;
+      this.encodedBuffer = encoded;
       this.flags = flags;
     }
 
+    /**
+     * Returns the encoded value as a byte array.
+     * <p>
+     * Note that if this value is backed by a buffer, its content is copied into a new array on every call.
+     */
     public byte[] encoded() {
-      return encoded;
+      return encoded != null ? encoded : ByteBufUtil.getBytes(encodedBuffer);
+    }
+
+    /**
+     * Returns the encoded value as a buffer, either the backing one or a wrapper around the byte array.
+     * <p>
+     * Ownership of the returned buffer is with the caller.
+     */
+    @Stability.Internal
+    public ByteBuf encodedBuffer() {
+      return encodedBuffer != null ? encodedBuffer : Unpooled.wrappedBuffer(encoded);
     }
 
     public int flags() {
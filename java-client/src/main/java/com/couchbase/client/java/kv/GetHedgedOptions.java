@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.service.kv.HedgeDelay;
+import com.couchbase.client.java.CommonOptions;
+import com.couchbase.client.java.codec.Transcoder;
+
+import java.time.Duration;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+@Stability.Volatile
+public class GetHedgedOptions extends CommonOptions<GetHedgedOptions> {
+
+  /**
+   * Holds the transcoder used for decoding.
+   */
+  private Transcoder transcoder;
+
+  /**
+   * Decides how long to wait for the active before a replica is asked as well.
+   */
+  private HedgeDelay hedgeDelay;
+
+  /**
+   * Creates a new set of {@link GetHedgedOptions}.
+   *
+   * @return options to customize.
+   */
+  public static GetHedgedOptions getHedgedOptions() {
+    return new GetHedgedOptions();
+  }
+
+  private GetHedgedOptions() {
+  }
+
+  /**
+   * Allows to specify a custom transcoder that is used to decode the content of the result.
+   *
+   * @param transcoder the custom transcoder that should be used for decoding.
+   * @return the {@link GetHedgedOptions} to allow method chaining.
+   */
+  public GetHedgedOptions transcoder(final Transcoder transcoder) {
+    notNull(transcoder, "Transcoder");
+    this.transcoder = transcoder;
+    return this;
+  }
+
+  /**
+   * Waits for a fixed delay on the active before a replica is asked as well.
+   *
+   * @param hedgeDelay the delay after which the replica is asked.
+   * @return the {@link GetHedgedOptions} to allow method chaining.
+   */
+  public GetHedgedOptions hedgeDelay(final Duration hedgeDelay) {
+    notNull(hedgeDelay, "HedgeDelay");
+    this.hedgeDelay = HedgeDelay.fixed(hedgeDelay);
+    return this;
+  }
+
+  /**
+   * Uses a custom {@link HedgeDelay} to decide how long to wait for the active before a replica is asked as well.
+   * <p>
+   * Adaptive delays like {@link HedgeDelay#percentile(double, Duration)} learn from the reads they are used for,
+   * so the same instance should be passed to all reads. If not set, the collection uses its own adaptive delay.
+   *
+   * @param hedgeDelay the hedge delay to use.
+   * @return the {@link GetHedgedOptions} to allow method chaining.
+   */
+  public GetHedgedOptions hedgeDelay(final HedgeDelay hedgeDelay) {
+    notNull(hedgeDelay, "HedgeDelay");
+    this.hedgeDelay = hedgeDelay;
+    return this;
+  }
+
+  @Stability.Internal
+  public Built build() {
+    return new Built();
+  }
+
+  public class Built extends BuiltCommonOptions {
+
+    Built() { }
+
+    public Transcoder transcoder() {
+      return transcoder;
+    }
+
+    public HedgeDelay hedgeDelay() {
+      return hedgeDelay;
+    }
+
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.CouchbaseException;
+
+import java.util.Optional;
+
+/**
+ * The outcome of a single document inside a bulk operation, like
+ * {@link com.couchbase.client.java.ReactiveCollection#getMulti(java.util.Collection)}.
+ * <p>
+ * Every document of a bulk operation succeeds or fails on its own, so this result either holds the result of the
+ * operation or the error which caused it to fail.
+ *
+ * @param <T> the type of the result on success.
+ */
+@Stability.Volatile
+public class MultiResult<T> {
+
+  /**
+   * The id of the document this result belongs to.
+   */
+  private final String id;
+
+  /**
+   * The result if successful, null otherwise.
+   */
+  private final T result;
+
+  /**
+   * The error if failed, null otherwise.
+   */
+  private final Throwable error;
+
+  private MultiResult(final String id, final T result, final Throwable error) {
+    this.id = id;
+    this.result = result;
+    this.error = error;
+  }
+
+  @Stability.Internal
+  public static <T> MultiResult<T> success(final String id, final T result) {
+    return new MultiResult<>(id, result, null);
+  }
+
+  @Stability.Internal
+  public static <T> MultiResult<T> failure(final String id, final Throwable error) {
+    return new MultiResult<>(id, null, error);
+  }
+
+  /**
+   * Returns the id of the document this result belongs to.
+   */
+  public String id() {
+    return id;
+  }
+
+  /**
+   * True if the operation on this document succeeded.
+   */
+  public boolean success() {
+    return error == null;
+  }
+
+  /**
+   * Returns the result of the operation on this document.
+   *
+   * @return the result if successful.
+   * @throws CouchbaseException (or a subclass) if the operation on this document failed.
+   */
+  public T result() {
+    if (error == null) {
+      return result;
+    }
+    if (error instanceof RuntimeException) {
+      throw (RuntimeException) error;
+    }
+    throw new CouchbaseException("Operation on document failed", error);
+  }
+
+  /**
+   * Returns the error which caused the operation on this document to fail, if any.
+   */
+  public Optional<Throwable> error() {
+    return Optional.ofNullable(error);
+  }
+
+  @Override
+  public String toString() {
+    return "MultiResult{" +
+      "id='" + id + '\'' +
+      ", result=" + result +
+      ", error=" + error +
+      '}';
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetMetaRequest;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.java.codec.Transcoder;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps recently fetched documents of a collection in memory, see {@link NearCacheConfig}.
+ * <p>
+ * The documents are spread over a number of segments, each of which is a small LRU map guarded by its own lock, so
+ * that concurrent reads of different documents rarely contend. Each segment also counts the invalidations it has
+ * seen: a fetch only stores its result if no document of its segment has been invalidated while it was in flight,
+ * so a read racing with a mutation by this client never puts the old content back into the cache.
+ */
+@Stability.Internal
+public class NearCache {
+
+  /**
+   * The maximum number of segments the cache is split into.
+   */
+  static final int MAX_SEGMENTS = 16;
+
+  public static final String OUTCOME_HIT = "hit";
+  public static final String OUTCOME_MISS = "miss";
+  public static final String OUTCOME_REVALIDATED = "revalidated";
+  public static final String OUTCOME_STALE = "stale";
+  public static final String OUTCOME_EVICTED = "evicted";
+
+  private final Core core;
+  private final boolean revalidate;
+  private final long ttlNanos;
+  private final LongSupplier clock;
+  private final Segment[] segments;
+
+  /**
+   * A document has been served from the cache without contacting the server.
+   */
+  private final Counter hits;
+
+  /**
+   * A document had to be fetched from the server.
+   */
+  private final Counter misses;
+
+  /**
+   * An expired document has been served after the server confirmed its CAS did not change.
+   */
+  private final Counter revalidated;
+
+  /**
+   * An expired document has been served because revalidating it failed.
+   */
+  private final Counter stale;
+
+  /**
+   * A document has been removed to make room for others.
+   */
+  private final Counter evictions;
+
+  public NearCache(final Core core, final NearCacheConfig config, final CollectionIdentifier collectionIdentifier) {
+    this(core, config, collectionIdentifier, System::nanoTime);
+  }
+
+  NearCache(final Core core, final NearCacheConfig config, final CollectionIdentifier collectionIdentifier,
+            final LongSupplier clock) {
+    this.core = core;
+    this.revalidate = config.revalidate();
+    this.ttlNanos = config.ttl().toNanos();
+    this.clock = clock;
+
+    int numSegments = Math.min(MAX_SEGMENTS, Integer.highestOneBit(config.maxEntries()));
+    this.segments = new Segment[numSegments];
+    for (int i = 0; i < numSegments; i++) {
+      segments[i] = new Segment(config.maxEntries() / numSegments, Math.max(1, config.maxWeight() / numSegments));
+    }
+
+    Meter meter = core.context().environment().meter();
+    this.hits = meter.counter(TracingIdentifiers.METER_NEAR_CACHE, tags(collectionIdentifier, OUTCOME_HIT));
+    this.misses = meter.counter(TracingIdentifiers.METER_NEAR_CACHE, tags(collectionIdentifier, OUTCOME_MISS));
+    this.revalidated = meter.counter(TracingIdentifiers.METER_NEAR_CACHE, tags(collectionIdentifier, OUTCOME_REVALIDATED));
+    this.stale = meter.counter(TracingIdentifiers.METER_NEAR_CACHE, tags(collectionIdentifier, OUTCOME_STALE));
+    this.evictions = meter.counter(TracingIdentifiers.METER_NEAR_CACHE, tags(collectionIdentifier, OUTCOME_EVICTED));
+  }
+
+  private static Map<String, String> tags(final CollectionIdentifier collectionIdentifier, final String outcome) {
+    Map<String, String> tags = new HashMap<>(4);
+    tags.put(TracingIdentifiers.ATTR_NAME, collectionIdentifier.bucket());
+    tags.put(TracingIdentifiers.ATTR_SCOPE, collectionIdentifier.scope().orElse(CollectionIdentifier.DEFAULT_SCOPE));
+    tags.put(TracingIdentifiers.ATTR_COLLECTION,
+      collectionIdentifier.collection().orElse(CollectionIdentifier.DEFAULT_COLLECTION));
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return tags;
+  }
+
+  /**
+   * Serves the document from the cache if possible, and fetches (and caches) it otherwise.
+   *
+   * @param id the document ID.
+   * @param getRequest creates the request to fetch the full document.
+   * @param getMetaRequest creates the request to fetch the CAS when revalidating.
+   * @param transcoder the transcoder used to decode the document.
+   * @return a {@link CompletableFuture} completing once the document is available.
+   */
+  public CompletableFuture<GetResult> get(final String id, final Supplier<GetRequest> getRequest,
+                                          final Supplier<GetMetaRequest> getMetaRequest, final Transcoder transcoder) {
+    Segment segment = segment(id);
+    Entry entry = segment.get(id);
+    if (entry != null) {
+      if (clock.getAsLong() - entry.validatedAt < ttlNanos) {
+        hits.incrementBy(1);
+        return CompletableFuture.completedFuture(entry.toResult(transcoder));
+      }
+      if (revalidate) {
+        return revalidate(id, segment, entry, getRequest, getMetaRequest, transcoder);
+      }
+      segment.remove(id, entry);
+    }
+
+    misses.incrementBy(1);
+    return fetch(id, segment, getRequest, transcoder);
+  }
+
+  /**
+   * Fetches the full document and stores it, unless the document has been invalidated in the meantime.
+   */
+  private CompletableFuture<GetResult> fetch(final String id, final Segment segment,
+                                             final Supplier<GetRequest> getRequest, final Transcoder transcoder) {
+    long generation = segment.generation();
+    return GetAccessor.get(core, getRequest.get(), transcoder).thenApply(result -> {
+      segment.put(id, generation, new Entry(id, result.content, result.flags, result.cas(), clock.getAsLong()));
+      return result;
+    });
+  }
+
+  /**
+   * Checks if the CAS of an expired document is still the same, and only fetches the full document if it is not.
+   * <p>
+   * If the CAS cannot be checked (i.e. because the request timed out), the expired document is served since it is
+   * the best answer available.
+   */
+  private CompletableFuture<GetResult> revalidate(final String id, final Segment segment, final Entry entry,
+                                                  final Supplier<GetRequest> getRequest,
+                                                  final Supplier<GetMetaRequest> getMetaRequest,
+                                                  final Transcoder transcoder) {
+    GetMetaRequest request = getMetaRequest.get();
+    core.send(request);
+    return request
+      .response()
+      .whenComplete((response, error) -> request.context().logicallyComplete())
+      .handle((response, error) -> {
+        if (error != null || (!response.status().success() && response.status() != ResponseStatus.NOT_FOUND)) {
+          stale.incrementBy(1);
+          return CompletableFuture.completedFuture(entry.toResult(transcoder));
+        }
+        if (response.status().success() && !response.deleted() && response.cas() == entry.cas) {
+          entry.validatedAt = clock.getAsLong();
+          revalidated.incrementBy(1);
+          return CompletableFuture.completedFuture(entry.toResult(transcoder));
+        }
+        segment.remove(id, entry);
+        misses.incrementBy(1);
+        return fetch(id, segment, getRequest, transcoder);
+      })
+      .thenCompose(result -> result);
+  }
+
+  /**
+   * Removes the document from the cache and keeps fetches in flight from storing it.
+   *
+   * @param id the document ID.
+   */
+  public void invalidate(final String id) {
+    segment(id).invalidate(id);
+  }
+
+  /**
+   * Invalidates the document once the mutation is issued and once more after it completed, since a fetch which
+   * started in between might still have read the old content.
+   *
+   * @param id the ID of the mutated document.
+   * @param request the mutation request.
+   */
+  public void invalidate(final String id, final Request<?> request) {
+    invalidate(id);
+    request.response().whenComplete((response, error) -> invalidate(id));
+  }
+
+  /**
+   * Removes all documents from the cache.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns the number of documents currently cached.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the combined size of the documents currently cached, in bytes.
+   */
+  public long weight() {
+    long weight = 0;
+    for (Segment segment : segments) {
+      weight += segment.weight();
+    }
+    return weight;
+  }
+
+  private Segment segment(final String id) {
+    int hash = id.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  /**
+   * A cached document.
+   * <p>
+   * The content is copied when it is stored and every time it is served, since the decoded byte arrays are handed
+   * out to the callers as-is and a caller modifying its result must not change what other readers see.
+   */
+  private static class Entry {
+
+    private final byte[] content;
+    private final int flags;
+    private final long cas;
+    private final long weight;
+    private volatile long validatedAt;
+
+    Entry(final String id, final byte[] content, final int flags, final long cas, final long validatedAt) {
+      this.content = content.clone();
+      this.flags = flags;
+      this.cas = cas;
+      this.weight = (long) id.length() + content.length;
+      this.validatedAt = validatedAt;
+    }
+
+    GetResult toResult(final Transcoder transcoder) {
+      return new GetResult(content.clone(), flags, cas, Optional.empty(), transcoder);
+    }
+
+  }
+
+  /**
+   * Holds a share of the cached documents in least recently used order.
+   */
+  private class Segment {
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxWeight;
+    private long weight;
+    private long generation;
+
+    Segment(final int maxEntries, final long maxWeight) {
+      this.maxEntries = maxEntries;
+      this.maxWeight = maxWeight;
+    }
+
+    synchronized Entry get(final String id) {
+      return entries.get(id);
+    }
+
+    synchronized long generation() {
+      return generation;
+    }
+
+    void put(final String id, final long fetchedAtGeneration, final Entry entry) {
+      int evicted = 0;
+      synchronized (this) {
+        if (fetchedAtGeneration != generation || entry.weight > maxWeight) {
+          return;
+        }
+
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+          weight -= previous.weight;
+        }
+        weight += entry.weight;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || weight > maxWeight) {
+          weight -= eldest.next().weight;
+          eldest.remove();
+          evicted++;
+        }
+      }
+      if (evicted > 0) {
+        evictions.incrementBy(evicted);
+      }
+    }
+
+    synchronized void remove(final String id, final Entry entry) {
+      if (entries.remove(id, entry)) {
+        weight -= entry.weight;
+      }
+    }
+
+    synchronized void invalidate(final String id) {
+      generation++;
+      Entry removed = entries.remove(id);
+      if (removed != null) {
+        weight -= removed.weight;
+      }
+    }
+
+    synchronized void clear() {
+      generation++;
+      entries.clear();
+      weight = 0;
+    }
+
+    synchronized int size() {
+      return entries.size();
+    }
+
+    synchronized long weight() {
+      return weight;
+    }
+
+  }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.error.InvalidArgumentException;
+
+import java.time.Duration;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Allows configuring the near cache of a collection.
+ * <p>
+ * The near cache keeps recently read documents in memory on the client, bounded by both the number of documents and
+ * their combined size. Documents are served from the cache until their time to live expires, and are dropped as soon
+ * as this client issues a mutation against them. Mutations by other clients are only noticed once the time to live
+ * expired, so it should be chosen according to how stale a read is allowed to be.
+ */
+@Stability.Volatile
+public class NearCacheConfig {
+
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+  public static final long DEFAULT_MAX_WEIGHT = 64 * 1024 * 1024;
+  public static final Duration DEFAULT_TTL = Duration.ofSeconds(10);
+  public static final boolean DEFAULT_REVALIDATE = false;
+
+  /**
+   * The maximum number of documents kept.
+   */
+  private final int maxEntries;
+
+  /**
+   * The maximum combined size of the documents kept, in bytes.
+   */
+  private final long maxWeight;
+
+  /**
+   * How long a document is served from the cache.
+   */
+  private final Duration ttl;
+
+  /**
+   * If expired documents are revalidated by comparing their CAS instead of being fetched again.
+   */
+  private final boolean revalidate;
+
+  /**
+   * Creates a {@link NearCacheConfig} with default arguments.
+   *
+   * @return a new {@link NearCacheConfig}.
+   */
+  public static NearCacheConfig create() {
+    return builder().build();
+  }
+
+  /**
+   * This builder allows to customize a {@link NearCacheConfig}.
+   *
+   * @return a builder to configure {@link NearCacheConfig}.
+   */
+  public static Builder builder() {
+    return new NearCacheConfig.Builder();
+  }
+
+  /**
+   * The maximum number of documents kept in the cache.
+   *
+   * <p>The default is 10000.</p>
+   *
+   * @param maxEntries the maximum number of documents.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder maxEntries(int maxEntries) {
+    return builder().maxEntries(maxEntries);
+  }
+
+  /**
+   * The maximum combined size of the documents (including their IDs) kept in the cache.
+   *
+   * <p>The default is 64 MiB.</p>
+   *
+   * @param maxWeight the maximum size in bytes.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder maxWeight(long maxWeight) {
+    return builder().maxWeight(maxWeight);
+  }
+
+  /**
+   * How long a document is served from the cache after it has been fetched (or revalidated).
+   *
+   * <p>The default is 10 seconds.</p>
+   *
+   * @param ttl the time to live of a cached document.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder ttl(Duration ttl) {
+    return builder().ttl(ttl);
+  }
+
+  /**
+   * If set to true, an expired document is revalidated by fetching only its metadata and comparing the CAS, instead
+   * of fetching the full document again.
+   *
+   * <p>The default is false.</p>
+   *
+   * @param revalidate true to revalidate expired documents through their CAS.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder revalidate(boolean revalidate) {
+    return builder().revalidate(revalidate);
+  }
+
+  /**
+   * Internal constructor for a near cache config.
+   *
+   * @param builder the builder used to customize the options.
+   */
+  private NearCacheConfig(final Builder builder) {
+    this.maxEntries = builder.maxEntries;
+    this.maxWeight = builder.maxWeight;
+    this.ttl = builder.ttl;
+    this.revalidate = builder.revalidate;
+  }
+
+  /**
+   * Returns the maximum number of documents kept in the cache.
+   *
+   * @return the maximum number of documents.
+   */
+  public int maxEntries() {
+    return maxEntries;
+  }
+
+  /**
+   * Returns the maximum combined size of the documents kept in the cache.
+   *
+   * @return the maximum size in bytes.
+   */
+  public long maxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Returns how long a document is served from the cache.
+   *
+   * @return the time to live of a cached document.
+   */
+  public Duration ttl() {
+    return ttl;
+  }
+
+  /**
+   * True if expired documents are revalidated through their CAS.
+   *
+   * @return true if revalidation is enabled, false otherwise.
+   */
+  public boolean revalidate() {
+    return revalidate;
+  }
+
+  /**
+   * This builder allows to customize the near cache configuration.
+   */
+  public static class Builder {
+
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private long maxWeight = DEFAULT_MAX_WEIGHT;
+    private Duration ttl = DEFAULT_TTL;
+    private boolean revalidate = DEFAULT_REVALIDATE;
+
+    /**
+     * Builds the {@link NearCacheConfig} out of this builder.
+     *
+     * @return the built config.
+     */
+    public NearCacheConfig build() {
+      return new NearCacheConfig(this);
+    }
+
+    /**
+     * The maximum number of documents kept in the cache.
+     *
+     * <p>The default is 10000.</p>
+     *
+     * @param maxEntries the maximum number of documents.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder maxEntries(int maxEntries) {
+      if (maxEntries <= 0) {
+        throw InvalidArgumentException.fromMessage("The maximum number of entries must be positive, but is "
+          + maxEntries);
+      }
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * The maximum combined size of the documents (including their IDs) kept in the cache.
+     *
+     * <p>The default is 64 MiB.</p>
+     *
+     * @param maxWeight the maximum size in bytes.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder maxWeight(long maxWeight) {
+      if (maxWeight <= 0) {
+        throw InvalidArgumentException.fromMessage("The maximum weight must be positive, but is " + maxWeight);
+      }
+      this.maxWeight = maxWeight;
+      return this;
+    }
+
+    /**
+     * How long a document is served from the cache after it has been fetched (or revalidated).
+     *
+     * <p>The default is 10 seconds.</p>
+     *
+     * @param ttl the time to live of a cached document, must be positive.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder ttl(Duration ttl) {
+      notNull(ttl, "TTL");
+      if (ttl.isZero() || ttl.isNegative()) {
+        throw InvalidArgumentException.fromMessage("The TTL must be positive, but is " + ttl);
+      }
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * If set to true, an expired document is revalidated by fetching only its metadata and comparing the CAS,
+     * instead of fetching the full document again.
+     *
+     * <p>The default is false.</p>
+     *
+     * @param revalidate true to revalidate expired documents through their CAS.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder revalidate(boolean revalidate) {
+      this.revalidate = revalidate;
+      return this;
+    }
+
+  }
+
+}
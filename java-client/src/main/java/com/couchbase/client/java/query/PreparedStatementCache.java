@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.cnc.Counter;
+import com.couchbase.client.core.cnc.Meter;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the prepared statements of the {@link QueryAccessor}, bounded by their number.
+ * <p>
+ * The statements are spread over a number of segments, each of which is a small LRU map guarded by its own lock,
+ * so that concurrent queries only contend if their statements happen to share a segment.
+ *
+ * @param <V> the type of the cached prepared statements.
+ */
+class PreparedStatementCache<V> {
+
+  /**
+   * The maximum number of segments the cache is split into.
+   */
+  static final int MAX_SEGMENTS = 16;
+
+  static final String OUTCOME_HIT = "hit";
+  static final String OUTCOME_MISS = "miss";
+  static final String OUTCOME_EVICTED = "evicted";
+
+  private final Segment[] segments;
+
+  /**
+   * A prepared statement has been found in the cache.
+   */
+  private final Counter hits;
+
+  /**
+   * A statement has not been found in the cache and needs to be prepared.
+   */
+  private final Counter misses;
+
+  /**
+   * A prepared statement has been removed to make room for others.
+   */
+  private final Counter evictions;
+
+  @SuppressWarnings("unchecked")
+  PreparedStatementCache(final int maxEntries, final Meter meter) {
+    int numSegments = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries));
+    this.segments = new PreparedStatementCache.Segment[numSegments];
+    for (int i = 0; i < numSegments; i++) {
+      // Spread the remainder so that the segments together hold exactly maxEntries statements.
+      segments[i] = new Segment(maxEntries / numSegments + (i < maxEntries % numSegments ? 1 : 0));
+    }
+
+    this.hits = meter.counter(TracingIdentifiers.METER_QUERY_PREPARED_STATEMENTS, tags(OUTCOME_HIT));
+    this.misses = meter.counter(TracingIdentifiers.METER_QUERY_PREPARED_STATEMENTS, tags(OUTCOME_MISS));
+    this.evictions = meter.counter(TracingIdentifiers.METER_QUERY_PREPARED_STATEMENTS, tags(OUTCOME_EVICTED));
+  }
+
+  private static Map<String, String> tags(final String outcome) {
+    Map<String, String> tags = new HashMap<>(2);
+    tags.put(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_QUERY);
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return tags;
+  }
+
+  /**
+   * Returns the prepared statement and counts the lookup as a hit or miss.
+   *
+   * @param statement the statement to look up.
+   * @return the prepared statement, or null if not cached.
+   */
+  V get(final String statement) {
+    V value = segment(statement).get(statement);
+    if (value == null) {
+      misses.incrementBy(1);
+    } else {
+      hits.incrementBy(1);
+    }
+    return value;
+  }
+
+  /**
+   * Stores the prepared statement, evicting the least recently used one of its segment if needed.
+   */
+  void put(final String statement, final V value) {
+    if (segment(statement).put(statement, value)) {
+      evictions.incrementBy(1);
+    }
+  }
+
+  void remove(final String statement) {
+    segment(statement).remove(statement);
+  }
+
+  /**
+   * Returns the number of prepared statements currently cached.
+   */
+  int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  private Segment segment(final String statement) {
+    int hash = statement.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  /**
+   * Holds a share of the prepared statements in least recently used order.
+   */
+  private class Segment {
+
+    private final LinkedHashMap<String, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+
+    Segment(final int maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+
+    synchronized V get(final String statement) {
+      return entries.get(statement);
+    }
+
+    /**
+     * Returns true if the least recently used statement has been evicted to make room.
+     */
+    synchronized boolean put(final String statement, final V value) {
+      entries.put(statement, value);
+      if (entries.size() > maxEntries) {
+        Iterator<V> eldest = entries.values().iterator();
+        eldest.next();
+        eldest.remove();
+        return true;
+      }
+      return false;
+    }
+
+    synchronized void remove(final String statement) {
+      entries.remove(statement);
+    }
+
+    synchronized int size() {
+      return entries.size();
+    }
+
+  }
+
+}
@@ -34,16 +34,16 @@ import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.retry.RetryReason;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.service.ServiceType;
-import com.couchbase.client.core.util.LRUCache;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.json.JsonObject;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -66,16 +66,9 @@ import static com.couchbase.client.java.query.QueryOptions.queryOptions;
 @Stability.Internal
 public class QueryAccessor {
     /**
-     * The maximum number of prepared queries that will be kept around if the cache is enabled.
+     * Holds the query cache, bounded by {@link com.couchbase.client.core.env.IoConfig#maxQueryPreparedStatements()}.
      */
-    private static final int QUERY_CACHE_SIZE = 5000;
-
-    /**
-     * Holds the query cache.
-     */
-    private final Map<String, QueryCacheEntry> queryCache = Collections.synchronizedMap(
-      new LRUCache<>(QUERY_CACHE_SIZE)
-    );
+    private final PreparedStatementCache<QueryCacheEntry> queryCache;
 
     private final Core core;
 
@@ -86,6 +79,8 @@ public class QueryAccessor {
 
     public QueryAccessor(final Core core) {
         this.core = core;
+        CoreEnvironment env = core.context().environment();
+        this.queryCache = new PreparedStatementCache<>(env.ioConfig().maxQueryPreparedStatements(), env.meter());
 
         core
           .configurationProvider()
@@ -137,13 +132,60 @@ public class QueryAccessor {
     /**
      * Performs a N1QL query and returns the result as a future.
      *
+     * <p>Since the rows are decoded as they are consumed, this is the only place where rows are delivered without
+     * copying them if the options ask for it.</p>
+     *
      * @param request the request to perform.
      * @param options query options to use.
      * @return the mono once the result is complete.
      */
     public Mono<ReactiveQueryResult> queryReactive(final QueryRequest request, final QueryOptions.Built options,
                                                    final JsonSerializer serializer) {
-        return queryInternal(request, options, options.adhoc(), serializer).map(r -> new ReactiveQueryResult(r, serializer));
+        request.zeroCopyRows(options.zeroCopyRows());
+        return queryInternal(request, options, options.adhoc(), serializer)
+          .map(r -> new ReactiveQueryResult(
+            r,
+            serializer,
+            request.zeroCopyRows(),
+            options.decodeParallelism(),
+            options.preserveOrder(),
+            core.context().environment().scheduler()
+          ));
+    }
+
+    /**
+     * Prepares the statements of the requests and stores them in the query cache, without executing them.
+     *
+     * <p>This allows to pre-warm the cache (i.e. during application startup), so that the first executions of the
+     * statements do not have to wait for a prepare round-trip. All statements are prepared even if some of them
+     * fail, and the returned future fails with the first error encountered.</p>
+     *
+     * @param requests the requests whose statements should be prepared, they are not executed.
+     * @param serializer the serializer used to decode the prepare results.
+     * @return a future which completes once all statements are prepared.
+     */
+    public CompletableFuture<Void> prepareAsync(final List<QueryRequest> requests, final JsonSerializer serializer) {
+        return prepareReactive(requests, serializer).toFuture();
+    }
+
+    /**
+     * Prepares the statements of the requests and stores them in the query cache, without executing them.
+     *
+     * @param requests the requests whose statements should be prepared, they are not executed.
+     * @param serializer the serializer used to decode the prepare results.
+     * @return a mono which completes once all statements are prepared.
+     * @see #prepareAsync(List, JsonSerializer)
+     */
+    public Mono<Void> prepareReactive(final List<QueryRequest> requests, final JsonSerializer serializer) {
+        return Flux
+          .fromIterable(requests)
+          .flatMapDelayError(
+            request -> prepare(request, queryOptions().build(), serializer)
+              .doFinally(signalType -> request.context().logicallyComplete()),
+            Queues.SMALL_BUFFER_SIZE,
+            Queues.XS_BUFFER_SIZE
+          )
+          .then();
     }
 
     /**
@@ -187,10 +229,9 @@ public class QueryAccessor {
         boolean enhancedEnabled = enhancedPreparedEnabled;
 
         if (cacheEntry != null && cacheEntryStillValid(cacheEntry, enhancedEnabled)) {
-            return queryInternal(buildExecuteRequest(cacheEntry, request, options), options, true, serializer)
-                .onErrorResume(new PreparedRetryFunction(request, options, serializer));
+            return execute(cacheEntry, request, options, serializer);
         } else if (enhancedEnabled) {
-            return queryInternal(buildPrepareRequest(request, options), options, true, serializer)
+            return queryInternal(buildPrepareRequest(request, options, true), options, true, serializer)
               .flatMap(qr -> {
                   Optional<String> preparedName = qr.header().prepared();
                   if (!preparedName.isPresent()) {
@@ -205,30 +246,53 @@ public class QueryAccessor {
                   return Mono.just(qr);
               });
         } else {
-            return queryReactive(buildPrepareRequest(request, options), queryOptions().build(), serializer)
-              .flatMap(result -> result.rowsAsObject().next())
-              .map(row -> {
-                  queryCache.put(
-                    request.statement(),
-                    new QueryCacheEntry(
-                      true,
-                      row.getString("encoded_plan"),
-                      row.getString("name")
-                    )
-                  );
-                  return row;
-              })
-              .then(Mono.defer(() -> maybePrepareAndExecute(request, options, serializer)));
+            return prepare(request, options, serializer)
+              .flatMap(entry -> execute(entry, request, options, serializer));
         }
     }
 
+    /**
+     * Executes the statement through its cached prepared statement.
+     */
+    private Mono<QueryResponse> execute(final QueryCacheEntry cacheEntry, final QueryRequest request,
+                                        final QueryOptions.Built options, final JsonSerializer serializer) {
+        return queryInternal(buildExecuteRequest(cacheEntry, request, options), options, true, serializer)
+          .onErrorResume(new PreparedRetryFunction(request, options, serializer));
+    }
+
+    /**
+     * Prepares the statement without executing it and stores the result in the query cache.
+     *
+     * <p>If enhanced prepared statements are enabled only the name needs to be kept, otherwise the full plan
+     * has to be sent along with every execution.</p>
+     *
+     * @param request the request whose statement should be prepared.
+     * @param options query options to use.
+     * @return the mono completing with the cache entry once the statement is prepared.
+     */
+    private Mono<QueryCacheEntry> prepare(final QueryRequest request, final QueryOptions.Built options,
+                                          final JsonSerializer serializer) {
+        boolean enhancedEnabled = enhancedPreparedEnabled;
+        return queryReactive(buildPrepareRequest(request, options, false), queryOptions().build(), serializer)
+          .flatMap(result -> result.rowsAsObject().next())
+          .map(row -> {
+              QueryCacheEntry entry = enhancedEnabled
+                ? new QueryCacheEntry(false, null, row.getString("name"))
+                : new QueryCacheEntry(true, row.getString("encoded_plan"), row.getString("name"));
+              queryCache.put(request.statement(), entry);
+              return entry;
+          });
+    }
+
     /**
      * Builds the request to prepare a prepared statement.
      *
      * @param original the original request from which params are extracted.
+     * @param autoExecute if the statement should also be executed once it is prepared.
      * @return the created request, ready to be sent over the wire.
      */
-    private QueryRequest buildPrepareRequest(final QueryRequest original, final QueryOptions.Built options) {
+    private QueryRequest buildPrepareRequest(final QueryRequest original, final QueryOptions.Built options,
+                                             final boolean autoExecute) {
         String statement = "PREPARE " + original.statement();
 
         JsonObject query = JsonObject.create();
@@ -242,7 +306,7 @@ public class QueryAccessor {
             query.put("query_context", QueryRequest.queryContext(original.bucket(), original.scope()));
         }
 
-        if (enhancedPreparedEnabled) {
+        if (autoExecute) {
             query.put("auto_execute", true);
             options.injectParams(query);
         }
@@ -263,7 +327,7 @@ public class QueryAccessor {
           span,
           original.bucket(),
           original.scope()
-        );
+        ).zeroCopyRows(autoExecute && original.zeroCopyRows());
     }
 
     /**
@@ -298,7 +362,7 @@ public class QueryAccessor {
           span,
           original.bucket(),
           original.scope()
-        );
+        ).zeroCopyRows(original.zeroCopyRows());
     }
 
     /**
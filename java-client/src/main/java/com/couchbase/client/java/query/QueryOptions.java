@@ -64,6 +64,9 @@ public class QueryOptions extends CommonOptions<QueryOptions> {
   private QueryScanConsistency scanConsistency;
   private JsonSerializer serializer;
   private boolean flexIndex = false;
+  private boolean zeroCopyRows = false;
+  private int decodeParallelism = 1;
+  private boolean preserveOrder = true;
 
   /**
    * The options should only be instantiated through the {@link #queryOptions()} static method.
@@ -160,6 +163,62 @@ public class QueryOptions extends CommonOptions<QueryOptions> {
     return this;
   }
 
+  /**
+   * Decodes the rows straight from the network buffers instead of copying each of them first.
+   * <p>
+   * This only applies to the reactive API ({@link com.couchbase.client.java.ReactiveCluster#query(String,
+   * QueryOptions)} and {@link com.couchbase.client.java.ReactiveScope#query(String, QueryOptions)}) and is ignored
+   * otherwise. Each row keeps a share of the network buffers alive until it has been decoded, so the rows
+   * of the {@link ReactiveQueryResult} must either be consumed or their subscription cancelled, which
+   * releases the rows which have not been decoded yet.
+   *
+   * @param zeroCopyRows true if the rows should be decoded without copying them first.
+   * @return the same {@link QueryOptions} for chaining purposes.
+   */
+  @Stability.Volatile
+  public QueryOptions zeroCopyRows(final boolean zeroCopyRows) {
+    this.zeroCopyRows = zeroCopyRows;
+    return this;
+  }
+
+  /**
+   * Decodes the rows on up to the given number of threads at the same time, preserving their order.
+   * <p>
+   * This only applies to the reactive API
+   * ({@link com.couchbase.client.java.ReactiveCluster#query(String, QueryOptions)} and
+   * {@link com.couchbase.client.java.ReactiveScope#query(String, QueryOptions)}) and is ignored otherwise. The rows
+   * are decoded on the scheduler of the environment, so this helps if decoding the rows (for example mapping wide
+   * documents to POJOs) rather than the network is the bottleneck. The default of 1 decodes the rows one after
+   * another as they arrive.
+   *
+   * @param decodeParallelism the maximum number of rows which are decoded at the same time, must be at least 1.
+   * @return the same {@link QueryOptions} for chaining purposes.
+   */
+  @Stability.Volatile
+  public QueryOptions decodeParallelism(final int decodeParallelism) {
+    return decodeParallelism(decodeParallelism, true);
+  }
+
+  /**
+   * Decodes the rows on up to the given number of threads at the same time.
+   * <p>
+   * This works just like {@link #decodeParallelism(int)}, but if the order does not need to be preserved each
+   * row is emitted as soon as it has been decoded, so a slow row does not hold back the ones after it.
+   *
+   * @param decodeParallelism the maximum number of rows which are decoded at the same time, must be at least 1.
+   * @param preserveOrder true if the rows should be emitted in the order the server returned them.
+   * @return the same {@link QueryOptions} for chaining purposes.
+   */
+  @Stability.Volatile
+  public QueryOptions decodeParallelism(final int decodeParallelism, final boolean preserveOrder) {
+    if (decodeParallelism < 1) {
+      throw InvalidArgumentException.fromMessage("decodeParallelism must be >= 1");
+    }
+    this.decodeParallelism = decodeParallelism;
+    this.preserveOrder = preserveOrder;
+    return this;
+  }
+
   /**
    * Customizes the server profiling level for this query.
    * <p>
@@ -396,6 +455,18 @@ public class QueryOptions extends CommonOptions<QueryOptions> {
       return serializer;
     }
 
+    public boolean zeroCopyRows() {
+      return zeroCopyRows;
+    }
+
+    public int decodeParallelism() {
+      return decodeParallelism;
+    }
+
+    public boolean preserveOrder() {
+      return preserveOrder;
+    }
+
     public String clientContextId() {
       return clientContextId;
     }
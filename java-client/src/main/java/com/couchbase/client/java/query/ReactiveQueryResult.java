@@ -18,12 +18,17 @@ package com.couchbase.client.java.query;
 
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.DecodingFailureException;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
 import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.java.AsyncUtils;
 import com.couchbase.client.java.codec.JsonSerializer;
 import com.couchbase.client.java.codec.TypeRef;
 import com.couchbase.client.java.json.JsonObject;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Function;
 
 /**
  * Reactive result that fetch parts of the N1ql Query responses reactively
@@ -40,9 +45,42 @@ public class ReactiveQueryResult {
 	 */
 	private final JsonSerializer serializer;
 
+	/**
+	 * If the rows are slices of the network buffers which need to be released.
+	 */
+	private final boolean zeroCopyRows;
+
+	/**
+	 * The maximum number of rows which are decoded at the same time.
+	 */
+	private final int decodeParallelism;
+
+	/**
+	 * If the decoded rows are emitted in the order the server returned them.
+	 */
+	private final boolean preserveOrder;
+
+	/**
+	 * The scheduler the rows are decoded on if they are decoded in parallel.
+	 */
+	private final Scheduler scheduler;
+
 	ReactiveQueryResult(final QueryResponse response, final JsonSerializer serializer) {
+		this(response, serializer, false);
+	}
+
+	ReactiveQueryResult(final QueryResponse response, final JsonSerializer serializer, final boolean zeroCopyRows) {
+		this(response, serializer, zeroCopyRows, 1, true, null);
+	}
+
+	ReactiveQueryResult(final QueryResponse response, final JsonSerializer serializer, final boolean zeroCopyRows,
+											final int decodeParallelism, final boolean preserveOrder, final Scheduler scheduler) {
 		this.response = response;
 		this.serializer = serializer;
+		this.zeroCopyRows = zeroCopyRows;
+		this.decodeParallelism = decodeParallelism;
+		this.preserveOrder = preserveOrder;
+		this.scheduler = scheduler;
 	}
 
 	/**
@@ -64,7 +102,9 @@ public class ReactiveQueryResult {
    * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
 	 */
 	public <T> Flux<T> rowsAs(Class<T> target) {
-		return response.rows().map(n -> serializer.deserialize(target, n.data()));
+		return decodeRows(n -> n.zeroCopy()
+			? serializer.deserialize(target, n.dataStream())
+			: serializer.deserialize(target, n.data()));
 	}
 
   /**
@@ -76,7 +116,30 @@ public class ReactiveQueryResult {
    * @throws DecodingFailureException (async) if the decoding cannot be completed successfully
    */
 	public <T> Flux<T> rowsAs(TypeRef<T> target) {
-		return response.rows().map(n -> serializer.deserialize(target, n.data()));
+		return decodeRows(n -> n.zeroCopy()
+			? serializer.deserialize(target, n.dataStream())
+			: serializer.deserialize(target, n.data()));
+	}
+
+	/**
+	 * Decodes the rows (in parallel if configured) and releases each one right after it has been decoded.
+	 * <p>
+	 * If the rows are slices of the network buffers and the subscription is cancelled, the remaining rows of the
+	 * response are drained and released as they arrive instead of being left behind in the rows processor.
+	 */
+	private <T> Flux<T> decodeRows(final Function<QueryChunkRow, T> decoder) {
+		Flux<QueryChunkRow> rows = response.rows();
+		if (zeroCopyRows) {
+			// Subscribed before the cancelling subscriber is removed, so the processor is not cancelled itself.
+			rows = rows.doOnCancel(() -> response.rows().subscribe(QueryChunkRow::release, e -> { }));
+		}
+		return AsyncUtils.decodeRows(rows, n -> {
+			try {
+				return decoder.apply(n);
+			} finally {
+				n.release();
+			}
+		}, decodeParallelism, preserveOrder, scheduler, QueryChunkRow::release);
 	}
 
 	/**
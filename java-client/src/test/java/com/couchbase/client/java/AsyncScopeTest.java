@@ -17,8 +17,11 @@
 package com.couchbase.client.java;
 
 import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.metrics.NoopMeter;
 import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.java.env.ClusterEnvironment;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -37,8 +40,14 @@ class AsyncScopeTest {
     Flux<ClusterConfig> configs = (Flux<ClusterConfig>) mock(Flux.class);
     when(configProvider.configs()).thenReturn(configs);
     when(core.configurationProvider()).thenReturn(configProvider);
+    ClusterEnvironment environment = mock(ClusterEnvironment.class);
+    when(environment.ioConfig()).thenReturn(IoConfig.create());
+    when(environment.meter()).thenReturn(new NoopMeter());
+    CoreContext ctx = mock(CoreContext.class);
+    when(ctx.environment()).thenReturn(environment);
+    when(core.context()).thenReturn(ctx);
 
-    AsyncScope scope = new AsyncScope("scope", "bucket", core, mock(ClusterEnvironment.class));
+    AsyncScope scope = new AsyncScope("scope", "bucket", core, environment);
 
     AsyncCollection collection1 = scope.defaultCollection();
     AsyncCollection collection2 = scope.defaultCollection();
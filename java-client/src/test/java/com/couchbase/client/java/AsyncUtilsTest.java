@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link AsyncUtils}.
+ */
+class AsyncUtilsTest {
+
+  @Test
+  void blockingStreamOnlyPrefetchesBoundedRows() {
+    AtomicLong requested = new AtomicLong();
+    AtomicBoolean cancelled = new AtomicBoolean();
+    Flux<Integer> rows = Flux
+      .range(0, 10_000)
+      .doOnRequest(requested::addAndGet)
+      .doOnCancel(() -> cancelled.set(true));
+
+    try (Stream<Integer> stream = AsyncUtils.blockingStream(rows)) {
+      Iterator<Integer> iterator = stream.iterator();
+      assertEquals(0, iterator.next());
+      assertTrue(requested.get() <= AsyncUtils.DEFAULT_STREAM_PREFETCH);
+    }
+    assertTrue(cancelled.get());
+  }
+
+  @Test
+  void decodesRowsInParallelAndInOrder() {
+    Scheduler scheduler = Schedulers.newParallel("decode", 4);
+    try {
+      AtomicInteger concurrent = new AtomicInteger();
+      AtomicInteger maxConcurrent = new AtomicInteger();
+      List<Integer> decoded = AsyncUtils
+        .decodeRows(Flux.range(0, 200), slowDecoder(concurrent, maxConcurrent), 4, true, scheduler)
+        .collectList()
+        .block();
+
+      assertEquals(IntStream.range(0, 200).boxed().collect(Collectors.toList()), decoded);
+      assertTrue(maxConcurrent.get() > 1);
+      assertTrue(maxConcurrent.get() <= 4);
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  void decodesRowsInParallelWithoutOrder() {
+    Scheduler scheduler = Schedulers.newParallel("decode", 4);
+    try {
+      AtomicInteger concurrent = new AtomicInteger();
+      AtomicInteger maxConcurrent = new AtomicInteger();
+      List<Integer> decoded = AsyncUtils
+        .decodeRows(Flux.range(0, 200), slowDecoder(concurrent, maxConcurrent), 4, false, scheduler)
+        .collectList()
+        .block();
+
+      List<Integer> sorted = new ArrayList<>(decoded);
+      Collections.sort(sorted);
+      assertEquals(IntStream.range(0, 200).boxed().collect(Collectors.toList()), sorted);
+      assertTrue(maxConcurrent.get() <= 4);
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  void decodesRowsInSequenceWithoutParallelism() {
+    Thread caller = Thread.currentThread();
+    List<Integer> decoded = AsyncUtils
+      .decodeRows(Flux.range(0, 10), i -> {
+        assertEquals(caller, Thread.currentThread());
+        return i;
+      }, 1, true, null)
+      .collectList()
+      .block();
+    assertEquals(IntStream.range(0, 10).boxed().collect(Collectors.toList()), decoded);
+  }
+
+  @Test
+  void releasesEachZeroCopyRowOnceIfDecodingIsCancelled() {
+    // Every row which is decoded at the same time gets its own thread.
+    Scheduler scheduler = Schedulers.newBoundedElastic(8, Integer.MAX_VALUE, "decode");
+    try {
+      List<ByteBuf> buffers = IntStream
+        .range(0, 200)
+        .mapToObj(i -> Unpooled.copiedBuffer("{\"id\":" + i + "}", StandardCharsets.UTF_8))
+        .collect(Collectors.toList());
+      List<ByteBuf> emitted = new CopyOnWriteArrayList<>();
+      AtomicInteger started = new AtomicInteger();
+      AtomicInteger finished = new AtomicInteger();
+      AtomicBoolean cancelled = new AtomicBoolean();
+      AtomicBoolean usedAfterRelease = new AtomicBoolean();
+
+      Flux<QueryChunkRow> rows = Flux
+        .fromIterable(buffers)
+        .doOnNext(emitted::add)
+        .map(QueryChunkRow::new);
+      // The tenth row is only decoded once three more rows are being decoded, which are then still being decoded
+      // when the decoding is cancelled. Rows are released after decoding just like the reactive query result does.
+      Function<QueryChunkRow, Integer> decoder = row -> {
+        try {
+          int position = started.incrementAndGet();
+          if (position >= 10) {
+            spinUntil(() -> started.get() >= 13);
+          }
+          if (position > 10) {
+            spinUntil(cancelled::get);
+            // Gives the cancellation time to reach this row before it is read.
+            long resume = System.nanoTime() + 50_000_000L;
+            spinUntil(() -> System.nanoTime() > resume);
+          }
+          return row.data().length;
+        } catch (RuntimeException e) {
+          usedAfterRelease.set(true);
+          throw e;
+        } finally {
+          row.release();
+          finished.incrementAndGet();
+        }
+      };
+
+      List<Integer> decoded = AsyncUtils
+        .decodeRows(rows, decoder, 4, false, scheduler, QueryChunkRow::release)
+        .doOnCancel(() -> cancelled.set(true))
+        .take(10)
+        .collectList()
+        .block();
+      assertEquals(10, decoded.size());
+      assertTrue(emitted.size() < buffers.size());
+
+      // Decoders which were already running when the decoding got cancelled finish in the background.
+      spinUntil(() -> finished.get() == started.get());
+      for (ByteBuf buffer : emitted) {
+        assertEquals(0, buffer.refCnt());
+      }
+      assertFalse(usedAfterRelease.get());
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  /**
+   * Spins (ignoring interrupts) until the condition holds or five seconds have passed.
+   */
+  private static void spinUntil(final BooleanSupplier condition) {
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Decodes rows slowly (odd ones slower than even ones) while tracking how many are decoded at the same time.
+   */
+  private static Function<Integer, Integer> slowDecoder(final AtomicInteger concurrent,
+                                                        final AtomicInteger maxConcurrent) {
+    return i -> {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(i % 2 == 0 ? 1 : 3);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        concurrent.decrementAndGet();
+      }
+      return i;
+    };
+  }
+
+}
@@ -16,6 +16,8 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
 import com.couchbase.client.core.error.InvalidArgumentException;
 import com.couchbase.client.core.msg.kv.CodecFlags;
 import com.couchbase.client.java.json.JsonArray;
@@ -46,6 +48,20 @@ class JsonTranscoderTest {
     assertEquals("{\"foo\":\"bar\"}", new String(output.encoded(), StandardCharsets.UTF_8));
   }
 
+  @Test
+  void encodesJsonObjectIntoBuffer() {
+    JsonObject input = JsonObject.create().put("foo", "bar");
+    Transcoder.EncodedValue output = JSON_TRANSCODER.encode(input, UnpooledByteBufAllocator.DEFAULT);
+    ByteBuf buffer = output.encodedBuffer();
+    try {
+      assertEquals("{\"foo\":\"bar\"}", buffer.toString(StandardCharsets.UTF_8));
+      assertEquals("{\"foo\":\"bar\"}", new String(output.encoded(), StandardCharsets.UTF_8));
+      assertEquals(CodecFlags.JSON_COMPAT_FLAGS, output.flags());
+    } finally {
+      buffer.release();
+    }
+  }
+
   @Test
   void decodesJsonObject() {
     byte[] input = "{\"foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8);
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.RecordingMeter;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.error.InvalidArgumentException;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetMetaRequest;
+import com.couchbase.client.core.msg.kv.GetMetaResponse;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.RemoveRequest;
+import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.java.codec.RawBinaryTranscoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link NearCache}.
+ */
+class NearCacheTest {
+
+  private static final CollectionIdentifier COLLECTION = CollectionIdentifier.fromDefault("bucket");
+  private static final Duration TTL = Duration.ofSeconds(10);
+
+  private Core core;
+  private CoreContext ctx;
+  private List<Request<?>> sent;
+  private RecordingMeter meter;
+  private AtomicLong clock;
+
+  @BeforeEach
+  void beforeEach() {
+    meter = new RecordingMeter();
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    when(env.meter()).thenReturn(meter);
+    ctx = mock(CoreContext.class);
+    when(ctx.environment()).thenReturn(env);
+    core = mock(Core.class);
+    when(core.context()).thenReturn(ctx);
+
+    sent = new ArrayList<>();
+    doAnswer(invocation -> sent.add(invocation.getArgument(0))).when(core).send(any());
+    clock = new AtomicLong();
+  }
+
+  @Test
+  void servesDocumentUntilTtlExpires() throws Exception {
+    NearCache cache = cache(NearCacheConfig.ttl(TTL));
+
+    CompletableFuture<GetResult> miss = get(cache, "id");
+    completeGet(0, "content", 1);
+    assertArrayEquals("content".getBytes(UTF_8), miss.get().contentAs(byte[].class));
+
+    clock.addAndGet(TTL.toNanos() - 1);
+    GetResult hit = get(cache, "id").get();
+    assertArrayEquals("content".getBytes(UTF_8), hit.contentAs(byte[].class));
+    assertEquals(1, hit.cas());
+    assertEquals(1, sent.size());
+
+    clock.addAndGet(1);
+    CompletableFuture<GetResult> expired = get(cache, "id");
+    assertEquals(2, sent.size());
+    completeGet(1, "updated", 2);
+    assertArrayEquals("updated".getBytes(UTF_8), expired.get().contentAs(byte[].class));
+
+    assertOutcome(NearCache.OUTCOME_HIT, 1);
+    assertOutcome(NearCache.OUTCOME_MISS, 2);
+  }
+
+  @Test
+  void revalidatesExpiredDocumentThroughCas() throws Exception {
+    NearCache cache = cache(NearCacheConfig.ttl(TTL).revalidate(true));
+    get(cache, "id");
+    completeGet(0, "content", 1);
+
+    clock.addAndGet(TTL.toNanos());
+    CompletableFuture<GetResult> revalidated = get(cache, "id");
+    completeGetMeta(1, ResponseStatus.SUCCESS, 1);
+    assertArrayEquals("content".getBytes(UTF_8), revalidated.get().contentAs(byte[].class));
+    assertOutcome(NearCache.OUTCOME_REVALIDATED, 1);
+
+    get(cache, "id").get();
+    assertEquals(2, sent.size());
+    assertOutcome(NearCache.OUTCOME_HIT, 1);
+  }
+
+  @Test
+  void fetchesDocumentIfCasChanged() throws Exception {
+    NearCache cache = cache(NearCacheConfig.ttl(TTL).revalidate(true));
+    get(cache, "id");
+    completeGet(0, "content", 1);
+
+    clock.addAndGet(TTL.toNanos());
+    CompletableFuture<GetResult> changed = get(cache, "id");
+    completeGetMeta(1, ResponseStatus.SUCCESS, 2);
+    completeGet(2, "updated", 2);
+    assertArrayEquals("updated".getBytes(UTF_8), changed.get().contentAs(byte[].class));
+    assertOutcome(NearCache.OUTCOME_MISS, 2);
+  }
+
+  @Test
+  void servesStaleDocumentIfRevalidationFails() throws Exception {
+    NearCache cache = cache(NearCacheConfig.ttl(TTL).revalidate(true));
+    get(cache, "id");
+    completeGet(0, "content", 1);
+
+    clock.addAndGet(TTL.toNanos());
+    CompletableFuture<GetResult> stale = get(cache, "id");
+    sent.get(1).fail(new RuntimeException("timed out"));
+    assertArrayEquals("content".getBytes(UTF_8), stale.get().contentAs(byte[].class));
+    assertOutcome(NearCache.OUTCOME_STALE, 1);
+  }
+
+  @Test
+  void callersModifyingTheContentDoNotChangeTheCachedDocument() throws Exception {
+    NearCache cache = cache(NearCacheConfig.ttl(TTL));
+    CompletableFuture<GetResult> miss = get(cache, "id");
+    completeGet(0, "content", 1);
+    miss.get().contentAs(byte[].class)[0] = 'X';
+
+    byte[] hit = get(cache, "id").get().contentAs(byte[].class);
+    assertArrayEquals("content".getBytes(UTF_8), hit);
+    hit[0] = 'X';
+
+    assertArrayEquals("content".getBytes(UTF_8), get(cache, "id").get().contentAs(byte[].class));
+    assertEquals(1, sent.size());
+  }
+
+  @Test
+  void evictsBySizeAndWeight() {
+    NearCache cache = cache(NearCacheConfig.maxEntries(1).maxWeight(16));
+    get(cache, "a");
+    completeGet(0, "content", 1);
+    get(cache, "b");
+    completeGet(1, "content", 1);
+    assertEquals(1, cache.size());
+    assertEquals(8, cache.weight());
+    assertOutcome(NearCache.OUTCOME_EVICTED, 1);
+
+    get(cache, "c");
+    completeGet(2, "content which is too heavy", 1);
+    assertEquals(1, cache.size());
+    assertEquals(8, cache.weight());
+  }
+
+  @Test
+  void doesNotCacheFetchRacingWithMutation() {
+    NearCache cache = cache(NearCacheConfig.builder());
+    get(cache, "id");
+
+    RemoveRequest remove = new RemoveRequest("id", 0, Duration.ofSeconds(1), ctx, COLLECTION,
+      BestEffortRetryStrategy.INSTANCE, Optional.empty(), null);
+    cache.invalidate("id", remove);
+    completeGet(0, "content", 1);
+    assertEquals(0, cache.size());
+
+    get(cache, "id");
+    completeGet(1, "content", 1);
+    assertEquals(1, cache.size());
+
+    remove.fail(new RuntimeException("completed"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void rejectsInvalidConfig() {
+    assertThrows(InvalidArgumentException.class, () -> NearCacheConfig.maxEntries(0));
+    assertThrows(InvalidArgumentException.class, () -> NearCacheConfig.maxWeight(0));
+    assertThrows(InvalidArgumentException.class, () -> NearCacheConfig.ttl(Duration.ZERO));
+    assertThrows(InvalidArgumentException.class, () -> NearCacheConfig.ttl(Duration.ofSeconds(-1)));
+  }
+
+  private NearCache cache(final NearCacheConfig.Builder config) {
+    return new NearCache(core, config.build(), COLLECTION, clock::get);
+  }
+
+  private CompletableFuture<GetResult> get(final NearCache cache, final String id) {
+    return cache.get(
+      id,
+      () -> new GetRequest(id, Duration.ofSeconds(1), ctx, COLLECTION, BestEffortRetryStrategy.INSTANCE, null),
+      () -> new GetMetaRequest(id, Duration.ofSeconds(1), ctx, COLLECTION, BestEffortRetryStrategy.INSTANCE, null),
+      RawBinaryTranscoder.INSTANCE
+    );
+  }
+
+  private void completeGet(final int index, final String content, final long cas) {
+    GetResponse response = mock(GetResponse.class);
+    when(response.status()).thenReturn(ResponseStatus.SUCCESS);
+    when(response.content()).thenReturn(content.getBytes(UTF_8));
+    when(response.cas()).thenReturn(cas);
+    ((GetRequest) sent.get(index)).succeed(response);
+  }
+
+  private void completeGetMeta(final int index, final ResponseStatus status, final long cas) {
+    GetMetaResponse response = mock(GetMetaResponse.class);
+    when(response.status()).thenReturn(status);
+    when(response.cas()).thenReturn(cas);
+    ((GetMetaRequest) sent.get(index)).succeed(response);
+  }
+
+  private void assertOutcome(final String outcome, final long expected) {
+    assertEquals(expected, meter.count(
+      TracingIdentifiers.METER_NEAR_CACHE,
+      Collections.singletonMap(TracingIdentifiers.ATTR_OUTCOME, outcome)
+    ));
+  }
+
+}
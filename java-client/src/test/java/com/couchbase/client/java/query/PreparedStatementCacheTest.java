@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.cnc.TracingIdentifiers;
+import com.couchbase.client.core.cnc.metrics.RecordingMeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link PreparedStatementCache}.
+ */
+class PreparedStatementCacheTest {
+
+  private RecordingMeter meter;
+
+  @BeforeEach
+  void beforeEach() {
+    meter = new RecordingMeter();
+  }
+
+  @Test
+  void countsHitsAndMisses() {
+    PreparedStatementCache<String> cache = new PreparedStatementCache<>(10, meter);
+    assertNull(cache.get("select 1"));
+    cache.put("select 1", "p1");
+    assertEquals("p1", cache.get("select 1"));
+    assertEquals("p1", cache.get("select 1"));
+
+    cache.remove("select 1");
+    assertNull(cache.get("select 1"));
+
+    assertEquals(2, count(PreparedStatementCache.OUTCOME_HIT));
+    assertEquals(2, count(PreparedStatementCache.OUTCOME_MISS));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() {
+    PreparedStatementCache<String> cache = new PreparedStatementCache<>(1, meter);
+    cache.put("a", "a");
+    cache.put("b", "b");
+    assertNull(cache.get("a"));
+    assertEquals("b", cache.get("b"));
+    assertEquals(1, cache.size());
+    assertEquals(1, count(PreparedStatementCache.OUTCOME_EVICTED));
+  }
+
+  @Test
+  void neverHoldsMoreThanMaxEntries() {
+    int maxEntries = 100;
+    PreparedStatementCache<String> cache = new PreparedStatementCache<>(maxEntries, meter);
+    for (int i = 0; i < 10 * maxEntries; i++) {
+      cache.put("select " + i, "p" + i);
+      assertTrue(cache.size() <= maxEntries);
+    }
+    assertEquals(10 * maxEntries - cache.size(), count(PreparedStatementCache.OUTCOME_EVICTED));
+  }
+
+  @Test
+  void supportsConcurrentAccess() throws Exception {
+    PreparedStatementCache<String> cache = new PreparedStatementCache<>(64, meter);
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < 10_000; i++) {
+            String statement = "select " + (i % 128);
+            if (cache.get(statement) == null) {
+              cache.put(statement, statement);
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertTrue(cache.size() <= 64);
+    long lookups = count(PreparedStatementCache.OUTCOME_HIT)
+      + count(PreparedStatementCache.OUTCOME_MISS);
+    assertEquals(threads * 10_000, lookups);
+  }
+
+  private long count(final String outcome) {
+    Map<String, String> tags = new HashMap<>();
+    tags.put(TracingIdentifiers.ATTR_SERVICE, TracingIdentifiers.SERVICE_QUERY);
+    tags.put(TracingIdentifiers.ATTR_OUTCOME, outcome);
+    return meter.count(TracingIdentifiers.METER_QUERY_PREPARED_STATEMENTS, tags);
+  }
+
+}
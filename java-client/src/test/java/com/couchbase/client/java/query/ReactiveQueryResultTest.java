@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.query;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.msg.query.QueryChunkRow;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.java.codec.DefaultJsonSerializer;
+import com.couchbase.client.java.json.JsonObject;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.EmitterProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link ReactiveQueryResult}.
+ */
+class ReactiveQueryResultTest {
+
+  @Test
+  void releasesZeroCopyRowsOnceDecoded() {
+    List<ByteBuf> buffers = new ArrayList<>();
+    EmitterProcessor<QueryChunkRow> rows = emit(buffers, 3);
+
+    List<JsonObject> decoded = result(rows).rowsAsObject().collectList().block();
+    assertEquals(3, decoded.size());
+    assertEquals(2, decoded.get(2).getInt("id"));
+    buffers.forEach(b -> assertEquals(0, b.refCnt()));
+  }
+
+  @Test
+  void releasesZeroCopyRowsDroppedOnCancel() {
+    List<ByteBuf> buffers = new ArrayList<>();
+    EmitterProcessor<QueryChunkRow> rows = emit(buffers, 3);
+
+    assertEquals(0, result(rows).rowsAsObject().blockFirst().getInt("id"));
+    buffers.forEach(b -> assertEquals(0, b.refCnt()));
+  }
+
+  private static EmitterProcessor<QueryChunkRow> emit(final List<ByteBuf> buffers, final int numRows) {
+    EmitterProcessor<QueryChunkRow> rows = EmitterProcessor.create();
+    for (int i = 0; i < numRows; i++) {
+      ByteBuf buffer = Unpooled.copiedBuffer("{\"id\":" + i + "}", UTF_8);
+      buffers.add(buffer);
+      rows.onNext(new QueryChunkRow(buffer));
+    }
+    rows.onComplete();
+    return rows;
+  }
+
+  private static ReactiveQueryResult result(final EmitterProcessor<QueryChunkRow> rows) {
+    QueryResponse response = mock(QueryResponse.class);
+    when(response.rows()).thenReturn(rows);
+    return new ReactiveQueryResult(response, DefaultJsonSerializer.create(), true);
+  }
+
+}